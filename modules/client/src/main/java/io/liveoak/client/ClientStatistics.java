@@ -0,0 +1,94 @@
+/*
+ * Copyright 2014 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package io.liveoak.client;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.liveoak.spi.ResourcePath;
+
+/**
+ * Call counts and latencies of the client, per path.
+ *
+ * <p>Paths are cut to their first few segments (<code>/app/storage/people</code> for
+ * <code>/app/storage/people/bob</code>) so member ids do not each get an entry.</p>
+ */
+public class ClientStatistics {
+
+    public static final String DEPTH_PROPERTY = "io.liveoak.client.statistics-depth";
+    private static final int DEPTH = Integer.getInteger(DEPTH_PROPERTY, 3);
+
+    public void record(ResourcePath path, long nanos, boolean success) {
+        this.paths.computeIfAbsent(key(path), k -> new PathStatistics()).record(nanos, success);
+    }
+
+    /**
+     * @return For each path, its call count, error count, and average and max latency in milliseconds.
+     */
+    public Map<String, Map<String, Object>> snapshot() {
+        Map<String, Map<String, Object>> result = new TreeMap<>();
+        for (Map.Entry<String, PathStatistics> entry : this.paths.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().snapshot());
+        }
+        return result;
+    }
+
+    private static String key(ResourcePath path) {
+        if (path == null || path.segments().isEmpty()) {
+            return "/";
+        }
+        StringBuilder key = new StringBuilder();
+        Iterator<ResourcePath.Segment> segments = path.segments().iterator();
+        for (int i = 0; i < DEPTH && segments.hasNext(); ++i) {
+            key.append('/').append(segments.next().name());
+        }
+        return key.toString();
+    }
+
+    private static class PathStatistics {
+
+        void record(long nanos, boolean success) {
+            this.calls.increment();
+            if (!success) {
+                this.errors.increment();
+            }
+            this.totalNanos.add(nanos);
+            long max;
+            while (nanos > (max = this.maxNanos.get())) {
+                if (this.maxNanos.compareAndSet(max, nanos)) {
+                    break;
+                }
+            }
+        }
+
+        Map<String, Object> snapshot() {
+            long calls = this.calls.sum();
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("calls", calls);
+            result.put("errors", this.errors.sum());
+            result.put("averageTime", calls > 0 ? millis(this.totalNanos.sum() / calls) : 0D);
+            result.put("maxTime", millis(this.maxNanos.get()));
+            return result;
+        }
+
+        private static double millis(long nanos) {
+            return (double) nanos / TimeUnit.MILLISECONDS.toNanos(1);
+        }
+
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+    }
+
+    private final Map<String, PathStatistics> paths = new ConcurrentHashMap<>();
+}
@@ -1,6 +1,7 @@
 package io.liveoak.client;
 
 import java.net.SocketAddress;
+import java.util.UUID;
 
 /**
  * @author Bob McWhirter
@@ -11,4 +12,9 @@ public interface Connection {
     void close();
 
     void write(ClientRequest request);
+
+    /**
+     * Stops waiting for the response of a request, its handler is not called anymore.
+     */
+    void cancel(UUID requestId);
 }
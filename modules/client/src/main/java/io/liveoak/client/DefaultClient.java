@@ -10,6 +10,8 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Consumer;
 
 import io.liveoak.common.DefaultResourceRequest;
@@ -38,6 +40,8 @@ import org.jboss.logging.Logger;
  */
 public class DefaultClient implements Client {
 
+    public static final String TIMEOUT_PROPERTY = "io.liveoak.client.timeout";
+
     public DefaultClient() {
     }
 
@@ -80,11 +84,7 @@ public class DefaultClient implements Client {
      */
     @Override
     public void create(RequestContext context, String path, ResourceState state, Consumer<ClientResourceResponse> handler) {
-        ResourceRequest request = new DefaultResourceRequest.Builder(RequestType.CREATE, new ResourcePath(path))
-                .resourceState(state)
-                .requestContext(context)
-                .build();
-        this.connection.write(new ClientRequest(request, handler));
+        this.connection.write(new ClientRequest(request(RequestType.CREATE, context, path, state), handler));
     }
 
     /**
@@ -100,26 +100,7 @@ public class DefaultClient implements Client {
      */
     @Override
     public ResourceState create(RequestContext context, String path, ResourceState state) throws Exception {
-        CompletableFuture<ResourceState> future = new CompletableFuture<>();
-
-        create(context, path, state, (response) -> {
-            if (response.responseType() == ClientResourceResponse.ResponseType.OK) {
-                future.complete(response.state());
-            } else {
-                handleError(response, future);
-            }
-        });
-
-        try {
-            ResourceState resourceState = future.get();
-            return resourceState;
-        } catch (ExecutionException e) {
-            e.getCause().fillInStackTrace();
-            if (e.getCause() instanceof ResourceException) {
-                throw (ResourceException) e.getCause();
-            }
-            throw e;
-        }
+        return execute(request(RequestType.CREATE, context, path, state));
     }
 
     /**
@@ -131,10 +112,7 @@ public class DefaultClient implements Client {
      */
     @Override
     public void read(RequestContext context, String path, Consumer<ClientResourceResponse> handler) {
-        ResourceRequest request = new DefaultResourceRequest.Builder(RequestType.READ, new ResourcePath(path))
-                .requestContext(context)
-                .build();
-        this.connection.write(new ClientRequest(request, handler));
+        this.connection.write(new ClientRequest(request(RequestType.READ, context, path, null), handler));
     }
 
     /**
@@ -149,28 +127,7 @@ public class DefaultClient implements Client {
      */
     @Override
     public ResourceState read(RequestContext context, String path) throws Exception {
-        CompletableFuture<ResourceState> future = new CompletableFuture<>();
-
-        read(context, path, (response) -> {
-            if (response.responseType() == ClientResourceResponse.ResponseType.OK) {
-                future.complete(response.state());
-            } else {
-                handleError(response, future);
-            }
-        });
-
-        try {
-            ResourceState resourceState = future.get();
-            return resourceState;
-        } catch (ExecutionException e) {
-            if (e.getCause() != null) {
-                e.getCause().fillInStackTrace();
-            }
-            if (e.getCause() instanceof ResourceException) {
-                throw (ResourceException) e.getCause();
-            }
-            throw e;
-        }
+        return execute(request(RequestType.READ, context, path, null));
     }
 
     /**
@@ -188,11 +145,7 @@ public class DefaultClient implements Client {
      */
     @Override
     public void update(RequestContext context, String path, ResourceState state, Consumer<ClientResourceResponse> handler) {
-        ResourceRequest request = new DefaultResourceRequest.Builder(RequestType.UPDATE, new ResourcePath(path))
-                .resourceState(state)
-                .requestContext(context)
-                .build();
-        this.connection.write(new ClientRequest(request, handler));
+        this.connection.write(new ClientRequest(request(RequestType.UPDATE, context, path, state), handler));
     }
 
     /**
@@ -213,26 +166,7 @@ public class DefaultClient implements Client {
      */
     @Override
     public ResourceState update(RequestContext context, String path, ResourceState state) throws Exception {
-        CompletableFuture<ResourceState> future = new CompletableFuture<>();
-
-        update(context, path, state, (response) -> {
-            if (response.responseType() == ClientResourceResponse.ResponseType.OK) {
-                future.complete(response.state());
-            } else {
-                handleError(response, future);
-            }
-        });
-
-        try {
-            ResourceState resourceState = future.get();
-            return resourceState;
-        } catch (ExecutionException e) {
-            e.getCause().fillInStackTrace();
-            if (e.getCause() instanceof ResourceException) {
-                throw (ResourceException) e.getCause();
-            }
-            throw e;
-        }
+        return execute(request(RequestType.UPDATE, context, path, state));
     }
 
     /**
@@ -244,10 +178,7 @@ public class DefaultClient implements Client {
      */
     @Override
     public void delete(RequestContext context, String path, Consumer<ClientResourceResponse> handler) {
-        ResourceRequest request = new DefaultResourceRequest.Builder(RequestType.DELETE, new ResourcePath(path))
-                .requestContext(context)
-                .build();
-        this.connection.write(new ClientRequest(request, handler));
+        this.connection.write(new ClientRequest(request(RequestType.DELETE, context, path, null), handler));
     }
 
     /**
@@ -262,25 +193,41 @@ public class DefaultClient implements Client {
      */
     @Override
     public ResourceState delete(RequestContext context, String path) throws Exception {
+        return execute(request(RequestType.DELETE, context, path, null));
+    }
+
+    private ResourceRequest request(RequestType type, RequestContext context, String path, ResourceState state) {
+        return new DefaultResourceRequest.Builder(type, new ResourcePath(path))
+                .resourceState(state)
+                .requestContext(context)
+                .build();
+    }
+
+    private ResourceState execute(ResourceRequest request) throws Exception {
         CompletableFuture<ResourceState> future = new CompletableFuture<>();
 
-        delete(context, path, (response) -> {
+        this.connection.write(new ClientRequest(request, (response) -> {
             if (response.responseType() == ClientResourceResponse.ResponseType.OK) {
                 future.complete(response.state());
             } else {
                 handleError(response, future);
             }
-        });
+        }));
 
         try {
-            ResourceState resourceState = future.get();
-            return resourceState;
+            return future.get(this.timeout, TimeUnit.MILLISECONDS);
         } catch (ExecutionException e) {
-            e.getCause().fillInStackTrace();
+            if (e.getCause() != null) {
+                e.getCause().fillInStackTrace();
+            }
             if (e.getCause() instanceof ResourceException) {
                 throw (ResourceException) e.getCause();
             }
             throw e;
+        } catch (TimeoutException e) {
+            // most likely the caller blocks a thread the request needs to complete
+            this.connection.cancel(request.requestId());
+            throw new ResourceException(request.resourcePath().toString(), "No response after " + this.timeout + " ms");
         }
     }
 
@@ -321,7 +268,37 @@ public class DefaultClient implements Client {
         }
     }
 
+    /**
+     * @return Call counts and latencies per path.
+     */
+    public ClientStatistics statistics() {
+        return this.statistics;
+    }
+
+    /**
+     * @return The number of requests waiting for a response.
+     */
+    public int inFlight() {
+        return this.connection instanceof LocalConnection ? ((LocalConnection) this.connection).inFlight() : 0;
+    }
+
+    /**
+     * @return The number of channels requests are spread on.
+     */
+    public int channels() {
+        return this.connection instanceof LocalConnection ? ((LocalConnection) this.connection).channels() : 0;
+    }
+
+    /**
+     * @param timeout How long, in milliseconds, the synchronous methods wait for a response.
+     */
+    public void timeout(long timeout) {
+        this.timeout = timeout;
+    }
+
     private Connection connection;
+    private final ClientStatistics statistics = new ClientStatistics();
+    private volatile long timeout = Long.getLong(TIMEOUT_PROPERTY, 60000);
 
     private static final Logger log = Logger.getLogger(DefaultClient.class);
 }
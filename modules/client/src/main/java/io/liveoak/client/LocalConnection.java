@@ -1,9 +1,17 @@
 package io.liveoak.client;
 
 import java.net.SocketAddress;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
 
+import io.liveoak.client.impl.ClientResourceResponseImpl;
 import io.liveoak.client.protocol.LocalResponseHandler;
+import io.liveoak.spi.ResourceRequest;
+import io.liveoak.spi.client.ClientResourceResponse;
 import io.netty.bootstrap.Bootstrap;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
@@ -12,17 +20,33 @@ import io.netty.channel.ChannelInitializer;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.local.LocalChannel;
 import io.netty.channel.nio.NioEventLoopGroup;
+import org.jboss.logging.Logger;
 
 /**
+ * Connection over several local channels, so concurrent callers do not all queue on a single channel.
+ *
+ * <p>Requests are sent on the channel picked by the calling thread, so requests from one thread keep
+ * their order. The number of requests waiting for a response is limited, requests over the limit
+ * are answered with an error right away rather than queued.</p>
+ *
  * @author Bob McWhirter
  * @author Ken Finnigan
  */
 public class LocalConnection implements Connection {
 
+    public static final String CHANNELS_PROPERTY = "io.liveoak.client.channels";
+    public static final String MAX_IN_FLIGHT_PROPERTY = "io.liveoak.client.max-in-flight";
+
+    private static final int CHANNELS = Integer.getInteger(CHANNELS_PROPERTY, Math.min(4, Runtime.getRuntime().availableProcessors()));
+    private static final int MAX_IN_FLIGHT = Integer.getInteger(MAX_IN_FLIGHT_PROPERTY, 10000);
+
+    private static final Logger log = Logger.getLogger(LocalConnection.class);
+
     public LocalConnection(DefaultClient client, ExecutorService executor) {
         this.client = client;
         this.group = new NioEventLoopGroup();
         this.executor = executor;
+        this.channels = new Channel[Math.max(1, CHANNELS)];
     }
 
     @Override
@@ -32,10 +56,12 @@ public class LocalConnection implements Connection {
                 .group(this.group)
                 .handler(createHandler());
 
-        ChannelFuture future = bootstrap.connect(address);
-        future.sync();
+        for (int i = 0; i < this.channels.length; ++i) {
+            ChannelFuture future = bootstrap.connect(address);
+            future.sync();
 
-        this.channel = future.channel();
+            this.channels[i] = future.channel();
+        }
     }
 
     @Override
@@ -45,20 +71,71 @@ public class LocalConnection implements Connection {
 
     @Override
     public void write(ClientRequest request) {
-        this.channel.writeAndFlush(request);
+        ResourceRequest resourceRequest = request.resourceRequest();
+        if (!this.inFlight.tryAcquire()) {
+            log.warn("Too many requests in flight (" + MAX_IN_FLIGHT + "), rejecting " + resourceRequest);
+            this.executor.execute(() -> request.handler().accept(new ClientResourceResponseImpl(resourceRequest,
+                    ClientResourceResponse.ResponseType.ERROR, resourceRequest.resourcePath().toString(), null)));
+            return;
+        }
+
+        long start = System.nanoTime();
+        Consumer<ClientResourceResponse> handler = request.handler();
+        this.handlers.put(resourceRequest.requestId(), response -> {
+            this.inFlight.release();
+            this.client.statistics().record(resourceRequest.resourcePath(), System.nanoTime() - start,
+                    response.responseType() == ClientResourceResponse.ResponseType.OK);
+            handler.accept(response);
+        });
+
+        channel().writeAndFlush(resourceRequest).addListener(future -> {
+            if (!future.isSuccess()) {
+                // the channel is gone, no response will come
+                Consumer<ClientResourceResponse> pending = this.handlers.remove(resourceRequest.requestId());
+                if (pending != null) {
+                    log.warn("Could not send " + resourceRequest, future.cause());
+                    this.executor.execute(() -> pending.accept(new ClientResourceResponseImpl(resourceRequest,
+                            ClientResourceResponse.ResponseType.ERROR, resourceRequest.resourcePath().toString(), null)));
+                }
+            }
+        });
+    }
+
+    @Override
+    public void cancel(UUID requestId) {
+        if (this.handlers.remove(requestId) != null) {
+            this.inFlight.release();
+        }
+    }
+
+    public int channels() {
+        return this.channels.length;
+    }
+
+    public int inFlight() {
+        return MAX_IN_FLIGHT - this.inFlight.availablePermits();
+    }
+
+    private Channel channel() {
+        if (this.channels.length == 1) {
+            return this.channels[0];
+        }
+        return this.channels[(int) (Thread.currentThread().getId() % this.channels.length)];
     }
 
     protected ChannelHandler createHandler() {
         return new ChannelInitializer<LocalChannel>() {
             protected void initChannel(LocalChannel ch) throws Exception {
                 //ch.pipeline().addLast(new DebugHandler( "local-client-head" ) );
-                ch.pipeline().addLast(new LocalResponseHandler(executor));
+                ch.pipeline().addLast(new LocalResponseHandler(executor, handlers));
             }
         };
     }
 
     private DefaultClient client;
     private EventLoopGroup group;
-    private Channel channel;
+    private final Channel[] channels;
     private ExecutorService executor;
+    private final Map<UUID, Consumer<ClientResourceResponse>> handlers = new ConcurrentHashMap<>();
+    private final Semaphore inFlight = new Semaphore(MAX_IN_FLIGHT);
 }
@@ -7,13 +7,11 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.function.Consumer;
 
-import io.liveoak.client.ClientRequest;
 import io.liveoak.client.impl.ClientResourceResponseImpl;
 import io.liveoak.spi.ResourceRequest;
 import io.liveoak.spi.client.ClientResourceResponse;
 import io.netty.channel.ChannelDuplexHandler;
 import io.netty.channel.ChannelHandlerContext;
-import io.netty.channel.ChannelPromise;
 
 /**
  * @author Bob McWhirter
@@ -21,19 +19,15 @@ import io.netty.channel.ChannelPromise;
 public class LocalResponseHandler extends ChannelDuplexHandler {
 
     public LocalResponseHandler(ExecutorService executor) {
-        this.executor = executor;
+        this(executor, new ConcurrentHashMap<>());
     }
 
-    @Override
-    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
-        if (msg instanceof ClientRequest) {
-            ResourceRequest request = ((ClientRequest) msg).resourceRequest();
-            Consumer<ClientResourceResponse> handler = ((ClientRequest) msg).handler();
-            this.handlers.put(request.requestId(), handler);
-            super.write(ctx, request, promise);
-        } else {
-            super.write(ctx, msg, promise);
-        }
+    /**
+     * @param handlers Response handlers by request id, may be shared by the handlers of several channels.
+     */
+    public LocalResponseHandler(ExecutorService executor, Map<UUID, Consumer<ClientResourceResponse>> handlers) {
+        this.executor = executor;
+        this.handlers = handlers;
     }
 
     @Override
@@ -49,6 +43,6 @@ public class LocalResponseHandler extends ChannelDuplexHandler {
         }
     }
 
-    private Map<UUID, Consumer<ClientResourceResponse>> handlers = new ConcurrentHashMap<>();
-    private ExecutorService executor;
+    private final Map<UUID, Consumer<ClientResourceResponse>> handlers;
+    private final ExecutorService executor;
 }
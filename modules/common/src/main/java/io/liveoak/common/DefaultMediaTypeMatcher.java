@@ -9,6 +9,7 @@ import io.liveoak.spi.MediaType;
 import io.liveoak.spi.MediaTypeMatcher;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -18,6 +19,7 @@ public class DefaultMediaTypeMatcher implements MediaTypeMatcher {
 
     public DefaultMediaTypeMatcher(String mediaTypes, String extension) {
         this(mediaTypes);
+        this.extension = extension;
         if (extension != null) {
             MediaType extensionMediaType = MediaType.lookup(extension);
             if (extensionMediaType != null) {
@@ -27,6 +29,7 @@ public class DefaultMediaTypeMatcher implements MediaTypeMatcher {
     }
 
     public DefaultMediaTypeMatcher(String mediaTypes) {
+        this.acceptMediaTypes = mediaTypes;
 
         int len = mediaTypes.length();
         int end = mediaTypes.indexOf(",");
@@ -85,10 +88,28 @@ public class DefaultMediaTypeMatcher implements MediaTypeMatcher {
     }
 
     public List<MediaType> mediaTypes() {
-        return this.mediaTypes;
+        return this.readOnlyMediaTypes;
     }
 
+    /**
+     * @return The media types this matcher was parsed from, as in an <code>Accept</code> header.
+     */
+    public String acceptMediaTypes() {
+        return this.acceptMediaTypes;
+    }
+
+    /**
+     * @return The extension of the requested path, or null.
+     */
+    public String extension() {
+        return this.extension;
+    }
+
+    private final String acceptMediaTypes;
+    private String extension;
     private List<MediaType> mediaTypes = new ArrayList<>();
+    // matchers are shared between requests, see ResourceCodecManager#mediaTypeMatcher
+    private final List<MediaType> readOnlyMediaTypes = Collections.unmodifiableList(this.mediaTypes);
 
     @Override
     public String toString() {
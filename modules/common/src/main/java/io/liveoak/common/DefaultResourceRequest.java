@@ -80,6 +80,9 @@ public class DefaultResourceRequest implements ResourceRequest {
 
     public static class Builder {
 
+        // matchers are read-only, requests without one share it
+        private static final MediaTypeMatcher JSON = new DefaultMediaTypeMatcher("application/json");
+
         private DefaultResourceRequest obj;
 
         private ResourceParams params;
@@ -183,7 +186,7 @@ public class DefaultResourceRequest implements ResourceRequest {
 
         public DefaultResourceRequest build() {
             if (obj.mediaTypeMatcher == null) {
-                obj.mediaTypeMatcher = new DefaultMediaTypeMatcher("application/json");
+                obj.mediaTypeMatcher = JSON;
             }
 
             if (obj.requestContext == null) {
@@ -5,20 +5,59 @@
  */
 package io.liveoak.common;
 
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
+import java.util.Map;
+import java.util.Set;
 
 import io.liveoak.spi.ReturnFields;
 
 /**
+ * Parsed <code>fields</code> spec.
+ *
+ * <p>Instances are immutable once parsed, so the same instance can be shared by all the requests using
+ * the same spec - see {@link #forSpec(String)}.</p>
+ *
  * @author <a href="mailto:marko.strukelj@gmail.com">Marko Strukelj</a>
  */
 public class DefaultReturnFields implements ReturnFields {
 
+    public static final String CACHE_SIZE_PROPERTY = "io.liveoak.return-fields.cache-size";
+
+    private static final int CACHE_SIZE = Integer.getInteger(CACHE_SIZE_PROPERTY, 256);
+
+    // most recently used specs
+    private static final Map<String, DefaultReturnFields> cache = Collections.synchronizedMap(
+            new LinkedHashMap<String, DefaultReturnFields>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, DefaultReturnFields> eldest) {
+                    return size() > CACHE_SIZE;
+                }
+            });
+
+    /**
+     * @return Return fields for the spec, parsed once and shared for as long as the spec is frequently used.
+     */
+    public static DefaultReturnFields forSpec(String spec) {
+        DefaultReturnFields returnFields = cache.get(spec);
+        if (returnFields == null) {
+            returnFields = new DefaultReturnFields(spec);
+            cache.put(spec, returnFields);
+        }
+        return returnFields;
+    }
+
     private HashMap<String, DefaultReturnFields> fields = new LinkedHashMap<>();
 
+    // precomputed from fields once parsed
+    private boolean all;
+    private Set<String> excludedFields;
+    private ReturnFields allChild;
+
     private static enum XpctState {
         xpctIdentCommaOpen,
         xpctIdent,
@@ -108,6 +147,23 @@ public class DefaultReturnFields implements ReturnFields {
         } else if (!(state == XpctState.xpctAnything || state == XpctState.xpctComma)) {
             error(spec, i);
         }
+
+        compile();
+    }
+
+    private void compile() {
+        this.all = fields.containsKey("*");
+        this.excludedFields = new HashSet<>();
+        for (Map.Entry<String, DefaultReturnFields> entry : fields.entrySet()) {
+            if (entry.getKey().startsWith("-")) {
+                this.excludedFields.add(entry.getKey().substring(1));
+            }
+            if (entry.getValue() != null) {
+                entry.getValue().compile();
+            }
+        }
+        DefaultReturnFields star = fields.get("*");
+        this.allChild = star != null ? star : ReturnFields.NONE;
     }
 
     private void error(String spec, int i) {
@@ -117,13 +173,15 @@ public class DefaultReturnFields implements ReturnFields {
     @Override
     public ReturnFields child(String field) {
         ReturnFields returnFields = fields.get(field);
-        if (returnFields == null) {
-            returnFields = fields.get("*");
-            if (returnFields == null) {
-                returnFields = ReturnFields.NONE;
-            }
+        return returnFields != null ? returnFields : allChild;
+    }
+
+    @Override
+    public boolean included(String field) {
+        if (excludedFields.contains(field)) {
+            return false;
         }
-        return returnFields;
+        return all || fields.containsKey(field);
     }
 
     @Override
@@ -139,10 +197,10 @@ public class DefaultReturnFields implements ReturnFields {
                 return false;
             }
 
-            if (current.fields.containsKey("-" + path)) {
+            if (current.excludedFields.contains(path)) {
                 return false;
             }
-            if (current.fields.containsKey("*")) {
+            if (current.all) {
                 return true;
             }
             if (!current.fields.containsKey(path)) {
@@ -155,16 +213,12 @@ public class DefaultReturnFields implements ReturnFields {
 
     @Override
     public boolean excluded(String field) {
-        if (fields.containsKey("-" + field)) {
-            return true;
-        } else {
-            return false;
-        }
+        return excludedFields.contains(field);
     }
 
     @Override
     public Iterator<String> iterator() {
-        return fields.keySet().iterator();
+        return Collections.unmodifiableSet(fields.keySet()).iterator();
     }
 
     @Override
@@ -174,7 +228,7 @@ public class DefaultReturnFields implements ReturnFields {
 
     @Override
     public boolean isAll() {
-        return this.fields.keySet().contains("*");
+        return this.all;
     }
 
     @Override
@@ -166,6 +166,11 @@ public class DefaultLazyResourceState implements LazyResourceState {
         return fileUpload != null && !fileUpload.isInMemory();
     }
 
+    @Override
+    public synchronized boolean isDecoded() {
+        return delegate != null;
+    }
+
     /**
      * Get direct File reference to entire body content cached in a file if one exists.
      *
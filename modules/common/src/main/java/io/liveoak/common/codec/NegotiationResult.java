@@ -0,0 +1,42 @@
+/*
+ * Copyright 2014 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package io.liveoak.common.codec;
+
+import io.liveoak.spi.MediaType;
+
+/**
+ * The media type selected for a request and its codec, see {@link ResourceCodecManager#negotiate(io.liveoak.spi.MediaTypeMatcher)}.
+ */
+public class NegotiationResult {
+
+    NegotiationResult(MediaType mediaType, ResourceCodec codec, int version) {
+        this.mediaType = mediaType;
+        this.codec = codec;
+        this.version = version;
+    }
+
+    /**
+     * @return The best match among the registered media types, or null if none is acceptable.
+     */
+    public MediaType mediaType() {
+        return this.mediaType;
+    }
+
+    /**
+     * @return The codec registered for the media type, or null.
+     */
+    public ResourceCodec codec() {
+        return this.codec;
+    }
+
+    int version() {
+        return this.version;
+    }
+
+    private final MediaType mediaType;
+    private final ResourceCodec codec;
+    private final int version;
+}
@@ -7,6 +7,9 @@ package io.liveoak.common.codec;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 
@@ -30,8 +33,53 @@ import org.jboss.logging.Logger;
  */
 public class ResourceCodecManager {
 
-    public void registerResourceCodec(MediaType mediaType, ResourceCodec codec) {
+    public static final String NEGOTIATION_CACHE_SIZE_PROPERTY = "io.liveoak.codec.negotiation-cache-size";
+    private static final int NEGOTIATION_CACHE_SIZE = Integer.getInteger(NEGOTIATION_CACHE_SIZE_PROPERTY, 1000);
+
+    public synchronized void registerResourceCodec(MediaType mediaType, ResourceCodec codec) {
         this.codecs.add(new CodecRegistration(mediaType, codec));
+        this.mediaTypes = Collections.unmodifiableList(this.codecs.stream().map(e -> e.mediaType).collect(Collectors.toList()));
+        // results cached before are discarded, including those computed concurrently against the previous codecs
+        ++this.version;
+        this.matchers.clear();
+        this.negotiations.clear();
+    }
+
+    /**
+     * @param acceptMediaTypes The media types accepted, as in an <code>Accept</code> header.
+     * @param extension The extension of the requested path, or null.
+     * @return A matcher for the media types, shared by the requests accepting the same ones.
+     */
+    public MediaTypeMatcher mediaTypeMatcher(String acceptMediaTypes, String extension) {
+        Key key = new Key(acceptMediaTypes, extension);
+        DefaultMediaTypeMatcher matcher = this.matchers.get(key);
+        if (matcher == null) {
+            matcher = new DefaultMediaTypeMatcher(acceptMediaTypes, extension);
+            cache(this.matchers, key, matcher);
+        }
+        return matcher;
+    }
+
+    /**
+     * Selects the registered media type best matching the matcher, and its codec.
+     *
+     * <p>The results for matchers from {@link #mediaTypeMatcher(String, String)}, or any other
+     * {@link DefaultMediaTypeMatcher}, are kept until a codec is registered.</p>
+     */
+    public NegotiationResult negotiate(MediaTypeMatcher mediaTypeMatcher) {
+        int version = this.version;
+        if (!(mediaTypeMatcher instanceof DefaultMediaTypeMatcher)) {
+            return match(mediaTypeMatcher, version);
+        }
+
+        DefaultMediaTypeMatcher matcher = (DefaultMediaTypeMatcher) mediaTypeMatcher;
+        Key key = new Key(matcher.acceptMediaTypes(), matcher.extension());
+        NegotiationResult result = this.negotiations.get(key);
+        if (result == null || result.version() != version) {
+            result = match(matcher, version);
+            cache(this.negotiations, key, result);
+        }
+        return result;
     }
 
     public ResourceState decode(MediaType mediaType, ByteBuf buf) throws Exception {
@@ -61,16 +109,15 @@ public class ResourceCodecManager {
             }
         }
 
-        MediaType bestMatch = mediaTypeMatcher.findBestMatch(this.codecs.stream().map((e) -> {
-            return e.mediaType;
-        }).collect(Collectors.toList()));
+        NegotiationResult negotiated = negotiate(mediaTypeMatcher);
+        MediaType bestMatch = negotiated.mediaType();
 
         // if we don't have a match and the response isn't already an error response, then return a error response
         if (bestMatch == null && !(response instanceof ResourceErrorResponse)) {
             throw new UnsupportedMediaTypeException(mediaTypeMatcher);
         }
 
-        ResourceCodec codec = getResourceCodec(bestMatch);
+        ResourceCodec codec = negotiated.codec();
 
         if (codec == null) {
             codec = getResourceCodec(MediaType.JSON);
@@ -86,7 +133,7 @@ public class ResourceCodecManager {
     }
 
     public List<MediaType> mediaTypes() {
-        return this.codecs.stream().map(e->  e.mediaType ).collect(Collectors.toList());
+        return this.mediaTypes;
     }
 
     public ResourceCodec getResourceCodec(MediaType mediaType) {
@@ -104,16 +151,27 @@ public class ResourceCodecManager {
             return MediaType.JSON;
         }
 
-        MediaTypeMatcher matcher = new DefaultMediaTypeMatcher(acceptMediaTypes, extension);
+        return negotiate(mediaTypeMatcher(acceptMediaTypes, extension)).mediaType();
+    }
 
-        MediaType match = matcher.findBestMatch(this.codecs.stream().map((e) -> {
-            return e.mediaType;
-        }).collect(Collectors.toList()));
+    private NegotiationResult match(MediaTypeMatcher matcher, int version) {
+        MediaType bestMatch = matcher.findBestMatch(this.mediaTypes);
+        return new NegotiationResult(bestMatch, getResourceCodec(bestMatch), version);
+    }
 
-        return match;
+    private static <V> void cache(Map<Key, V> cache, Key key, V value) {
+        if (cache.size() >= NEGOTIATION_CACHE_SIZE) {
+            // too many distinct headers to keep them all, start over
+            cache.clear();
+        }
+        cache.put(key, value);
     }
 
     private List<CodecRegistration> codecs = new CopyOnWriteArrayList<>();
+    private volatile List<MediaType> mediaTypes = Collections.emptyList();
+    private volatile int version;
+    private final Map<Key, DefaultMediaTypeMatcher> matchers = new ConcurrentHashMap<>();
+    private final Map<Key, NegotiationResult> negotiations = new ConcurrentHashMap<>();
 
     private static final Logger log = Logger.getLogger(ResourceCodecManager.class);
 
@@ -133,4 +191,29 @@ public class ResourceCodecManager {
             return "[CodecRegistration: mediaType=" + mediaType + ", codec=" + codec + "]";
         }
     }
+
+    private static class Key {
+
+        Key(String acceptMediaTypes, String extension) {
+            this.acceptMediaTypes = acceptMediaTypes;
+            this.extension = extension;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key that = (Key) obj;
+            return Objects.equals(this.acceptMediaTypes, that.acceptMediaTypes) && Objects.equals(this.extension, that.extension);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Objects.hashCode(this.acceptMediaTypes) + Objects.hashCode(this.extension);
+        }
+
+        private final String acceptMediaTypes;
+        private final String extension;
+    }
 }
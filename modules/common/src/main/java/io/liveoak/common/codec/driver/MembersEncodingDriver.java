@@ -29,6 +29,9 @@ public class MembersEncodingDriver extends ResourceEncodingDriver {
         //otherwise it could be an expensive operation when all we are requesting is metadata (ie count)
         //or if the count > 0 (eg no member should be returned).
         if (requestContext().returnFields().included(LiveOak.MEMBERS) && requestContext().pagination().limit() > 0) {
+            // the same for every member
+            membersIncluded = returnFields().included(LiveOak.MEMBERS);
+            membersFields = returnFields().child(LiveOak.MEMBERS);
             resource().readMembers(requestContext(), new MyResourceSink());
         } else {
             encodeNext();
@@ -47,7 +50,7 @@ public class MembersEncodingDriver extends ResourceEncodingDriver {
 
         @Override
         public void accept(Resource resource) {
-            if (!returnFields().included(LiveOak.MEMBERS)) {
+            if (!membersIncluded) {
                 return;
             }
             if (!hasMembers) {
@@ -63,10 +66,10 @@ public class MembersEncodingDriver extends ResourceEncodingDriver {
             }
             if (resource instanceof StatusResource) {
                 addChildDriver(new ResourceEncodingDriver(MembersEncodingDriver.this, resource, ReturnFields.ALL, replaceConfigFunction()));
-            } else if (returnFields().child(LiveOak.MEMBERS).isEmpty()) {
+            } else if (membersFields.isEmpty()) {
                 addChildDriver(new ValueEncodingDriver(MembersEncodingDriver.this, resource));
             } else {
-                addChildDriver(new ResourceEncodingDriver(MembersEncodingDriver.this, resource, returnFields().child(LiveOak.MEMBERS), replaceConfigFunction()));
+                addChildDriver(new ResourceEncodingDriver(MembersEncodingDriver.this, resource, membersFields, replaceConfigFunction()));
             }
         }
 
@@ -99,6 +102,8 @@ public class MembersEncodingDriver extends ResourceEncodingDriver {
         private Throwable error;
     }
 
+    private boolean membersIncluded;
+    private ReturnFields membersFields;
     private boolean hasMembers;
 
     private static final Logger log = Logger.getLogger(MembersEncodingDriver.class);
@@ -41,8 +41,9 @@ public class StateEncodingDriver extends AbstractEncodingDriver {
     protected void encodeMembers(ResourceState resourceState) throws Exception {
         if (resourceState.members() != null && !resourceState.members().isEmpty()) {
             encoder().startMembers();
+            ReturnFields membersFields = returnFields().child(LiveOak.MEMBERS);
             for (ResourceState memberState : resourceState.members()) {
-                encodeValue(memberState, returnFields().child(LiveOak.MEMBERS));
+                encodeValue(memberState, membersFields);
             }
             encoder().endMembers();
         }
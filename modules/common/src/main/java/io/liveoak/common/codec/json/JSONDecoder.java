@@ -38,14 +38,25 @@ public class JSONDecoder implements ResourceDecoder {
 
     @Override
     public ResourceState decode(ByteBuf resource) throws IOException {
-        return decode(() -> factory().createParser(new ByteBufInputStream(resource)));
+        return decode(() -> createParser(resource));
+    }
+
+    /**
+     * @return The parser reading the buffer, {@link #decode(ByteBuf)} uses it for the whole document.
+     */
+    protected JsonParser createParser(ByteBuf resource) throws IOException {
+        return FACTORY.createParser(new ByteBufInputStream(resource));
     }
 
     public ResourceState decode(File resource) throws IOException {
-        return decode(() -> factory().configure(JsonParser.Feature.ALLOW_COMMENTS, true).createParser(resource));
+        return decode(() -> FILE_FACTORY.createParser(resource));
     }
 
-    private JsonFactory factory() {
+    // factories are thread-safe once configured, and keep their symbol tables between parsers
+    private static final JsonFactory FACTORY = factory();
+    private static final JsonFactory FILE_FACTORY = factory().configure(JsonParser.Feature.ALLOW_COMMENTS, true);
+
+    private static JsonFactory factory() {
         JsonFactory factory = new JsonFactory();
         factory.configure(JsonParser.Feature.ALLOW_SINGLE_QUOTES, true);
         factory.configure(JsonParser.Feature.ALLOW_UNQUOTED_FIELD_NAMES, true);
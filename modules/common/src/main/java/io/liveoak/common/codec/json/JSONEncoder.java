@@ -6,6 +6,7 @@
 package io.liveoak.common.codec.json;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Collection;
 import java.util.Date;
 import java.util.Map;
@@ -25,6 +26,8 @@ import io.netty.buffer.ByteBufOutputStream;
  */
 public class JSONEncoder implements StateEncoder {
 
+    private static final JsonFactory FACTORY = new JsonFactory();
+
     public JSONEncoder() {
     }
 
@@ -34,10 +37,16 @@ public class JSONEncoder implements StateEncoder {
 
     @Override
     public void initialize(ByteBuf buffer) throws Exception {
-        JsonFactory factory = new JsonFactory();
-        ByteBufOutputStream out = new ByteBufOutputStream(buffer);
-        this.generator = factory.createGenerator(out);
-        this.generator.setPrettyPrinter(new DefaultPrettyPrinter("\\n"));
+        this.generator = createGenerator(new ByteBufOutputStream(buffer));
+    }
+
+    /**
+     * @return The generator writing to the buffer, {@link #initialize(ByteBuf)} uses it for the whole document.
+     */
+    protected JsonGenerator createGenerator(OutputStream out) throws IOException {
+        JsonGenerator generator = FACTORY.createGenerator(out);
+        generator.setPrettyPrinter(new DefaultPrettyPrinter("\\n"));
+        return generator;
     }
 
     @Override
@@ -0,0 +1,31 @@
+/*
+ * Copyright 2014 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package io.liveoak.common.codec.smile;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonParser;
+import io.liveoak.common.codec.json.JSONDecoder;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+
+/**
+ * Decodes documents written by {@link SmileEncoder}.
+ */
+public class SmileDecoder extends JSONDecoder {
+
+    public SmileDecoder() {
+    }
+
+    public SmileDecoder(boolean replaceProperties) {
+        super(replaceProperties);
+    }
+
+    @Override
+    protected JsonParser createParser(ByteBuf resource) throws IOException {
+        return SmileEncoder.FACTORY.createParser(new ByteBufInputStream(resource));
+    }
+}
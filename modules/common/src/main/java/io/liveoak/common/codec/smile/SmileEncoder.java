@@ -0,0 +1,33 @@
+/*
+ * Copyright 2014 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package io.liveoak.common.codec.smile;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.liveoak.common.codec.json.JSONEncoder;
+
+/**
+ * Encodes the same document as {@link JSONEncoder}, in Jackson's binary Smile format.
+ */
+public class SmileEncoder extends JSONEncoder {
+
+    static final SmileFactory FACTORY = new SmileFactory();
+
+    public SmileEncoder() {
+    }
+
+    public SmileEncoder(boolean inhibitIds) {
+        super(inhibitIds);
+    }
+
+    @Override
+    protected JsonGenerator createGenerator(OutputStream out) throws IOException {
+        return FACTORY.createGenerator(out);
+    }
+}
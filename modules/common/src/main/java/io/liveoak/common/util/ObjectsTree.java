@@ -24,30 +24,39 @@ public class ObjectsTree<T> {
     }
 
     public ObjectsTree<T> findLeaf(ResourcePath path) {
-        if (path.isEmpty()) {
+        return findLeaf(path.segments(), 0);
+    }
+
+    private ObjectsTree<T> findLeaf(List<ResourcePath.Segment> segments, int index) {
+        if (index == segments.size()) {
             return this;
         }
-        String id = path.head().name();
+        String id = segments.get(index).name();
 
         ObjectsTree<T> child = this.children.get(id);
         if (child == null) {
             child = new ObjectsTree<>();
-            this.children.put(path.head().name(), child);
+            this.children.put(id, child);
         }
 
         // For now, support * just at the end
-        if (id.equals("*") && !path.subPath().isEmpty()) {
-            throw new IllegalArgumentException("* supported just at the end. Remaining path is " + path.subPath());
+        if (id.equals("*") && index + 1 < segments.size()) {
+            throw new IllegalArgumentException("* supported just at the end. Remaining path is " + new ResourcePath(segments.subList(index + 1, segments.size())));
         }
-        return child.findLeaf(path.subPath());
+        return child.findLeaf(segments, index + 1);
     }
 
     public Stream<T> objects(ResourcePath path) {
-        if (path.isEmpty()) {
+        return objects(path.segments(), 0);
+    }
+
+    // walks the path by index, rather than through sub paths
+    private Stream<T> objects(List<ResourcePath.Segment> segments, int index) {
+        if (index == segments.size()) {
             return this.objects.stream();
         }
 
-        String name = path.head().name();
+        String name = segments.get(index).name();
 
         ObjectsTree<T> wildcardChild = this.children.get("*");
         Stream<T> wildcardSubs = null;
@@ -59,7 +68,7 @@ public class ObjectsTree<T> {
         Stream<T> childSubs = null;
 
         if (child != null) {
-            childSubs = child.objects(path.subPath());
+            childSubs = child.objects(segments, index + 1);
         }
 
         if ( wildcardSubs != null && childSubs != null ) {
@@ -74,8 +83,7 @@ public class ObjectsTree<T> {
             return childSubs;
         }
 
-        List<T> empty = Collections.emptyList();
-        return empty.stream();
+        return Stream.empty();
     }
 
     public Stream<T> objects() {
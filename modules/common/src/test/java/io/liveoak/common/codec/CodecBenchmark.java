@@ -0,0 +1,110 @@
+/*
+ * Copyright 2014 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package io.liveoak.common.codec;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import io.liveoak.common.codec.driver.StateEncodingDriver;
+import io.liveoak.common.codec.json.JSONDecoder;
+import io.liveoak.common.codec.json.JSONEncoder;
+import io.liveoak.common.codec.smile.SmileDecoder;
+import io.liveoak.common.codec.smile.SmileEncoder;
+import io.liveoak.spi.RequestContext;
+import io.liveoak.spi.state.ResourceState;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the JSON and Smile codecs, encoding and decoding a single resource and a page of a collection.
+ * The difference in encoded size is covered by {@link SmileCodecTest}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class CodecBenchmark {
+
+    @Param({"json", "smile"})
+    private String format;
+
+    @Param({"1", "50"})
+    private int members;
+
+    private final RequestContext requestContext = new RequestContext.Builder().build();
+
+    private ResourceState state;
+    private ByteBuf buffer;
+    private ByteBuf encoded;
+    private ResourceDecoder decoder;
+
+    @Setup
+    public void setup() throws Exception {
+        if (this.members == 1) {
+            this.state = person(0);
+        } else {
+            DefaultResourceState collection = new DefaultResourceState("people");
+            collection.uri(new URI("/testApp/storage/people"));
+            for (int i = 0; i < this.members; ++i) {
+                collection.addMember(person(i));
+            }
+            this.state = collection;
+        }
+
+        this.decoder = this.format.equals("smile") ? new SmileDecoder() : new JSONDecoder();
+        this.buffer = Unpooled.buffer();
+        this.encoded = Unpooled.copiedBuffer(encode());
+    }
+
+    @Benchmark
+    public ByteBuf encode() throws Exception {
+        this.buffer.clear();
+        StateEncoder encoder = this.format.equals("smile") ? new SmileEncoder() : new JSONEncoder();
+        encoder.initialize(this.buffer);
+        StateEncodingDriver driver = new StateEncodingDriver(this.requestContext, encoder, this.state);
+        driver.encode();
+        driver.close();
+        return this.buffer;
+    }
+
+    @Benchmark
+    public ResourceState decode() throws Exception {
+        return this.decoder.decode(this.encoded.duplicate());
+    }
+
+    private static ResourceState person(int i) throws Exception {
+        DefaultResourceState address = new DefaultResourceState();
+        address.putProperty("street", i + " Main St");
+        address.putProperty("city", "Boston");
+        address.putProperty("zip", "02110");
+
+        DefaultResourceState person = new DefaultResourceState("person" + i);
+        person.uri(new URI("/testApp/storage/people/person" + i));
+        person.putProperty("name", "John Doe " + i);
+        person.putProperty("age", 20 + i);
+        person.putProperty("height", 1.85);
+        person.putProperty("active", i % 2 == 0);
+        person.putProperty("created", new Date(1400000000000L + i));
+        person.putProperty("address", address);
+        person.putProperty("tags", Arrays.asList("a", "b", "c", "d", "e"));
+        return person;
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2014 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package io.liveoak.common.codec;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.List;
+
+import io.liveoak.common.codec.driver.StateEncodingDriver;
+import io.liveoak.common.codec.json.JSONEncoder;
+import io.liveoak.common.codec.smile.SmileDecoder;
+import io.liveoak.common.codec.smile.SmileEncoder;
+import io.liveoak.spi.RequestContext;
+import io.liveoak.spi.state.ResourceState;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.Test;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+public class SmileCodecTest {
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        ByteBuf encoded = encode(new SmileEncoder(), page(50));
+
+        ResourceState decoded = new SmileDecoder().decode(encoded);
+        assertThat(decoded.id()).isEqualTo("people");
+        assertThat(decoded.members()).hasSize(50);
+        ResourceState person = decoded.members().get(7);
+        assertThat(person.id()).isEqualTo("person7");
+        assertThat(person.getProperty("name")).isEqualTo("John Doe 7");
+        assertThat(person.getProperty("age")).isEqualTo(27);
+        assertThat((List) person.getProperty("tags")).containsExactly("a", "b", "c");
+    }
+
+    @Test
+    public void testSmallerThanJson() throws Exception {
+        ResourceState page = page(50);
+        int json = encode(new JSONEncoder(), page).readableBytes();
+        int smile = encode(new SmileEncoder(), page).readableBytes();
+
+        // repeated property names are back-referenced
+        assertThat(smile).isLessThan(json);
+    }
+
+    private static ByteBuf encode(StateEncoder encoder, ResourceState state) throws Exception {
+        ByteBuf buffer = Unpooled.buffer();
+        encoder.initialize(buffer);
+        StateEncodingDriver driver = new StateEncodingDriver(new RequestContext.Builder().build(), encoder, state);
+        driver.encode();
+        driver.close();
+        return buffer;
+    }
+
+    private static ResourceState page(int members) throws Exception {
+        DefaultResourceState collection = new DefaultResourceState("people");
+        collection.uri(new URI("/testApp/storage/people"));
+        for (int i = 0; i < members; ++i) {
+            DefaultResourceState person = new DefaultResourceState("person" + i);
+            person.uri(new URI("/testApp/storage/people/person" + i));
+            person.putProperty("name", "John Doe " + i);
+            person.putProperty("age", 20 + i);
+            person.putProperty("tags", Arrays.asList("a", "b", "c"));
+            collection.addMember(person);
+        }
+        return collection;
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2014 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package io.liveoak.common.util;
+
+import java.util.concurrent.TimeUnit;
+
+import io.liveoak.spi.ResourcePath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * What a request does with its path: parse it, walk it down the segments and up the parents, print it and look
+ * it up in an {@link ObjectsTree}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ResourcePathBenchmark {
+
+    private static final String URI = "/testApp/storage/people/bob/dogs/moses";
+
+    private final ResourcePath path = new ResourcePath(URI);
+
+    private final ObjectsTree<String> tree = new ObjectsTree<>();
+
+    {
+        this.tree.addObject("app", new ResourcePath("/testApp/*"));
+        this.tree.addObject("people", new ResourcePath("/testApp/storage/people/*"));
+        this.tree.addObject("moses", new ResourcePath(URI));
+    }
+
+    @Benchmark
+    public ResourcePath parse() {
+        return new ResourcePath(URI);
+    }
+
+    @Benchmark
+    public void traverse(Blackhole blackhole) {
+        ResourcePath current = this.path;
+        while (!current.isEmpty()) {
+            blackhole.consume(current.head().name());
+            current = current.subPath();
+        }
+    }
+
+    @Benchmark
+    public void parents(Blackhole blackhole) {
+        ResourcePath current = this.path;
+        while (!current.isEmpty()) {
+            blackhole.consume(current.hashCode());
+            current = current.parent();
+        }
+    }
+
+    @Benchmark
+    public String print() {
+        return new ResourcePath(URI).toString();
+    }
+
+    @Benchmark
+    public long lookup() {
+        return this.tree.objects(this.path).count();
+    }
+}
@@ -2,6 +2,8 @@ package io.liveoak.container;
 
 import io.liveoak.common.codec.ResourceCodecManager;
 import io.liveoak.container.extension.system.ExtensionInstaller;
+import io.liveoak.container.resource.ClientResource;
+import io.liveoak.container.resource.DeploymentsResource;
 import io.liveoak.container.resource.PropertiesResource;
 import io.liveoak.container.resource.ServersResource;
 import io.liveoak.container.tenancy.InternalApplicationRegistry;
@@ -33,6 +35,8 @@ public class LiveOakSystem implements SynchronousResource {
         this.serviceContainer = serviceContainer;
         this.propertiesResource = new PropertiesResource(this);
         this.serversResource = new ServersResource(this, serviceContainer);
+        this.deploymentsResource = new DeploymentsResource(this, serviceContainer);
+        this.clientResource = new ClientResource(this, serviceContainer);
     }
 
     public void stop() {
@@ -110,6 +114,8 @@ public class LiveOakSystem implements SynchronousResource {
         LinkedList<Resource> members = new LinkedList<>();
         members.add(this.serversResource);
         members.add(this.propertiesResource);
+        members.add(this.deploymentsResource);
+        members.add(this.clientResource);
         return members;
     }
 
@@ -117,6 +123,8 @@ public class LiveOakSystem implements SynchronousResource {
 
     private PropertiesResource propertiesResource;
     private ServersResource serversResource;
+    private DeploymentsResource deploymentsResource;
+    private ClientResource clientResource;
 
     private static final Logger log = Logger.getLogger(LiveOakSystem.class);
 
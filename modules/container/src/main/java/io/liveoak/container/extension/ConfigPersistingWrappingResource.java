@@ -60,7 +60,7 @@ public abstract class ConfigPersistingWrappingResource extends DelegatingRootRes
         this.configValuesTree = storeConfigEnvVars(state);
         delegate().updateProperties(ctx, filter(state),
                 new RootResourceConfigPersistingResponder(this, state,
-                        new ConfigVersioningResponder(responder, resourceVersioned(), versionedResourcePath(), this.client, ctx.securityContext())
+                        new ConfigVersioningResponder(responder, resourceVersioned(), versionedResourcePath(), this.client, ctx.securityContext(), ConfigVersioningResponder.CONFIG_PATHS)
                 )
         );
     }
@@ -1,5 +1,8 @@
 package io.liveoak.container.extension;
 
+import java.util.Arrays;
+import java.util.List;
+
 import io.liveoak.common.codec.DefaultResourceState;
 import io.liveoak.spi.RequestContext;
 import io.liveoak.spi.RequestType;
@@ -11,17 +14,42 @@ import io.liveoak.spi.resource.async.Resource;
 import io.liveoak.spi.resource.async.Responder;
 import io.liveoak.spi.security.SecurityContext;
 import io.liveoak.spi.state.ResourceState;
+import org.jboss.logging.Logger;
 
 /**
+ * Commits the application directory once a configuration change is done, before responding.
+ *
+ * <p>With <code>io.liveoak.versioning.async-commit</code> set, the response is sent right away and
+ * the commit lands in the background, a failed commit then only being logged.</p>
+ *
  * @author Ken Finnigan
  */
 public class ConfigVersioningResponder extends DelegatingResponder {
+
+    public static final String ASYNC_COMMIT_PROPERTY = "io.liveoak.versioning.async-commit";
+    private static final boolean ASYNC_COMMIT = Boolean.getBoolean(ASYNC_COMMIT_PROPERTY);
+
+    /**
+     * The files holding the configuration of an application and its resources.
+     */
+    public static final List<String> CONFIG_PATHS = Arrays.asList("application.json", "config");
+
+    private static final Logger log = Logger.getLogger(ConfigVersioningResponder.class);
+
     public ConfigVersioningResponder(Responder delegate, boolean versioned, String path, Client client, SecurityContext securityContext) {
+        this(delegate, versioned, path, client, securityContext, null);
+    }
+
+    /**
+     * @param paths The paths to commit, relative to the application directory, or null for all of it.
+     */
+    public ConfigVersioningResponder(Responder delegate, boolean versioned, String path, Client client, SecurityContext securityContext, List<String> paths) {
         super(delegate);
         this.path = path;
         this.versioned = versioned;
         this.client = client;
         this.securityContext = securityContext;
+        this.paths = paths;
     }
 
     @Override
@@ -57,9 +85,20 @@ public class ConfigVersioningResponder extends DelegatingResponder {
     private void performCommit(Resource resource, RequestType type, Runnable success) {
         ResourceState state = new DefaultResourceState();
         state.putProperty("msg", commitMsg(resource, type));
+        if (this.paths != null) {
+            state.putProperty("paths", this.paths);
+        }
+
+        if (ASYNC_COMMIT) {
+            success.run();
+        }
 
         this.client.create(new RequestContext.Builder().securityContext(this.securityContext).build(), path(), state, (response) -> {
-            if (response.responseType() == ClientResourceResponse.ResponseType.OK) {
+            if (ASYNC_COMMIT) {
+                if (response.responseType() != ClientResourceResponse.ResponseType.OK) {
+                    log.error("Unable to commit changes to " + path() + " due to: " + response.responseType());
+                }
+            } else if (response.responseType() == ClientResourceResponse.ResponseType.OK) {
                 success.run();
             } else {
                 super.error(ResourceErrorResponse.ErrorType.INTERNAL_ERROR, "Unable to commit changes due to: " + response.responseType());;
@@ -79,4 +118,5 @@ public class ConfigVersioningResponder extends DelegatingResponder {
     private String path;
     private Client client;
     private SecurityContext securityContext;
+    private List<String> paths;
 }
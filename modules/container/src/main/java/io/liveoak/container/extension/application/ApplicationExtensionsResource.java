@@ -27,7 +27,7 @@ public class ApplicationExtensionsResource extends MediaTypeMountPointResource i
     public void createMember(RequestContext ctx, ResourceState state, Responder responder) throws Exception {
         InternalApplication internalApp = this.application.application();
         InternalApplicationExtension ext = internalApp.extend(state.id(), state);
-        new ConfigVersioningResponder(responder, internalApp.versioned(), internalApp.versionedResourcePath(), this.client, ctx.securityContext()).resourceCreated(ext.adminResource());
+        new ConfigVersioningResponder(responder, internalApp.versioned(), internalApp.versionedResourcePath(), this.client, ctx.securityContext(), ConfigVersioningResponder.CONFIG_PATHS).resourceCreated(ext.adminResource());
     }
 
     private final ApplicationResource application;
@@ -39,7 +39,7 @@ public class ConfigResourceWrappingResource extends DelegatingResource implement
     public void createMember(RequestContext ctx, ResourceState state, Responder responder) throws Exception {
         delegate().createMember(ctx, state,
                 new ConfigResourcePersistingResponder(state, extensionConfigDirectory,
-                        new ConfigVersioningResponder(responder, application.versioned(), application.versionedResourcePath(), client, ctx.securityContext())
+                        new ConfigVersioningResponder(responder, application.versioned(), application.versionedResourcePath(), client, ctx.securityContext(), ConfigVersioningResponder.CONFIG_PATHS)
                 )
         );
     }
@@ -49,7 +49,7 @@ public class ConfigResourceWrappingResource extends DelegatingResource implement
         // Delete all child resource configurations, and it's own
         delegate().delete(ctx,
                 new ConfigResourcePersistingResponder(null, extensionConfigDirectory,
-                        new ConfigVersioningResponder(responder, application.versioned(), application.versionedResourcePath(), client, ctx.securityContext())
+                        new ConfigVersioningResponder(responder, application.versioned(), application.versionedResourcePath(), client, ctx.securityContext(), ConfigVersioningResponder.CONFIG_PATHS)
                 )
         );
     }
@@ -71,7 +71,7 @@ public class ConfigResourceWrappingResource extends DelegatingResource implement
         //TODO Filter state
         delegate().updateProperties(ctx, state,
             new ConfigResourcePersistingResponder(state, extensionConfigDirectory,
-                    new ConfigVersioningResponder(responder, application.versioned(), application.versionedResourcePath(), client, ctx.securityContext())
+                    new ConfigVersioningResponder(responder, application.versioned(), application.versionedResourcePath(), client, ctx.securityContext(), ConfigVersioningResponder.CONFIG_PATHS)
             )
         );
     }
@@ -30,7 +30,7 @@ public class ConfigRootResourceWrappingResource extends AdminResourceWrappingRes
     public void createMember(RequestContext ctx, ResourceState state, Responder responder) throws Exception {
         delegate().createMember(ctx, state,
                 new ConfigResourcePersistingResponder(state, delegate().baseConfig(extension.application().configurationDirectory()),
-                        new ConfigVersioningResponder(responder, extension.application().versioned(), extension.application().versionedResourcePath(), client, ctx.securityContext())
+                        new ConfigVersioningResponder(responder, extension.application().versioned(), extension.application().versionedResourcePath(), client, ctx.securityContext(), ConfigVersioningResponder.CONFIG_PATHS)
                 )
         );
     }
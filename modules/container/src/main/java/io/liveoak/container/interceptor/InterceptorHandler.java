@@ -1,6 +1,11 @@
 package io.liveoak.container.interceptor;
 
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
 import io.liveoak.container.protocols.RequestCompleteEvent;
+import io.liveoak.spi.RequestAttributes;
 import io.liveoak.spi.ResourceRequest;
 import io.liveoak.spi.ResourceResponse;
 import io.netty.channel.ChannelDuplexHandler;
@@ -12,6 +17,12 @@ import io.netty.channel.ChannelPromise;
  */
 public class InterceptorHandler extends ChannelDuplexHandler {
 
+    /**
+     * Request attribute naming the chain to run a request through, instead of the one of the pipeline.
+     * Used to run requests made on behalf of a remote client through the same interceptors as the original request.
+     */
+    public static final String CHAIN_ATTRIBUTE = "io.liveoak.interceptor.chain";
+
     public InterceptorHandler(String chainName, InterceptorManagerImpl manager) {
         this.chainName = chainName;
         this.manager = manager;
@@ -20,7 +31,7 @@ public class InterceptorHandler extends ChannelDuplexHandler {
     @Override
     public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
         if (msg instanceof ResourceResponse) {
-            this.manager.fireOutbound(chainName, ctx, (ResourceResponse) msg);
+            this.manager.fireOutbound(chainName(((ResourceResponse) msg).inReplyTo()), ctx, (ResourceResponse) msg);
         } else {
             super.write(ctx, msg, promise);
         }
@@ -29,7 +40,12 @@ public class InterceptorHandler extends ChannelDuplexHandler {
     @Override
     public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
         if (msg instanceof ResourceRequest) {
-            this.manager.fireInbound(chainName, ctx, (ResourceRequest) msg);
+            ResourceRequest request = (ResourceRequest) msg;
+            String chainName = chainName(request);
+            if (chainName != this.chainName) {
+                this.overriddenChains.put(request.requestId(), chainName);
+            }
+            this.manager.fireInbound(chainName, ctx, request);
         } else {
             super.channelRead(ctx, msg);
         }
@@ -38,12 +54,26 @@ public class InterceptorHandler extends ChannelDuplexHandler {
     @Override
     public void userEventTriggered(ChannelHandlerContext ctx, Object evt) throws Exception {
         if (evt instanceof RequestCompleteEvent) {
-            this.manager.fireComplete(chainName, ((RequestCompleteEvent) evt).requestId());
+            UUID requestId = ((RequestCompleteEvent) evt).requestId();
+            String chainName = this.overriddenChains.remove(requestId);
+            this.manager.fireComplete(chainName != null ? chainName : this.chainName, requestId);
         }
         super.userEventTriggered(ctx, evt);
     }
 
+    private String chainName(ResourceRequest request) {
+        if (request != null && request.requestContext() != null) {
+            RequestAttributes attributes = request.requestContext().requestAttributes();
+            String chainName = attributes != null ? attributes.getAttribute(CHAIN_ATTRIBUTE, String.class) : null;
+            if (chainName != null) {
+                return chainName;
+            }
+        }
+        return this.chainName;
+    }
+
     private final InterceptorManagerImpl manager;
     private final String chainName;
+    private final Map<UUID, String> overriddenChains = new ConcurrentHashMap<>();
 
 }
@@ -8,7 +8,6 @@ package io.liveoak.container.protocols.http;
 import java.net.URI;
 import java.util.List;
 
-import io.liveoak.common.DefaultMediaTypeMatcher;
 import io.liveoak.common.DefaultResourceParams;
 import io.liveoak.common.DefaultResourceRequest;
 import io.liveoak.common.codec.DefaultLazyResourceState;
@@ -88,7 +87,7 @@ public class HttpResourceRequestDecoder extends MessageToMessageDecoder<DefaultH
         if (acceptHeader == null) {
             acceptHeader = "application/json";
         }
-        MediaTypeMatcher mediaTypeMatcher = new DefaultMediaTypeMatcher(acceptHeader, extension);
+        MediaTypeMatcher mediaTypeMatcher = this.codecManager.mediaTypeMatcher(acceptHeader, extension);
 
         ResourceParams params = DefaultResourceParams.instance(decoder.parameters());
 
@@ -142,19 +141,19 @@ public class HttpResourceRequestDecoder extends MessageToMessageDecoder<DefaultH
         }
     }
 
-    private ReturnFields decodeReturnFields(ResourceParams params) {
+    public static ReturnFields decodeReturnFields(ResourceParams params) {
         String fieldsValue = params.value("fields");
         DefaultReturnFields returnFields = null;
         if (fieldsValue != null && !"".equals(fieldsValue)) {
-            returnFields = new DefaultReturnFields(fieldsValue);
+            returnFields = DefaultReturnFields.forSpec(fieldsValue);
         } else {
-            returnFields = new DefaultReturnFields("*");
+            returnFields = DefaultReturnFields.forSpec("*");
         }
 
         return returnFields;
     }
 
-    protected Pagination decodePagination(ResourceParams params) {
+    public static Pagination decodePagination(ResourceParams params) {
 
         int offset = limit(intValue(params.value("offset"), 0), 0, Integer.MAX_VALUE);
         int limit = limit(intValue(params.value("limit"), Pagination.DEFAULT_LIMIT), 0, Pagination.MAX_LIMIT);
@@ -170,7 +169,7 @@ public class HttpResourceRequestDecoder extends MessageToMessageDecoder<DefaultH
         };
     }
 
-    protected Sorting decodeSorting(ResourceParams params) {
+    public static Sorting decodeSorting(ResourceParams params) {
         String spec = params.value("sort");
         if (spec != null) {
             return new Sorting(spec);
@@ -187,7 +186,7 @@ public class HttpResourceRequestDecoder extends MessageToMessageDecoder<DefaultH
         return value;
     }
 
-    private int intValue(String value, int def) {
+    private static int intValue(String value, int def) {
         if (value == null) {
             return def;
         }
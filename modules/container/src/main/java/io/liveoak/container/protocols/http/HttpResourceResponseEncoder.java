@@ -171,7 +171,7 @@ public class HttpResourceResponseEncoder extends MessageToMessageEncoder<Default
                 if (app != null && app instanceof InternalApplication) {
                     ResourcePath htmlAppPath = ((InternalApplication)app).htmlApplicationResourcePath();
                     if ((!(msg.resource() instanceof BinaryResource)) && (htmlAppPath != null)) {
-                        MediaType bestMatch = matcher.findBestMatch(this.codecManager.mediaTypes());
+                        MediaType bestMatch = this.codecManager.negotiate(matcher).mediaType();
                         if (bestMatch == MediaType.HTML) {
                             // HTML was requested and we have an HTML app
                             ResourceRequest htmlAppRequest = new DefaultResourceRequest.Builder(RequestType.READ, htmlAppPath).mediaTypeMatcher(msg.inReplyTo().mediaTypeMatcher())
@@ -213,7 +213,13 @@ public class HttpResourceResponseEncoder extends MessageToMessageEncoder<Default
                     response.headers().add(HttpHeaders.Names.CONTENT_LENGTH, 0);
                 } else {
                     response = new DefaultHttpResponse(HttpVersion.HTTP_1_1, responseStatus);
-                    response.headers().add(HttpHeaders.Names.CONTENT_LENGTH, bin.contentLength());
+                    // a negative length means the content is produced while it is sent, so it goes out in chunks
+                    final boolean chunked = bin.contentLength() < 0;
+                    if (chunked) {
+                        HttpHeaders.setTransferEncodingChunked(response);
+                    } else {
+                        response.headers().add(HttpHeaders.Names.CONTENT_LENGTH, bin.contentLength());
+                    }
                     response.headers().add(HttpHeaders.Names.LOCATION, msg.resource().uri().toString());
                     response.headers().add(HttpHeaders.Names.CONTENT_TYPE, bin.mediaType());
 
@@ -231,7 +237,11 @@ public class HttpResourceResponseEncoder extends MessageToMessageEncoder<Default
 
                         @Override
                         public void accept(ByteBuf byteBuf) {
-                            ctx.write(new DefaultHttpContent(byteBuf));
+                            if (chunked) {
+                                ctx.writeAndFlush(new DefaultHttpContent(byteBuf));
+                            } else {
+                                ctx.write(new DefaultHttpContent(byteBuf));
+                            }
                         }
                     });
                     return;
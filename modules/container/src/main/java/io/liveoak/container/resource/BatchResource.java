@@ -0,0 +1,398 @@
+/*
+ * Copyright 2014 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package io.liveoak.container.resource;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.liveoak.common.DefaultRequestAttributes;
+import io.liveoak.common.DefaultResourceParams;
+import io.liveoak.common.codec.ResourceCodecManager;
+import io.liveoak.common.security.DefaultSecurityContext;
+import io.liveoak.common.security.SecurityHelper;
+import io.liveoak.container.interceptor.InterceptorHandler;
+import io.liveoak.container.protocols.http.HttpResourceRequestDecoder;
+import io.liveoak.spi.MediaType;
+import io.liveoak.spi.RequestAttributes;
+import io.liveoak.spi.RequestContext;
+import io.liveoak.spi.RequestType;
+import io.liveoak.spi.ResourceParams;
+import io.liveoak.spi.client.Client;
+import io.liveoak.spi.client.ClientResourceResponse;
+import io.liveoak.spi.exceptions.NotAcceptableException;
+import io.liveoak.spi.exceptions.NotAuthorizedException;
+import io.liveoak.spi.resource.RootResource;
+import io.liveoak.spi.resource.SynchronousResource;
+import io.liveoak.spi.resource.async.BinaryContentSink;
+import io.liveoak.spi.resource.async.BinaryResource;
+import io.liveoak.spi.resource.async.PropertySink;
+import io.liveoak.spi.resource.async.Resource;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.QueryStringDecoder;
+import io.netty.util.CharsetUtil;
+import org.jboss.logging.Logger;
+
+/**
+ * Reads several resources with a single request: <code>GET /_batch?path=/app/storage/a/1&amp;path=/app/pg/orders/3</code>.
+ *
+ * <p>The paths are read concurrently through the local client. Each one runs through the <code>http</code>
+ * interceptor chain, so it is authorized as if it had been requested on its own, and may carry its own query
+ * (<code>fields</code>, <code>offset</code>, ...). The bearer token of the batch request is validated once per
+ * application before any member is read, the members of an application then share the resulting security context.
+ * A batch with an invalid member query or a token rejected by any of its applications fails as a whole.</p>
+ *
+ * <p>The response is a JSON array streamed as the members complete, each element holding the
+ * <code>index</code> and <code>path</code> of the member, its HTTP <code>status</code> and its <code>body</code>.</p>
+ */
+public class BatchResource implements RootResource, SynchronousResource, BinaryResource {
+
+    private static final Logger log = Logger.getLogger(BatchResource.class);
+
+    public static final String ID = "_batch";
+    public static final String PATH_PARAM = "path";
+
+    public static final String MAX_PATHS_PROPERTY = "io.liveoak.batch.max-paths";
+    private static final int MAX_PATHS = Integer.getInteger(MAX_PATHS_PROPERTY, 100);
+
+    private static final String HTTP_CHAIN = "http";
+    private static final String BATCH_ATTRIBUTE = "io.liveoak.batch";
+
+    private static final JsonFactory FACTORY = new JsonFactory();
+
+    public BatchResource(Client client, ResourceCodecManager codecManager) {
+        this.client = client;
+        this.codecManager = codecManager;
+    }
+
+    @Override
+    public void parent(Resource parent) {
+        this.parent = parent;
+    }
+
+    @Override
+    public Resource parent() {
+        return this.parent;
+    }
+
+    @Override
+    public String id() {
+        return ID;
+    }
+
+    @Override
+    public void readProperties(RequestContext ctx, PropertySink sink) throws Exception {
+        // reject an invalid or unauthenticated batch before the streamed response is started
+        Batch batch;
+        try {
+            batch = new Batch(ctx, paths(ctx));
+        } catch (Throwable t) {
+            complete(sink, t);
+            return;
+        }
+        batch.authenticate(() -> {
+            if (ctx.requestAttributes() != null) {
+                ctx.requestAttributes().setAttribute(BATCH_ATTRIBUTE, batch);
+            }
+            complete(sink, null);
+        }, t -> complete(sink, t));
+    }
+
+    @Override
+    public MediaType mediaType() {
+        return MediaType.JSON;
+    }
+
+    @Override
+    public long contentLength() {
+        return -1;
+    }
+
+    @Override
+    public void readContent(RequestContext ctx, BinaryContentSink sink) throws Exception {
+        Batch batch = ctx.requestAttributes() != null ? ctx.requestAttributes().getAttribute(BATCH_ATTRIBUTE, Batch.class) : null;
+        if (batch != null) {
+            batch.start(sink);
+            return;
+        }
+
+        // the content is read without the properties, so the batch has not been checked yet
+        Batch unchecked = new Batch(ctx, paths(ctx));
+        unchecked.authenticate(() -> unchecked.start(sink), t -> unchecked.reject(sink, t));
+    }
+
+    private static void complete(PropertySink sink, Throwable error) {
+        if (error != null) {
+            sink.error(error);
+        }
+        try {
+            sink.complete();
+        } catch (RuntimeException e) {
+            // the error is rethrown once it has been reported
+            if (error == null) {
+                throw e;
+            }
+        }
+    }
+
+    private List<String> paths(RequestContext ctx) throws NotAcceptableException {
+        List<String> paths = ctx.resourceParams() != null ? ctx.resourceParams().values(PATH_PARAM) : null;
+        if (paths == null || paths.isEmpty()) {
+            throw new NotAcceptableException(uri().toString(), "At least one '" + PATH_PARAM + "' parameter is required");
+        }
+        if (paths.size() > MAX_PATHS) {
+            throw new NotAcceptableException(uri().toString(), "At most " + MAX_PATHS + " paths can be read at once");
+        }
+        for (String path : paths) {
+            if (!path.startsWith("/") || path.equals(uri().toString()) || path.startsWith(uri().toString() + "/") || path.startsWith(uri().toString() + "?")) {
+                throw new NotAcceptableException(uri().toString(), "Invalid path: " + path);
+            }
+        }
+        return paths;
+    }
+
+    private static int status(ClientResourceResponse.ResponseType responseType) {
+        switch (responseType) {
+            case OK:
+                return HttpResponseStatus.OK.code();
+            case NOT_AUTHORIZED:
+                return HttpResponseStatus.UNAUTHORIZED.code();
+            case FORBIDDEN:
+                return HttpResponseStatus.FORBIDDEN.code();
+            case NOT_ACCEPTABLE:
+            case RESOURCE_ALREADY_EXISTS:
+                return HttpResponseStatus.NOT_ACCEPTABLE.code();
+            case NO_SUCH_RESOURCE:
+                return HttpResponseStatus.NOT_FOUND.code();
+            case CREATE_NOT_SUPPORTED:
+            case READ_NOT_SUPPORTED:
+            case UPDATE_NOT_SUPPORTED:
+            case DELETE_NOT_SUPPORTED:
+                return HttpResponseStatus.METHOD_NOT_ALLOWED.code();
+            default:
+                return HttpResponseStatus.INTERNAL_SERVER_ERROR.code();
+        }
+    }
+
+    /**
+     * A single batch request, authenticating once per application, then dispatching its members and writing them
+     * out as they complete.
+     */
+    private class Batch {
+
+        Batch(RequestContext ctx, List<String> paths) throws NotAcceptableException {
+            this.ctx = ctx;
+            this.remaining = paths.size();
+
+            // members are grouped per application, as the security context of one application is no good for another
+            for (int i = 0; i < paths.size(); ++i) {
+                Member member = new Member(i, paths.get(i));
+                this.applications.computeIfAbsent(member.application(), app -> new DefaultSecurityContext());
+                this.members.add(member);
+            }
+        }
+
+        /**
+         * Validates the bearer token of the batch request against each of its applications, calling
+         * <code>success</code> once all of them accepted it or <code>failure</code> on the first that did not.
+         */
+        void authenticate(Runnable success, Consumer<Throwable> failure) {
+            String token = bearerToken();
+            if (token == null) {
+                success.run();
+                return;
+            }
+
+            AtomicInteger pending = new AtomicInteger(this.applications.size());
+            AtomicBoolean failed = new AtomicBoolean();
+            Consumer<Throwable> fail = t -> {
+                if (failed.compareAndSet(false, true)) {
+                    failure.accept(t);
+                }
+            };
+            Runnable done = () -> {
+                if (pending.decrementAndGet() == 0 && !failed.get()) {
+                    success.run();
+                }
+            };
+
+            this.applications.forEach((application, securityContext) -> SecurityHelper.auth(client, securityContext, "/" + application, token,
+                    done,
+                    // authentication is not configured for the application
+                    done,
+                    error -> {
+                        log.warn("Authentication failed for batch member application " + application + ", error: " + error);
+                        fail.accept(new NotAuthorizedException(uri().toString(), "Authentication failed for application '" + application + "'"));
+                    },
+                    fail));
+        }
+
+        void start(BinaryContentSink sink) {
+            this.sink = sink;
+            this.sink.accept(Unpooled.copiedBuffer("[", CharsetUtil.UTF_8));
+            for (Member member : this.members) {
+                member.dispatch(this.applications.get(member.application()));
+            }
+        }
+
+        /**
+         * Writes every member out with the status of the failed authentication, without reading any of them.
+         */
+        synchronized void reject(BinaryContentSink sink, Throwable t) {
+            this.sink = sink;
+            this.sink.accept(Unpooled.copiedBuffer("[", CharsetUtil.UTF_8));
+            int status = t instanceof NotAuthorizedException ? HttpResponseStatus.UNAUTHORIZED.code() : HttpResponseStatus.INTERNAL_SERVER_ERROR.code();
+            for (Member member : this.members) {
+                write(member, status, null);
+            }
+        }
+
+        private String bearerToken() {
+            String auth = this.ctx.requestAttributes() != null ? this.ctx.requestAttributes().getAttribute(HttpHeaders.Names.AUTHORIZATION, String.class) : null;
+            if (auth != null) {
+                String[] parts = auth.split(" ");
+                if (parts.length == 2 && parts[0].equalsIgnoreCase("bearer")) {
+                    return parts[1];
+                }
+            }
+            return null;
+        }
+
+        synchronized void write(Member member, ClientResourceResponse response) {
+            ByteBuf body = null;
+            try {
+                if (response.state() != null) {
+                    body = codecManager.getResourceCodec(MediaType.JSON).encode(member.ctx, response.state());
+                }
+            } catch (Exception e) {
+                log.error("Could not encode batch member " + member.path, e);
+                write(member, HttpResponseStatus.INTERNAL_SERVER_ERROR.code(), null);
+                return;
+            }
+            write(member, status(response.responseType()), body);
+        }
+
+        synchronized void failed(Member member, Throwable t) {
+            log.error("Could not read batch member " + member.path, t);
+            write(member, HttpResponseStatus.INTERNAL_SERVER_ERROR.code(), null);
+        }
+
+        private void write(Member member, int status, ByteBuf body) {
+            ByteBuf buf = Unpooled.buffer();
+            if (this.written++ > 0) {
+                buf.writeByte(',');
+            }
+            try (JsonGenerator generator = FACTORY.createGenerator(new ByteBufOutputStream(buf))) {
+                generator.writeStartObject();
+                generator.writeNumberField("index", member.index);
+                generator.writeStringField(PATH_PARAM, member.path);
+                generator.writeNumberField("status", status);
+                generator.writeFieldName("body");
+                if (body != null) {
+                    generator.writeRawValue(body.toString(CharsetUtil.UTF_8));
+                    body.release();
+                } else {
+                    generator.writeNull();
+                }
+                generator.writeEndObject();
+            } catch (Exception e) {
+                log.error("Could not write batch member " + member.path, e);
+            }
+
+            if (--this.remaining == 0) {
+                buf.writeBytes("]".getBytes(CharsetUtil.UTF_8));
+                this.sink.accept(buf);
+                this.sink.close();
+            } else {
+                this.sink.accept(buf);
+            }
+        }
+
+        private class Member {
+
+            Member(int index, String path) throws NotAcceptableException {
+                this.index = index;
+                this.path = path;
+                this.decoder = new QueryStringDecoder(path);
+                try {
+                    ResourceParams params = DefaultResourceParams.instance(this.decoder.parameters());
+                    this.ctx = new RequestContext.Builder()
+                            .resourceParams(params)
+                            .pagination(HttpResourceRequestDecoder.decodePagination(params))
+                            .returnFields(HttpResourceRequestDecoder.decodeReturnFields(params))
+                            .sorting(HttpResourceRequestDecoder.decodeSorting(params))
+                            .requestType(RequestType.READ);
+                } catch (RuntimeException e) {
+                    throw new NotAcceptableException(uri().toString(), "Invalid query of path " + path + ": " + e.getMessage());
+                }
+            }
+
+            String application() {
+                String path = this.decoder.path();
+                int end = path.indexOf('/', 1);
+                return end < 0 ? path.substring(1) : path.substring(1, end);
+            }
+
+            void dispatch(DefaultSecurityContext securityContext) {
+                try {
+                    // already authenticated, so the token is not passed on to be validated again
+                    this.ctx.securityContext(securityContext)
+                            .requestAttributes(attributes());
+
+                    client.read(this.ctx, this.decoder.path(), response -> {
+                        this.responded = true;
+                        write(this, response);
+                    });
+                } catch (Throwable t) {
+                    // the response callback may have run before the failure
+                    if (this.responded) {
+                        log.error("Error after reading batch member " + this.path, t);
+                        return;
+                    }
+                    failed(this, t);
+                }
+            }
+
+            private RequestAttributes attributes() {
+                RequestAttributes outer = Batch.this.ctx.requestAttributes();
+                RequestAttributes attributes = new DefaultRequestAttributes();
+                attributes.setAttribute(InterceptorHandler.CHAIN_ATTRIBUTE, HTTP_CHAIN);
+                if (outer != null) {
+                    attributes.setAttribute(HttpResourceRequestDecoder.HTTP_REQUEST, outer.getAttribute(HttpResourceRequestDecoder.HTTP_REQUEST));
+                    attributes.setAttribute(HttpHeaders.Names.ACCEPT, outer.getAttribute(HttpHeaders.Names.ACCEPT));
+                }
+                return attributes;
+            }
+
+            private final int index;
+            private final String path;
+            private final QueryStringDecoder decoder;
+            private final RequestContext.Builder ctx;
+            private volatile boolean responded;
+        }
+
+        private final RequestContext ctx;
+        private BinaryContentSink sink;
+        private final List<Member> members = new ArrayList<>();
+        private final Map<String, DefaultSecurityContext> applications = new LinkedHashMap<>();
+        private int remaining;
+        private int written;
+    }
+
+    private Resource parent;
+    private final Client client;
+    private final ResourceCodecManager codecManager;
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2014 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package io.liveoak.container.resource;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import io.liveoak.client.DefaultClient;
+import io.liveoak.spi.RequestContext;
+import io.liveoak.spi.Services;
+import io.liveoak.spi.resource.SynchronousResource;
+import io.liveoak.spi.resource.async.Resource;
+import org.jboss.msc.service.ServiceContainer;
+import org.jboss.msc.service.ServiceController;
+
+/**
+ * Usage of the in-process client: channels, requests in flight and call counts and latencies per path.
+ */
+public class ClientResource implements SynchronousResource {
+
+    public ClientResource(Resource parent, ServiceContainer serviceContainer) {
+        this.parent = parent;
+        this.serviceContainer = serviceContainer;
+    }
+
+    @Override
+    public Resource parent() {
+        return this.parent;
+    }
+
+    @Override
+    public String id() {
+        return "client";
+    }
+
+    @Override
+    public Map<String, ?> properties(RequestContext ctx) throws Exception {
+        Map<String, Object> result = new HashMap<>();
+        ServiceController<?> controller = this.serviceContainer.getService(Services.CLIENT);
+        if (controller != null && controller.getValue() instanceof DefaultClient) {
+            DefaultClient client = (DefaultClient) controller.getValue();
+            result.put("channels", client.channels());
+            result.put("inFlight", client.inFlight());
+            result.put("paths", client.statistics().snapshot());
+        }
+        return result;
+    }
+
+    private Resource parent;
+    private ServiceContainer serviceContainer;
+}
@@ -0,0 +1,101 @@
+package io.liveoak.container.resource;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.Map;
+
+import io.liveoak.container.tenancy.ApplicationDeployments;
+import io.liveoak.spi.RequestContext;
+import io.liveoak.spi.Services;
+import io.liveoak.spi.resource.SynchronousResource;
+import io.liveoak.spi.resource.async.Resource;
+import org.jboss.msc.service.ServiceContainer;
+import org.jboss.msc.service.ServiceController;
+
+/**
+ * Exposes the startup timing of each application deployed at boot.
+ */
+public class DeploymentsResource implements SynchronousResource {
+
+    public DeploymentsResource(Resource parent, ServiceContainer serviceContainer) {
+        this.parent = parent;
+        this.serviceContainer = serviceContainer;
+    }
+
+    @Override
+    public Resource parent() {
+        return this.parent;
+    }
+
+    @Override
+    public String id() {
+        return "deployments";
+    }
+
+    @Override
+    public Map<String, ?> properties(RequestContext ctx) throws Exception {
+        Map<String, Object> result = new HashMap<>();
+        ApplicationDeployments deployments = deployments();
+        if (deployments != null) {
+            result.put("parallelism", deployments.parallelism());
+            result.put("total-time", deployments.totalTime());
+            result.put("count", deployments.deployments().size());
+        }
+        return result;
+    }
+
+    @Override
+    public Collection<Resource> members(RequestContext ctx) throws Exception {
+        LinkedList<Resource> members = new LinkedList<>();
+        ApplicationDeployments deployments = deployments();
+        if (deployments != null) {
+            deployments.deployments().values().forEach(d -> members.add(new DeploymentResource(this, d)));
+        }
+        return members;
+    }
+
+    private ApplicationDeployments deployments() {
+        ServiceController<?> controller = this.serviceContainer.getService(Services.APPLICATIONS_DEPLOYER);
+        if (controller == null || controller.getState() != ServiceController.State.UP) {
+            return null;
+        }
+        return (ApplicationDeployments) controller.getValue();
+    }
+
+    private static class DeploymentResource implements SynchronousResource {
+
+        DeploymentResource(Resource parent, ApplicationDeployments.Deployment deployment) {
+            this.parent = parent;
+            this.deployment = deployment;
+        }
+
+        @Override
+        public Resource parent() {
+            return this.parent;
+        }
+
+        @Override
+        public String id() {
+            return this.deployment.id();
+        }
+
+        @Override
+        public Map<String, ?> properties(RequestContext ctx) throws Exception {
+            Map<String, Object> result = new HashMap<>();
+            result.put("offset", this.deployment.offset());
+            result.put("duration", this.deployment.duration());
+            result.put("failed", this.deployment.failed());
+            if (this.deployment.failed()) {
+                result.put("failure", String.valueOf(this.deployment.failure().getMessage()));
+            }
+            return result;
+        }
+
+        private Resource parent;
+        private ApplicationDeployments.Deployment deployment;
+    }
+
+    private Resource parent;
+    private ServiceContainer serviceContainer;
+}
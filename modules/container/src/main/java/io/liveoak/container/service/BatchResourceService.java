@@ -0,0 +1,42 @@
+package io.liveoak.container.service;
+
+import io.liveoak.common.codec.ResourceCodecManager;
+import io.liveoak.container.resource.BatchResource;
+import io.liveoak.spi.client.Client;
+import org.jboss.msc.inject.Injector;
+import org.jboss.msc.service.Service;
+import org.jboss.msc.service.StartContext;
+import org.jboss.msc.service.StartException;
+import org.jboss.msc.service.StopContext;
+import org.jboss.msc.value.InjectedValue;
+
+public class BatchResourceService implements Service<BatchResource> {
+
+    @Override
+    public void start(StartContext context) throws StartException {
+        this.resource = new BatchResource(this.clientInjector.getValue(), this.codecManagerInjector.getValue());
+    }
+
+    @Override
+    public void stop(StopContext context) {
+        this.resource = null;
+    }
+
+    @Override
+    public BatchResource getValue() throws IllegalStateException, IllegalArgumentException {
+        return this.resource;
+    }
+
+    public Injector<Client> clientInjector() {
+        return this.clientInjector;
+    }
+
+    public Injector<ResourceCodecManager> codecManagerInjector() {
+        return this.codecManagerInjector;
+    }
+
+    private BatchResource resource;
+    private InjectedValue<Client> clientInjector = new InjectedValue<>();
+    private InjectedValue<ResourceCodecManager> codecManagerInjector = new InjectedValue<>();
+
+}
@@ -11,6 +11,8 @@ import io.liveoak.common.codec.form.FormURLDecoder;
 import io.liveoak.common.codec.html.HTMLEncoder;
 import io.liveoak.common.codec.json.JSONDecoder;
 import io.liveoak.common.codec.json.JSONEncoder;
+import io.liveoak.common.codec.smile.SmileDecoder;
+import io.liveoak.common.codec.smile.SmileEncoder;
 import io.liveoak.container.service.CodecInstallationCompleteService;
 import io.liveoak.container.service.CodecInstallationService;
 import io.liveoak.container.service.CodecManagerService;
@@ -45,6 +47,7 @@ public class CodecBootstrappingService implements Service<Void> {
         List<ServiceName> codecCompletionDependencies = new ArrayList<>();
 
         codecCompletionDependencies.add(installCodec(target, MediaType.JSON, JSONEncoder.class, new JSONDecoder()));
+        codecCompletionDependencies.add(installCodec(target, MediaType.SMILE, SmileEncoder.class, new SmileDecoder()));
         codecCompletionDependencies.add(installCodec(target, MediaType.HTML, HTMLEncoder.class, null));
         codecCompletionDependencies.add(installCodec(target, MediaType.FORM_URLENCODED, null, new FormURLDecoder()));
 
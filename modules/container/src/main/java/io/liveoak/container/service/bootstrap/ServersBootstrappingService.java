@@ -6,7 +6,10 @@ import java.util.concurrent.Executor;
 import io.liveoak.common.codec.ResourceCodecManager;
 import io.liveoak.container.interceptor.InterceptorManagerImpl;
 import io.liveoak.container.protocols.PipelineConfigurator;
+import io.liveoak.container.resource.BatchResource;
+import io.liveoak.container.service.BatchResourceService;
 import io.liveoak.container.service.LocalServerService;
+import io.liveoak.container.service.MountService;
 import io.liveoak.container.service.NotifierService;
 import io.liveoak.container.service.PipelineConfiguratorService;
 import io.liveoak.container.service.SubscriptionManagerService;
@@ -14,6 +17,7 @@ import io.liveoak.container.service.UnsecureServerService;
 import io.liveoak.container.service.WorkerPoolService;
 import io.liveoak.container.tenancy.GlobalContext;
 import io.liveoak.spi.client.Client;
+import io.liveoak.spi.resource.MountPointResource;
 import io.liveoak.spi.container.SubscriptionManager;
 import org.jboss.msc.service.Service;
 import org.jboss.msc.service.ServiceBuilder;
@@ -24,6 +28,7 @@ import org.jboss.msc.service.StopContext;
 import org.jboss.msc.service.ValueService;
 import org.jboss.msc.value.ImmediateValue;
 
+import static io.liveoak.spi.Services.BATCH;
 import static io.liveoak.spi.Services.CLIENT;
 import static io.liveoak.spi.Services.CODEC_MANAGER;
 import static io.liveoak.spi.Services.CODEC_MANAGER_COMPLETE;
@@ -34,6 +39,7 @@ import static io.liveoak.spi.Services.PIPELINE_CONFIGURATOR;
 import static io.liveoak.spi.Services.SOCKET_BINDING;
 import static io.liveoak.spi.Services.SUBSCRIPTION_MANAGER;
 import static io.liveoak.spi.Services.WORKER_POOL;
+import static io.liveoak.spi.Services.defaultMount;
 import static io.liveoak.spi.Services.server;
 
 /**
@@ -91,6 +97,18 @@ public class ServersBootstrappingService implements Service<Void> {
         target.addService(NOTIFIER, notifier)
                 .addDependency(SUBSCRIPTION_MANAGER, SubscriptionManager.class, notifier.subscriptionManagerInjector())
                 .install();
+
+        BatchResourceService batch = new BatchResourceService();
+        target.addService(BATCH, batch)
+                .addDependency(CLIENT, Client.class, batch.clientInjector())
+                .addDependency(CODEC_MANAGER, ResourceCodecManager.class, batch.codecManagerInjector())
+                .install();
+
+        MountService<BatchResource> batchMount = new MountService<>(BatchResource.ID);
+        target.addService(defaultMount(BATCH), batchMount)
+                .addDependency(GLOBAL_CONTEXT, MountPointResource.class, batchMount.mountPointInjector())
+                .addDependency(BATCH, BatchResource.class, batchMount.resourceInjector())
+                .install();
     }
 
     @Override
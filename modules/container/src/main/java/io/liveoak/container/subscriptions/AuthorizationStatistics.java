@@ -0,0 +1,53 @@
+package io.liveoak.container.subscriptions;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Counts the authorization checks made before notifying secured subscriptions of an application.
+ */
+public class AuthorizationStatistics {
+
+    synchronized void evaluated(long latencyNanos, boolean denied) {
+        this.evaluations++;
+        if (denied) {
+            this.denied++;
+        }
+        this.totalLatency += latencyNanos;
+        this.maxLatency = Math.max(this.maxLatency, latencyNanos);
+    }
+
+    synchronized void shared() {
+        this.shared++;
+    }
+
+    /**
+     * @return The number of policy evaluations made.
+     */
+    public synchronized long evaluations() {
+        return this.evaluations;
+    }
+
+    /**
+     * @return The number of notifications authorized by reusing the decision made for the same principal.
+     */
+    public synchronized long shared() {
+        return this.shared;
+    }
+
+    public synchronized Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("evaluations", this.evaluations);
+        map.put("shared", this.shared);
+        map.put("denied", this.denied);
+        map.put("average-latency", this.evaluations == 0 ? 0 : (this.totalLatency / this.evaluations) / 1000);
+        map.put("max-latency", this.maxLatency / 1000);
+        return map;
+    }
+
+    private long evaluations;
+    private long shared;
+    private long denied;
+    private long totalLatency;
+    private long maxLatency;
+}
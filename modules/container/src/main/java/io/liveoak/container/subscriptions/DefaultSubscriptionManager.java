@@ -1,8 +1,10 @@
 package io.liveoak.container.subscriptions;
 
+import java.util.LinkedList;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 
 import io.liveoak.common.util.ObjectsTree;
 import io.liveoak.spi.ResourcePath;
@@ -47,8 +49,8 @@ public class DefaultSubscriptionManager implements SubscriptionManager {
     @Override
     public void resourceCreated(ResourceResponse resourceResponse) {
         ResourcePath path = resourcePathOf(resourceResponse.resource());
-        this.subscriptionsTree.objects(path).forEach((subscription) -> subscribeResourceCreated(path, subscription, resourceResponse));
-        this.subscriptionsTree.objects(path.parent()).forEach((subscription) -> subscribeResourceCreated(path.parent(), subscription, resourceResponse));
+        subscriptions(path).forEach((subscription) -> subscribeResourceCreated(path, subscription, resourceResponse));
+        subscriptions(path.parent()).forEach((subscription) -> subscribeResourceCreated(path.parent(), subscription, resourceResponse));
     }
 
     protected void subscribeResourceCreated(ResourcePath path, Subscription subscription, ResourceResponse resourceResponse) {
@@ -62,7 +64,7 @@ public class DefaultSubscriptionManager implements SubscriptionManager {
     @Override
     public void resourceUpdated(ResourceResponse resourceResponse) {
         ResourcePath path = resourcePathOf(resourceResponse.resource());
-        this.subscriptionsTree.objects(path).forEach((subscription) -> subscribeResourceUpdated(path, subscription, resourceResponse));
+        subscriptions(path).forEach((subscription) -> subscribeResourceUpdated(path, subscription, resourceResponse));
     }
 
     protected void subscribeResourceUpdated(ResourcePath path, Subscription subscription, ResourceResponse resourceResponse) {
@@ -76,8 +78,8 @@ public class DefaultSubscriptionManager implements SubscriptionManager {
     @Override
     public void resourceDeleted(ResourceResponse resourceResponse) {
         ResourcePath path = resourcePathOf(resourceResponse.resource());
-        this.subscriptionsTree.objects(path).forEach((subscription) -> subscribeResourceDeleted(path, subscription, resourceResponse));
-        this.subscriptionsTree.objects(path.parent()).forEach((subscription) -> subscribeResourceDeleted(path.parent(), subscription, resourceResponse));
+        subscriptions(path).forEach((subscription) -> subscribeResourceDeleted(path, subscription, resourceResponse));
+        subscriptions(path.parent()).forEach((subscription) -> subscribeResourceDeleted(path.parent(), subscription, resourceResponse));
     }
 
     protected void subscribeResourceDeleted(ResourcePath path, Subscription subscription, ResourceResponse resourceResponse) {
@@ -89,18 +91,22 @@ public class DefaultSubscriptionManager implements SubscriptionManager {
     }
 
     protected ResourcePath resourcePathOf(Resource resource) {
-        ResourcePath path = new ResourcePath();
+        LinkedList<String> ids = new LinkedList<>();
 
         Resource current = resource;
 
         while (current != null) {
             if (!current.id().equals("")) {
-                path.prependSegment(current.id());
+                ids.addFirst(current.id());
             }
             current = current.parent();
         }
 
-        return path;
+        return new ResourcePath(ids.toArray(new String[ids.size()]));
+    }
+
+    protected Stream<Subscription> subscriptions(ResourcePath path) {
+        return this.subscriptionsTree.objects(path);
     }
 
     public ObjectsTree<Subscription> treeFor(ResourcePath path) {
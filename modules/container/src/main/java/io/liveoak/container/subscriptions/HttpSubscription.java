@@ -1,6 +1,7 @@
 package io.liveoak.container.subscriptions;
 
 import io.liveoak.common.codec.ResourceCodec;
+import io.liveoak.spi.MediaType;
 import io.liveoak.spi.RequestContext;
 import io.liveoak.spi.ResourcePath;
 import io.liveoak.spi.ResourceResponse;
@@ -22,10 +23,15 @@ import java.util.UUID;
 public class HttpSubscription implements Subscription {
 
     public HttpSubscription(HttpClient httpClient, String path, URI destination, ResourceCodec codec, SecurityContext securityContext) {
+        this(httpClient, path, destination, MediaType.JSON, codec, securityContext);
+    }
+
+    public HttpSubscription(HttpClient httpClient, String path, URI destination, MediaType mediaType, ResourceCodec codec, SecurityContext securityContext) {
         this.id = UUID.randomUUID().toString();
         this.httpClient = httpClient;
         this.resourcePath = new ResourcePath(path);
         this.destination = destination;
+        this.mediaType = mediaType;
         this.codec = codec;
         this.securityContext = securityContext;
     }
@@ -39,6 +45,13 @@ public class HttpSubscription implements Subscription {
         return this.destination;
     }
 
+    /**
+     * @return The media type the resources are sent as.
+     */
+    public MediaType mediaType() {
+        return this.mediaType;
+    }
+
     // ----------------------------------------------------------------------
     // ----------------------------------------------------------------------
 
@@ -63,12 +76,7 @@ public class HttpSubscription implements Subscription {
         HttpClientRequest request = this.httpClient.put(uri.getPath(), (response) -> {
         });
 
-        request.setChunked(true);
-
-        RequestContext requestContext = new RequestContext.Builder().build();
-        ByteBuf encoded = codec.encode(requestContext, errorState);
-        request.write(new Buffer(encoded));
-        request.end();
+        send(request, errorState);
     }
 
     @Override
@@ -82,12 +90,7 @@ public class HttpSubscription implements Subscription {
         HttpClientRequest request = this.httpClient.put(uri.getPath(), (response) -> {
         });
 
-        request.setChunked(true);
-
-        RequestContext requestContext = new RequestContext.Builder().build();
-        ByteBuf encoded = codec.encode(requestContext, resourceResponse.state());
-        request.write(new Buffer(encoded));
-        request.end();
+        send(request, resourceResponse.state());
     }
 
     @Override
@@ -96,10 +99,15 @@ public class HttpSubscription implements Subscription {
         HttpClientRequest request = this.httpClient.delete(uri.getPath(), (response) -> {
         });
 
+        send(request, resourceResponse.state());
+    }
+
+    protected void send(HttpClientRequest request, ResourceState state) throws Exception {
         request.setChunked(true);
+        request.putHeader("Content-Type", this.mediaType.toString());
 
         RequestContext requestContext = new RequestContext.Builder().build();
-        ByteBuf encoded = codec.encode(requestContext, resourceResponse.state());
+        ByteBuf encoded = codec.encode(requestContext, state);
         request.write(new Buffer(encoded));
         request.end();
     }
@@ -113,6 +121,7 @@ public class HttpSubscription implements Subscription {
     private HttpClient httpClient;
     private ResourcePath resourcePath;
     private final URI destination;
+    private final MediaType mediaType;
     private ResourceCodec codec;
     private final SecurityContext securityContext;
 
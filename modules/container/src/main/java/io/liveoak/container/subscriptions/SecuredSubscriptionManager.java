@@ -6,6 +6,14 @@
 
 package io.liveoak.container.subscriptions;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
 import io.liveoak.common.DefaultRequestAttributes;
 import io.liveoak.common.codec.DefaultResourceState;
 import io.liveoak.common.security.AuthzConstants;
@@ -17,6 +25,7 @@ import io.liveoak.spi.ResourceResponse;
 import io.liveoak.spi.client.Client;
 import io.liveoak.spi.client.ClientResourceResponse;
 import io.liveoak.spi.container.Subscription;
+import io.liveoak.spi.security.SecurityContext;
 import io.liveoak.spi.state.ResourceState;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import org.jboss.logging.Logger;
@@ -33,39 +42,86 @@ public class SecuredSubscriptionManager extends DefaultSubscriptionManager {
     }
 
     @Override
-    protected void subscribeResourceCreated(ResourcePath path, Subscription subscription, ResourceResponse resourceResponse) {
-        checkSecurity(path, subscription, resourceResponse, () -> {
-            super.subscribeResourceCreated(path, subscription, resourceResponse);
-        });
+    public void resourceCreated(ResourceResponse resourceResponse) {
+        ResourcePath path = resourcePathOf(resourceResponse.resource());
+        notify(path, resourceResponse, (subscription) -> super.subscribeResourceCreated(path, subscription, resourceResponse));
+        ResourcePath parentPath = path.parent();
+        notify(parentPath, resourceResponse, (subscription) -> super.subscribeResourceCreated(parentPath, subscription, resourceResponse));
     }
 
     @Override
-    protected void subscribeResourceUpdated(ResourcePath path, Subscription subscription, ResourceResponse resourceResponse) {
-        checkSecurity(path, subscription, resourceResponse, () -> {
-            super.subscribeResourceUpdated(path, subscription, resourceResponse);
-        });
+    public void resourceUpdated(ResourceResponse resourceResponse) {
+        ResourcePath path = resourcePathOf(resourceResponse.resource());
+        notify(path, resourceResponse, (subscription) -> super.subscribeResourceUpdated(path, subscription, resourceResponse));
     }
 
     @Override
-    protected void subscribeResourceDeleted(ResourcePath path, Subscription subscription, ResourceResponse resourceResponse) {
-        checkSecurity(path, subscription, resourceResponse, () -> {
-            super.subscribeResourceDeleted(path, subscription, resourceResponse);
+    public void resourceDeleted(ResourceResponse resourceResponse) {
+        ResourcePath path = resourcePathOf(resourceResponse.resource());
+        notify(path, resourceResponse, (subscription) -> super.subscribeResourceDeleted(path, subscription, resourceResponse));
+        ResourcePath parentPath = path.parent();
+        notify(parentPath, resourceResponse, (subscription) -> super.subscribeResourceDeleted(parentPath, subscription, resourceResponse));
+    }
+
+    /**
+     * @return The authorization statistics of the application, or null if no secured subscription of the application was notified yet.
+     */
+    public AuthorizationStatistics statistics(String applicationId) {
+        return this.statistics.get(applicationId);
+    }
+
+    /**
+     * Notifies the subscriptions on the path, evaluating the authorization policies once per distinct principal
+     * (realm, subject and roles) and sharing the decision among all the subscriptions of that principal.
+     */
+    protected void notify(ResourcePath path, ResourceResponse resourceResponse, Consumer<Subscription> callback) {
+        Map<Principal, CompletableFuture<Decision>> decisions = new HashMap<>();
+        subscriptions(path).forEach((subscription) -> {
+            // Don't authorize subscriptions like UPSSubscription
+            if (!subscription.isSecure()) {
+                callback.accept(subscription);
+                return;
+            }
+
+            Principal principal = new Principal(subscription.securityContext());
+            CompletableFuture<Decision> decision = decisions.get(principal);
+            if (decision == null) {
+                decision = authorize(path, subscription, resourceResponse);
+                decisions.put(principal, decision);
+            } else {
+                statistics(path).shared();
+            }
+
+            decision.thenAccept((result) -> {
+                try {
+                    switch (result) {
+                        case AUTHORIZED:
+                            callback.accept(subscription);
+                            break;
+                        case DENIED:
+                            boolean authenticated = subscription.securityContext().isAuthenticated();
+                            HttpResponseStatus errorStatus = authenticated ? HttpResponseStatus.FORBIDDEN : HttpResponseStatus.UNAUTHORIZED;
+                            sendError(subscription, errorStatus, resourceResponse);
+                            break;
+                        default:
+                            sendError(subscription, HttpResponseStatus.INTERNAL_SERVER_ERROR, resourceResponse);
+                    }
+                } catch (Throwable t) {
+                    log.error("Error occurred during authorization of subscription", t);
+                }
+            });
         });
     }
 
     // TODO: Create common authorization helper to avoid have similar code for invoking authorization in 3 places
-    protected void checkSecurity(ResourcePath path, Subscription subscription, ResourceResponse origResourceResponse, Runnable callback) {
-        // Don't authorize subscriptions like UPSSubscription
-        if (!subscription.isSecure()) {
-            callback.run();
-            return;
+    protected CompletableFuture<Decision> authorize(ResourcePath path, Subscription subscription, ResourceResponse origResourceResponse) {
+        CompletableFuture<Decision> decision = new CompletableFuture<>();
+        if (path.segments().isEmpty()) {
+            decision.complete(Decision.ERROR);
+            return decision;
         }
 
         try {
-            if (path.segments().size() < 0) {
-                sendError(subscription, HttpResponseStatus.INTERNAL_SERVER_ERROR, origResourceResponse);
-                return;
-            }
             String applicationPrefix = path.segments().get(0).name();
 
             RequestAttributes attribs = new DefaultRequestAttributes();
@@ -77,32 +133,35 @@ public class SecuredSubscriptionManager extends DefaultSubscriptionManager {
 
             RequestContext authzRequest = new RequestContext.Builder().requestAttributes(attribs).build();
 
+            long start = System.nanoTime();
             client.read(authzRequest, applicationPrefix + "/authz/authzCheck", (ClientResourceResponse resourceResponse) -> {
 
                 // Authorize automatically if Authz service is not available
                 if (resourceResponse.responseType() == ClientResourceResponse.ResponseType.NO_SUCH_RESOURCE) {
-                    callback.run();
+                    decision.complete(Decision.AUTHORIZED);
                     return;
                 }
 
                 try {
                     ResourceState state = resourceResponse.state();
                     boolean authorized = (Boolean) state.getProperty(AuthzConstants.ATTR_AUTHZ_RESULT);
-
-                    if (authorized) {
-                        callback.run();
-                    } else {
-                        boolean authenticated = subscription.securityContext().isAuthenticated();
-                        HttpResponseStatus errorStatus = authenticated ? HttpResponseStatus.FORBIDDEN : HttpResponseStatus.UNAUTHORIZED;
-                        sendError(subscription, errorStatus, origResourceResponse);
-                    }
+                    statistics(path).evaluated(System.nanoTime() - start, !authorized);
+                    decision.complete(authorized ? Decision.AUTHORIZED : Decision.DENIED);
                 } catch (Throwable t) {
                     log.error("Error occurred during authorization of subscription", t);
+                    decision.completeExceptionally(t);
                 }
             });
         } catch (Throwable t) {
             log.error("Error occurred during authorization of subscription", t);
+            decision.completeExceptionally(t);
         }
+        return decision;
+    }
+
+    private AuthorizationStatistics statistics(ResourcePath path) {
+        String applicationId = path.segments().isEmpty() ? "" : path.segments().get(0).name();
+        return this.statistics.computeIfAbsent(applicationId, (id) -> new AuthorizationStatistics());
     }
 
     private RequestContext createRequestContext(ResourcePath resourcePath, Subscription subscription) {
@@ -118,5 +177,57 @@ public class SecuredSubscriptionManager extends DefaultSubscriptionManager {
         subscription.sendAuthzError(state, origResourceResponse.resource(), status.code());
     }
 
+    protected enum Decision {
+        AUTHORIZED,
+        DENIED,
+        ERROR
+    }
+
+    /**
+     * Subscriptions with equal principals get the same authorization decision.
+     */
+    private static class Principal {
+
+        Principal(SecurityContext securityContext) {
+            if (securityContext != null) {
+                this.authenticated = securityContext.isAuthenticated();
+                this.realm = securityContext.getRealm();
+                this.subject = securityContext.getSubject();
+                this.roles = securityContext.getRoles();
+            } else {
+                this.authenticated = false;
+                this.realm = null;
+                this.subject = null;
+                this.roles = null;
+            }
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Principal)) {
+                return false;
+            }
+            Principal that = (Principal) o;
+            return this.authenticated == that.authenticated
+                    && Objects.equals(this.realm, that.realm)
+                    && Objects.equals(this.subject, that.subject)
+                    && Objects.equals(this.roles, that.roles);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.authenticated, this.realm, this.subject, this.roles);
+        }
+
+        private final boolean authenticated;
+        private final String realm;
+        private final String subject;
+        private final Set<String> roles;
+    }
+
     private final Client client;
+    private final Map<String, AuthorizationStatistics> statistics = new ConcurrentHashMap<>();
 }
@@ -75,17 +75,31 @@ public class StompSubscription implements Subscription {
 
     @Override
     public void resourceCreated(ResourceResponse resourceResponse) throws Exception {
-        this.connection.send(createMessage("create", 200, resourceResponse));
+        // later updates of the resource are not conflated with the ones queued before
+        send(createMessage("create", 200, resourceResponse), false);
     }
 
     @Override
     public void resourceUpdated(ResourceResponse resourceResponse) throws Exception {
-        this.connection.send(createMessage("update", 200, resourceResponse));
+        // a slow client only needs the latest state of the resource
+        send(createMessage("update", 200, resourceResponse), true);
     }
 
     @Override
     public void resourceDeleted(ResourceResponse resourceResponse) throws Exception {
-        this.connection.send(createMessage("delete", 200, resourceResponse));
+        send(createMessage("delete", 200, resourceResponse), false);
+    }
+
+    private void send(StompMessage message, boolean conflatable) {
+        this.connection.send(message, this.subscriptionId + " " + message.headers().get("location"), conflatable);
+    }
+
+    public StompConnection connection() {
+        return this.connection;
+    }
+
+    public String destination() {
+        return this.destination;
     }
 
     protected StompMessage createMessage(String action, int status, ResourceResponse resourceResponse) throws Exception {
@@ -3,7 +3,9 @@ package io.liveoak.container.subscriptions.resource;
 import io.liveoak.common.codec.ResourceCodec;
 import io.liveoak.common.codec.ResourceCodecManager;
 import io.liveoak.container.subscriptions.DefaultSubscriptionManager;
+import io.liveoak.container.subscriptions.AuthorizationStatistics;
 import io.liveoak.container.subscriptions.HttpSubscription;
+import io.liveoak.container.subscriptions.SecuredSubscriptionManager;
 import io.liveoak.container.subscriptions.StompSubscription;
 import io.liveoak.spi.MediaType;
 import io.liveoak.spi.RequestContext;
@@ -21,6 +23,8 @@ import org.vertx.java.core.http.HttpClient;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -62,7 +66,8 @@ public class ApplicationSubscriptionsResource implements SynchronousResource, Ro
             contentType = "application/json";
         }
 
-        ResourceCodec codec = this.codecManager.getResourceCodec(new MediaType(contentType));
+        MediaType mediaType = new MediaType(contentType);
+        ResourceCodec codec = this.codecManager.getResourceCodec(mediaType);
 
         if (codec == null) {
             responder.internalError("content-type not supported: " + contentType);
@@ -77,7 +82,7 @@ public class ApplicationSubscriptionsResource implements SynchronousResource, Ro
             httpClient.setPort(destinationUri.getPort());
 
             SecurityContext requestSecurityContext = ctx.securityContext();
-            HttpSubscription sub = new HttpSubscription(httpClient, path, destinationUri, codec, requestSecurityContext);
+            HttpSubscription sub = new HttpSubscription(httpClient, path, destinationUri, mediaType, codec, requestSecurityContext);
             this.subscriptionManager.addSubscription(sub);
             responder.resourceCreated(new HttpSubscriptionResource(this, sub));
         } catch (URISyntaxException e) {
@@ -85,6 +90,18 @@ public class ApplicationSubscriptionsResource implements SynchronousResource, Ro
         }
     }
 
+    @Override
+    public Map<String, ?> properties(RequestContext ctx) throws Exception {
+        Map<String, Object> properties = new HashMap<>();
+        if (this.subscriptionManager instanceof SecuredSubscriptionManager) {
+            AuthorizationStatistics statistics = ((SecuredSubscriptionManager) this.subscriptionManager).statistics(this.parent().id());
+            if (statistics != null) {
+                properties.put("authorization", statistics.toMap());
+            }
+        }
+        return properties;
+    }
+
     @Override
     public Collection<? extends Resource> members(RequestContext ctx) {
         Stream<Subscription> subscriptionStream = subscriptionManager.treeFor(applicationResourcePath()).objects();
@@ -125,9 +142,7 @@ public class ApplicationSubscriptionsResource implements SynchronousResource, Ro
     }
 
     protected ResourcePath applicationResourcePath() {
-        ResourcePath path = new ResourcePath();
-        path.prependSegment(this.parent().id());
-        return path;
+        return new ResourcePath().append(this.parent().id());
     }
 
     public void delete(Subscription subscription) {
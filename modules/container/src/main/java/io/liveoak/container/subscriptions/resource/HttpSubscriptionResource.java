@@ -35,6 +35,7 @@ public class HttpSubscriptionResource implements SynchronousResource {
         result.put("type", "http");
         result.put("path", this.subscription.resourcePath().toString());
         result.put("destination", this.subscription.destination().toString());
+        result.put("content-type", this.subscription.mediaType().toString());
         return result;
     }
 
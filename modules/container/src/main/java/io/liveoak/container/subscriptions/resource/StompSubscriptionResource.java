@@ -1,6 +1,10 @@
 package io.liveoak.container.subscriptions.resource;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import io.liveoak.container.subscriptions.StompSubscription;
+import io.liveoak.spi.RequestContext;
 import io.liveoak.spi.resource.SynchronousResource;
 import io.liveoak.spi.resource.async.Resource;
 
@@ -24,6 +28,16 @@ public class StompSubscriptionResource implements SynchronousResource {
         return this.subscription.id();
     }
 
+    @Override
+    public Map<String, ?> properties(RequestContext ctx) throws Exception {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("type", "stomp");
+        properties.put("destination", this.subscription.destination());
+        properties.put("connection", this.subscription.connection().getConnectionId());
+        properties.put("outbound", this.subscription.connection().statistics());
+        return properties;
+    }
+
     private ApplicationSubscriptionsResource parent;
     private StompSubscription subscription;
 }
@@ -2,6 +2,15 @@ package io.liveoak.container.tenancy;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
 import com.fasterxml.jackson.databind.JsonNode;
@@ -14,96 +23,206 @@ import io.liveoak.spi.ResourcePath;
 import org.jboss.logging.Logger;
 
 /**
+ * Keeps the parsed <code>application.json</code> in memory and coalesces updates into
+ * atomic (temp file plus rename) flushes.
+ *
+ * <p>Readers get the current snapshot without locking. Updates copy the snapshot, modify the copy
+ * and swap it in, so a snapshot is never modified once published.</p>
+ *
+ * <p>By default an update returns once a flush containing it has landed on disk, with concurrent
+ * updates sharing a single flush. When {@link #FLUSH_DELAY_PROPERTY} is set to a positive number of
+ * milliseconds, updates return immediately and are written behind after that delay.</p>
+ *
  * @author Bob McWhirter
  * @author Ken Finnigan
  */
 public class ApplicationConfigurationManager implements ConfigurationManager {
 
+    public static final String FLUSH_DELAY_PROPERTY = "io.liveoak.config.flush-delay";
+
     public ApplicationConfigurationManager(File file) {
-        this.file = file;
+        this(file, Long.getLong(FLUSH_DELAY_PROPERTY, 0));
     }
 
-    public synchronized ObjectNode read() throws IOException {
-        ObjectMapper mapper = ObjectMapperFactory.create();
-        return (ObjectNode) mapper.readTree(this.file);
+    public ApplicationConfigurationManager(File file, long flushDelay) {
+        this.file = file;
+        this.flushDelay = Math.max(0, flushDelay);
     }
 
-    public synchronized void updateApplication(InternalApplication application) throws IOException {
-        ObjectNode tree = read();
-        tree.put("name", application.name());
+    /**
+     * @return A private copy of the current configuration tree.
+     */
+    public ObjectNode read() throws IOException {
+        return snapshot().deepCopy();
+    }
 
-        ResourcePath htmlAppPath = application.htmlApplicationResourcePath();
-        if (htmlAppPath != null) {
-            if (htmlAppPath.head().name().equals(application.id())) {
-                htmlAppPath = htmlAppPath.subPath();
+    /**
+     * @return The current configuration tree, which must not be modified.
+     */
+    public ObjectNode snapshot() throws IOException {
+        ObjectNode tree = this.snapshot;
+        if (tree == null) {
+            synchronized (this) {
+                tree = this.snapshot;
+                if (tree == null) {
+                    tree = (ObjectNode) MAPPER.readTree(this.file);
+                    this.snapshot = tree;
+                }
             }
-            tree.put("html-app", htmlAppPath.toString());
         }
+        return tree;
+    }
 
-        tree.put("visible", application.visible());
+    public void updateApplication(InternalApplication application) throws IOException {
+        update(tree -> {
+            tree.put("name", application.name());
 
-        String versioningResourceId = application.versionResourceId();
-        if (versioningResourceId != null) {
-            tree.put("version-resource-id", versioningResourceId);
-        }
+            ResourcePath htmlAppPath = application.htmlApplicationResourcePath();
+            if (htmlAppPath != null) {
+                if (htmlAppPath.head().name().equals(application.id())) {
+                    htmlAppPath = htmlAppPath.subPath();
+                }
+                tree.put("html-app", htmlAppPath.toString());
+            }
 
-        write(tree);
+            tree.put("visible", application.visible());
+
+            String versioningResourceId = application.versionResourceId();
+            if (versioningResourceId != null) {
+                tree.put("version-resource-id", versioningResourceId);
+            }
+        });
     }
 
     @Override
     public ObjectNode readResource(String id) throws IOException {
-        ObjectNode tree = read();
-        ObjectNode resourcesTree = (ObjectNode) tree.get("resources");
+        JsonNode resourcesTree = snapshot().get("resources");
         if (resourcesTree == null) {
-            resourcesTree = JsonNodeFactory.instance.objectNode();
-            tree.put("resources", resourcesTree);
+            return null;
         }
 
-        return (ObjectNode) resourcesTree.get(id);
+        ObjectNode resourceTree = (ObjectNode) resourcesTree.get(id);
+        return resourceTree != null ? resourceTree.deepCopy() : null;
     }
 
     @Override
-    public synchronized void updateResource(String id, String type, JsonNode config) throws IOException {
-        ObjectNode tree = read();
-        ObjectNode resourcesTree = (ObjectNode) tree.get("resources");
-        if (resourcesTree == null) {
-            resourcesTree = JsonNodeFactory.instance.objectNode();
-            tree.put("resources", resourcesTree);
-        }
+    public void updateResource(String id, String type, JsonNode config) throws IOException {
+        update(tree -> {
+            ObjectNode resourcesTree = (ObjectNode) tree.get("resources");
+            if (resourcesTree == null) {
+                resourcesTree = JsonNodeFactory.instance.objectNode();
+                tree.put("resources", resourcesTree);
+            }
 
-        ObjectNode resourceTree = (ObjectNode) resourcesTree.get(id);
-        if (resourceTree == null) {
-            resourceTree = JsonNodeFactory.instance.objectNode();
-            resourceTree.put("type", type);
-            resourcesTree.put(id, resourceTree);
-        }
+            ObjectNode resourceTree = (ObjectNode) resourcesTree.get(id);
+            if (resourceTree == null) {
+                resourceTree = JsonNodeFactory.instance.objectNode();
+                resourceTree.put("type", type);
+                resourcesTree.put(id, resourceTree);
+            }
 
-        resourceTree.put("config", config);
-        write(tree);
+            resourceTree.put("config", config);
+        });
     }
 
     @Override
-    public synchronized void removeResource(String id) throws IOException {
-        ObjectNode tree = read();
-        ObjectNode resourcesTree = (ObjectNode) tree.get("resources");
-        if (resourcesTree == null) {
+    public void removeResource(String id) throws IOException {
+        if (snapshot().get("resources") == null) {
             return;
         }
 
-        resourcesTree.remove(id);
-        write(tree);
+        update(tree -> {
+            ObjectNode resourcesTree = (ObjectNode) tree.get("resources");
+            if (resourcesTree != null) {
+                resourcesTree.remove(id);
+            }
+        });
+    }
+
+    /**
+     * Write any pending changes and wait for them to land on disk.
+     */
+    public void flush() throws IOException {
+        CompletableFuture<Void> pending = this.pendingFlush.get();
+        if (pending == null) {
+            pending = this.lastFlush;
+        }
+        if (pending != null) {
+            await(pending);
+        }
+    }
+
+    private void update(Consumer<ObjectNode> modifier) throws IOException {
+        synchronized (this) {
+            ObjectNode tree = snapshot().deepCopy();
+            modifier.accept(tree);
+            this.snapshot = tree;
+        }
+
+        CompletableFuture<Void> flush = scheduleFlush();
+        if (this.flushDelay == 0) {
+            await(flush);
+        }
+    }
+
+    private CompletableFuture<Void> scheduleFlush() {
+        CompletableFuture<Void> pending = this.pendingFlush.get();
+        while (pending == null) {
+            CompletableFuture<Void> created = new CompletableFuture<>();
+            if (this.pendingFlush.compareAndSet(null, created)) {
+                WRITER.schedule(() -> write(created), this.flushDelay, TimeUnit.MILLISECONDS);
+                return created;
+            }
+            pending = this.pendingFlush.get();
+        }
+        return pending;
     }
 
-    private void write(ObjectNode tree) throws IOException {
-        ObjectMapper mapper = ObjectMapperFactory.create();
-        ObjectWriter writer = mapper.writer();
-        writer = writer.with(new DefaultPrettyPrinter("\\n"));
-        log.debug("writing " + tree + " to " + this.file);
-        writer.writeValue(this.file, tree);
-        log.debug("write complete");
+    private void write(CompletableFuture<Void> flush) {
+        // Updates arriving from here on schedule a new flush, anything before is in the snapshot we write
+        this.lastFlush = flush;
+        this.pendingFlush.compareAndSet(flush, null);
+        try {
+            ObjectNode tree = this.snapshot;
+            File temp = new File(this.file.getParentFile(), "." + this.file.getName() + ".tmp");
+            log.debug("writing " + tree + " to " + this.file);
+            WRITER_CONFIG.writeValue(temp, tree);
+            Files.move(temp.toPath(), this.file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("write complete");
+            flush.complete(null);
+        } catch (Throwable t) {
+            log.error("Unable to write " + this.file, t);
+            flush.completeExceptionally(t);
+        }
+    }
+
+    private void await(CompletableFuture<Void> flush) throws IOException {
+        try {
+            flush.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
     }
 
     private final File file;
+    private final long flushDelay;
+    private volatile ObjectNode snapshot;
+    private final AtomicReference<CompletableFuture<Void>> pendingFlush = new AtomicReference<>();
+    private volatile CompletableFuture<Void> lastFlush;
+
+    private static final ObjectMapper MAPPER = ObjectMapperFactory.create();
+    private static final ObjectWriter WRITER_CONFIG = MAPPER.writer().with(new DefaultPrettyPrinter("\\n"));
+    private static final ScheduledExecutorService WRITER = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "ApplicationConfigurationManager writer");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     private static final Logger log = Logger.getLogger(ApplicationConfigurationManager.class);
 }
@@ -0,0 +1,91 @@
+package io.liveoak.container.tenancy;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Startup timing breakdown of the applications deployed at boot.
+ */
+public class ApplicationDeployments {
+
+    public ApplicationDeployments(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public int parallelism() {
+        return this.parallelism;
+    }
+
+    public void started() {
+        this.startTime = System.currentTimeMillis();
+    }
+
+    public void completed() {
+        this.endTime = System.currentTimeMillis();
+    }
+
+    /**
+     * @return Total time taken to deploy all applications, or -1 if still deploying.
+     */
+    public long totalTime() {
+        if (this.endTime == 0) {
+            return -1;
+        }
+        return this.endTime - this.startTime;
+    }
+
+    public void record(String id, long startTime, long endTime, Throwable failure) {
+        this.deployments.put(id, new Deployment(id, startTime - this.startTime, endTime - startTime, failure));
+    }
+
+    public Map<String, Deployment> deployments() {
+        return Collections.unmodifiableMap(this.deployments);
+    }
+
+    public static class Deployment {
+
+        Deployment(String id, long offset, long duration, Throwable failure) {
+            this.id = id;
+            this.offset = offset;
+            this.duration = duration;
+            this.failure = failure;
+        }
+
+        public String id() {
+            return this.id;
+        }
+
+        /**
+         * @return Milliseconds between the start of the deployment run and this application being installed.
+         */
+        public long offset() {
+            return this.offset;
+        }
+
+        /**
+         * @return Milliseconds taken for the application service to start.
+         */
+        public long duration() {
+            return this.duration;
+        }
+
+        public boolean failed() {
+            return this.failure != null;
+        }
+
+        public Throwable failure() {
+            return this.failure;
+        }
+
+        private final String id;
+        private final long offset;
+        private final long duration;
+        private final Throwable failure;
+    }
+
+    private final int parallelism;
+    private final Map<String, Deployment> deployments = new ConcurrentHashMap<>();
+    private volatile long startTime;
+    private volatile long endTime;
+}
@@ -3,8 +3,8 @@ package io.liveoak.container.tenancy;
 import java.io.File;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
@@ -35,6 +35,14 @@ public class InternalApplicationRegistry implements ApplicationRegistry {
     }
 
     public InternalApplication createApplication(String id, String name, File directory, Consumer<File> gitCommit) throws InterruptedException {
+        return installApplication(id, name, directory, gitCommit).awaitValue();
+    }
+
+    /**
+     * Install the application service without waiting for it to come up,
+     * allowing several applications to be started concurrently.
+     */
+    public ServiceController<InternalApplication> installApplication(String id, String name, File directory, Consumer<File> gitCommit) {
         ApplicationService app = new ApplicationService(id, name, directory, gitCommit);
         ServiceController<InternalApplication> controller = this.target.addService(Services.application(id), app)
                 .addDependency(Services.APPLICATIONS_DIR, File.class, app.applicationsDirectoryInjector())
@@ -42,7 +50,7 @@ public class InternalApplicationRegistry implements ApplicationRegistry {
 
         this.applications.put(id, controller);
 
-        return controller.awaitValue();
+        return controller;
     }
 
     @Override
@@ -68,5 +76,5 @@ public class InternalApplicationRegistry implements ApplicationRegistry {
     }
 
     private final ServiceTarget target;
-    private Map<String, ServiceController<InternalApplication>> applications = new HashMap<>();
+    private Map<String, ServiceController<InternalApplication>> applications = new ConcurrentHashMap<>();
 }
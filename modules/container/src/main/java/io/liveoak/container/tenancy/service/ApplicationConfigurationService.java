@@ -1,9 +1,11 @@
 package io.liveoak.container.tenancy.service;
 
 import java.io.File;
+import java.io.IOException;
 
 import io.liveoak.container.tenancy.ApplicationConfigurationManager;
 import io.liveoak.container.tenancy.InternalApplication;
+import org.jboss.logging.Logger;
 import org.jboss.msc.service.Service;
 import org.jboss.msc.service.StartContext;
 import org.jboss.msc.service.StartException;
@@ -25,6 +27,11 @@ public class ApplicationConfigurationService implements Service<ApplicationConfi
 
     @Override
     public void stop(StopContext context) {
+        try {
+            this.manager.flush();
+        } catch (IOException e) {
+            log.error("Unable to flush configuration to " + this.configFile, e);
+        }
         this.manager = null;
     }
 
@@ -36,4 +43,6 @@ public class ApplicationConfigurationService implements Service<ApplicationConfi
     private final File configFile;
     private ApplicationConfigurationManager manager;
 
+    private static final Logger log = Logger.getLogger(ApplicationConfigurationService.class);
+
 }
@@ -100,7 +100,7 @@ public class ApplicationService implements Service<InternalApplication> {
                 if ((value = state.getProperty("html-app")) != null) {
                     htmlApp = new ResourcePath((String) value);
                     if (!htmlApp.head().name().equals(this.id)) {
-                        htmlApp.prependSegment(this.id);
+                        htmlApp = htmlApp.prepend(this.id);
                     }
                 }
                 if ((value = state.getProperty("visible")) != null) {
@@ -1,7 +1,16 @@
 package io.liveoak.container.tenancy.service;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import io.liveoak.container.tenancy.ApplicationDeployments;
 import io.liveoak.container.tenancy.InternalApplicationRegistry;
 import org.jboss.logging.Logger;
 import org.jboss.msc.inject.Injector;
@@ -12,47 +21,94 @@ import org.jboss.msc.service.StopContext;
 import org.jboss.msc.value.InjectedValue;
 
 /**
+ * Deploys all applications found in the applications directory.
+ *
+ * <p>Application services are installed concurrently, with at most
+ * {@link #PARALLELISM_PROPERTY} applications starting at any one time.</p>
+ *
  * @author Ken Finnigan
  */
-public class ApplicationsDeployerService implements Service<Void> {
+public class ApplicationsDeployerService implements Service<ApplicationDeployments> {
+
+    public static final String PARALLELISM_PROPERTY = "io.liveoak.deploy.parallelism";
 
     private static final Logger log = Logger.getLogger(ApplicationsDeployerService.class);
 
+    public ApplicationsDeployerService() {
+        this(Integer.getInteger(PARALLELISM_PROPERTY, Runtime.getRuntime().availableProcessors()));
+    }
+
+    public ApplicationsDeployerService(int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
+    }
+
     @Override
     public void start(final StartContext context) throws StartException {
+        this.deployments = new ApplicationDeployments(this.parallelism);
         context.asynchronous();
         new Thread(() -> {
+            ExecutorService executor = Executors.newFixedThreadPool(this.parallelism, new DeployerThreadFactory());
             try {
                 File[] appDirs = this.appDirInjector.getValue().listFiles(pathname -> pathname.isDirectory());
 
+                this.deployments.started();
+                List<Future<?>> pending = new ArrayList<>();
                 for (File appDir : appDirs) {
                     if ((new File(appDir, "application.json")).exists()) {
-                        try {
-                            this.registryInjector.getValue().createApplication(appDir.getName(), appDir.getName(), appDir);
-                        } catch (InterruptedException e) {
-                            context.failed(new StartException(e));
+                        pending.add(executor.submit(() -> deploy(appDir)));
+                    }
+                }
+
+                for (Future<?> future : pending) {
+                    try {
+                        future.get();
+                    } catch (InterruptedException e) {
+                        context.failed(new StartException(e));
+                        return;
+                    } catch (ExecutionException e) {
+                        if (e.getCause() instanceof InterruptedException) {
+                            context.failed(new StartException(e.getCause()));
                             return;
-                        } catch (Throwable t) {
-                            log.error("[IGNORED] Failed to deploy application: " + appDir.getName(), t);
                         }
                     }
                 }
+                this.deployments.completed();
+                log.debugf("Deployed %d applications in %dms", pending.size(), this.deployments.totalTime());
                 context.complete();
 
             } catch (Throwable th) {
                 context.failed(new StartException(th));
+            } finally {
+                executor.shutdownNow();
             }
         }, "ApplicationsDeployerService starter").start();
     }
 
+    private Void deploy(File appDir) throws InterruptedException {
+        String id = appDir.getName();
+        long start = System.currentTimeMillis();
+        Throwable failure = null;
+        try {
+            this.registryInjector.getValue().installApplication(id, id, appDir, null).awaitValue();
+        } catch (InterruptedException e) {
+            throw e;
+        } catch (Throwable t) {
+            failure = t;
+            log.error("[IGNORED] Failed to deploy application: " + id, t);
+        } finally {
+            this.deployments.record(id, start, System.currentTimeMillis(), failure);
+        }
+        return null;
+    }
+
     @Override
     public void stop(StopContext context) {
 
     }
 
     @Override
-    public Void getValue() throws IllegalStateException, IllegalArgumentException {
-        return null;
+    public ApplicationDeployments getValue() throws IllegalStateException, IllegalArgumentException {
+        return this.deployments;
     }
 
     public Injector<InternalApplicationRegistry> applicationRegistryInjector() {
@@ -63,6 +119,19 @@ public class ApplicationsDeployerService implements Service<Void> {
         return this.appDirInjector;
     }
 
+    private static class DeployerThreadFactory implements ThreadFactory {
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "ApplicationsDeployerService deployer-" + this.counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+
+        private final AtomicInteger counter = new AtomicInteger();
+    }
+
+    private final int parallelism;
+    private volatile ApplicationDeployments deployments;
     private InjectedValue<File> appDirInjector = new InjectedValue<>();
     private InjectedValue<InternalApplicationRegistry> registryInjector = new InjectedValue<>();
 }
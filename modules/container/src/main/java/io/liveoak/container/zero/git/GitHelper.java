@@ -34,7 +34,7 @@ public interface GitHelper {
             commitCmd.setMessage(commitMsg);
         }
 
-        GitHandler.commit(() -> {
+        GitHandler.commit(git, () -> {
             addCommand.call();
             return commitCmd.call();
         });
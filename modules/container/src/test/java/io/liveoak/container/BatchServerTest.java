@@ -0,0 +1,186 @@
+/*
+ * Copyright 2014 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package io.liveoak.container;
+
+import java.net.URLEncoder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import io.liveoak.container.tenancy.InternalApplication;
+import io.liveoak.spi.state.ResourceState;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpPut;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+public class BatchServerTest extends AbstractContainerTest {
+
+    private static InternalApplication application;
+    private static InternalApplication authApplication;
+
+    private CloseableHttpClient httpClient;
+
+    @BeforeClass
+    public static void setUpServer() throws Exception {
+        system = LiveOakFactory.create();
+        system.extensionInstaller().load("memory", new InMemoryDBExtension());
+
+        awaitStability();
+        application = system.applicationRegistry().createApplication("testApp", "Test Application");
+
+        application.extend("memory");
+        awaitStability();
+
+        // token-info looked up by the batch when authenticating against the application
+        authApplication = system.applicationRegistry().createApplication("authApp", "Auth Application");
+        authApplication.extend("memory", "auth", JsonNodeFactory.instance.objectNode());
+        awaitStability();
+    }
+
+    @Before
+    public void setUpClient() throws Exception {
+        this.httpClient = HttpClientBuilder.create().build();
+    }
+
+    @After
+    public void tearDownClient() throws Exception {
+        this.httpClient.close();
+    }
+
+    @AfterClass
+    public static void tearDownServer() throws Exception {
+        application.configurationFile().delete();
+        authApplication.configurationFile().delete();
+
+        awaitStability();
+        system.stop();
+    }
+
+    @Test
+    public void testBatchRead() throws Exception {
+        HttpPut putRequest = new HttpPut("http://localhost:8080/testApp/memory/people");
+        putRequest.setEntity(new StringEntity("{ \"type\": \"collection\" }"));
+        putRequest.setHeader("Content-Type", "application/json");
+        try (CloseableHttpResponse response = this.httpClient.execute(putRequest)) {
+            assertThat(response.getStatusLine().getStatusCode()).isEqualTo(201);
+        }
+
+        HttpPost postRequest = new HttpPost("http://localhost:8080/testApp/memory/people");
+        postRequest.setEntity(new StringEntity("{ \"name\": \"bob\" }"));
+        postRequest.setHeader("Content-Type", "application/json");
+        ResourceState bob;
+        try (CloseableHttpResponse response = this.httpClient.execute(postRequest)) {
+            assertThat(response.getStatusLine().getStatusCode()).isEqualTo(201);
+            bob = decode(response);
+        }
+
+        String[] paths = {
+                "/testApp/memory/people/" + bob.id(),
+                "/testApp/memory/people/nobody",
+                "/testApp/memory/people?fields=*(*)",
+        };
+
+        StringBuilder uri = new StringBuilder("http://localhost:8080/_batch");
+        for (int i = 0; i < paths.length; ++i) {
+            uri.append(i == 0 ? "?" : "&").append("path=").append(URLEncoder.encode(paths[i], "UTF-8"));
+        }
+
+        JsonNode members;
+        try (CloseableHttpResponse response = this.httpClient.execute(new HttpGet(uri.toString()))) {
+            assertThat(response.getStatusLine().getStatusCode()).isEqualTo(200);
+            assertThat(response.getFirstHeader("Transfer-Encoding").getValue()).isEqualTo("chunked");
+            members = new ObjectMapper().readTree(response.getEntity().getContent());
+        }
+
+        assertThat(members.isArray()).isTrue();
+        assertThat(members.size()).isEqualTo(3);
+
+        // members are written as they complete, not necessarily in the requested order
+        JsonNode[] byIndex = new JsonNode[paths.length];
+        for (JsonNode member : members) {
+            byIndex[member.get("index").asInt()] = member;
+        }
+
+        assertThat(byIndex[0].get("path").asText()).isEqualTo(paths[0]);
+        assertThat(byIndex[0].get("status").asInt()).isEqualTo(200);
+        assertThat(byIndex[0].get("body").get("name").asText()).isEqualTo("bob");
+
+        assertThat(byIndex[1].get("status").asInt()).isEqualTo(404);
+
+        // each member takes its own query into account
+        assertThat(byIndex[2].get("status").asInt()).isEqualTo(200);
+        assertThat(byIndex[2].get("body").get("members").get(0).get("name").asText()).isEqualTo("bob");
+    }
+
+    @Test
+    public void testInvalidMemberQuery() throws Exception {
+        // the second member cannot be dispatched, so none of them is
+        String uri = "http://localhost:8080/_batch?path=" + URLEncoder.encode("/testApp/memory", "UTF-8")
+                + "&path=" + URLEncoder.encode("/testApp/memory?fields=*(*", "UTF-8");
+        try (CloseableHttpResponse response = this.httpClient.execute(new HttpGet(uri))) {
+            assertThat(response.getStatusLine().getStatusCode()).isEqualTo(406);
+        }
+    }
+
+    @Test
+    public void testRejectedToken() throws Exception {
+        HttpPut putRequest = new HttpPut("http://localhost:8080/authApp/auth/token-info");
+        putRequest.setEntity(new StringEntity("{ \"type\": \"collection\" }"));
+        putRequest.setHeader("Content-Type", "application/json");
+        try (CloseableHttpResponse response = this.httpClient.execute(putRequest)) {
+            assertThat(response.getStatusLine().getStatusCode()).isEqualTo(201);
+        }
+
+        HttpPost postRequest = new HttpPost("http://localhost:8080/authApp/auth/token-info");
+        postRequest.setEntity(new StringEntity("{ \"id\": \"expired\", \"error\": \"Token is expired\" }"));
+        postRequest.setHeader("Content-Type", "application/json");
+        try (CloseableHttpResponse response = this.httpClient.execute(postRequest)) {
+            assertThat(response.getStatusLine().getStatusCode()).isEqualTo(201);
+        }
+
+        // testApp has no authentication configured, authApp rejects the token for the whole batch
+        String uri = "http://localhost:8080/_batch?path=" + URLEncoder.encode("/testApp/memory", "UTF-8")
+                + "&path=" + URLEncoder.encode("/authApp/auth", "UTF-8");
+        HttpGet getRequest = new HttpGet(uri);
+        getRequest.setHeader("Authorization", "Bearer expired");
+        try (CloseableHttpResponse response = this.httpClient.execute(getRequest)) {
+            assertThat(response.getStatusLine().getStatusCode()).isEqualTo(401);
+        }
+
+        // applications without authentication do not check the token
+        getRequest = new HttpGet("http://localhost:8080/_batch?path=" + URLEncoder.encode("/testApp/memory", "UTF-8"));
+        getRequest.setHeader("Authorization", "Bearer unknown");
+        try (CloseableHttpResponse response = this.httpClient.execute(getRequest)) {
+            assertThat(response.getStatusLine().getStatusCode()).isEqualTo(200);
+            JsonNode members = new ObjectMapper().readTree(response.getEntity().getContent());
+            assertThat(members.size()).isEqualTo(1);
+            assertThat(members.get(0).get("status").asInt()).isEqualTo(200);
+        }
+    }
+
+    @Test
+    public void testInvalidBatch() throws Exception {
+        try (CloseableHttpResponse response = this.httpClient.execute(new HttpGet("http://localhost:8080/_batch"))) {
+            assertThat(response.getStatusLine().getStatusCode()).isEqualTo(406);
+        }
+
+        String uri = "http://localhost:8080/_batch?path=" + URLEncoder.encode("/_batch?path=/testApp", "UTF-8");
+        try (CloseableHttpResponse response = this.httpClient.execute(new HttpGet(uri))) {
+            assertThat(response.getStatusLine().getStatusCode()).isEqualTo(406);
+        }
+    }
+}
@@ -6,9 +6,11 @@
 package io.liveoak.container;
 
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import io.liveoak.client.DefaultClient;
 import io.liveoak.common.DefaultReturnFields;
 import io.liveoak.common.codec.DefaultResourceState;
 import io.liveoak.container.tenancy.InternalApplication;
@@ -64,6 +66,7 @@ public class ClientTest extends AbstractContainerTest {
         simpleAsync();
         nestedAsync();
         nestedAsyncWithFinalSync();
+        statistics();
     }
 
     private void read() throws Throwable {
@@ -86,6 +89,16 @@ public class ClientTest extends AbstractContainerTest {
         assertThat(dogs).isNotNull();
     }
 
+    private void statistics() throws Throwable {
+        DefaultClient defaultClient = (DefaultClient) client;
+        assertThat(defaultClient.channels()).isGreaterThan(0);
+
+        Map<String, Map<String, Object>> paths = defaultClient.statistics().snapshot();
+        assertThat(paths.containsKey("/testApp/db/people")).isTrue();
+        assertThat((Long) paths.get("/testApp/db/people").get("calls")).isGreaterThan(1);
+        assertThat(paths.get("/testApp").get("errors")).isEqualTo(0L);
+    }
+
     private void create() throws Throwable {
         ReturnFields fields = new DefaultReturnFields("*");
         RequestContext requestContext = new RequestContext.Builder().returnFields(fields).build();
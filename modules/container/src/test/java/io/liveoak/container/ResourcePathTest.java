@@ -102,4 +102,40 @@ public class ResourcePathTest {
         assertThat(path.segments().get(1).matrixParameters()).isEmpty();
     }
 
+    @Test
+    public void testSharedPaths() {
+        ResourcePath path = new ResourcePath("/memory/people/bob");
+
+        ResourcePath parent = path.parent();
+        ResourcePath withDog = parent.append("dogs");
+        ResourcePath withApp = path.prepend("mboss");
+
+        assertThat(parent.toString()).isEqualTo("/memory/people");
+        assertThat(withDog.toString()).isEqualTo("/memory/people/dogs");
+        assertThat(withApp.toString()).isEqualTo("/mboss/memory/people/bob");
+        assertThat(path.toString()).isEqualTo("/memory/people/bob");
+
+        // mutating a path does not show through the paths sharing its segments
+        ResourcePath copy = new ResourcePath(path);
+        copy.appendSegment("dogs");
+        assertThat(copy.toString()).isEqualTo("/memory/people/bob/dogs");
+        assertThat(path.toString()).isEqualTo("/memory/people/bob");
+        assertThat(path.subPath().toString()).isEqualTo("/people/bob");
+    }
+
+    @Test
+    public void testEquality() {
+        ResourcePath path = new ResourcePath("/memory/people/bob");
+
+        assertThat(path).isEqualTo(new ResourcePath("memory", "people", "bob"));
+        assertThat(path.hashCode()).isEqualTo(new ResourcePath("memory", "people", "bob").hashCode());
+        assertThat(path.parent()).isEqualTo(new ResourcePath("//memory/people/"));
+        assertThat(path.parent().hashCode()).isEqualTo(new ResourcePath("/memory/people").hashCode());
+        assertThat(path).isNotEqualTo(new ResourcePath("/memory/people/bobby"));
+
+        assertThat(new ResourcePath("//memory/people/").toString()).isEqualTo("/memory/people");
+        assertThat(new ResourcePath("/").toString()).isEqualTo("");
+        assertThat(new ResourcePath("/memory;config/people").toString()).isEqualTo("/memory/people");
+    }
+
 }
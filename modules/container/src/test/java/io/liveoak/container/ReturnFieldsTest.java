@@ -116,6 +116,33 @@ public class ReturnFieldsTest {
         }
     }
 
+    @Test
+    public void testForSpec() {
+        DefaultReturnFields spec = DefaultReturnFields.forSpec("*,-name,members(id,dog(*,-color))");
+        assertThat(DefaultReturnFields.forSpec("*,-name,members(id,dog(*,-color))")).isSameAs(spec);
+        assertThat(DefaultReturnFields.forSpec("*")).isNotSameAs(spec);
+
+        assertThat(spec.isAll()).isTrue();
+        assertThat(spec.included("name")).isFalse();
+        assertThat(spec.child("members").included("dog", "color")).isFalse();
+        assertThat(spec.child("members").included("id")).isTrue();
+        assertThat(spec.child("members").included("name")).isFalse();
+        assertThat(spec.child("members").child("dog").included("breed")).isTrue();
+        assertThat(spec.child("members").child("cat")).isSameAs(ReturnFields.NONE);
+
+        try {
+            spec.iterator().remove();
+            Assert.fail("Shared return fields must not be modifiable");
+        } catch (UnsupportedOperationException expected) {
+        }
+
+        try {
+            DefaultReturnFields.forSpec("field1,");
+            Assert.fail("Parsing of fields spec should have failed!");
+        } catch (Exception e) {
+        }
+    }
+
     private String traverse(ReturnFields fspec) {
         StringBuilder buf = new StringBuilder();
         for (String field : fspec) {
@@ -9,17 +9,22 @@ import io.liveoak.common.DefaultMediaTypeMatcher;
 import io.liveoak.common.DefaultResourceResponse;
 import io.liveoak.common.codec.DefaultResourceState;
 import io.liveoak.common.codec.ResourceCodec;
+import io.liveoak.common.codec.NegotiationResult;
 import io.liveoak.common.codec.ResourceCodecManager;
 import io.liveoak.common.codec.UnsupportedMediaTypeException;
 import io.liveoak.container.InMemoryObjectResource;
 import io.liveoak.common.codec.html.HTMLEncoder;
 import io.liveoak.common.codec.json.JSONDecoder;
+import io.liveoak.common.codec.json.JSONEncoder;
 import io.liveoak.spi.MediaType;
+import io.liveoak.spi.MediaTypeMatcher;
 import io.liveoak.spi.ResourceResponse;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import org.junit.Test;
 
+import static org.fest.assertions.Assertions.assertThat;
+
 /**
  * @author <a href="http://community.jboss.org/people/kenfinni">Ken Finnigan</a>
  */
@@ -48,4 +53,29 @@ public class ResourceCodecManagerTest {
         resourceResponse.setState( state );
         manager.encode(null, mediaTypeMatcher, resourceResponse);
     }
+
+    @Test
+    public void negotiationTest() throws Exception {
+        ResourceCodecManager manager = new ResourceCodecManager();
+        ResourceCodec json = new ResourceCodec(JSONEncoder.class, new JSONDecoder());
+        manager.registerResourceCodec(MediaType.JSON, json);
+
+        MediaTypeMatcher matcher = manager.mediaTypeMatcher("text/html, application/json;q=0.5", null);
+        assertThat(manager.mediaTypeMatcher("text/html, application/json;q=0.5", null)).isSameAs(matcher);
+
+        NegotiationResult result = manager.negotiate(matcher);
+        assertThat(result.mediaType()).isEqualTo(MediaType.JSON);
+        assertThat(result.codec()).isSameAs(json);
+        assertThat(manager.negotiate(matcher)).isSameAs(result);
+
+        // registering a codec discards the results
+        ResourceCodec html = new ResourceCodec(HTMLEncoder.class, null);
+        manager.registerResourceCodec(MediaType.HTML, html);
+        result = manager.negotiate(matcher);
+        assertThat(result.mediaType()).isEqualTo(MediaType.HTML);
+        assertThat(result.codec()).isSameAs(html);
+
+        assertThat(manager.negotiate(new DefaultMediaTypeMatcher("text/html", "json")).mediaType()).isEqualTo(MediaType.JSON);
+        assertThat(manager.determineMediaType("image/png", null)).isNull();
+    }
 }
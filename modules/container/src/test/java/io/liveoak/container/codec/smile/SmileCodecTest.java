@@ -0,0 +1,83 @@
+/*
+ * Copyright 2014 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package io.liveoak.container.codec.smile;
+
+import java.net.URI;
+import java.util.Arrays;
+
+import io.liveoak.common.DefaultMediaTypeMatcher;
+import io.liveoak.common.codec.DefaultResourceState;
+import io.liveoak.common.codec.driver.StateEncodingDriver;
+import io.liveoak.common.codec.json.JSONEncoder;
+import io.liveoak.common.codec.smile.SmileDecoder;
+import io.liveoak.common.codec.smile.SmileEncoder;
+import io.liveoak.spi.MediaType;
+import io.liveoak.spi.RequestContext;
+import io.liveoak.spi.state.ResourceState;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.Test;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+public class SmileCodecTest {
+
+    protected ByteBuf encode(JSONEncoder encoder, ResourceState resourceState) throws Exception {
+        ByteBuf buffer = Unpooled.buffer();
+        encoder.initialize(buffer);
+        StateEncodingDriver driver = new StateEncodingDriver(new RequestContext.Builder().build(), encoder, resourceState);
+        driver.encode();
+        driver.close();
+        return buffer;
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        DefaultResourceState mosesState = new DefaultResourceState("moses");
+        mosesState.uri(new URI("/people/bob/moses"));
+        mosesState.putProperty("name", "Moses");
+        mosesState.putProperty("age", 9);
+
+        DefaultResourceState bobState = new DefaultResourceState("bob");
+        bobState.uri(new URI("/people/bob"));
+        bobState.putProperty("name", "Bob McWhirter");
+        bobState.putProperty("height", 1.85);
+        bobState.putProperty("tags", Arrays.asList("java", "ruby"));
+        bobState.putProperty("dog", mosesState);
+
+        ByteBuf smile = encode(new SmileEncoder(), bobState);
+        ByteBuf json = encode(new JSONEncoder(), bobState);
+
+        // the Smile header
+        assertThat(smile.getByte(0)).isEqualTo((byte) ':');
+        assertThat(smile.getByte(1)).isEqualTo((byte) ')');
+        assertThat(smile.readableBytes()).isLessThan(json.readableBytes());
+
+        ResourceState decoded = new SmileDecoder().decode(smile);
+        assertThat(decoded.id()).isEqualTo("bob");
+        assertThat(decoded.uri().toString()).isEqualTo("/people/bob");
+        assertThat(decoded.getProperty("name")).isEqualTo("Bob McWhirter");
+        assertThat(decoded.getProperty("height")).isEqualTo(1.85);
+        assertThat(decoded.getProperty("tags")).isEqualTo(Arrays.asList("java", "ruby"));
+
+        ResourceState dog = decoded.getProperty("dog", true, ResourceState.class);
+        assertThat(dog.id()).isEqualTo("moses");
+        assertThat(dog.uri().toString()).isEqualTo("/people/bob/moses");
+        assertThat(dog.getProperty("age")).isEqualTo(9);
+    }
+
+    @Test
+    public void testNegotiation() throws Exception {
+        DefaultMediaTypeMatcher matcher = new DefaultMediaTypeMatcher("application/json;q=0.5, application/x-jackson-smile");
+        assertThat(matcher.findBestMatch(Arrays.asList(MediaType.JSON, MediaType.SMILE))).isEqualTo(MediaType.SMILE);
+
+        matcher = new DefaultMediaTypeMatcher("*/*");
+        assertThat(matcher.findBestMatch(Arrays.asList(MediaType.SMILE, MediaType.JSON))).isEqualTo(MediaType.JSON);
+
+        matcher = new DefaultMediaTypeMatcher("text/html", "smile");
+        assertThat(matcher.findBestMatch(Arrays.asList(MediaType.JSON, MediaType.SMILE, MediaType.HTML))).isEqualTo(MediaType.SMILE);
+    }
+}
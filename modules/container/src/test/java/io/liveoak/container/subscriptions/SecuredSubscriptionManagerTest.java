@@ -0,0 +1,217 @@
+package io.liveoak.container.subscriptions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import io.liveoak.common.DefaultResourceResponse;
+import io.liveoak.common.codec.DefaultResourceState;
+import io.liveoak.common.security.AuthzConstants;
+import io.liveoak.common.security.DefaultSecurityContext;
+import io.liveoak.spi.RequestContext;
+import io.liveoak.spi.ResourcePath;
+import io.liveoak.spi.ResourceResponse;
+import io.liveoak.spi.client.Client;
+import io.liveoak.spi.client.ClientResourceResponse;
+import io.liveoak.spi.container.Subscription;
+import io.liveoak.spi.resource.async.Resource;
+import io.liveoak.spi.security.SecurityContext;
+import io.liveoak.spi.state.ResourceState;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+public class SecuredSubscriptionManagerTest {
+
+    private AtomicInteger evaluations;
+    private SecuredSubscriptionManager manager;
+
+    @Before
+    public void setUp() {
+        this.evaluations = new AtomicInteger();
+        this.manager = new SecuredSubscriptionManager(new AuthzClient());
+    }
+
+    @Test
+    public void testDecisionSharedPerPrincipal() throws Exception {
+        List<TestSubscription> subscriptions = new ArrayList<>();
+        for (int i = 0; i < 10; ++i) {
+            subscriptions.add(subscribe("bob", "user"));
+            subscriptions.add(subscribe("alice", "user"));
+            subscriptions.add(subscribe("alice", "user", "admin"));
+            subscriptions.add(subscribe("denied", "user"));
+        }
+
+        this.manager.resourceUpdated(response());
+
+        // bob, alice, alice as admin and denied
+        assertThat(this.evaluations.get()).isEqualTo(4);
+        assertThat(this.manager.statistics("testApp").evaluations()).isEqualTo(4);
+        assertThat(this.manager.statistics("testApp").shared()).isEqualTo(36);
+
+        for (TestSubscription subscription : subscriptions) {
+            if (subscription.securityContext().getSubject().equals("denied")) {
+                assertThat(subscription.notified).isEqualTo(0);
+                assertThat(subscription.errorStatus).isEqualTo(403);
+            } else {
+                assertThat(subscription.notified).isEqualTo(1);
+                assertThat(subscription.errorStatus).isEqualTo(0);
+            }
+        }
+    }
+
+    @Test
+    public void testEvaluatedOncePerEvent() throws Exception {
+        subscribe("bob", "user");
+        subscribe("bob", "user");
+
+        this.manager.resourceUpdated(response());
+        this.manager.resourceUpdated(response());
+
+        assertThat(this.evaluations.get()).isEqualTo(2);
+    }
+
+    private TestSubscription subscribe(String subject, String... roles) {
+        DefaultSecurityContext securityContext = new DefaultSecurityContext();
+        securityContext.setRealm("test-realm");
+        securityContext.setSubject(subject);
+        securityContext.setRoles(new HashSet<>(Arrays.asList(roles)));
+
+        TestSubscription subscription = new TestSubscription(securityContext);
+        this.manager.addSubscription(subscription);
+        return subscription;
+    }
+
+    private ResourceResponse response() {
+        TestResource app = new TestResource(null, "testApp");
+        TestResource items = new TestResource(app, "items");
+        TestResource item = new TestResource(items, "item1");
+        ResourceResponse response = new DefaultResourceResponse(null, ResourceResponse.ResponseType.UPDATED, item);
+        response.setState(new DefaultResourceState("item1"));
+        return response;
+    }
+
+    private class AuthzClient implements Client {
+
+        @Override
+        public void read(RequestContext context, String path, Consumer<ClientResourceResponse> handler) {
+            evaluations.incrementAndGet();
+            RequestContext request = context.requestAttributes().getAttribute(AuthzConstants.ATTR_REQUEST_CONTEXT, RequestContext.class);
+            boolean authorized = !request.securityContext().getSubject().equals("denied");
+
+            ResourceState state = new DefaultResourceState();
+            state.putProperty(AuthzConstants.ATTR_AUTHZ_RESULT, authorized);
+            handler.accept(new ClientResourceResponse() {
+                @Override
+                public String path() {
+                    return path;
+                }
+
+                @Override
+                public ResponseType responseType() {
+                    return ResponseType.OK;
+                }
+
+                @Override
+                public ResourceState state() {
+                    return state;
+                }
+            });
+        }
+
+        @Override
+        public void create(RequestContext context, String path, ResourceState state, Consumer<ClientResourceResponse> handler) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void update(RequestContext context, String path, ResourceState state, Consumer<ClientResourceResponse> handler) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void delete(RequestContext context, String path, Consumer<ClientResourceResponse> handler) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private static class TestSubscription implements Subscription {
+
+        private static final AtomicInteger counter = new AtomicInteger();
+
+        TestSubscription(SecurityContext securityContext) {
+            this.id = "subscription-" + counter.incrementAndGet();
+            this.securityContext = securityContext;
+        }
+
+        @Override
+        public String id() {
+            return this.id;
+        }
+
+        @Override
+        public ResourcePath resourcePath() {
+            return new ResourcePath("/testApp/items/*");
+        }
+
+        @Override
+        public boolean isSecure() {
+            return true;
+        }
+
+        @Override
+        public SecurityContext securityContext() {
+            return this.securityContext;
+        }
+
+        @Override
+        public void sendAuthzError(ResourceState errorState, Resource resource, int status) throws Exception {
+            this.errorStatus = status;
+        }
+
+        @Override
+        public void resourceCreated(ResourceResponse resourceResponse) throws Exception {
+            this.notified++;
+        }
+
+        @Override
+        public void resourceUpdated(ResourceResponse resourceResponse) throws Exception {
+            this.notified++;
+        }
+
+        @Override
+        public void resourceDeleted(ResourceResponse resourceResponse) throws Exception {
+            this.notified++;
+        }
+
+        private final String id;
+        private final SecurityContext securityContext;
+        int notified;
+        int errorStatus;
+    }
+
+    private static class TestResource implements Resource {
+
+        TestResource(Resource parent, String id) {
+            this.parent = parent;
+            this.id = id;
+        }
+
+        @Override
+        public Resource parent() {
+            return this.parent;
+        }
+
+        @Override
+        public String id() {
+            return this.id;
+        }
+
+        private final Resource parent;
+        private final String id;
+    }
+}
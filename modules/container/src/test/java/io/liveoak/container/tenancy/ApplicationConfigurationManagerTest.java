@@ -0,0 +1,77 @@
+package io.liveoak.container.tenancy;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.liveoak.spi.util.ObjectMapperFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+public class ApplicationConfigurationManagerTest {
+
+    private File dir;
+    private File file;
+
+    @Before
+    public void setUp() throws Exception {
+        this.dir = Files.createTempDirectory("app-config").toFile();
+        this.file = new File(this.dir, "application.json");
+        Files.write(this.file.toPath(), "{ \"id\": \"testApp\", \"resources\": {} }".getBytes());
+    }
+
+    @After
+    public void tearDown() {
+        for (File each : this.dir.listFiles()) {
+            each.delete();
+        }
+        this.dir.delete();
+    }
+
+    @Test
+    public void testUpdateIsWrittenThrough() throws Exception {
+        ApplicationConfigurationManager manager = new ApplicationConfigurationManager(this.file);
+        ObjectNode config = JsonNodeFactory.instance.objectNode();
+        config.put("db", "test");
+        manager.updateResource("storage", "mongo", config);
+
+        JsonNode onDisk = ObjectMapperFactory.create().readTree(this.file);
+        assertThat(onDisk.get("resources").get("storage").get("type").asText()).isEqualTo("mongo");
+        assertThat(onDisk.get("resources").get("storage").get("config").get("db").asText()).isEqualTo("test");
+        assertThat(this.dir.listFiles()).hasSize(1);
+    }
+
+    @Test
+    public void testWriteBehindCoalescesUpdates() throws Exception {
+        ApplicationConfigurationManager manager = new ApplicationConfigurationManager(this.file, 200);
+        for (int i = 0; i < 10; ++i) {
+            manager.updateResource("res" + i, "mongo", JsonNodeFactory.instance.objectNode());
+        }
+        manager.removeResource("res0");
+
+        // Visible in memory straight away
+        assertThat(manager.readResource("res9")).isNotNull();
+        assertThat(manager.readResource("res0")).isNull();
+
+        manager.flush();
+
+        JsonNode onDisk = ObjectMapperFactory.create().readTree(this.file);
+        assertThat(onDisk.get("resources").size()).isEqualTo(9);
+        assertThat(onDisk.get("resources").get("res0")).isNull();
+    }
+
+    @Test
+    public void testSnapshotsAreNotModified() throws Exception {
+        ApplicationConfigurationManager manager = new ApplicationConfigurationManager(this.file);
+        ObjectNode before = manager.snapshot();
+        manager.updateResource("storage", "mongo", JsonNodeFactory.instance.objectNode());
+
+        assertThat(before.get("resources").get("storage")).isNull();
+        assertThat(manager.snapshot().get("resources").get("storage")).isNotNull();
+    }
+}
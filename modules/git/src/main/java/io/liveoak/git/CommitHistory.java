@@ -0,0 +1,191 @@
+/*
+ * Copyright 2014 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package io.liveoak.git;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jgit.errors.IncorrectObjectTypeException;
+import org.eclipse.jgit.errors.MissingObjectException;
+import org.eclipse.jgit.lib.AnyObjectId;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
+
+/**
+ * Reads the commits of a repository, newest first.
+ *
+ * <p>Pages are read with a single walk kept for the repository. A page following the one read last continues
+ * that walk where it stopped, so reading through the history page by page does not depend on the size of the
+ * history before each page. Any other page walks from <code>HEAD</code> up to the commit it follows: only that
+ * walk knows all the branches still to visit once the history has merges. Commits read are kept in a bounded
+ * cache, most recently used first.</p>
+ */
+public class CommitHistory {
+
+    public static final String CACHE_SIZE_PROPERTY = "io.liveoak.git.commit-cache-size";
+    private static final int CACHE_SIZE = Integer.getInteger(CACHE_SIZE_PROPERTY, 1000);
+    private static final int WALK_LIMIT = 100 * CACHE_SIZE;
+
+    public CommitHistory(Repository repository) {
+        this.repository = repository;
+        this.walk = new RevWalk(repository);
+    }
+
+    /**
+     * @param after The id of the last commit of the previous page, or null for the newest commits.
+     * @param offset The number of commits to skip.
+     * @param limit The maximum number of commits, or less than zero for all of them.
+     * @return The commits, newest first.
+     */
+    public synchronized List<CommitInfo> commits(String after, int offset, int limit) throws IOException {
+        List<CommitInfo> commits = new ArrayList<>();
+        if (limit == 0) {
+            return commits;
+        }
+
+        try {
+            ObjectId head = this.repository.resolve(Constants.HEAD);
+            if (head == null) {
+                // no commit yet
+                return commits;
+            }
+            ObjectId cursor = null;
+            if (after != null) {
+                cursor = resolve(after);
+                if (cursor == null) {
+                    return commits;
+                }
+            }
+
+            if (cursor == null || !cursor.equals(this.position) || !head.equals(this.positionHead)) {
+                reset();
+                this.walk.markStart(this.walk.parseCommit(head));
+                if (cursor != null && !skipTo(cursor)) {
+                    // not in the history of HEAD
+                    return commits;
+                }
+            }
+            this.position = null;
+
+            RevCommit commit;
+            int skipped = 0;
+            while ((limit < 0 || commits.size() < limit) && (commit = this.walk.next()) != null) {
+                if (skipped++ < offset) {
+                    continue;
+                }
+                commits.add(cache(commit));
+                this.position = commit.copy();
+            }
+            this.positionHead = head;
+            this.walked += skipped;
+        } catch (MissingObjectException | IncorrectObjectTypeException e) {
+            // not a commit of this repository
+            return Collections.emptyList();
+        }
+        return commits;
+    }
+
+    /**
+     * @param id The id of the commit, possibly abbreviated.
+     * @return The commit, or null if there is no such commit.
+     */
+    public synchronized CommitInfo commit(String id) throws IOException {
+        ObjectId objectId = resolve(id);
+        if (objectId == null) {
+            return null;
+        }
+
+        CommitInfo commit = this.cache.get(objectId);
+        if (commit == null) {
+            try {
+                commit = cache(this.walk.parseCommit(objectId));
+            } catch (MissingObjectException | IncorrectObjectTypeException e) {
+                return null;
+            }
+        }
+        return commit;
+    }
+
+    /**
+     * Adds a commit made through this repository, so it is served without being read back.
+     */
+    public synchronized CommitInfo added(RevCommit commit) {
+        return cache(commit);
+    }
+
+    public synchronized void close() {
+        this.position = null;
+        this.walk.release();
+        this.cache.clear();
+    }
+
+    Repository repository() {
+        return this.repository;
+    }
+
+    private boolean skipTo(ObjectId cursor) throws IOException {
+        RevCommit commit;
+        while ((commit = this.walk.next()) != null) {
+            ++this.walked;
+            if (commit.equals(cursor)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void reset() {
+        this.position = null;
+        if (this.walked > WALK_LIMIT) {
+            // the walk keeps every commit it parsed, start over once it has gone through a large part of the history
+            this.walk.release();
+            this.walk = new RevWalk(this.repository);
+            this.walked = 0;
+        } else {
+            this.walk.reset();
+        }
+    }
+
+    private ObjectId resolve(String id) throws IOException {
+        if (ObjectId.isId(id)) {
+            return ObjectId.fromString(id);
+        }
+        // only hex ids, not arbitrary revision expressions
+        if (id.isEmpty() || !id.matches("[0-9a-fA-F]+")) {
+            return null;
+        }
+        return this.repository.resolve(id);
+    }
+
+    private CommitInfo cache(RevCommit commit) {
+        CommitInfo info = this.cache.get(commit);
+        if (info == null) {
+            info = new CommitInfo(commit);
+            this.cache.put(info.objectId(), info);
+        }
+        return info;
+    }
+
+    private final Repository repository;
+    private RevWalk walk;
+    private int walked;
+    // the last commit returned and the HEAD it was walked from, while the walk can continue after it
+    private ObjectId position;
+    private ObjectId positionHead;
+    private final Map<AnyObjectId, CommitInfo> cache = new LinkedHashMap<AnyObjectId, CommitInfo>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<AnyObjectId, CommitInfo> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2014 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package io.liveoak.git;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.PersonIdent;
+import org.eclipse.jgit.revwalk.RevCommit;
+
+/**
+ * The metadata of a commit, without holding on to the walk it was read with.
+ */
+public class CommitInfo {
+
+    public CommitInfo(RevCommit commit) {
+        this.objectId = commit.copy();
+        this.message = commit.getFullMessage();
+
+        PersonIdent author = commit.getAuthorIdent();
+        this.authorName = author.getName();
+        this.authorEmail = author.getEmailAddress();
+        PersonIdent committer = commit.getCommitterIdent();
+        this.committerName = committer.getName();
+        this.committerEmail = committer.getEmailAddress();
+        this.time = committer.getWhen().getTime();
+
+        List<String> parents = new ArrayList<>(commit.getParentCount());
+        for (RevCommit parent : commit.getParents()) {
+            parents.add(parent.getName());
+        }
+        this.parents = Collections.unmodifiableList(parents);
+    }
+
+    public ObjectId objectId() {
+        return this.objectId;
+    }
+
+    public String id() {
+        return this.objectId.getName();
+    }
+
+    public List<String> parents() {
+        return this.parents;
+    }
+
+    public Map<String, Object> properties() {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("message", this.message);
+        properties.put("author", person(this.authorName, this.authorEmail));
+        properties.put("committer", person(this.committerName, this.committerEmail));
+        properties.put("time", this.time);
+        properties.put("parents", this.parents);
+        return properties;
+    }
+
+    private static Map<String, Object> person(String name, String email) {
+        Map<String, Object> person = new LinkedHashMap<>();
+        person.put("name", name);
+        person.put("email", email);
+        return person;
+    }
+
+    private final ObjectId objectId;
+    private final String message;
+    private final String authorName;
+    private final String authorEmail;
+    private final String committerName;
+    private final String committerEmail;
+    private final long time;
+    private final List<String> parents;
+}
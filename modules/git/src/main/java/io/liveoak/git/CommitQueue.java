@@ -0,0 +1,152 @@
+/*
+ * Copyright 2014 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package io.liveoak.git;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.liveoak.jgit.GitHandler;
+import io.liveoak.spi.security.UserProfile;
+import org.eclipse.jgit.api.AddCommand;
+import org.eclipse.jgit.api.CommitCommand;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.revwalk.RevCommit;
+
+/**
+ * Commits to a repository, grouping the commits requested while another one is in progress.
+ *
+ * <p>A caller finding the queue idle commits on its own thread, then keeps committing whatever was queued
+ * meanwhile until the queue is empty. Requests queued together by the same committer go into a single commit,
+ * with their paths staged together and their messages joined.</p>
+ */
+public class CommitQueue {
+
+    public static final String MAX_BATCH_PROPERTY = "io.liveoak.git.max-commit-batch";
+    private static final int MAX_BATCH = Integer.getInteger(MAX_BATCH_PROPERTY, 100);
+
+    public CommitQueue(Git git) {
+        this.git = git;
+    }
+
+    /**
+     * @param message The commit message, or null.
+     * @param user The committer, or null for the repository default.
+     * @param paths The file patterns to stage, relative to the repository.
+     * @param includeUntracked Whether files not yet tracked are staged too.
+     * @return The commit including the changes, once it is done.
+     */
+    public CompletableFuture<RevCommit> commit(String message, UserProfile user, List<String> paths, boolean includeUntracked) {
+        Request request = new Request(message, user, paths, includeUntracked);
+        this.pending.add(request);
+        drain();
+        return request.future;
+    }
+
+    private void drain() {
+        // re-checked once the flag is released, for requests queued just before
+        while (!this.pending.isEmpty() && this.draining.compareAndSet(false, true)) {
+            try {
+                List<Request> batch;
+                while (!(batch = next()).isEmpty()) {
+                    commit(batch);
+                }
+            } finally {
+                this.draining.set(false);
+            }
+        }
+    }
+
+    private List<Request> next() {
+        List<Request> batch = new ArrayList<>();
+        Request request;
+        while (batch.size() < MAX_BATCH && (request = this.pending.peek()) != null) {
+            if (!batch.isEmpty() && !batch.get(0).sameCommitter(request)) {
+                break;
+            }
+            batch.add(this.pending.poll());
+        }
+        return batch;
+    }
+
+    private void commit(List<Request> batch) {
+        Set<String> untracked = new LinkedHashSet<>();
+        Set<String> tracked = new LinkedHashSet<>();
+        StringJoiner message = new StringJoiner("\n");
+        boolean hasMessage = false;
+        for (Request request : batch) {
+            (request.includeUntracked ? untracked : tracked).addAll(request.paths);
+            if (request.message != null) {
+                message.add(request.message);
+                hasMessage = true;
+            }
+        }
+
+        CommitCommand commitCmd = this.git.commit();
+        Request first = batch.get(0);
+        if (first.name != null && first.email != null) {
+            commitCmd.setCommitter(first.name, first.email);
+        }
+        if (hasMessage) {
+            commitCmd.setMessage(message.toString());
+        }
+
+        try {
+            RevCommit commit = GitHandler.commit(this.git, () -> {
+                if (!untracked.isEmpty()) {
+                    stage(untracked, false);
+                }
+                if (!tracked.isEmpty()) {
+                    // This will prevent new files from being added to the index, and therefore the commit
+                    stage(tracked, true);
+                }
+                return commitCmd.call();
+            });
+            batch.forEach(request -> request.future.complete(commit));
+        } catch (Exception e) {
+            batch.forEach(request -> request.future.completeExceptionally(e));
+        }
+    }
+
+    private void stage(Set<String> paths, boolean update) throws Exception {
+        AddCommand addCmd = this.git.add().setUpdate(update);
+        paths.forEach(addCmd::addFilepattern);
+        addCmd.call();
+    }
+
+    private static class Request {
+
+        Request(String message, UserProfile user, List<String> paths, boolean includeUntracked) {
+            this.message = message;
+            this.name = user != null ? user.name() : null;
+            this.email = user != null ? user.email() : null;
+            this.paths = paths;
+            this.includeUntracked = includeUntracked;
+        }
+
+        boolean sameCommitter(Request other) {
+            return Objects.equals(this.name, other.name) && Objects.equals(this.email, other.email);
+        }
+
+        final String message;
+        final String name;
+        final String email;
+        final List<String> paths;
+        final boolean includeUntracked;
+        final CompletableFuture<RevCommit> future = new CompletableFuture<>();
+    }
+
+    private final Git git;
+    private final Queue<Request> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+}
@@ -1,23 +1,24 @@
 package io.liveoak.git;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
-import io.liveoak.jgit.GitHandler;
+import io.liveoak.spi.Pagination;
 import io.liveoak.spi.RequestContext;
 import io.liveoak.spi.resource.SynchronousResource;
 import io.liveoak.spi.resource.async.Resource;
 import io.liveoak.spi.resource.async.Responder;
 import io.liveoak.spi.security.UserProfile;
 import io.liveoak.spi.state.ResourceState;
-import org.eclipse.jgit.api.AddCommand;
-import org.eclipse.jgit.api.CommitCommand;
-import org.eclipse.jgit.revwalk.RevCommit;
 
 /**
  * @author Ken Finnigan
  */
 public class CommitsResource implements SynchronousResource {
 
+    public static final String AFTER_PARAM = "after";
+
     public CommitsResource(GitResource parent) {
         this.parent = parent;
     }
@@ -32,16 +33,26 @@ public class CommitsResource implements SynchronousResource {
         return "commits";
     }
 
+    /**
+     * The commits, newest first. Pages follow each other with the <code>after</code> parameter,
+     * the id of the last commit of the previous page.
+     */
     @Override
     public Collection<? extends Resource> members(RequestContext ctx) throws Exception {
-        //TODO
-        return null;
+        String after = ctx.resourceParams() != null ? ctx.resourceParams().value(AFTER_PARAM) : null;
+        Pagination pagination = ctx.pagination() != null ? ctx.pagination() : Pagination.NONE;
+
+        List<Resource> members = new ArrayList<>();
+        for (CommitInfo commit : history().commits(after, pagination.offset(), pagination.limit())) {
+            members.add(new GitCommitResource(this, commit));
+        }
+        return members;
     }
 
     @Override
     public Resource member(RequestContext ctx, String id) throws Exception {
-        //TODO
-        return null;
+        CommitInfo commit = history().commit(id);
+        return commit != null ? new GitCommitResource(this, commit) : null;
     }
 
     @Override
@@ -54,35 +65,32 @@ public class CommitsResource implements SynchronousResource {
             includeUntracked = Boolean.TRUE;
         }
 
-        // Add changed files to staging ready for commit
-        AddCommand addCmd = parent.git().add().addFilepattern(".");
-
-        if (!includeUntracked) {
-            // This will prevent new files from being added to the index, and therefore the commit
-            addCmd.setUpdate(true);
-        }
-
-        // Commit staged changes
-        RevCommit commit;
-        CommitCommand commitCmd = parent.git().commit();
-
-        if (ctx.securityContext() != null) {
-            UserProfile user = ctx.securityContext().getUser();
-            if (user != null && user.name() != null && user.email() != null) {
-                commitCmd.setCommitter(user.name(), user.email());
+        // Stage only the given paths if any, the whole repository otherwise
+        List<String> paths = new ArrayList<>();
+        Object pathsProperty = state.getProperty("paths");
+        if (pathsProperty instanceof Collection) {
+            for (Object path : (Collection<?>) pathsProperty) {
+                paths.add(path.toString());
             }
         }
-
-        if (commitMsg != null) {
-            commitCmd.setMessage(commitMsg);
+        if (paths.isEmpty()) {
+            paths.add(".");
         }
 
-        commit = GitHandler.commit(() -> {
-            addCmd.call();
-            return commitCmd.call();
+        UserProfile user = ctx.securityContext() != null ? ctx.securityContext().getUser() : null;
+
+        // Commits requested while another is in progress are grouped into the next one
+        parent.commitQueue().commit(commitMsg, user, paths, includeUntracked).whenComplete((commit, t) -> {
+            if (t != null) {
+                responder.internalError(t);
+            } else {
+                responder.resourceCreated(new GitCommitResource(this, history().added(commit)));
+            }
         });
+    }
 
-        responder.resourceCreated(new GitCommitResource(this, commit));
+    CommitHistory history() {
+        return parent.history();
     }
 
     GitResource parent;
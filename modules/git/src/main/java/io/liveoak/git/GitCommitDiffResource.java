@@ -0,0 +1,128 @@
+/*
+ * Copyright 2014 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package io.liveoak.git;
+
+import java.io.OutputStream;
+
+import io.liveoak.spi.MediaType;
+import io.liveoak.spi.RequestContext;
+import io.liveoak.spi.resource.async.BinaryContentSink;
+import io.liveoak.spi.resource.async.BinaryResource;
+import io.liveoak.spi.resource.async.Resource;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.eclipse.jgit.diff.DiffFormatter;
+import org.eclipse.jgit.lib.ObjectReader;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.treewalk.AbstractTreeIterator;
+import org.eclipse.jgit.treewalk.CanonicalTreeParser;
+import org.eclipse.jgit.treewalk.EmptyTreeIterator;
+
+/**
+ * The changes of a commit against its first parent, as a unified diff written out as it is computed.
+ */
+public class GitCommitDiffResource implements BinaryResource {
+
+    public static final String ID = "diff";
+
+    private static final MediaType DIFF = new MediaType("text/x-diff");
+
+    private static final int CHUNK_SIZE = 8192;
+
+    public GitCommitDiffResource(GitCommitResource parent, CommitHistory history, CommitInfo commit) {
+        this.parent = parent;
+        this.history = history;
+        this.commit = commit;
+    }
+
+    @Override
+    public Resource parent() {
+        return this.parent;
+    }
+
+    @Override
+    public String id() {
+        return ID;
+    }
+
+    @Override
+    public MediaType mediaType() {
+        return DIFF;
+    }
+
+    @Override
+    public long contentLength() {
+        return -1;
+    }
+
+    @Override
+    public void readContent(RequestContext ctx, BinaryContentSink sink) throws Exception {
+        Repository repository = this.history.repository();
+        RevWalk walk = new RevWalk(repository);
+        ObjectReader reader = repository.newObjectReader();
+        DiffFormatter formatter = new DiffFormatter(new SinkOutputStream(sink));
+        try {
+            RevCommit commit = walk.parseCommit(this.commit.objectId());
+            AbstractTreeIterator oldTree = new EmptyTreeIterator();
+            if (commit.getParentCount() > 0) {
+                oldTree = new CanonicalTreeParser(null, reader, walk.parseCommit(commit.getParent(0)).getTree());
+            }
+            AbstractTreeIterator newTree = new CanonicalTreeParser(null, reader, commit.getTree());
+
+            formatter.setRepository(repository);
+            formatter.format(oldTree, newTree);
+            formatter.flush();
+        } finally {
+            formatter.release();
+            reader.release();
+            walk.release();
+            sink.close();
+        }
+    }
+
+    /**
+     * Hands the written bytes to the sink in chunks.
+     */
+    private static class SinkOutputStream extends OutputStream {
+
+        SinkOutputStream(BinaryContentSink sink) {
+            this.sink = sink;
+        }
+
+        @Override
+        public void write(int b) {
+            this.buffer.writeByte(b);
+            if (this.buffer.readableBytes() >= CHUNK_SIZE) {
+                flush();
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            this.buffer.writeBytes(b, off, len);
+            if (this.buffer.readableBytes() >= CHUNK_SIZE) {
+                flush();
+            }
+        }
+
+        @Override
+        public void flush() {
+            if (this.buffer.isReadable()) {
+                this.sink.accept(this.buffer);
+                this.buffer = Unpooled.buffer(CHUNK_SIZE);
+            }
+        }
+
+        private final BinaryContentSink sink;
+        private ByteBuf buffer = Unpooled.buffer(CHUNK_SIZE);
+    }
+
+    private GitCommitResource parent;
+    private CommitHistory history;
+    private CommitInfo commit;
+}
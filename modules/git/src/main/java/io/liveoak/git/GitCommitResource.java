@@ -1,18 +1,21 @@
 package io.liveoak.git;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+
 import io.liveoak.spi.RequestContext;
 import io.liveoak.spi.exceptions.UpdateNotSupportedException;
 import io.liveoak.spi.resource.SynchronousResource;
 import io.liveoak.spi.resource.async.Resource;
 import io.liveoak.spi.state.ResourceState;
-import org.eclipse.jgit.revwalk.RevCommit;
 
 /**
  * @author Ken Finnigan
  */
 public class GitCommitResource implements SynchronousResource {
 
-    public GitCommitResource(CommitsResource parent, RevCommit commit) {
+    public GitCommitResource(CommitsResource parent, CommitInfo commit) {
         this.commit = commit;
         this.parent = parent;
     }
@@ -24,7 +27,12 @@ public class GitCommitResource implements SynchronousResource {
 
     @Override
     public String id() {
-        return this.commit.getName();
+        return this.commit.id();
+    }
+
+    @Override
+    public Map<String, ?> properties(RequestContext ctx) throws Exception {
+        return this.commit.properties();
     }
 
     @Override
@@ -32,6 +40,20 @@ public class GitCommitResource implements SynchronousResource {
         throw new UpdateNotSupportedException(this.uri().getPath());
     }
 
-    private RevCommit commit;
+    @Override
+    public Collection<? extends Resource> members(RequestContext ctx) throws Exception {
+        // the diff is only computed when read
+        return Collections.singletonList(new GitCommitDiffResource(this, this.parent.history(), this.commit));
+    }
+
+    @Override
+    public Resource member(RequestContext ctx, String id) throws Exception {
+        if (GitCommitDiffResource.ID.equals(id)) {
+            return new GitCommitDiffResource(this, this.parent.history(), this.commit);
+        }
+        return null;
+    }
+
+    private CommitInfo commit;
     private CommitsResource parent;
 }
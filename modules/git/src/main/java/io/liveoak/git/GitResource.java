@@ -13,4 +13,8 @@ import org.eclipse.jgit.api.Git;
  */
 public interface GitResource extends Resource {
     Git git();
+
+    CommitQueue commitQueue();
+
+    CommitHistory history();
 }
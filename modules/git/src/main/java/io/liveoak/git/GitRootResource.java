@@ -50,14 +50,20 @@ public class GitRootResource extends DefaultMountPointResource implements GitRes
             }
         }
 
+        this.commitQueue = new CommitQueue(this.git);
+        this.history = new CommitHistory(this.git.getRepository());
+
         // Install sub resources here
         registerResource(new CommitsResource(this));
     }
 
     @Override
     public void stop() {
+        this.history.close();
+        this.history = null;
         this.git.close();
         this.git = null;
+        this.commitQueue = null;
         this.appDir = null;
     }
 
@@ -66,7 +72,19 @@ public class GitRootResource extends DefaultMountPointResource implements GitRes
         return this.git;
     }
 
+    @Override
+    public CommitQueue commitQueue() {
+        return this.commitQueue;
+    }
+
+    @Override
+    public CommitHistory history() {
+        return this.history;
+    }
+
     private File appDir;
     private Boolean create = Boolean.TRUE;
     private Git git;
+    private CommitQueue commitQueue;
+    private CommitHistory history;
 }
@@ -0,0 +1,130 @@
+package io.liveoak.git;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.TimeZone;
+
+import io.liveoak.common.util.FileHelper;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.PersonIdent;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+public class CommitHistoryTest {
+
+    private File directory;
+    private Git git;
+    private CommitHistory history;
+    private List<String> ids = new ArrayList<>();
+
+    @Before
+    public void setUp() throws Exception {
+        this.directory = Files.createTempDirectory("commit-history").toFile();
+        this.git = Git.init().setDirectory(this.directory).call();
+        this.history = new CommitHistory(this.git.getRepository());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        this.history.close();
+        this.git.close();
+        FileHelper.deleteNonEmpty(this.directory);
+    }
+
+    @Test
+    public void emptyRepository() throws Exception {
+        assertThat(this.history.commits(null, 0, 10)).isEmpty();
+    }
+
+    @Test
+    public void pages() throws Exception {
+        commits(5);
+
+        List<CommitInfo> page = this.history.commits(null, 0, 2);
+        assertThat(page).hasSize(2);
+        assertThat(page.get(0).id()).isEqualTo(ids.get(4));
+        assertThat(page.get(1).id()).isEqualTo(ids.get(3));
+
+        page = this.history.commits(page.get(1).id(), 0, 2);
+        assertThat(page).hasSize(2);
+        assertThat(page.get(0).id()).isEqualTo(ids.get(2));
+        assertThat(page.get(1).id()).isEqualTo(ids.get(1));
+
+        page = this.history.commits(page.get(1).id(), 0, 2);
+        assertThat(page).hasSize(1);
+        assertThat(page.get(0).id()).isEqualTo(ids.get(0));
+        assertThat(page.get(0).parents()).isEmpty();
+
+        assertThat(this.history.commits(null, 3, -1)).hasSize(2);
+    }
+
+    @Test
+    public void merges() throws Exception {
+        // C <- A (t=3), C <- B (t=2), M = merge(A, B)
+        String c = commit("c.txt", 1);
+        this.git.branchCreate().setName("b").call();
+        String a = commit("a.txt", 3);
+        this.git.checkout().setName("b").call();
+        String b = commit("b.txt", 2);
+        this.git.checkout().setName("master").call();
+        String m = this.git.merge().include(this.git.getRepository().resolve("b")).call().getNewHead().getName();
+
+        List<CommitInfo> page = this.history.commits(null, 0, 2);
+        assertThat(ids(page)).containsExactly(m, a);
+
+        // continuing the walk of the previous page
+        page = this.history.commits(a, 0, 2);
+        assertThat(ids(page)).containsExactly(b, c);
+
+        // and walking again from HEAD, after reading another page
+        this.history.commits(null, 0, 1);
+        page = this.history.commits(a, 0, 2);
+        assertThat(ids(page)).containsExactly(b, c);
+
+        assertThat(this.history.commits(b, 0, 10)).hasSize(1);
+        assertThat(this.history.commits(c, 0, 10)).isEmpty();
+    }
+
+    @Test
+    public void lookup() throws Exception {
+        commits(2);
+
+        CommitInfo commit = this.history.commit(ids.get(0).substring(0, 10));
+        assertThat(commit).isNotNull();
+        assertThat(commit.id()).isEqualTo(ids.get(0));
+        assertThat(commit.properties().get("message")).isEqualTo("commit 0");
+
+        assertThat(this.history.commit(ids.get(1)).parents()).containsOnly(ids.get(0));
+        assertThat(this.history.commit("HEAD")).isNull();
+        assertThat(this.history.commit("0000000000000000000000000000000000000000")).isNull();
+    }
+
+    private String commit(String file, int time) throws Exception {
+        Files.write(new File(this.directory, file).toPath(), file.getBytes());
+        this.git.add().addFilepattern(file).call();
+        PersonIdent ident = new PersonIdent("test", "test@example.com", new Date(time * 1000L), TimeZone.getTimeZone("UTC"));
+        return this.git.commit().setMessage(file).setAuthor(ident).setCommitter(ident).call().getName();
+    }
+
+    private static List<String> ids(List<CommitInfo> commits) {
+        List<String> ids = new ArrayList<>();
+        commits.forEach(commit -> ids.add(commit.id()));
+        return ids;
+    }
+
+    private void commits(int count) throws Exception {
+        for (int i = 0; i < count; ++i) {
+            Files.write(new File(this.directory, "file" + i + ".txt").toPath(), ("content " + i).getBytes());
+            this.git.add().addFilepattern(".").call();
+            RevCommit commit = this.git.commit().setMessage("commit " + i).call();
+            ids.add(commit.getName());
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package io.liveoak.git;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.liveoak.common.util.FileHelper;
+import io.liveoak.jgit.GitHandler;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+public class CommitQueueTest {
+
+    private File directory;
+    private Git git;
+
+    @Before
+    public void setUp() throws Exception {
+        this.directory = Files.createTempDirectory("commit-queue").toFile();
+        this.git = Git.init().setDirectory(this.directory).call();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        this.git.close();
+        FileHelper.deleteNonEmpty(this.directory);
+    }
+
+    @Test
+    public void stagesOnlyGivenPaths() throws Exception {
+        assertThat(new File(this.directory, "application.json").createNewFile()).isTrue();
+        assertThat(new File(this.directory, "other.txt").createNewFile()).isTrue();
+
+        RevCommit commit = new CommitQueue(this.git).commit("config", null, Collections.singletonList("application.json"), true).get();
+        assertThat(commit.getFullMessage()).isEqualTo("config");
+
+        assertThat(this.git.status().call().getUntracked()).containsOnly("other.txt");
+    }
+
+    @Test
+    public void concurrentCommits() throws Exception {
+        CommitQueue queue = new CommitQueue(this.git);
+        for (int i = 0; i < 20; ++i) {
+            assertThat(new File(this.directory, "file" + i + ".txt").createNewFile()).isTrue();
+        }
+
+        // hold the repository lock, so the first committer blocks with the queue draining
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = new Thread(() -> {
+            try {
+                GitHandler.commit(this.git, () -> {
+                    locked.countDown();
+                    release.await();
+                    return null;
+                });
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        holder.start();
+        locked.await();
+
+        AtomicReference<CompletableFuture<RevCommit>> firstResult = new AtomicReference<>();
+        Thread first = new Thread(() -> firstResult.set(queue.commit("add file0.txt", null, Collections.singletonList("file0.txt"), true)));
+        first.start();
+        while (first.getState() != Thread.State.BLOCKED) {
+            Thread.sleep(10);
+        }
+
+        // queued behind the blocked commit, returning right away
+        List<CompletableFuture<RevCommit>> results = new ArrayList<>();
+        for (int i = 1; i < 20; ++i) {
+            String name = "file" + i + ".txt";
+            results.add(queue.commit("add " + name, null, Collections.singletonList(name), true));
+        }
+
+        release.countDown();
+        holder.join();
+        first.join();
+        results.add(firstResult.get());
+
+        for (CompletableFuture<RevCommit> result : results) {
+            assertThat(result.get()).isNotNull();
+        }
+
+        List<RevCommit> commits = new ArrayList<>();
+        this.git.log().call().forEach(commits::add);
+        // the first request alone, then the 19 queued behind it together
+        assertThat(commits).hasSize(2);
+        assertThat(this.git.status().call().isClean()).isTrue();
+    }
+}
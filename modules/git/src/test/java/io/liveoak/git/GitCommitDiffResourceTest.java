@@ -0,0 +1,102 @@
+package io.liveoak.git;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.liveoak.common.util.FileHelper;
+import io.liveoak.spi.RequestContext;
+import io.liveoak.spi.resource.async.BinaryContentSink;
+import io.netty.buffer.ByteBuf;
+import io.netty.util.CharsetUtil;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+public class GitCommitDiffResourceTest {
+
+    private File directory;
+    private Git git;
+    private CommitHistory history;
+
+    @Before
+    public void setUp() throws Exception {
+        this.directory = Files.createTempDirectory("commit-diff").toFile();
+        this.git = Git.init().setDirectory(this.directory).call();
+        this.history = new CommitHistory(this.git.getRepository());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        this.history.close();
+        this.git.close();
+        FileHelper.deleteNonEmpty(this.directory);
+    }
+
+    @Test
+    public void firstCommit() throws Exception {
+        RevCommit commit = commit("application.json", "{ \"id\": \"test\" }\n");
+
+        String diff = diff(commit);
+        assertThat(diff).contains("diff --git a/application.json b/application.json");
+        assertThat(diff).contains("new file mode");
+        assertThat(diff).contains("+{ \"id\": \"test\" }");
+    }
+
+    @Test
+    public void againstFirstParent() throws Exception {
+        commit("application.json", "{ \"id\": \"test\" }\n");
+        commit("other.txt", "other\n");
+        RevCommit commit = commit("application.json", "{ \"id\": \"changed\" }\n");
+
+        String diff = diff(commit);
+        assertThat(diff).contains("-{ \"id\": \"test\" }");
+        assertThat(diff).contains("+{ \"id\": \"changed\" }");
+        // only the changes of the commit itself
+        assertThat(diff).doesNotContain("other.txt");
+    }
+
+    @Test
+    public void largeDiff() throws Exception {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 5000; ++i) {
+            content.append("line ").append(i).append('\n');
+        }
+        RevCommit commit = commit("large.txt", content.toString());
+
+        // written out in several chunks
+        String diff = diff(commit);
+        assertThat(diff).contains("+line 0\n");
+        assertThat(diff).contains("+line 4999\n");
+    }
+
+    private RevCommit commit(String file, String content) throws Exception {
+        Files.write(new File(this.directory, file).toPath(), content.getBytes(CharsetUtil.UTF_8));
+        this.git.add().addFilepattern(file).call();
+        return this.git.commit().setMessage("change " + file).call();
+    }
+
+    private String diff(RevCommit commit) throws Exception {
+        GitCommitDiffResource resource = new GitCommitDiffResource(null, this.history, this.history.added(commit));
+        StringBuilder diff = new StringBuilder();
+        AtomicBoolean closed = new AtomicBoolean();
+        resource.readContent(new RequestContext.Builder().build(), new BinaryContentSink() {
+            @Override
+            public void accept(ByteBuf buf) {
+                diff.append(buf.toString(CharsetUtil.UTF_8));
+                buf.release();
+            }
+
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        });
+        assertThat(closed.get()).isTrue();
+        return diff.toString();
+    }
+}
@@ -1,7 +1,11 @@
 package io.liveoak.jgit;
 
+import java.io.File;
+import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
 
+import org.eclipse.jgit.api.Git;
 import org.eclipse.jgit.api.errors.GitAPIException;
 import org.eclipse.jgit.revwalk.RevCommit;
 
@@ -12,19 +16,34 @@ public final class GitHandler {
 
     private final static Object gitLock = new Object();
 
-    public static RevCommit commit(Callable<RevCommit> gitCommand) throws GitAPIException {
-        RevCommit commit = null;
+    // one lock per repository, so applications don't wait on each other's commits
+    private final static Map<File, Object> repositoryLocks = new ConcurrentHashMap<>();
 
+    /**
+     * @deprecated Use {@link #commit(Git, Callable)}, which only locks the repository being committed to.
+     */
+    @Deprecated
+    public static RevCommit commit(Callable<RevCommit> gitCommand) throws GitAPIException {
         synchronized (gitLock) {
-            try {
-                commit = gitCommand.call();
-            } catch (GitAPIException e) {
-                throw e;
-            } catch (Exception e) {
-                throw new GitAPIException("Error invoking Callable.", e) {};
-            }
+            return call(gitCommand);
+        }
+    }
+
+    public static RevCommit commit(Git git, Callable<RevCommit> gitCommand) throws GitAPIException {
+        Object lock = repositoryLocks.computeIfAbsent(git.getRepository().getDirectory().getAbsoluteFile(), dir -> new Object());
+
+        synchronized (lock) {
+            return call(gitCommand);
         }
+    }
 
-        return commit;
+    private static RevCommit call(Callable<RevCommit> gitCommand) throws GitAPIException {
+        try {
+            return gitCommand.call();
+        } catch (GitAPIException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new GitAPIException("Error invoking Callable.", e) {};
+        }
     }
 }
@@ -41,10 +41,9 @@ public class GridFSResourcePath extends ResourcePath {
         return new GridFSResourcePath(super.subPath());
     }
 
+    @Override
     public GridFSResourcePath append(String segment) {
-        GridFSResourcePath copy = new GridFSResourcePath(this);
-        copy.appendSegment(segment);
-        return copy;
+        return new GridFSResourcePath(super.append(segment));
     }
 
     public GridFSResourcePath top(int count) {
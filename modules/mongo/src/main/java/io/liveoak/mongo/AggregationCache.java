@@ -0,0 +1,72 @@
+/*
+ * Copyright 2014 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package io.liveoak.mongo;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.mongodb.DBObject;
+
+/**
+ * Pages of aggregation results, by collection and pipeline, kept for a configurable time.
+ *
+ * <p>Disabled unless <code>io.liveoak.mongo.aggregation-cache-ttl</code> is set, in milliseconds. Writes to the
+ * collection are not tracked, a cached page can be as old as the time to live.</p>
+ */
+class AggregationCache {
+
+    public static final String TTL_PROPERTY = "io.liveoak.mongo.aggregation-cache-ttl";
+    public static final String SIZE_PROPERTY = "io.liveoak.mongo.aggregation-cache-size";
+
+    private static final long TTL = Long.getLong(TTL_PROPERTY, 0);
+    private static final int SIZE = Integer.getInteger(SIZE_PROPERTY, 100);
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    boolean enabled() {
+        return TTL > 0;
+    }
+
+    /**
+     * @param key The collection and the normalized pipeline, including the stages paginating it.
+     * @return The results, or null if they are not cached or have expired. The list must not be modified.
+     */
+    List<DBObject> get(String key) {
+        Entry entry = this.entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expires < System.currentTimeMillis()) {
+            this.entries.remove(key, entry);
+            return null;
+        }
+        return entry.results;
+    }
+
+    void put(String key, List<DBObject> results) {
+        if (this.entries.size() >= SIZE) {
+            long now = System.currentTimeMillis();
+            this.entries.values().removeIf(entry -> entry.expires < now);
+            if (this.entries.size() >= SIZE) {
+                // all still fresh, make room rather than track their use
+                this.entries.clear();
+            }
+        }
+        this.entries.put(key, new Entry(results, System.currentTimeMillis() + TTL));
+    }
+
+    private static class Entry {
+
+        Entry(List<DBObject> results, long expires) {
+            this.results = results;
+            this.expires = expires;
+        }
+
+        final List<DBObject> results;
+        final long expires;
+    }
+}
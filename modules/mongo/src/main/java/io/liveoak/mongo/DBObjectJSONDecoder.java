@@ -0,0 +1,137 @@
+/*
+ * Copyright 2014 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package io.liveoak.mongo;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.mongodb.BasicDBList;
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBRef;
+import io.liveoak.spi.LiveOak;
+import org.bson.BSONObject;
+
+/**
+ * Decodes a JSON request body straight into the {@link BasicDBObject} to store, without building the
+ * intermediate {@link io.liveoak.spi.state.ResourceState} tree.
+ *
+ * <p>The result is the same as decoding the body with the JSON codec and passing the state to
+ * {@link MongoResource#createObject(io.liveoak.spi.state.ResourceState)}: the id becomes <code>_id</code> (or
+ * <code>id</code> on nested objects), a nested object with a <code>$dbref</code> property becomes a {@link DBRef},
+ * <code>members</code> and a <code>self</code> link are not stored.</p>
+ */
+public class DBObjectJSONDecoder {
+
+    private static final String DBREF = "$dbref";
+
+    private static final JsonFactory FACTORY = new JsonFactory()
+            .configure(JsonParser.Feature.ALLOW_SINGLE_QUOTES, true)
+            .configure(JsonParser.Feature.ALLOW_UNQUOTED_FIELD_NAMES, true)
+            // the caller owns the stream
+            .configure(JsonParser.Feature.AUTO_CLOSE_SOURCE, false);
+
+    public DBObjectJSONDecoder(MongoResource resource) {
+        this.resource = resource;
+    }
+
+    public BasicDBObject decode(InputStream in) throws Exception {
+        try (JsonParser parser = FACTORY.createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return new BasicDBObject();
+            }
+            return decodeObject(parser, false);
+        }
+    }
+
+    // the parser is left on the last token of the decoded value
+    private BasicDBObject decodeObject(JsonParser parser, boolean nested) throws Exception {
+        BasicDBObject object = new BasicDBObject();
+        String id = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            JsonToken token = parser.nextToken();
+
+            if (name.equals(LiveOak.MEMBERS)) {
+                if (token != JsonToken.START_ARRAY) {
+                    throw new IOException("a members value must be a collection");
+                }
+                parser.skipChildren();
+            } else if (name.equals(LiveOak.ID)) {
+                Object value = decodeValue(parser, token);
+                id = value != null ? value.toString() : null;
+            } else if (name.equalsIgnoreCase(DBREF)) {
+                if (token != JsonToken.VALUE_STRING) {
+                    throw new IOException("a " + DBREF + " value must be a string");
+                }
+                object.put(name, this.resource.getDBRef(parser.getText()));
+            } else {
+                Object value = decodeValue(parser, token);
+                if (name.equals(LiveOak.SELF) && value instanceof BSONObject && ((BSONObject) value).get(LiveOak.HREF) instanceof String) {
+                    // the uri of the resource, not part of the stored object
+                    continue;
+                }
+                object.put(name, value);
+            }
+        }
+
+        if (id == null) {
+            return object;
+        }
+
+        // the id goes first, as it does with createObject()
+        BasicDBObject withId = new BasicDBObject(nested ? LiveOak.ID : MongoResource.MONGO_ID_FIELD, this.resource.getMongoID(id));
+        withId.putAll((BSONObject) object);
+        return withId;
+    }
+
+    private BasicDBList decodeArray(JsonParser parser) throws Exception {
+        BasicDBList list = new BasicDBList();
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            // objects in a list are never replaced by a reference
+            list.add(token == JsonToken.START_OBJECT ? decodeObject(parser, true) : decodeValue(parser, token));
+        }
+        return list;
+    }
+
+    private Object decodeValue(JsonParser parser, JsonToken token) throws Exception {
+        if (token == null) {
+            throw new IOException("Unexpected end of content");
+        }
+
+        switch (token) {
+            case VALUE_STRING:
+                return parser.getText();
+            case VALUE_NUMBER_INT:
+                // same as JSONDecoder, an int when in the integer range, otherwise a long
+                long valueLong = parser.getValueAsLong();
+                if (valueLong <= Integer.MAX_VALUE && valueLong >= Integer.MIN_VALUE) {
+                    return (int) valueLong;
+                }
+                return valueLong;
+            case VALUE_NUMBER_FLOAT:
+                return parser.getValueAsDouble();
+            case VALUE_TRUE:
+                return Boolean.TRUE;
+            case VALUE_FALSE:
+                return Boolean.FALSE;
+            case START_OBJECT:
+                BasicDBObject object = decodeObject(parser, true);
+                Object dbRef = object.get(DBREF);
+                return dbRef instanceof DBRef ? dbRef : object;
+            case START_ARRAY:
+                return decodeArray(parser);
+            default:
+                return null;
+        }
+    }
+
+    private final MongoResource resource;
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2014 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package io.liveoak.mongo;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBCursor;
+import com.mongodb.DBObject;
+import com.mongodb.DBRef;
+import io.liveoak.spi.LiveOak;
+import io.liveoak.spi.ReturnFields;
+
+/**
+ * Expands the DBRefs of a page of objects in bulk: the references are grouped by collection and each
+ * group is fetched with a single <code>$in</code> query, instead of one <code>fetch()</code> per reference.
+ */
+public class DBRefResolver {
+
+    public DBRefResolver(RootMongoResource root) {
+        this.root = root;
+    }
+
+    /**
+     * Fetches the objects referenced by the properties which the return fields expand.
+     */
+    public void prefetch(Iterable<DBObject> objects, ReturnFields returnFields) {
+        Map<String, Set<Object>> idsByCollection = new HashMap<>();
+        for (DBObject object : objects) {
+            if (object == null) {
+                continue;
+            }
+            for (String key : object.keySet()) {
+                Object value = object.get(key);
+                if (value instanceof DBRef && expanded(returnFields, key)) {
+                    DBRef dbRef = (DBRef) value;
+                    if (!isFetched(dbRef)) {
+                        idsByCollection.computeIfAbsent(dbRef.getRef(), (name) -> new HashSet<>()).add(dbRef.getId());
+                    }
+                }
+            }
+        }
+
+        for (Map.Entry<String, Set<Object>> entry : idsByCollection.entrySet()) {
+            String collectionName = entry.getKey();
+            Map<Object, DBObject> fetched = this.fetched.computeIfAbsent(collectionName, (name) -> new HashMap<>());
+            if (!this.root.collectionExists(collectionName)) {
+                // let the reference resolution report the missing collection
+                continue;
+            }
+
+            List<Object> ids = new ArrayList<>(entry.getValue());
+            DBObject query = new BasicDBObject(MongoResource.MONGO_ID_FIELD, new BasicDBObject("$in", ids));
+            DBCursor cursor = this.root.db().getCollection(collectionName).find(query);
+            try {
+                cursor.forEach((object) -> fetched.put(object.get(MongoResource.MONGO_ID_FIELD), object));
+            } finally {
+                cursor.close();
+            }
+            // remember the references to missing objects too, so they are not fetched again one by one
+            ids.forEach((id) -> fetched.putIfAbsent(id, MISSING));
+        }
+    }
+
+    /**
+     * @return The referenced object, or null if it does not exist.
+     */
+    public DBObject fetch(DBRef dbRef) {
+        Map<Object, DBObject> objects = this.fetched.get(dbRef.getRef());
+        DBObject object = objects != null ? objects.get(dbRef.getId()) : null;
+        if (object == null) {
+            object = dbRef.fetch();
+            this.fetched.computeIfAbsent(dbRef.getRef(), (name) -> new HashMap<>()).put(dbRef.getId(), object != null ? object : MISSING);
+        }
+        return object == MISSING ? null : object;
+    }
+
+    private boolean isFetched(DBRef dbRef) {
+        Map<Object, DBObject> objects = this.fetched.get(dbRef.getRef());
+        return objects != null && objects.containsKey(dbRef.getId());
+    }
+
+    private static boolean expanded(ReturnFields returnFields, String key) {
+        return !key.equals(MongoResource.MONGO_ID_FIELD) && !key.equals(LiveOak.ID)
+                && returnFields != null && !returnFields.child(key).isEmpty();
+    }
+
+    private static final DBObject MISSING = new BasicDBObject();
+
+    private final RootMongoResource root;
+    private final Map<String, Map<Object, DBObject>> fetched = new HashMap<>();
+}
@@ -21,12 +21,20 @@ import io.liveoak.spi.RequestContext;
 public class MongoAggregationItem extends MongoObjectResource {
 
     public MongoAggregationItem(MongoResource parent, DBObject obj) {
+        this(parent, null, obj);
+    }
+
+    /**
+     * @param id The position of the result, for the results of an aggregation, null for the objects nested in them.
+     */
+    public MongoAggregationItem(MongoResource parent, String id, DBObject obj) {
         super(parent, obj);
+        this.id = id;
     }
 
     @Override
     public String id() {
-        return null;
+        return this.id;
     }
 
     @Override
@@ -66,4 +74,6 @@ public class MongoAggregationItem extends MongoObjectResource {
             return object;
         }
     }
+
+    private final String id;
 }
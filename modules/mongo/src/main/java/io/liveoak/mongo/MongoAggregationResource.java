@@ -5,22 +5,45 @@
  */
 package io.liveoak.mongo;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
-import com.mongodb.AggregationOutput;
+import com.mongodb.AggregationOptions;
 import com.mongodb.BasicDBList;
+import com.mongodb.BasicDBObject;
+import com.mongodb.Cursor;
 import com.mongodb.DBCollection;
 import com.mongodb.DBObject;
 import com.mongodb.util.JSON;
 
+import io.liveoak.spi.Pagination;
 import io.liveoak.spi.RequestContext;
+import io.liveoak.spi.ResourceParams;
+import io.liveoak.spi.exceptions.NotAcceptableException;
+import io.liveoak.spi.exceptions.ResourceProcessingException;
+import io.liveoak.spi.resource.async.Resource;
+import io.liveoak.spi.resource.async.ResourceSink;
 
 /**
+ * The results of an aggregation pipeline, given by the <code>q</code> parameter, as members.
+ *
+ * <p>The page requested is selected by the pipeline itself, with <code>$skip</code> and <code>$limit</code> stages,
+ * and read through a cursor, so the results are neither bound by the size of a document nor held in memory.
+ * Stages may spill to disk unless <code>allowDiskUse=false</code>, and <code>batchSize</code> sets how many results
+ * are fetched at a time.</p>
+ *
  * @author <a href="mailto:marko.strukelj@gmail.com">Marko Strukelj</a>
  */
 public class MongoAggregationResource extends MongoAggregationItem {
 
+    public static final String ALLOW_DISK_USE_PROPERTY = "io.liveoak.mongo.aggregation-allow-disk-use";
+    public static final String BATCH_SIZE_PROPERTY = "io.liveoak.mongo.aggregation-batch-size";
+
+    private static final boolean ALLOW_DISK_USE = Boolean.parseBoolean(System.getProperty(ALLOW_DISK_USE_PROPERTY, "true"));
+    private static final int BATCH_SIZE = Integer.getInteger(BATCH_SIZE_PROPERTY, 100);
+
     MongoAggregationResource(MongoCollectionResource parent) {
         super(parent, null);
     }
@@ -30,43 +53,141 @@ public class MongoAggregationResource extends MongoAggregationItem {
         return (MongoCollectionResource) super.parent();
     }
 
-    private BasicDBList aggregate(RequestContext ctx) {
-        BasicDBList queryObject = new BasicDBList();
-        if (ctx.resourceParams() != null && ctx.resourceParams().contains("q")) {
-            String queryString = ctx.resourceParams().value("q");
-            DBObject paramObject = (DBObject) JSON.parse(queryString);
+    private List<DBObject> pipeline(RequestContext ctx) throws NotAcceptableException {
+        List<DBObject> pipeline = new ArrayList<>();
+        ResourceParams resourceParams = ctx.resourceParams();
+        if (resourceParams != null && resourceParams.contains("q")) {
+            Object paramObject;
+            try {
+                paramObject = JSON.parse(resourceParams.value("q"));
+            } catch (Exception e) {
+                throw new NotAcceptableException(uri().toString(), "Invalid JSON format for the 'q' parameter", e);
+            }
 
             if (paramObject instanceof BasicDBList) {
-                queryObject = (BasicDBList) paramObject;
-            } else {
-                queryObject.add(paramObject);
+                for (Object stage : (BasicDBList) paramObject) {
+                    if (!(stage instanceof DBObject)) {
+                        throw new NotAcceptableException(uri().toString(), "Pipeline stages must be objects: " + stage);
+                    }
+                    pipeline.add((DBObject) stage);
+                }
+            } else if (paramObject instanceof DBObject) {
+                pipeline.add((DBObject) paramObject);
+            }
+        }
+
+        if (pipeline.isEmpty()) {
+            throw new NotAcceptableException(uri().toString(), "The 'q' parameter must hold the aggregation pipeline");
+        }
+
+        // $out has to be the last stage, its results are in the output collection
+        if (!writesOutput(pipeline)) {
+            Pagination pagination = ctx.pagination();
+            if (pagination.offset() > 0) {
+                pipeline.add(new BasicDBObject("$skip", pagination.offset()));
+            }
+            if (pagination.limit() > 0) {
+                pipeline.add(new BasicDBObject("$limit", pagination.limit()));
+            }
+        }
+        return pipeline;
+    }
+
+    private static boolean writesOutput(List<DBObject> pipeline) {
+        return pipeline.get(pipeline.size() - 1).containsField("$out");
+    }
+
+    private AggregationOptions options(RequestContext ctx) throws NotAcceptableException {
+        boolean allowDiskUse = ALLOW_DISK_USE;
+        int batchSize = BATCH_SIZE;
+        ResourceParams resourceParams = ctx.resourceParams();
+        if (resourceParams != null) {
+            if (resourceParams.contains("allowDiskUse")) {
+                allowDiskUse = Boolean.parseBoolean(resourceParams.value("allowDiskUse"));
+            }
+            if (resourceParams.contains("batchSize")) {
+                try {
+                    batchSize = Integer.parseInt(resourceParams.value("batchSize"));
+                } catch (NumberFormatException e) {
+                    throw new NotAcceptableException(uri().toString(), "Invalid value for the 'batchSize' parameter", e);
+                }
             }
         }
 
-        DBCollection dbCollection = parent().getDBCollection();
+        int limit = ctx.pagination().limit();
+        if (limit > 0 && limit < batchSize) {
+            // the whole page in a single batch
+            batchSize = limit;
+        }
+
+        return AggregationOptions.builder()
+                .outputMode(AggregationOptions.OutputMode.CURSOR)
+                .allowDiskUse(allowDiskUse)
+                .batchSize(batchSize)
+                .build();
+    }
 
+    @Override
+    public void readMembers(RequestContext ctx, ResourceSink sink) throws Exception {
         try {
-            BasicDBList result = new BasicDBList();
-            AggregationOutput output = dbCollection.aggregate(
-                    (DBObject) queryObject.remove(0),
-                    queryObject.toArray(new DBObject[queryObject.size()]));
-            for (DBObject dbObject : output.results()) {
-                result.add(dbObject);
+            List<DBObject> pipeline = pipeline(ctx);
+            AggregationOptions options = options(ctx);
+            int position = ctx.pagination().offset();
+
+            // unbounded pages are only streamed, and $out has to write its collection every time
+            AggregationCache cache = parent().getRoot().aggregationCache();
+            boolean cached = cache.enabled() && ctx.pagination().limit() > 0 && !writesOutput(pipeline);
+            String key = null;
+            if (cached) {
+                key = parent().getDBCollection().getFullName() + ":" + JSON.serialize(pipeline);
+                List<DBObject> results = cache.get(key);
+                if (results != null) {
+                    for (DBObject result : results) {
+                        sink.accept(new MongoAggregationItem(this, String.valueOf(position++), result));
+                    }
+                    return;
+                }
             }
 
-            return result;
+            List<DBObject> results = cached ? new ArrayList<>() : null;
+            DBCollection dbCollection = parent().getDBCollection();
+            Cursor cursor;
+            try {
+                cursor = dbCollection.aggregate(pipeline, options);
+            } catch (Exception e) {
+                throw new ResourceProcessingException("Aggregation query failed: " + e.getMessage(), e);
+            }
+            try {
+                while (cursor.hasNext()) {
+                    DBObject result = cursor.next();
+                    if (results != null) {
+                        results.add(result);
+                    }
+                    sink.accept(new MongoAggregationItem(this, String.valueOf(position++), result));
+                }
+            } finally {
+                cursor.close();
+            }
 
-        } catch (Exception e) {
-            logger().error("", e);
-            throw new RuntimeException("Aggregation query failed: ", e);
+            if (results != null) {
+                cache.put(key, Collections.unmodifiableList(results));
+            }
+        } catch (Throwable e) {
+            sink.error(e);
+        } finally {
+            sink.complete();
         }
     }
 
+    @Override
+    public Resource member(RequestContext ctx, String id) {
+        // results are only read as a page
+        return null;
+    }
+
     @Override
     public Map<String, ?> properties(RequestContext ctx) throws Exception {
-        Map<String, Object> result = new HashMap<>();
-        result.put("result", getResourceCollection(aggregate(ctx)));
-        return result;
+        return Collections.emptyMap();
     }
 
     @Override
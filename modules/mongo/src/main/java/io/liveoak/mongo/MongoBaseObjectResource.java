@@ -7,6 +7,7 @@ package io.liveoak.mongo;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -77,6 +78,9 @@ public class MongoBaseObjectResource extends MongoObjectResource {
             throw new ResourceProcessingException("Could not find object with ID: " + this.id());
         }
 
+        // fetch all the expanded references with one query per referenced collection
+        getParent().dbRefResolver().prefetch(Collections.singletonList(dbObject), returnFields);
+
         Set<String> keys = dbObject.keySet();
         for (String key : keys) {
             if (!key.equals(MONGO_ID_FIELD) && !key.equals(LiveOak.ID)) {
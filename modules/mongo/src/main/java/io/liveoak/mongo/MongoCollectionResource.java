@@ -15,6 +15,7 @@ import com.mongodb.BasicDBObject;
 import com.mongodb.DBCollection;
 import com.mongodb.DBCursor;
 import com.mongodb.DBObject;
+import com.mongodb.DBRef;
 import com.mongodb.WriteResult;
 import com.mongodb.util.JSON;
 import io.liveoak.common.util.PagingLinksBuilder;
@@ -41,6 +42,8 @@ public class MongoCollectionResource extends MongoResource {
     private boolean explainQuery;
     private DBObject queryObject;
 
+    private DBRefResolver dbRefResolver;
+
     MongoCollectionResource(RootMongoResource parent, DBCollection collection) {
         super(parent);
         this.dbCollection = collection;
@@ -58,6 +61,10 @@ public class MongoCollectionResource extends MongoResource {
             return new MongoAggregationResource(this);
         }
 
+        if ("_indexes".equals(childId)) {
+            return new MongoIndexesResource(this);
+        }
+
         DBObject object = dbCollection.findOne(getMongoIDDBOBject(childId));
 
         if (object != null) {
@@ -71,8 +78,24 @@ public class MongoCollectionResource extends MongoResource {
         return getDBCollection().getName();
     }
 
+    @Override
+    protected MongoObjectResource getResource(DBRef dbRef, boolean byReference) throws ResourceProcessingException {
+        return getRoot().getResource(dbRef, byReference, dbRefResolver());
+    }
+
+    /**
+     * @return The resolver shared by the objects read through this collection resource, ie the members of a page.
+     */
+    protected DBRefResolver dbRefResolver() {
+        if (dbRefResolver == null) {
+            dbRefResolver = new DBRefResolver(getRoot());
+        }
+        return dbRefResolver;
+    }
+
     @Override
     public void delete(RequestContext ctx, Responder responder) {
+        getRoot().collectionRemoved(id());
         getDBCollection().drop();
         responder.resourceDeleted(this);
     }
@@ -188,8 +211,8 @@ public class MongoCollectionResource extends MongoResource {
             members.add(new MongoEmbeddedObjectResource(this, dbCursor.explain()));
         } else {
             Sorting sorting = ctx.sorting();
+            BasicDBObject sortingObject = new BasicDBObject();
             if (sorting != null) {
-                BasicDBObject sortingObject = new BasicDBObject();
                 for (Sorting.Spec spec : sorting) {
                     sortingObject.append(spec.name(), spec.ascending() ? 1 : -1);
                 }
@@ -202,13 +225,22 @@ public class MongoCollectionResource extends MongoResource {
                 dbCursor.skip(pagination.offset());
             }
 
+            // explained on a copy, the query itself is run below
+            getRoot().queryAdvisor().record(id(), queryObject, sortingObject, dbCursor.copy()::explain);
+
             try {
                 dbCursor.hasNext();
             } catch (Exception e) {
                 throw new ResourceProcessingException("Exception encountered trying to fetch data from the Mongo Database", e);
             }
 
-            dbCursor.forEach((dbObject) -> {
+            List<DBObject> page = new LinkedList<>();
+            dbCursor.forEach(page::add);
+
+            // expand the references of the whole page at once
+            dbRefResolver().prefetch(page, ctx.returnFields());
+
+            page.forEach((dbObject) -> {
                 members.add(new MongoBaseObjectResource(this, dbObject));
             });
         }
@@ -219,6 +251,7 @@ public class MongoCollectionResource extends MongoResource {
     @Override
     public void createMember(RequestContext ctx, ResourceState state, Responder responder) {
         BasicDBObject basicDBObject = null;
+        DBObject newDBObject = null;
         try {
             basicDBObject = (BasicDBObject) createObject(state);
             Object key = basicDBObject.get( MONGO_ID_FIELD );
@@ -229,11 +262,17 @@ public class MongoCollectionResource extends MongoResource {
                 }
             }
             WriteResult wResult = getDBCollection().insert(basicDBObject);
+            if (wResult.getLastConcern().callGetLastError()) {
+                // the insert was acknowledged and has set the generated _id, no need to read the object back
+                newDBObject = basicDBObject;
+            }
         } catch (Exception e) {
             logger().error("", e);
         }
 
-        DBObject newDBObject = getDBCollection().findOne( new BasicDBObject( MONGO_ID_FIELD, basicDBObject.get( MONGO_ID_FIELD ) ) );
+        if (newDBObject == null) {
+            newDBObject = getDBCollection().findOne( new BasicDBObject( MONGO_ID_FIELD, basicDBObject.get( MONGO_ID_FIELD ) ) );
+        }
         responder.resourceCreated(new MongoBaseObjectResource(this, newDBObject));
     }
 
@@ -254,6 +293,7 @@ public class MongoCollectionResource extends MongoResource {
                     return;
                 }
 
+                getRoot().collectionRemoved( this.id() );
                 this.dbCollection = getDBCollection().rename( state.id() );
             }
 
@@ -270,9 +310,13 @@ public class MongoCollectionResource extends MongoResource {
         return getDBCollection().findOne(getMongoIDDBOBject(id));
     }
 
+    protected RootMongoResource getRoot() {
+        return (RootMongoResource) parent();
+    }
+
     protected DBCollection getDBCollection() {
         if (dbCollection == null) {
-            this.dbCollection = ((RootMongoResource) parent()).db().getCollection(collectionName);
+            this.dbCollection = getRoot().db().getCollection(collectionName);
         }
 
         return this.dbCollection;
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2014 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package io.liveoak.mongo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.mongodb.DBObject;
+import io.liveoak.spi.RequestContext;
+import io.liveoak.spi.resource.MapResource;
+import io.liveoak.spi.resource.async.Resource;
+
+/**
+ * The recent queries on a collection, with how the database ran them, and the indexes they are missing.
+ *
+ * <p>Each suggested index is a key, equality fields first, then sort fields, then range fields, which can be
+ * posted as is to the indexes of the collection. Indexes already covering the key are not suggested.</p>
+ */
+public class MongoIndexAdvisorResource extends MongoResource {
+
+    static final String ID = "_advisor";
+
+    // the part of the explain output worth showing, for 2.x servers and for later ones
+    private static final List<String> STATS = Arrays.asList("cursor", "n", "nscanned", "nscannedObjects", "millis", "indexOnly");
+    private static final List<String> EXECUTION_STATS = Arrays.asList("nReturned", "totalKeysExamined", "totalDocsExamined", "executionTimeMillis");
+
+    MongoIndexAdvisorResource(MongoIndexesResource parent) {
+        super(parent);
+    }
+
+    @Override
+    public MongoIndexesResource parent() {
+        return (MongoIndexesResource) super.parent();
+    }
+
+    @Override
+    public String id() {
+        return ID;
+    }
+
+    @Override
+    public Resource member(RequestContext ctx, String id) throws Exception {
+        return null;
+    }
+
+    @Override
+    public Map<String, ?> properties(RequestContext ctx) throws Exception {
+        List<DBObject> indexes = parent().indexes();
+        Map<String, DBObject> suggestions = new LinkedHashMap<>();
+        List<Resource> queries = new ArrayList<>();
+
+        for (QueryAdvisor.QueryShape shape : parent().getRoot().queryAdvisor().shapes(parent().parent().id())) {
+            MapResource query = new MapResource();
+            query.put("equality", new ArrayList<>(shape.equality()));
+            query.put("range", new ArrayList<>(shape.range()));
+            query.put("sort", map(shape.sort()));
+            query.put("count", shape.count());
+            if (shape.stats() != null) {
+                query.put("stats", stats(shape.stats()));
+            }
+
+            if (shape.needsIndex()) {
+                DBObject key = shape.suggestedIndex();
+                if (!covered(key, indexes)) {
+                    query.put("suggestedIndex", map(key.toMap()));
+                    suggestions.putIfAbsent(key.toString(), key);
+                }
+            }
+            queries.add(query);
+        }
+
+        List<Resource> suggested = new ArrayList<>();
+        for (DBObject key : suggestions.values()) {
+            suggested.add(new MapResource().put("key", map(key.toMap())));
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("queries", queries);
+        result.put("suggestions", suggested);
+        return result;
+    }
+
+    private static MapResource stats(DBObject explain) {
+        MapResource stats = new MapResource();
+        for (String name : STATS) {
+            if (explain.containsField(name)) {
+                stats.put(name, explain.get(name));
+            }
+        }
+        Object executionStats = explain.get("executionStats");
+        if (executionStats instanceof DBObject) {
+            for (String name : EXECUTION_STATS) {
+                if (((DBObject) executionStats).containsField(name)) {
+                    stats.put(name, ((DBObject) executionStats).get(name));
+                }
+            }
+        }
+        return stats;
+    }
+
+    private static MapResource map(Map<?, ?> values) {
+        MapResource map = new MapResource();
+        values.forEach((name, value) -> map.put(name.toString(), value));
+        return map;
+    }
+
+    /**
+     * @return Whether an index starts with the same fields, in the same order and directions.
+     */
+    private static boolean covered(DBObject key, List<DBObject> indexes) {
+        for (DBObject index : indexes) {
+            Object indexKey = index.get("key");
+            if (!(indexKey instanceof DBObject)) {
+                continue;
+            }
+            Iterator<String> fields = ((DBObject) indexKey).keySet().iterator();
+            boolean prefix = true;
+            for (String field : key.keySet()) {
+                if (!fields.hasNext()) {
+                    prefix = false;
+                    break;
+                }
+                String indexField = fields.next();
+                if (!indexField.equals(field) || !sameDirection(key.get(field), ((DBObject) indexKey).get(indexField))) {
+                    prefix = false;
+                    break;
+                }
+            }
+            if (prefix) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean sameDirection(Object left, Object right) {
+        if (left instanceof Number && right instanceof Number) {
+            return Math.signum(((Number) left).doubleValue()) == Math.signum(((Number) right).doubleValue());
+        }
+        return left != null && left.equals(right);
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2014 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package io.liveoak.mongo;
+
+import com.mongodb.DBObject;
+import io.liveoak.spi.RequestContext;
+import io.liveoak.spi.exceptions.NotAcceptableException;
+import io.liveoak.spi.resource.async.Resource;
+import io.liveoak.spi.resource.async.Responder;
+
+/**
+ * An index of a collection, as listed by the database. Deleting it drops the index.
+ */
+public class MongoIndexResource extends MongoObjectResource {
+
+    // the index on _id can't be dropped
+    private static final String ID_INDEX = "_id_";
+
+    MongoIndexResource(MongoIndexesResource parent, DBObject index) {
+        super(parent, index);
+    }
+
+    @Override
+    public MongoIndexesResource parent() {
+        return (MongoIndexesResource) super.parent();
+    }
+
+    @Override
+    public String id() {
+        return (String) getDBObject().get("name");
+    }
+
+    @Override
+    public Resource member(RequestContext ctx, String id) throws Exception {
+        return null;
+    }
+
+    @Override
+    public void delete(RequestContext ctx, Responder responder) throws Exception {
+        if (ID_INDEX.equals(id())) {
+            throw new NotAcceptableException(uri().toString(), "The index on _id can't be dropped");
+        }
+        parent().getDBCollection().dropIndex(id());
+        responder.resourceDeleted(this);
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2014 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package io.liveoak.mongo;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBCollection;
+import com.mongodb.DBObject;
+import io.liveoak.spi.RequestContext;
+import io.liveoak.spi.exceptions.NotAcceptableException;
+import io.liveoak.spi.resource.async.Resource;
+import io.liveoak.spi.resource.async.Responder;
+import io.liveoak.spi.state.ResourceState;
+
+/**
+ * The indexes of a collection, by name.
+ *
+ * <p>An index is created from its <code>key</code>, such as <code>{"key": {"lastName": 1, "name": 1}}</code>,
+ * the other properties being passed as options: <code>name</code>, <code>unique</code>, <code>sparse</code>,
+ * <code>background</code>, <code>expireAfterSeconds</code>... The <code>_advisor</code> member suggests the
+ * indexes missing for the recent queries on the collection.</p>
+ */
+public class MongoIndexesResource extends MongoResource {
+
+    static final String ID = "_indexes";
+
+    MongoIndexesResource(MongoCollectionResource parent) {
+        super(parent);
+    }
+
+    @Override
+    public MongoCollectionResource parent() {
+        return (MongoCollectionResource) super.parent();
+    }
+
+    @Override
+    public String id() {
+        return ID;
+    }
+
+    @Override
+    public Map<String, ?> properties(RequestContext ctx) throws Exception {
+        Map<String, Object> result = new HashMap<>();
+        result.put("type", "indexes");
+        result.put("count", indexes().size());
+        return result;
+    }
+
+    @Override
+    public Collection<Resource> members(RequestContext ctx) throws Exception {
+        List<Resource> members = new LinkedList<>();
+        for (DBObject index : indexes()) {
+            members.add(new MongoIndexResource(this, index));
+        }
+        return members;
+    }
+
+    @Override
+    public Resource member(RequestContext ctx, String id) throws Exception {
+        if (MongoIndexAdvisorResource.ID.equals(id)) {
+            return new MongoIndexAdvisorResource(this);
+        }
+
+        DBObject index = index(id);
+        return index == null ? null : new MongoIndexResource(this, index);
+    }
+
+    @Override
+    public void createMember(RequestContext ctx, ResourceState state, Responder responder) throws Exception {
+        BasicDBObject options = createObject(state, true);
+        options.remove(MONGO_ID_FIELD);
+        options.remove("id");
+
+        Object key = options.remove("key");
+        if (!(key instanceof DBObject) || ((DBObject) key).keySet().isEmpty()) {
+            throw new NotAcceptableException(uri().toString(), "An index needs a 'key', such as {\"name\": 1}");
+        }
+
+        String name = options.getString("name");
+        if (name == null) {
+            name = DBCollection.genIndexName((DBObject) key);
+            options.put("name", name);
+        }
+        if (index(name) != null) {
+            responder.resourceAlreadyExists(name);
+            return;
+        }
+
+        getDBCollection().createIndex((DBObject) key, options);
+
+        DBObject index = index(name);
+        if (index == null) {
+            // not listed yet, report what was asked for
+            index = new BasicDBObject(options).append("key", key);
+        }
+        responder.resourceCreated(new MongoIndexResource(this, index));
+    }
+
+    List<DBObject> indexes() {
+        return getDBCollection().getIndexInfo();
+    }
+
+    DBObject index(String name) {
+        for (DBObject index : indexes()) {
+            if (name.equals(index.get("name"))) {
+                return index;
+            }
+        }
+        return null;
+    }
+
+    DBCollection getDBCollection() {
+        return parent().getDBCollection();
+    }
+
+    RootMongoResource getRoot() {
+        return parent().getRoot();
+    }
+
+    public String toString() {
+        return "[MongoIndexesResource: for id:" + parent().id() + "]";
+    }
+}
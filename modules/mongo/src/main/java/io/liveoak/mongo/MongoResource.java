@@ -5,6 +5,7 @@
  */
 package io.liveoak.mongo;
 
+import java.io.InputStream;
 import java.util.Collection;
 import java.util.Set;
 
@@ -13,10 +14,12 @@ import com.mongodb.BasicDBObject;
 import com.mongodb.DBObject;
 import com.mongodb.DBRef;
 import io.liveoak.spi.LiveOak;
+import io.liveoak.spi.MediaType;
 import io.liveoak.spi.exceptions.ResourceProcessingException;
 import io.liveoak.spi.resource.BlockingResource;
 import io.liveoak.spi.resource.SynchronousResource;
 import io.liveoak.spi.resource.async.Resource;
+import io.liveoak.spi.state.LazyResourceState;
 import io.liveoak.spi.state.ResourceState;
 import org.bson.types.ObjectId;
 import org.jboss.logging.Logger;
@@ -89,9 +92,34 @@ public abstract class MongoResource implements SynchronousResource, BlockingReso
     }
 
     protected BasicDBObject createObject(ResourceState resourceState) throws Exception {
+        if (resourceState instanceof LazyResourceState) {
+            BasicDBObject basicDBObject = decodeContent((LazyResourceState) resourceState);
+            if (basicDBObject != null) {
+                return basicDBObject;
+            }
+        }
         return createObject(resourceState, false);
     }
 
+    // a JSON body nobody has looked at yet is decoded straight into the DBObject, without going through ResourceState
+    private BasicDBObject decodeContent(LazyResourceState state) throws Exception {
+        if (state.isDecoded() || state.hasBigContent() || !MediaType.JSON.equals(state.getContentType())) {
+            return null;
+        }
+
+        InputStream in = state.contentAsStream();
+        if (!in.markSupported()) {
+            return null;
+        }
+        in.mark(Integer.MAX_VALUE);
+        try {
+            return new DBObjectJSONDecoder(this).decode(in);
+        } finally {
+            // leave the content readable in case the state still gets decoded later on
+            in.reset();
+        }
+    }
+
     protected BasicDBObject createObject(ResourceState resourceState, boolean nested) throws Exception {
         BasicDBObject basicDBObject = new BasicDBObject();
 
@@ -0,0 +1,289 @@
+/*
+ * Copyright 2014 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package io.liveoak.mongo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBObject;
+import com.mongodb.util.JSON;
+import org.jboss.logging.Logger;
+
+/**
+ * Records the shapes of the recent queries on collections, with how the database ran them, and suggests the
+ * indexes they are missing.
+ *
+ * <p>A shape is the fields a query filters on, split between equality and range conditions, and the fields it
+ * sorts on, whatever their values. Queries are explained when their shape is first seen, then at most once per
+ * <code>io.liveoak.mongo.query-advisor-explain-interval</code> milliseconds. The explains run on a background
+ * thread, off the request path; one that fails or finds the backlog full is retried with the next query of its
+ * shape. The least recently seen shapes are forgotten past <code>io.liveoak.mongo.query-advisor-size</code> of
+ * them.</p>
+ */
+class QueryAdvisor {
+
+    public static final String SIZE_PROPERTY = "io.liveoak.mongo.query-advisor-size";
+    public static final String EXPLAIN_INTERVAL_PROPERTY = "io.liveoak.mongo.query-advisor-explain-interval";
+
+    private static final int SIZE = Integer.getInteger(SIZE_PROPERTY, 100);
+    private static final long EXPLAIN_INTERVAL = Long.getLong(EXPLAIN_INTERVAL_PROPERTY, 60000);
+
+    private static final Logger log = Logger.getLogger(QueryAdvisor.class);
+
+    private static final ThreadPoolExecutor EXPLAINER = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(SIZE), runnable -> {
+        Thread thread = new Thread(runnable, "liveoak-mongo-query-advisor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    static {
+        EXPLAINER.allowCoreThreadTimeOut(true);
+    }
+
+    // conditions an index can serve as equality, the other operators are ranges
+    private static final Set<String> EQUALITY_OPERATORS = new LinkedHashSet<>(Arrays.asList("$eq", "$in", "$all"));
+
+    private final Map<String, QueryShape> shapes = new LinkedHashMap<String, QueryShape>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, QueryShape> eldest) {
+            return size() > SIZE;
+        }
+    };
+
+    /**
+     * @param collection The name of the collection.
+     * @param query The filter, possibly empty.
+     * @param sort The sort specification, possibly empty.
+     * @param explain Runs the query with <code>explain</code>, only called when the stats are due, on the
+     *                background thread.
+     */
+    void record(String collection, DBObject query, DBObject sort, Supplier<DBObject> explain) {
+        QueryShape shape = new QueryShape(collection, query, sort);
+        if (shape.isEmpty()) {
+            return;
+        }
+
+        long lastExplained;
+        synchronized (this.shapes) {
+            QueryShape existing = this.shapes.get(shape.key());
+            if (existing == null) {
+                this.shapes.put(shape.key(), shape);
+            } else {
+                shape = existing;
+            }
+            ++shape.count;
+            lastExplained = shape.explained;
+            if (lastExplained + EXPLAIN_INTERVAL >= System.currentTimeMillis()) {
+                return;
+            }
+            // other requests of the same shape don't explain it meanwhile
+            shape.explained = System.currentTimeMillis();
+        }
+
+        QueryShape explained = shape;
+        try {
+            EXPLAINER.execute(() -> {
+                try {
+                    DBObject stats = explain.get();
+                    synchronized (this.shapes) {
+                        explained.stats = stats;
+                    }
+                } catch (Throwable t) {
+                    log.debug("Could not explain a query on " + collection, t);
+                    retry(explained, lastExplained);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            retry(shape, lastExplained);
+        }
+    }
+
+    private void retry(QueryShape shape, long lastExplained) {
+        synchronized (this.shapes) {
+            shape.explained = lastExplained;
+        }
+    }
+
+    /**
+     * @param collection The name of the collection.
+     * @return The shapes recorded for the collection, most recently seen first.
+     */
+    List<QueryShape> shapes(String collection) {
+        List<QueryShape> result = new ArrayList<>();
+        synchronized (this.shapes) {
+            for (QueryShape shape : this.shapes.values()) {
+                if (shape.collection.equals(collection)) {
+                    result.add(0, shape.copy());
+                }
+            }
+        }
+        return result;
+    }
+
+    void collectionRemoved(String collection) {
+        synchronized (this.shapes) {
+            this.shapes.values().removeIf(shape -> shape.collection.equals(collection));
+        }
+    }
+
+    static class QueryShape {
+
+        QueryShape(String collection, DBObject query, DBObject sort) {
+            this.collection = collection;
+            if (query != null) {
+                fields(query);
+            }
+            if (sort != null) {
+                for (String field : sort.keySet()) {
+                    this.sort.put(field, sort.get(field));
+                }
+            }
+        }
+
+        private QueryShape(QueryShape shape) {
+            this.collection = shape.collection;
+            this.equality.addAll(shape.equality);
+            this.range.addAll(shape.range);
+            this.sort.putAll(shape.sort);
+            this.count = shape.count;
+            this.stats = shape.stats;
+        }
+
+        private void fields(DBObject query) {
+            for (String field : query.keySet()) {
+                Object condition = query.get(field);
+                if (field.equals("$and") && condition instanceof List) {
+                    for (Object each : (List) condition) {
+                        if (each instanceof DBObject) {
+                            fields((DBObject) each);
+                        }
+                    }
+                } else if (field.startsWith("$")) {
+                    // $or, $where, ... are not served by a single compound index
+                    continue;
+                } else if (condition instanceof DBObject && !(condition instanceof List) && isOperators((DBObject) condition)) {
+                    Set<String> operators = ((DBObject) condition).keySet();
+                    if (EQUALITY_OPERATORS.containsAll(operators)) {
+                        this.equality.add(field);
+                    } else {
+                        this.range.add(field);
+                    }
+                } else {
+                    this.equality.add(field);
+                }
+            }
+            this.range.removeAll(this.equality);
+        }
+
+        private static boolean isOperators(DBObject condition) {
+            for (String key : condition.keySet()) {
+                if (!key.startsWith("$")) {
+                    return false;
+                }
+            }
+            return !condition.keySet().isEmpty();
+        }
+
+        QueryShape copy() {
+            return new QueryShape(this);
+        }
+
+        boolean isEmpty() {
+            return this.equality.isEmpty() && this.range.isEmpty() && this.sort.isEmpty();
+        }
+
+        String key() {
+            return this.collection + ":" + this.equality + ":" + this.range + ":" + JSON.serialize(this.sort);
+        }
+
+        Set<String> equality() {
+            return this.equality;
+        }
+
+        Set<String> range() {
+            return this.range;
+        }
+
+        Map<String, Object> sort() {
+            return this.sort;
+        }
+
+        long count() {
+            return this.count;
+        }
+
+        /**
+         * @return The output of the last <code>explain</code>, or null.
+         */
+        DBObject stats() {
+            return this.stats;
+        }
+
+        /**
+         * @return Whether the last <code>explain</code> shows a scan of the whole collection, or more documents
+         *         examined than returned for a non-trivial query.
+         */
+        boolean needsIndex() {
+            if (this.stats == null) {
+                return false;
+            }
+            Object cursor = this.stats.get("cursor");
+            if (cursor != null) {
+                // 2.x servers
+                if (cursor.toString().startsWith("BasicCursor")) {
+                    return true;
+                }
+                return number(this.stats.get("nscanned")) > 10 * Math.max(number(this.stats.get("n")), 1);
+            }
+            Object queryPlanner = this.stats.get("queryPlanner");
+            return queryPlanner != null && JSON.serialize(queryPlanner).contains("COLLSCAN");
+        }
+
+        /**
+         * @return The key of the index serving the shape: equality fields, then sort fields, then range fields.
+         */
+        DBObject suggestedIndex() {
+            BasicDBObject key = new BasicDBObject();
+            for (String field : this.equality) {
+                key.append(field, 1);
+            }
+            for (Map.Entry<String, Object> entry : this.sort.entrySet()) {
+                if (!key.containsField(entry.getKey())) {
+                    key.append(entry.getKey(), entry.getValue());
+                }
+            }
+            for (String field : this.range) {
+                if (!key.containsField(field)) {
+                    key.append(field, 1);
+                }
+            }
+            return key;
+        }
+
+        private static long number(Object value) {
+            return value instanceof Number ? ((Number) value).longValue() : 0;
+        }
+
+        private final String collection;
+        private final Set<String> equality = new LinkedHashSet<>();
+        private final Set<String> range = new LinkedHashSet<>();
+        private final Map<String, Object> sort = new LinkedHashMap<>();
+        private long count;
+        private long explained;
+        private DBObject stats;
+    }
+}
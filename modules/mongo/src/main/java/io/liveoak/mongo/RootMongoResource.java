@@ -9,6 +9,7 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -36,6 +37,13 @@ public class RootMongoResource extends MongoResource implements RootResource {
     private String id;
     private RootMongoConfigResource mongoConfigResource;
 
+    // How long a collection seen as existing is trusted without asking the database again
+    private static final long COLLECTION_EXISTS_TTL = 10000;
+    private final Map<String, Long> existingCollections = new ConcurrentHashMap<>();
+
+    private final AggregationCache aggregationCache = new AggregationCache();
+    private final QueryAdvisor queryAdvisor = new QueryAdvisor();
+
     public RootMongoResource(String id, RootMongoConfigResource mongoConfigResource) {
         super(null);
         this.id = id;
@@ -69,6 +77,37 @@ public class RootMongoResource extends MongoResource implements RootResource {
         mongoConfigResource.close();
     }
 
+    /**
+     * Cached version of {@link DB#collectionExists(String)} used when resolving references, collections removed
+     * through LiveOak are forgotten right away, others after a few seconds.
+     */
+    boolean collectionExists(String name) {
+        Long expires = existingCollections.get(name);
+        long now = System.currentTimeMillis();
+        if (expires != null && expires > now) {
+            return true;
+        }
+        if (db().collectionExists(name)) {
+            existingCollections.put(name, now + COLLECTION_EXISTS_TTL);
+            return true;
+        }
+        existingCollections.remove(name);
+        return false;
+    }
+
+    void collectionRemoved(String name) {
+        existingCollections.remove(name);
+        queryAdvisor.collectionRemoved(name);
+    }
+
+    AggregationCache aggregationCache() {
+        return aggregationCache;
+    }
+
+    QueryAdvisor queryAdvisor() {
+        return queryAdvisor;
+    }
+
     @Override
     public Resource member(RequestContext ctx, String id) {
         if (db().collectionExists(id)) {
@@ -146,6 +185,10 @@ public class RootMongoResource extends MongoResource implements RootResource {
 
     @Override
     protected MongoObjectResource getResource(DBRef dbRef, boolean byReference) throws ResourceProcessingException {
+        return getResource(dbRef, byReference, null);
+    }
+
+    protected MongoObjectResource getResource(DBRef dbRef, boolean byReference, DBRefResolver resolver) throws ResourceProcessingException {
         if (dbRef != null) {
             if (dbRef.getDB() == null) {
                 throw new ResourceProcessingException("Invalid Reference. Reference Database is null.");
@@ -155,7 +198,7 @@ public class RootMongoResource extends MongoResource implements RootResource {
             }
 
             String collectionName = dbRef.getRef();
-            if (!db().collectionExists(collectionName)) {
+            if (!collectionExists(collectionName)) {
                 throw new ResourceProcessingException("Cannot find collection specified in a reference. No collection named '" + collectionName + "' found");
             }
 
@@ -167,7 +210,7 @@ public class RootMongoResource extends MongoResource implements RootResource {
 
                 return mongoObjectResource;
             } else {
-                DBObject referencedObject = dbRef.fetch();
+                DBObject referencedObject = resolver != null ? resolver.fetch(dbRef) : dbRef.fetch();
                 if (referencedObject == null) {
                     throw new ResourceProcessingException("Cannot find referenced resource. No resource in collection '" + collectionName + "' with id '" + dbRef.getId()
                             + "'");
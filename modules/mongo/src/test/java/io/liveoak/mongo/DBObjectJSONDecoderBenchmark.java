@@ -0,0 +1,68 @@
+/*
+ * Copyright 2014 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package io.liveoak.mongo;
+
+import java.util.concurrent.TimeUnit;
+
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBRef;
+import io.liveoak.common.codec.json.JSONDecoder;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.Unpooled;
+import io.netty.util.CharsetUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares decoding a request body through a ResourceState with decoding it straight into a DBObject. The body
+ * has nested objects, arrays and a reference, so both paths convert every kind of value.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class DBObjectJSONDecoderBenchmark {
+
+    private static final String JSON = "{ \"id\": \"john\", \"name\": \"John Doe\", \"age\": 42, \"height\": 1.85, \"active\": true,"
+            + " \"address\": { \"street\": \"1 Main St\", \"city\": \"Boston\", \"zip\": \"02110\" },"
+            + " \"phones\": [ { \"type\": \"home\", \"number\": \"555-1234\" }, { \"type\": \"work\", \"number\": \"555-4321\" } ],"
+            + " \"tags\": [ \"a\", \"b\", \"c\", \"d\", \"e\" ],"
+            + " \"manager\": { \"$dbref\": \"/testApp/storage/people/bob\" } }";
+
+    private final ByteBuf content = Unpooled.copiedBuffer(JSON, CharsetUtil.UTF_8);
+
+    private final MongoResource resource = new MongoResource(null) {
+        @Override
+        public String id() {
+            return "people";
+        }
+
+        @Override
+        protected DBRef getDBRef(String uri) {
+            return new DBRef(null, "people", uri.substring(uri.lastIndexOf('/') + 1));
+        }
+    };
+
+    @Benchmark
+    public BasicDBObject resourceState() throws Exception {
+        return this.resource.createObject(new JSONDecoder().decode(this.content.duplicate()));
+    }
+
+    @Benchmark
+    public BasicDBObject direct() throws Exception {
+        return new DBObjectJSONDecoder(this.resource).decode(new ByteBufInputStream(this.content.duplicate()));
+    }
+}
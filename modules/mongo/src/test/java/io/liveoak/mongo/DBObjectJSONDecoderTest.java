@@ -0,0 +1,92 @@
+/*
+ * Copyright 2014 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package io.liveoak.mongo;
+
+import java.util.ArrayList;
+
+import com.mongodb.BasicDBList;
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBRef;
+import io.liveoak.common.codec.json.JSONDecoder;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.Unpooled;
+import io.netty.util.CharsetUtil;
+import org.junit.Test;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+public class DBObjectJSONDecoderTest {
+
+    private final MongoResource resource = new MongoResource(null) {
+        @Override
+        public String id() {
+            return "people";
+        }
+
+        @Override
+        protected DBRef getDBRef(String uri) {
+            String[] segments = uri.split("/");
+            return new DBRef(null, segments[segments.length - 2], segments[segments.length - 1]);
+        }
+    };
+
+    @Test
+    public void decodesLikeResourceState() throws Exception {
+        String json = "{ \"id\": \"john\", \"name\": \"John\", \"age\": 42, \"born\": 12345678901, \"height\": 1.85,"
+                + " \"active\": true, \"retired\": false, \"nickname\": null,"
+                + " \"self\": { \"href\": \"/testApp/storage/people/john\" },"
+                + " \"address\": { \"id\": \"home\", \"city\": \"Boston\", \"tags\": [ \"a\", 1, { \"id\": \"x\", \"y\": [ 1, [ 2 ] ] } ] },"
+                + " \"friend\": { \"$dbref\": \"/testApp/storage/people/bob\" },"
+                + " \"friends\": [ { \"$dbref\": \"/testApp/storage/people/bob\" } ],"
+                + " \"members\": [ { \"id\": \"ignored\" } ] }";
+
+        BasicDBObject decoded = decode(json);
+        BasicDBObject expected = createObject(json);
+
+        assertThat(decoded).isEqualTo(expected);
+        assertThat(new ArrayList<>(decoded.keySet())).isEqualTo(new ArrayList<>(expected.keySet()));
+
+        assertThat(decoded.get("_id")).isEqualTo("john");
+        assertThat(decoded.containsField("self")).isFalse();
+        assertThat(decoded.containsField("members")).isFalse();
+        assertThat(decoded.get("age")).isEqualTo(42);
+        assertThat(decoded.get("born")).isEqualTo(12345678901L);
+        assertThat(decoded.get("friend")).isInstanceOf(DBRef.class);
+
+        BasicDBObject address = (BasicDBObject) decoded.get("address");
+        assertThat(new ArrayList<>(address.keySet()).get(0)).isEqualTo("id");
+
+        // a reference in a list is kept as an object holding the reference
+        BasicDBObject inList = (BasicDBObject) ((BasicDBList) decoded.get("friends")).get(0);
+        assertThat(inList.get("$dbref")).isInstanceOf(DBRef.class);
+    }
+
+    @Test
+    public void decodesWithoutId() throws Exception {
+        String json = "{ name: 'unquoted', \"$dbref\": \"/testApp/storage/people/bob\", \"self\": { \"rel\": \"self\" } }";
+
+        BasicDBObject decoded = decode(json);
+        assertThat(decoded).isEqualTo(createObject(json));
+        assertThat(decoded.containsField("_id")).isFalse();
+        assertThat(decoded.get("$dbref")).isInstanceOf(DBRef.class);
+        assertThat(decoded.get("self")).isInstanceOf(BasicDBObject.class);
+
+        assertThat(decode("[ 1, 2 ]")).isEqualTo(new BasicDBObject());
+    }
+
+    private BasicDBObject decode(String json) throws Exception {
+        return new DBObjectJSONDecoder(this.resource).decode(new ByteBufInputStream(buffer(json)));
+    }
+
+    private BasicDBObject createObject(String json) throws Exception {
+        return this.resource.createObject(new JSONDecoder().decode(buffer(json)));
+    }
+
+    private static ByteBuf buffer(String json) {
+        return Unpooled.copiedBuffer(json, CharsetUtil.UTF_8);
+    }
+}
@@ -12,6 +12,7 @@ import java.util.Set;
 
 import com.mongodb.BasicDBObject;
 import com.mongodb.DBCollection;
+import io.liveoak.common.DefaultPagination;
 import io.liveoak.common.DefaultReturnFields;
 import io.liveoak.spi.RequestContext;
 import io.liveoak.spi.state.ResourceState;
@@ -52,10 +53,8 @@ public class MongoDBAggregateCollectionReadTest extends BaseMongoDBTest {
         assertThat(result).isNotNull();
 
         assertThat(result.id()).isEqualTo("_aggregate");
-        assertThat(result.getProperty("result")).isNotNull();
-        assertThat(result.getProperty("result")).isInstanceOf(List.class);
 
-        List results = (List) result.getProperty("result");
+        List<ResourceState> results = result.members();
         assertThat(results.size()).isEqualTo(3);
 
         Set countries = checkAggregateItems(results);
@@ -63,6 +62,33 @@ public class MongoDBAggregateCollectionReadTest extends BaseMongoDBTest {
         assertThat(countries).isEqualTo(expected);
     }
 
+    @Test
+    public void testAggregatePage() throws Exception {
+        DBCollection collection = db.getCollection("testPageCollection");
+        if (collection != null) {
+            collection.drop();
+        }
+        collection = db.createCollection("testPageCollection", new BasicDBObject("count", 0));
+        setupPeopleData(collection);
+
+        // the page is selected by the pipeline, sorted here so it is stable
+        SimpleResourceParams resourceParams = new SimpleResourceParams();
+        resourceParams.put("q", "[{$group:{_id:{country:'$country'},numPeople:{$sum:1}}},{$sort:{'_id.country':1}}]");
+        resourceParams.put("batchSize", "1");
+        RequestContext requestContext = new RequestContext.Builder()
+                .returnFields(new DefaultReturnFields("*(*)"))
+                .resourceParams(resourceParams)
+                .pagination(new DefaultPagination(1, 1))
+                .build();
+
+        ResourceState result = client.read(requestContext, "/testApp/" + BASEPATH + "/testPageCollection/_aggregate");
+
+        List<ResourceState> results = result.members();
+        assertThat(results.size()).isEqualTo(1);
+        assertThat(results.get(0).id()).isEqualTo("1");
+        assertThat(checkAggregateItem(results.get(0))).isEqualTo("FR");
+    }
+
     private Set checkAggregateItems(List results) {
         HashSet<String> keys = new HashSet<>();
         for (Object item : results) {
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2014 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package io.liveoak.mongo;
+
+import java.util.List;
+
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBCollection;
+import io.liveoak.common.DefaultReturnFields;
+import io.liveoak.common.codec.DefaultResourceState;
+import io.liveoak.spi.RequestContext;
+import io.liveoak.spi.exceptions.NotAcceptableException;
+import io.liveoak.spi.state.ResourceState;
+import org.junit.Test;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+public class MongoDBIndexesTest extends BaseMongoDBTest {
+
+    @Test
+    public void testCreateAndDropIndex() throws Exception {
+        String methodName = "testCreateAndDropIndex";
+        DBCollection collection = db.createCollection(methodName, new BasicDBObject());
+        setupPeopleData(collection);
+
+        String path = "/testApp/" + BASEPATH + "/" + methodName + "/_indexes";
+        RequestContext requestContext = new RequestContext.Builder().returnFields(new DefaultReturnFields("*(*)")).build();
+
+        ResourceState result = client.read(requestContext, path);
+        assertThat(result.getProperty("count")).isEqualTo(1);
+        assertThat(result.members().get(0).id()).isEqualTo("_id_");
+
+        ResourceState key = new DefaultResourceState();
+        key.putProperty("lastName", 1);
+        key.putProperty("name", -1);
+        ResourceState state = new DefaultResourceState();
+        state.putProperty("key", key);
+        state.putProperty("background", true);
+        result = client.create(new RequestContext.Builder().build(), path, state);
+        assertThat(result.id()).isEqualTo("lastName_1_name_-1");
+        assertThat(collection.getIndexInfo()).hasSize(2);
+
+        result = client.read(requestContext, path + "/lastName_1_name_-1");
+        ResourceState indexKey = result.getProperty("key", true, ResourceState.class);
+        assertThat(indexKey.getProperty("lastName")).isEqualTo(1);
+        assertThat(indexKey.getProperty("name")).isEqualTo(-1);
+
+        try {
+            client.delete(new RequestContext.Builder().build(), path + "/_id_");
+            fail();
+        } catch (NotAcceptableException e) {
+            // expected
+        }
+
+        client.delete(new RequestContext.Builder().build(), path + "/lastName_1_name_-1");
+        assertThat(collection.getIndexInfo()).hasSize(1);
+    }
+
+    @Test
+    public void testAdvisor() throws Exception {
+        String methodName = "testAdvisor";
+        DBCollection collection = db.createCollection(methodName, new BasicDBObject());
+        setupPeopleData(collection);
+
+        SimpleResourceParams resourceParams = new SimpleResourceParams();
+        resourceParams.put("q", "{country:'DE', name:{$gt:'A'}}");
+        RequestContext requestContext = new RequestContext.Builder().returnFields(new DefaultReturnFields("*(*)")).resourceParams(resourceParams).build();
+        ResourceState result = client.read(requestContext, "/testApp/" + BASEPATH + "/" + methodName);
+        assertThat(result.members()).hasSize(2);
+
+        String path = "/testApp/" + BASEPATH + "/" + methodName + "/_indexes/_advisor";
+        result = client.read(new RequestContext.Builder().returnFields(new DefaultReturnFields("*(*(*))")).build(), path);
+
+        List queries = (List) result.getProperty("queries");
+        assertThat(queries).hasSize(1);
+        ResourceState query = (ResourceState) queries.get(0);
+        assertThat((List) query.getProperty("equality")).containsExactly("country");
+        assertThat((List) query.getProperty("range")).containsExactly("name");
+        assertThat(query.getProperty("count")).isEqualTo(1L);
+
+        // the query is explained in the background
+        List suggestions = (List) result.getProperty("suggestions");
+        for (int i = 0; i < 50 && suggestions.isEmpty(); i++) {
+            Thread.sleep(100);
+            result = client.read(new RequestContext.Builder().returnFields(new DefaultReturnFields("*(*(*))")).build(), path);
+            suggestions = (List) result.getProperty("suggestions");
+        }
+        assertThat(suggestions).hasSize(1);
+        ResourceState suggested = ((ResourceState) suggestions.get(0)).getProperty("key", true, ResourceState.class);
+        assertThat(suggested.getPropertyNames()).containsExactly("country", "name");
+
+        // once the index exists it is not suggested anymore
+        collection.createIndex(new BasicDBObject("country", 1).append("name", 1));
+        result = client.read(new RequestContext.Builder().returnFields(new DefaultReturnFields("*(*(*))")).build(), path);
+        assertThat((List) result.getProperty("suggestions")).isEmpty();
+    }
+}
@@ -526,4 +526,39 @@ public class MongoDBRefTest extends BaseMongoDBTest {
         assertThat(friendObject.size()).isEqualTo(1);
     }
 
+    @Test
+    public void readDBRefsOfCollectionMembers() throws Exception {
+        String methodName = "testReadDBRefsOfCollectionMembers";
+        assertThat(db.collectionExists(methodName)).isFalse();
+        assertThat(db.collectionExists(methodName + "Departments")).isFalse();
+
+        DBCollection employees = db.createCollection(methodName, new BasicDBObject());
+        DBCollection departments = db.createCollection(methodName + "Departments", new BasicDBObject());
+
+        departments.insert(new BasicDBObject("_id", "sales").append("name", "Sales"));
+        departments.insert(new BasicDBObject("_id", "support").append("name", "Support"));
+
+        // several members referencing the same objects, all resolved while reading a single page
+        String[][] people = {{"john", "sales"}, {"jane", "support"}, {"jack", "sales"}, {"judy", "support"}};
+        for (String[] person : people) {
+            employees.insert(new BasicDBObject("_id", person[0]).append("department", new DBRef(db, departments.getName(), person[1])));
+        }
+
+        ResourceState result = client.read(new RequestContext.Builder().returnFields(new DefaultReturnFields("*(*(*))")).build(), "/testApp/" + BASEPATH + "/" + methodName);
+        assertThat(result.members()).hasSize(4);
+
+        for (ResourceState member : result.members()) {
+            String departmentId = null;
+            for (String[] person : people) {
+                if (person[0].equals(member.id())) {
+                    departmentId = person[1];
+                }
+            }
+            ResourceState department = (ResourceState) member.getProperty("department");
+            assertThat(department.id()).isEqualTo(departmentId);
+            assertThat(department.uri()).isEqualTo(new URI("/testApp/" + BASEPATH + "/" + methodName + "Departments/" + departmentId));
+            assertThat(department.getProperty("name")).isEqualTo(departmentId.equals("sales") ? "Sales" : "Support");
+        }
+    }
+
 }
@@ -15,6 +15,7 @@ import java.util.List;
 import io.liveoak.pgsql.meta.Catalog;
 import io.liveoak.pgsql.meta.QueryBuilder;
 import io.liveoak.pgsql.meta.Table;
+import io.liveoak.pgsql.meta.TableRef;
 import io.liveoak.spi.RequestContext;
 import io.liveoak.spi.ResourceErrorResponse;
 import io.liveoak.spi.ResourcePath;
@@ -153,8 +154,18 @@ public class PgSqlBatchResource implements SynchronousResource {
                     statuses = queryBuilder.executeCreateTables(c, workList);
                 }
 
-                // trigger schema reload
-                parent.reloadSchema();
+                // update the catalog with the tables that were created or dropped
+                List<TableRef> changed = new LinkedList<>();
+                for (PgSqlBatchItem<Table, ?> item : statuses) {
+                    if (item.error() == null && item.input() != null) {
+                        changed.add(item.input().tableRef());
+                    }
+                }
+                if (action.equals(DELETE)) {
+                    parent.tablesDropped(changed);
+                } else {
+                    parent.tablesCreated(changed);
+                }
             }
         }
 
@@ -0,0 +1,489 @@
+/*
+ * Copyright 2014 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package io.liveoak.pgsql;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import javax.sql.DataSource;
+
+import org.jboss.logging.Logger;
+
+/**
+ * A pool of connections to the database, with statistics on how it is used.
+ *
+ * <p>At most <code>maxConnections</code> connections are handed out at once, callers beyond that wait up to
+ * <code>acquireTimeout</code> milliseconds for one to be returned. Returned connections are reused most recently
+ * used first, checked with {@link Connection#isValid(int)} if they sat idle for a while, and closed once older than
+ * <code>maxLifetime</code>. A background task keeps at least <code>minIdle</code> connections open, within the
+ * <code>maxConnections</code> that may be open in total.</p>
+ */
+public class PgSqlConnectionPool {
+
+    public static final String HOUSEKEEPING_INTERVAL_PROPERTY = "io.liveoak.pgsql.pool-housekeeping-interval";
+    private static final long HOUSEKEEPING_INTERVAL = Long.getLong(HOUSEKEEPING_INTERVAL_PROPERTY, 30000);
+
+    // connections returned more recently than this are handed out again without validation
+    private static final long VALIDATION_IDLE_TIME = 1000;
+
+    private static final Logger log = Logger.getLogger(PgSqlConnectionPool.class);
+
+    private static final ScheduledExecutorService HOUSEKEEPER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "liveoak-pgsql-pool-housekeeper");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public PgSqlConnectionPool(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    public void setMaxConnections(int maxConnections) {
+        this.maxConnections = maxConnections;
+    }
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public void setInitialConnections(int initialConnections) {
+        this.initialConnections = initialConnections;
+    }
+
+    public int getInitialConnections() {
+        return initialConnections;
+    }
+
+    public void setMinIdle(int minIdle) {
+        this.minIdle = minIdle;
+    }
+
+    public int getMinIdle() {
+        return minIdle;
+    }
+
+    /**
+     * @param acquireTimeout How long to wait for a connection when all of them are in use, in milliseconds.
+     */
+    public void setAcquireTimeout(long acquireTimeout) {
+        this.acquireTimeout = acquireTimeout;
+    }
+
+    public long getAcquireTimeout() {
+        return acquireTimeout;
+    }
+
+    /**
+     * @param maxLifetime How long a connection is used before being replaced, in milliseconds, 0 for no limit.
+     */
+    public void setMaxLifetime(long maxLifetime) {
+        this.maxLifetime = maxLifetime;
+    }
+
+    public long getMaxLifetime() {
+        return maxLifetime;
+    }
+
+    /**
+     * @param validationTimeout How long to wait for an idle connection to answer before handing it out, in
+     *                          milliseconds, 0 to hand out idle connections without checking them.
+     */
+    public void setValidationTimeout(long validationTimeout) {
+        this.validationTimeout = validationTimeout;
+    }
+
+    public long getValidationTimeout() {
+        return validationTimeout;
+    }
+
+    /**
+     * @param statementTimeout The <code>statement_timeout</code> of the connections, in milliseconds, 0 for none.
+     */
+    public void setStatementTimeout(int statementTimeout) {
+        this.statementTimeout = statementTimeout;
+    }
+
+    public int getStatementTimeout() {
+        return statementTimeout;
+    }
+
+    /**
+     * Opens the initial connections, then keeps the pool topped up in the background.
+     */
+    public void initialize() throws SQLException {
+        this.permits = new Semaphore(maxConnections, true);
+        int initial = Math.min(Math.max(initialConnections, minIdle), maxConnections);
+        try {
+            for (int i = 0; i < initial && reserve(); i++) {
+                this.idle.offerFirst(open());
+            }
+        } catch (SQLException e) {
+            close();
+            throw e;
+        }
+        this.housekeeping = HOUSEKEEPER.scheduleWithFixedDelay(this::housekeeping, HOUSEKEEPING_INTERVAL, HOUSEKEEPING_INTERVAL, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Users of the connection must make sure to call {@link java.sql.Connection#close()} when done using it,
+     * so that it is returned to the pool.
+     */
+    public Connection getConnection() throws SQLException {
+        if (closed.get()) {
+            throw new SQLException("Connection pool closed");
+        }
+
+        long start = System.nanoTime();
+        if (!permits.tryAcquire()) {
+            waiting.incrementAndGet();
+            try {
+                if (!permits.tryAcquire(acquireTimeout, TimeUnit.MILLISECONDS)) {
+                    timeouts.increment();
+                    throw new SQLTransientConnectionException("Timed out after " + acquireTimeout + "ms waiting for a connection, all "
+                            + maxConnections + " of them are in use");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Interrupted while waiting for a connection", e);
+            } finally {
+                waiting.decrementAndGet();
+            }
+        }
+
+        try {
+            PooledConnection pooled = take(start + TimeUnit.MILLISECONDS.toNanos(acquireTimeout));
+            active.incrementAndGet();
+            acquireTime.record(System.nanoTime() - start);
+            return pooled.lease();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        if (housekeeping != null) {
+            housekeeping.cancel(false);
+        }
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            discard(pooled);
+        }
+    }
+
+    /**
+     * @return The connections in use, idle, open in total and waited for, the counts of connections opened and closed, and how
+     *         long it took to get a connection.
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("active", active.get());
+        stats.put("idle", idle.size());
+        stats.put("open", total.get());
+        stats.put("waiting", waiting.get());
+        stats.put("opened", opened.sum());
+        stats.put("closed", discarded.sum());
+        stats.put("timeouts", timeouts.sum());
+        stats.put("acquire-time", acquireTime.stats());
+        return stats;
+    }
+
+    private PooledConnection take(long deadline) throws SQLException {
+        while (true) {
+            PooledConnection pooled;
+            while ((pooled = idle.pollFirst()) != null) {
+                if (usable(pooled)) {
+                    return pooled;
+                }
+                discard(pooled);
+            }
+            if (reserve()) {
+                return open();
+            }
+            // holding a permit, so the connections open in total are on their way to being idle or closed
+            if (System.nanoTime() - deadline > 0) {
+                timeouts.increment();
+                throw new SQLTransientConnectionException("Timed out after " + acquireTimeout + "ms waiting for a connection, all "
+                        + maxConnections + " of them are open");
+            }
+            if (closed.get()) {
+                throw new SQLException("Connection pool closed");
+            }
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+    }
+
+    /**
+     * Counts a connection about to be opened, unless <code>maxConnections</code> of them are open already.
+     * {@link #open()} must follow a successful reservation.
+     */
+    private boolean reserve() {
+        int count;
+        do {
+            count = total.get();
+            if (count >= maxConnections) {
+                return false;
+            }
+        } while (!total.compareAndSet(count, count + 1));
+        return true;
+    }
+
+    private boolean usable(PooledConnection pooled) {
+        long now = System.currentTimeMillis();
+        if (pooled.expired(now)) {
+            return false;
+        }
+        if (validationTimeout <= 0 || now - pooled.lastUsed < VALIDATION_IDLE_TIME) {
+            return true;
+        }
+        try {
+            return pooled.connection.isValid((int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(validationTimeout + 999)));
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private PooledConnection open() throws SQLException {
+        Connection connection;
+        try {
+            connection = dataSource.getConnection();
+        } catch (SQLException | RuntimeException e) {
+            total.decrementAndGet();
+            throw e;
+        }
+        try {
+            if (statementTimeout > 0) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("SET statement_timeout = " + statementTimeout);
+                }
+            }
+        } catch (SQLException e) {
+            total.decrementAndGet();
+            connection.close();
+            throw e;
+        }
+        opened.increment();
+        return new PooledConnection(connection);
+    }
+
+    private void release(PooledConnection pooled) {
+        active.decrementAndGet();
+        try {
+            if (!pooled.broken && !closed.get() && !pooled.expired(System.currentTimeMillis()) && idle.size() < maxConnections) {
+                try {
+                    if (!pooled.connection.getAutoCommit()) {
+                        pooled.connection.rollback();
+                        pooled.connection.setAutoCommit(true);
+                    }
+                    pooled.connection.clearWarnings();
+                    pooled.lastUsed = System.currentTimeMillis();
+                    idle.offerFirst(pooled);
+                    if (closed.get() && idle.remove(pooled)) {
+                        // closed meanwhile
+                        discard(pooled);
+                    }
+                    return;
+                } catch (SQLException e) {
+                    log.debug("[IGNORED] Exception while resetting a connection: ", e);
+                }
+            }
+            discard(pooled);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void discard(PooledConnection pooled) {
+        total.decrementAndGet();
+        discarded.increment();
+        try {
+            pooled.connection.close();
+        } catch (SQLException e) {
+            log.debug("[IGNORED] Exception while closing a connection: ", e);
+        }
+    }
+
+    void housekeeping() {
+        try {
+            long now = System.currentTimeMillis();
+            for (PooledConnection pooled : idle) {
+                // removal fails if the connection was taken meanwhile
+                if (pooled.expired(now) && idle.remove(pooled)) {
+                    discard(pooled);
+                }
+            }
+
+            // connections in use count towards the maximum too, so the idle ones may stay below minIdle
+            while (!closed.get() && idle.size() < minIdle && reserve()) {
+                idle.offerFirst(open());
+            }
+        } catch (Throwable t) {
+            log.debug("[IGNORED] Exception while maintaining the connection pool: ", t);
+        }
+    }
+
+    private static boolean fatal(SQLException e) {
+        // SQLSTATE class 08, connection exceptions
+        String state = e.getSQLState();
+        return state != null && state.startsWith("08");
+    }
+
+    private class PooledConnection {
+
+        PooledConnection(Connection connection) {
+            this.connection = connection;
+            this.created = System.currentTimeMillis();
+            this.lastUsed = this.created;
+        }
+
+        boolean expired(long now) {
+            return maxLifetime > 0 && now - created > maxLifetime;
+        }
+
+        Connection lease() {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class[]{Connection.class}, new Lease(this));
+        }
+
+        final Connection connection;
+        final long created;
+        volatile long lastUsed;
+        volatile boolean broken;
+    }
+
+    /**
+     * The connection as handed out, returned to the pool on close and unusable afterwards.
+     */
+    private class Lease implements InvocationHandler {
+
+        Lease(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (released.compareAndSet(false, true)) {
+                        release(pooled);
+                    }
+                    return null;
+                case "isClosed":
+                    return released.get() || pooled.connection.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Pooled" + pooled.connection;
+            }
+
+            if (released.get()) {
+                throw new SQLException("Connection is closed", "08003");
+            }
+            try {
+                return method.invoke(pooled.connection, args);
+            } catch (InvocationTargetException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof SQLException && fatal((SQLException) cause)) {
+                    pooled.broken = true;
+                }
+                throw cause;
+            }
+        }
+
+        private final PooledConnection pooled;
+        private final AtomicBoolean released = new AtomicBoolean();
+    }
+
+    /**
+     * Counts of the times taken to get a connection, by upper bound in milliseconds.
+     */
+    static class Histogram {
+
+        static final long[] BOUNDS = {1, 5, 10, 50, 100, 500, 1000, 5000};
+
+        void record(long nanos) {
+            long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+            int bucket = 0;
+            while (bucket < BOUNDS.length && millis > BOUNDS[bucket]) {
+                bucket++;
+            }
+            buckets[bucket].increment();
+            total.add(nanos);
+            max.accumulate(nanos);
+        }
+
+        Map<String, Object> stats() {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            long count = 0;
+            Map<String, Long> counts = new LinkedHashMap<>();
+            for (int i = 0; i < buckets.length; i++) {
+                long bucketCount = buckets[i].sum();
+                counts.put(i < BOUNDS.length ? String.valueOf(BOUNDS[i]) : "inf", bucketCount);
+                count += bucketCount;
+            }
+            stats.put("count", count);
+            stats.put("mean-ms", count > 0 ? (double) total.sum() / count / 1000000 : 0.0);
+            stats.put("max-ms", (double) max.get() / 1000000);
+            stats.put("buckets", counts);
+            return stats;
+        }
+
+        private final LongAdder[] buckets = new LongAdder[BOUNDS.length + 1];
+        private final LongAdder total = new LongAdder();
+        private final LongAccumulator max = new LongAccumulator(Long::max, 0);
+
+        {
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+    }
+
+    private final DataSource dataSource;
+    private final Deque<PooledConnection> idle = new ConcurrentLinkedDeque<>();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger waiting = new AtomicInteger();
+    // connections open, idle or in use, including those being opened
+    private final AtomicInteger total = new AtomicInteger();
+    private final LongAdder opened = new LongAdder();
+    private final LongAdder discarded = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final Histogram acquireTime = new Histogram();
+    private Semaphore permits;
+    private ScheduledFuture<?> housekeeping;
+
+    private int maxConnections = 10;
+    private int initialConnections = 1;
+    private int minIdle;
+    private long acquireTimeout = 30000;
+    private long maxLifetime = 1800000;
+    private long validationTimeout = 5000;
+    private int statementTimeout;
+}
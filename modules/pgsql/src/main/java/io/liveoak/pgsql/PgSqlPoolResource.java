@@ -0,0 +1,61 @@
+/*
+ * Copyright 2014 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package io.liveoak.pgsql;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import io.liveoak.spi.RequestContext;
+import io.liveoak.spi.resource.MapResource;
+import io.liveoak.spi.resource.SynchronousResource;
+import io.liveoak.spi.resource.async.Resource;
+import io.liveoak.spi.resource.async.Responder;
+import io.liveoak.spi.state.ResourceState;
+
+/**
+ * Live statistics of the connection pool, read-only and kept apart from the configuration properties
+ * so they are never written back with them.
+ */
+public class PgSqlPoolResource implements SynchronousResource {
+
+    public static final String ID = "pool";
+
+    private final Resource parent;
+    private final PgSqlConnectionPool pool;
+
+    public PgSqlPoolResource(Resource parent, PgSqlConnectionPool pool) {
+        this.parent = parent;
+        this.pool = pool;
+    }
+
+    @Override
+    public Resource parent() {
+        return parent;
+    }
+
+    @Override
+    public String id() {
+        return ID;
+    }
+
+    @Override
+    public Map<String, ?> properties(RequestContext ctx) throws Exception {
+        Map<String, Object> result = new LinkedHashMap<>();
+        pool.stats().forEach((name, value) -> result.put(name, value instanceof Map ? toResource((Map<String, ?>) value) : value));
+        return result;
+    }
+
+    @Override
+    public void updateProperties(RequestContext ctx, ResourceState state, Responder responder) throws Exception {
+        responder.updateNotSupported(this);
+    }
+
+    private static MapResource toResource(Map<String, ?> map) {
+        MapResource resource = new MapResource();
+        map.forEach((name, value) -> resource.put(name, value instanceof Map ? toResource((Map<String, ?>) value) : value));
+        return resource;
+    }
+}
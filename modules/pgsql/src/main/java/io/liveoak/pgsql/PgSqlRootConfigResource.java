@@ -6,9 +6,9 @@
 package io.liveoak.pgsql;
 
 import java.sql.Connection;
-import java.sql.DatabaseMetaData;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -18,9 +18,7 @@ import java.util.Map;
 import java.util.Set;
 
 import io.liveoak.pgsql.meta.Catalog;
-import io.liveoak.pgsql.meta.Column;
-import io.liveoak.pgsql.meta.ForeignKey;
-import io.liveoak.pgsql.meta.PrimaryKey;
+import io.liveoak.pgsql.meta.CatalogLoader;
 import io.liveoak.pgsql.meta.QueryBuilder;
 import io.liveoak.pgsql.meta.Table;
 import io.liveoak.pgsql.meta.TableRef;
@@ -28,10 +26,11 @@ import io.liveoak.spi.exceptions.InitializationException;
 import io.liveoak.spi.RequestContext;
 import io.liveoak.spi.resource.SynchronousResource;
 import io.liveoak.spi.resource.async.DefaultRootResource;
+import io.liveoak.spi.resource.async.Resource;
 import io.liveoak.spi.resource.async.Responder;
 import io.liveoak.spi.state.ResourceState;
 import org.jboss.logging.Logger;
-import org.postgresql.ds.PGPoolingDataSource;
+import org.postgresql.ds.PGSimpleDataSource;
 
 /**
  * @author <a href="mailto:marko.strukelj@gmail.com">Marko Strukelj</a>
@@ -39,11 +38,12 @@ import org.postgresql.ds.PGPoolingDataSource;
 public class PgSqlRootConfigResource extends DefaultRootResource implements SynchronousResource {
 
     private static Logger log = Logger.getLogger(PgSqlRootConfigResource.class);
-    private PGPoolingDataSource ds;
-    private Catalog catalog;
+    private PGSimpleDataSource ds;
+    private PgSqlConnectionPool pool;
     private ConfigurationImpl configuration = new ConfigurationImpl();
-    private PgSqlCRUDController controller;
-    private QueryBuilder queryBuilder;
+
+    // replaced as a whole, so readers never see a partially loaded schema
+    private volatile Metadata metadata = Metadata.EMPTY;
 
     public PgSqlRootConfigResource(String id) {
         super(id);
@@ -51,11 +51,11 @@ public class PgSqlRootConfigResource extends DefaultRootResource implements Sync
 
     @Override
     public void stop() {
-        PGPoolingDataSource ds = this.ds;
-        this.ds = null;
+        PgSqlConnectionPool pool = this.pool;
+        this.pool = null;
 
-        if ( ds != null ) {
-            ds.close();
+        if ( pool != null ) {
+            pool.close();
         }
     }
 
@@ -64,11 +64,11 @@ public class PgSqlRootConfigResource extends DefaultRootResource implements Sync
     }
 
     public PgSqlCRUDController controller() {
-        return controller;
+        return metadata.controller;
     }
 
     public QueryBuilder queryBuilder() {
-        return queryBuilder;
+        return metadata.queryBuilder;
     }
 
     /**
@@ -79,27 +79,34 @@ public class PgSqlRootConfigResource extends DefaultRootResource implements Sync
      * @throws SQLException
      */
     public Connection connection() throws SQLException {
-        if (ds == null) {
+        PgSqlConnectionPool pool = this.pool;
+        if (pool == null) {
             throw new IllegalStateException("DataSource not available");
         }
-        return ds.getConnection();
+        return pool.getConnection();
     }
 
     public Catalog catalog() {
-        return catalog;
+        return metadata.catalog;
     }
 
     @Override
     public Map<String, ?> properties(RequestContext ctx) throws Exception {
         Map<String, Object> result = new HashMap<>();
-        PGPoolingDataSource ds = this.ds;
+        PGSimpleDataSource ds = this.ds;
+        PgSqlConnectionPool pool = this.pool;
         result.put("server", ds.getServerName() );
         result.put("port", ds.getPortNumber());
         result.put("db", ds.getDatabaseName());
         result.put("user", ds.getUser());
         result.put("password", ds.getPassword());
-        result.put("max-connections", ds.getMaxConnections());
-        result.put("initial-connections", ds.getInitialConnections());
+        result.put("max-connections", pool.getMaxConnections());
+        result.put("initial-connections", pool.getInitialConnections());
+        result.put("min-idle", pool.getMinIdle());
+        result.put("acquire-timeout", pool.getAcquireTimeout());
+        result.put("max-lifetime", pool.getMaxLifetime());
+        result.put("validation-timeout", pool.getValidationTimeout());
+        result.put("statement-timeout", pool.getStatementTimeout());
 
         List<String> schemas = configuration.exposedSchemas();
         if (schemas != null && schemas.size() > 0) {
@@ -118,6 +125,19 @@ public class PgSqlRootConfigResource extends DefaultRootResource implements Sync
         return result;
     }
 
+    /**
+     * The live statistics of the pool are a child resource rather than properties, so they don't end up
+     * in the persisted configuration. It is not listed among the members for the same reason.
+     */
+    @Override
+    public Resource member(RequestContext ctx, String id) throws Exception {
+        PgSqlConnectionPool pool = this.pool;
+        if (PgSqlPoolResource.ID.equals(id) && pool != null) {
+            return new PgSqlPoolResource(this, pool);
+        }
+        return null;
+    }
+
     @Override
     public void initializeProperties(RequestContext ctx, ResourceState state, Responder responder) throws Exception {
         updateProperties(ctx, state, responder);
@@ -154,6 +174,31 @@ public class PgSqlRootConfigResource extends DefaultRootResource implements Sync
             initialConnections = 1;
         }
 
+        Integer minIdle = state.getPropertyAsInteger("min-idle");
+        if (minIdle == null) {
+            minIdle = 0;
+        }
+
+        Long acquireTimeout = state.getPropertyAsLong("acquire-timeout");
+        if (acquireTimeout == null) {
+            acquireTimeout = 30000L;
+        }
+
+        Long maxLifetime = state.getPropertyAsLong("max-lifetime");
+        if (maxLifetime == null) {
+            maxLifetime = 1800000L;
+        }
+
+        Long validationTimeout = state.getPropertyAsLong("validation-timeout");
+        if (validationTimeout == null) {
+            validationTimeout = 5000L;
+        }
+
+        Integer statementTimeout = state.getPropertyAsInteger("statement-timeout");
+        if (statementTimeout == null) {
+            statementTimeout = 0;
+        }
+
         List<String> exposedSchemas = (List<String>) state.getPropertyAsList("schemas");
         if (exposedSchemas != null) {
             configuration.exposedSchemas(exposedSchemas);
@@ -176,29 +221,43 @@ public class PgSqlRootConfigResource extends DefaultRootResource implements Sync
             configuration.includeTotalCount(bval);
         }
 
-        PGPoolingDataSource old = this.ds;
+        PGSimpleDataSource oldDs = this.ds;
+        PgSqlConnectionPool old = this.pool;
         boolean recreate = old == null
-                || !dbName.equals(old.getDatabaseName())
-                || !server.equals(old.getServerName())
-                || !port.equals(old.getPortNumber())
-                || !user.equals(old.getUser())
-                || !pass.equals(old.getPassword())
+                || !dbName.equals(oldDs.getDatabaseName())
+                || !server.equals(oldDs.getServerName())
+                || !port.equals(oldDs.getPortNumber())
+                || !user.equals(oldDs.getUser())
+                || !pass.equals(oldDs.getPassword())
                 || !maxConnections.equals(old.getMaxConnections())
-                || !initialConnections.equals(old.getInitialConnections());
+                || !initialConnections.equals(old.getInitialConnections())
+                || !minIdle.equals(old.getMinIdle())
+                || !acquireTimeout.equals(old.getAcquireTimeout())
+                || !maxLifetime.equals(old.getMaxLifetime())
+                || !validationTimeout.equals(old.getValidationTimeout())
+                || !statementTimeout.equals(old.getStatementTimeout());
 
         if (recreate) {
             // reinit ds with new settings
-            PGPoolingDataSource nu = new PGPoolingDataSource();
-            nu.setServerName(server);
-            nu.setPortNumber(port);
-            nu.setDatabaseName(dbName);
-            nu.setUser(user);
-            nu.setPassword(pass);
+            PGSimpleDataSource ds = new PGSimpleDataSource();
+            ds.setServerName(server);
+            ds.setPortNumber(port);
+            ds.setDatabaseName(dbName);
+            ds.setUser(user);
+            ds.setPassword(pass);
+
+            PgSqlConnectionPool nu = new PgSqlConnectionPool(ds);
             nu.setMaxConnections(maxConnections);
             nu.setInitialConnections(initialConnections);
+            nu.setMinIdle(minIdle);
+            nu.setAcquireTimeout(acquireTimeout);
+            nu.setMaxLifetime(maxLifetime);
+            nu.setValidationTimeout(validationTimeout);
+            nu.setStatementTimeout(statementTimeout);
             nu.initialize();
 
-            this.ds = nu;
+            this.ds = ds;
+            this.pool = nu;
 
             if (old != null) {
                 try {
@@ -256,104 +315,72 @@ public class PgSqlRootConfigResource extends DefaultRootResource implements Sync
         return schema;
     }
 
-    public void reloadSchema() throws SQLException {
+    /**
+     * Reads the definitions of all the tables in the exposed schemas.
+     */
+    public synchronized void reloadSchema() throws SQLException {
         try (Connection c = connection()) {
             Set<String> schemas = calculateEffectiveSchemas(c, ds.getDatabaseName(), configuration.exposedSchemas(), configuration.blockedSchemas());
             if (configuration.defaultSchema() == null) {
                 configuration.defaultSchema(determineDefaultSchema(ds.getUser(), schemas));
             }
-            Map<TableRef, Table> tables = reverseEngineerTableInfo(c, ds.getDatabaseName(), schemas);
+            Map<TableRef, Table> tables = new CatalogLoader(c, ds.getDatabaseName()).loadSchemas(schemas);
 
-            this.catalog = new Catalog(schemas, configuration.defaultSchema(), tables);
-            this.controller = new PgSqlCRUDController(catalog, configuration);
-            this.queryBuilder = new QueryBuilder(catalog);
+            this.metadata = new Metadata(new Catalog(schemas, configuration.defaultSchema(), tables), configuration);
         }
     }
 
-    private static Map<TableRef, Table> reverseEngineerTableInfo(Connection c, String catalog, Set<String> schemas) throws SQLException {
-
-        HashMap<TableRef, Table> tables = new HashMap<>();
-
-        try (ResultSet rs = c.getMetaData().getTables(catalog, null, null, new String[] {"TABLE"})) {
-            while (rs.next()) {
-                String schema = rs.getString("table_schem");
-                String table = rs.getString("table_name");
-
-                // check for allowed schemas
-                if (!schemas.contains(schema)) {
-                    continue;
-                }
+    /**
+     * Adds the definitions of newly created tables to the catalog, without rereading the other tables.
+     */
+    public synchronized void tablesCreated(Collection<TableRef> created) throws SQLException {
+        Catalog catalog = catalog();
+        for (TableRef ref : created) {
+            if (catalog == null || !catalog.schemas().contains(ref.schema())) {
+                // a new schema may have been created, which changes the exposed schemas
+                reloadSchema();
+                return;
+            }
+        }
 
-                HashSet<String> uniques = new HashSet<>();
-                try (ResultSet idxrs = c.getMetaData().getIndexInfo(catalog, schema, table, false, true)) {
-                    while (idxrs.next()) {
-                        if (!idxrs.getBoolean("non_unique")) {
-                            uniques.add(idxrs.getString("column_name"));
-                        }
-                    }
-                }
+        try (Connection c = connection()) {
+            Map<TableRef, Table> tables = new CatalogLoader(c, ds.getDatabaseName()).loadTables(created);
+            this.metadata = new Metadata(new Catalog(catalog, tables.values(), Collections.emptyList()), configuration);
+        }
+    }
 
-                List<Column> cols = new LinkedList<>();
-                try (ResultSet colrs = c.getMetaData().getColumns(catalog, schema, table, null)) {
-                    while (colrs.next()) {
-                        String name = colrs.getString("column_name");
-                        String type = colrs.getString("type_name");
-                        int size = colrs.getInt("column_size");
-                        boolean isNullable = colrs.getBoolean("is_nullable");
-
-                        Column col = new Column(new TableRef(schema, table), name, type, size, !isNullable, uniques.contains(name));
-                        cols.add(col);
-                    }
-                }
+    /**
+     * Removes the definitions of dropped tables from the catalog.
+     */
+    public synchronized void tablesDropped(Collection<TableRef> dropped) throws SQLException {
+        Catalog catalog = catalog();
+        if (catalog == null) {
+            reloadSchema();
+            return;
+        }
+        this.metadata = new Metadata(new Catalog(catalog, Collections.emptyList(), dropped), configuration);
+    }
 
-                PrimaryKey pk = null;
-                List<Column> pkcols = new LinkedList<>();
-                try (ResultSet idxrs = c.getMetaData().getBestRowIdentifier(catalog, schema, table, DatabaseMetaData.bestRowUnknown, false)) {
-                    while (idxrs.next()) {
-                        String colName = idxrs.getString("column_name");
-                        for (Column col : cols) {
-                            if (col.name().equals(colName)) {
-                                pkcols.add(col);
-                                break;
-                            }
-                            throw new RuntimeException("Assertion failed - PK not a known table column: " + colName + " on " + table);
-                        }
-                    }
-                }
-                if (pkcols.size() > 0) {
-                    pk = new PrimaryKey(pkcols);
-                }
+    private static class Metadata {
+        static final Metadata EMPTY = new Metadata();
 
-                List<ForeignKey> fks = new LinkedList<>();
-
-                try (ResultSet fkrs = c.getMetaData().getCrossReference(null, null, null, catalog, schema, table)) {
-                    while (fkrs.next()) {
-                        String colName = fkrs.getString("fkcolumn_name");
-                        String refschema = fkrs.getString("pktable_schem");
-                        String reftable = fkrs.getString("pktable_name");
-                        List<Column> fkcols = new LinkedList<>();
-                        for (Column col : cols) {
-                            if (col.name().equals(colName)) {
-                                fkcols.add(col);
-                                break;
-                            }
-                        }
-                        if (fkcols.size() == 0) {
-                            throw new RuntimeException("Assertion failed - FK not a known table column: " + colName + " on " + table);
-                        }
-                        fks.add(new ForeignKey(fkcols, new TableRef(refschema, reftable)));
-                    }
-                }
+        final Catalog catalog;
+        final PgSqlCRUDController controller;
+        final QueryBuilder queryBuilder;
 
-                Table tableMeta = new Table(schema, table, cols, pk, fks);
-                tables.put(new TableRef(schema, table), tableMeta);
-            }
+        private Metadata() {
+            this.catalog = null;
+            this.controller = null;
+            this.queryBuilder = null;
         }
 
-        return tables;
+        Metadata(Catalog catalog, PgSqlConfiguration configuration) {
+            this.catalog = catalog;
+            this.controller = new PgSqlCRUDController(catalog, configuration);
+            this.queryBuilder = new QueryBuilder(catalog);
+        }
     }
 
-
     static public class ConfigurationImpl implements PgSqlConfiguration {
 
         private List<String> exposedSchemas;
@@ -8,6 +8,7 @@ package io.liveoak.pgsql;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -17,6 +18,7 @@ import java.util.stream.Collectors;
 import io.liveoak.pgsql.meta.Catalog;
 import io.liveoak.pgsql.meta.QueryBuilder;
 import io.liveoak.pgsql.meta.Table;
+import io.liveoak.pgsql.meta.TableRef;
 import io.liveoak.spi.LiveOak;
 import io.liveoak.spi.RequestContext;
 import io.liveoak.spi.ResourcePath;
@@ -75,6 +77,14 @@ public class PgSqlRootResource extends DefaultRootResource implements Synchronou
         configResource.reloadSchema();
     }
 
+    public void tablesCreated(Collection<TableRef> tables) throws SQLException {
+        configResource.tablesCreated(tables);
+    }
+
+    public void tablesDropped(Collection<TableRef> tables) throws SQLException {
+        configResource.tablesDropped(tables);
+    }
+
     @Override
     public Map<String, ?> properties(RequestContext ctx) throws Exception {
 
@@ -150,8 +160,8 @@ public class PgSqlRootResource extends DefaultRootResource implements Synchronou
             queryBuilder().executeCreateTable(c, table);
         }
 
-        // trigger schema reread
-        reloadSchema();
+        // read the new table definition
+        tablesCreated(Collections.singletonList(table.tableRef()));
 
         responder.resourceRead(new PgSqlTableSchemaResource(this, catalog().table(table.tableRef()).id()));
     }
@@ -95,10 +95,6 @@ public class PgSqlRowResource implements SynchronousResource {
 
         for (Map.Entry<String, Object> ent : row.asMap().entrySet()) {
             // encode FKs as ResourceRefs
-            // use container? to expand ResourceRefs - to optimize we need to expand many ResourceRefs in one call
-            // That requires a direct api - e.g. readMembers(List<String> ids)
-            // Or ids query param that is a generalized queryById
-            // or a specific query param or url syntax e.g. /test/orders/0001|0002|0003|0004
 
             // Naming convention - we use table name as a key for ResourceRef rather than a FK column name
             // since there may be multiple columns involved in construction of the reference
@@ -130,24 +126,32 @@ public class PgSqlRowResource implements SynchronousResource {
         // Here we have Row of select from addresses
         // we have to make a query select from orders where address_id = row.get(pk)
         HashMap<String, Object> stacked = new HashMap<>();
-        for (ForeignKey fk : table.referredKeys()) {
-            try (Connection con = parent.parent().connection()) {
+        Connection con = null;
+        try {
+            for (ForeignKey fk : table.referredKeys()) {
                 List<Column> cols = fk.columns();
                 Table tab = cat.table(cols.get(0).tableRef());
 
-                LinkedList<Object> vals = new LinkedList();
-                for (Column c : table.pk().columns()) {
-                    vals.add(row.value(c.name()));
-                }
-                if (cols.size() != vals.size()) {
-                    throw new IllegalStateException("Primary key column count on " + table.id() + " doesn't match foreign key column count on " + tab.id());
-                }
+                // rows listed as part of a page have their referring rows fetched for the whole page at once
+                List<PgSqlRowResource> ls = parent.referringRows(fk, row);
+                if (ls == null) {
+                    LinkedList<Object> vals = new LinkedList();
+                    for (Column c : table.pk().columns()) {
+                        vals.add(row.value(c.name()));
+                    }
+                    if (cols.size() != vals.size()) {
+                        throw new IllegalStateException("Primary key column count on " + table.id() + " doesn't match foreign key column count on " + tab.id());
+                    }
 
-                QueryResults results = queryBuilder.querySelectFromTableWhere(con, tab, cols, vals, null, Pagination.NONE);
-                LinkedList ls = new LinkedList();
-                for (Row r : results.rows()) {
-                    ls.add(new PgSqlRowResource(
-                            new PgSqlTableResource(parent.parent(), tab.id()), r));
+                    if (con == null) {
+                        con = parent.parent().connection();
+                    }
+                    QueryResults results = queryBuilder.querySelectFromTableWhere(con, tab, cols, vals, null, Pagination.NONE);
+                    PgSqlTableResource tabResource = new PgSqlTableResource(parent.parent(), tab.id(), results.rows());
+                    ls = new LinkedList<>();
+                    for (Row r : results.rows()) {
+                        ls.add(new PgSqlRowResource(tabResource, r));
+                    }
                 }
                 if (fk.sameColumnsAs(tab.pk())) {
                     // it's a one-to-one
@@ -156,6 +160,10 @@ public class PgSqlRowResource implements SynchronousResource {
                     stacked.put(tab.id(), ls);
                 }
             }
+        } finally {
+            if (con != null) {
+                con.close();
+            }
         }
 
         for (Map.Entry<String, ?> ent: new TreeMap<>(stacked).entrySet()) {
@@ -9,17 +9,25 @@ import java.io.IOException;
 import java.net.URI;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import io.liveoak.common.util.PagingLinksBuilder;
 import io.liveoak.pgsql.data.QueryResults;
+import io.liveoak.pgsql.data.Row;
 import io.liveoak.pgsql.meta.Catalog;
 import io.liveoak.pgsql.meta.Column;
+import io.liveoak.pgsql.meta.ForeignKey;
 import io.liveoak.pgsql.meta.QueryBuilder;
 
 import io.liveoak.pgsql.meta.Table;
@@ -38,17 +46,29 @@ import io.liveoak.spi.state.ResourceState;
 public class PgSqlTableResource implements SynchronousResource {
     private static final String SCHEMA_ENDPOINT = ";schema";
 
+    // max number of keys in a single IN (...) when expanding referring rows
+    private static final int EXPAND_BATCH_SIZE = 500;
+
     private PgSqlRootResource parent;
     private String id;
     private QueryResults results;
     private QueryBuilder queryBuilder;
 
+    // rows whose referring rows are expanded together, and the expanded rows once fetched
+    private Set<Row> page;
+    private Map<ForeignKey, Referring> referring;
+
     public PgSqlTableResource(PgSqlRootResource root, String table) {
         this.parent = root;
         this.id = table;
         this.queryBuilder = parent.queryBuilder();
     }
 
+    public PgSqlTableResource(PgSqlRootResource root, String table, List<Row> page) {
+        this(root, table);
+        page(page);
+    }
+
     @Override
     public PgSqlRootResource parent() {
         return parent;
@@ -98,6 +118,7 @@ public class PgSqlTableResource implements SynchronousResource {
 
     @Override
     public Collection<Resource> members(RequestContext ctx) throws Exception {
+        page(results.rows());
         return results.rows()
                 .stream()
                 .map(row -> new PgSqlRowResource(this, row))
@@ -153,8 +174,8 @@ public class PgSqlTableResource implements SynchronousResource {
         try (Connection c = parent.connection()) {
             queryBuilder.executeDeleteTable(c, t);
         }
-        // trigger schema reload
-        parent.reloadSchema();
+        // remove the table definition
+        parent.tablesDropped(Collections.singletonList(t.tableRef()));
 
         // TODO - does it make sense to return a body here at all? Container fails to set Content-Length if resourceDeleted(null)
         // only return id and uri in response - no members
@@ -162,6 +183,109 @@ public class PgSqlTableResource implements SynchronousResource {
         responder.resourceDeleted(this);
     }
 
+    /**
+     * Returns the rows of other tables referring to a row through a foreign key.
+     *
+     * <p>For a row of the current page the referring rows of all the rows in the page are fetched on first call,
+     * with one query per referring table over a single connection. The returned rows share a table resource
+     * whose page is the fetched rows, so expanding them further is batched as well.</p>
+     *
+     * @return The referring rows, or null if the row is not part of the page.
+     */
+    public List<PgSqlRowResource> referringRows(ForeignKey fk, Row row) throws SQLException {
+        if (page == null || !page.contains(row)) {
+            return null;
+        }
+        if (referring == null) {
+            referring = queryReferringRows();
+        }
+        Referring ref = referring.get(fk);
+        if (ref == null) {
+            return null;
+        }
+
+        List<Row> rows = ref.rows.get(keyValues(parent.catalog().tableById(id).pk().columns(), row));
+        if (rows == null) {
+            return Collections.emptyList();
+        }
+        return rows.stream()
+                .map(r -> new PgSqlRowResource(ref.table, r))
+                .collect(Collectors.toList());
+    }
+
+    private void page(List<Row> rows) {
+        page = Collections.newSetFromMap(new IdentityHashMap<>());
+        page.addAll(rows);
+        referring = null;
+    }
+
+    private Map<ForeignKey, Referring> queryReferringRows() throws SQLException {
+        Catalog cat = parent.catalog();
+        Table table = cat.tableById(id);
+        Map<ForeignKey, Referring> result = new HashMap<>();
+        if (table.referredKeys().isEmpty() || page.isEmpty()) {
+            return result;
+        }
+
+        List<Column> pkCols = table.pk().columns();
+        Set<List<Object>> keys = new LinkedHashSet<>();
+        for (Row row : page) {
+            List<Object> vals = new ArrayList<>(pkCols.size());
+            for (Column c : pkCols) {
+                vals.add(row.value(c.name()));
+            }
+            keys.add(vals);
+        }
+
+        try (Connection con = parent.connection()) {
+            for (ForeignKey fk : table.referredKeys()) {
+                List<Column> cols = fk.columns();
+                Table tab = cat.table(cols.get(0).tableRef());
+                if (cols.size() != pkCols.size()) {
+                    throw new IllegalStateException("Primary key column count on " + table.id() + " doesn't match foreign key column count on " + tab.id());
+                }
+
+                List<Row> fetched = new LinkedList<>();
+                List<List<Object>> batch = new ArrayList<>(Math.min(keys.size(), EXPAND_BATCH_SIZE));
+                for (List<Object> key : keys) {
+                    batch.add(key);
+                    if (batch.size() == EXPAND_BATCH_SIZE) {
+                        fetched.addAll(queryBuilder.querySelectFromTableWhereIn(con, tab, cols, batch).rows());
+                        batch.clear();
+                    }
+                }
+                if (!batch.isEmpty()) {
+                    fetched.addAll(queryBuilder.querySelectFromTableWhereIn(con, tab, cols, batch).rows());
+                }
+
+                Referring ref = new Referring(new PgSqlTableResource(parent, tab.id(), fetched));
+                for (Row r : fetched) {
+                    ref.rows.computeIfAbsent(keyValues(cols, r), k -> new LinkedList<>()).add(r);
+                }
+                result.put(fk, ref);
+            }
+        }
+        return result;
+    }
+
+    // key and foreign key values may come back as different java types, so compare them as strings
+    private static List<String> keyValues(List<Column> cols, Row row) {
+        List<String> vals = new ArrayList<>(cols.size());
+        for (Column c : cols) {
+            vals.add(String.valueOf(row.value(c.name())));
+        }
+        return vals;
+    }
+
+    private static class Referring {
+        final PgSqlTableResource table;
+        final Map<List<String>, List<Row>> rows = new HashMap<>();
+
+        Referring(PgSqlTableResource table) {
+            this.table = table;
+        }
+    }
+
     public QueryResults queryResults() {
         return results;
     }
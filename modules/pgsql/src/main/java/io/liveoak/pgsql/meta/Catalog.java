@@ -39,8 +39,22 @@ public class Catalog {
     }
 
     public Catalog(Catalog catalog, List<Table> tablesToAdd) {
+        this(catalog, tablesToAdd, Collections.emptyList());
+    }
+
+    /**
+     * Creates a modified copy of a catalog, leaving the original one untouched.
+     *
+     * @param catalog        The catalog to copy.
+     * @param tablesToAdd    Tables to add, replacing the existing definitions of the same tables.
+     * @param tablesToRemove Tables to leave out.
+     */
+    public Catalog(Catalog catalog, Collection<Table> tablesToAdd, Collection<TableRef> tablesToRemove) {
         Map<TableRef, Table> newTables = new HashMap<>();
         for (Map.Entry<TableRef, Table> e: catalog.tables.entrySet()) {
+            if (tablesToRemove.contains(e.getKey())) {
+                continue;
+            }
             Table t = e.getValue();
             newTables.put(e.getKey(), t.copy());
         }
@@ -0,0 +1,236 @@
+/*
+ * Copyright 2014 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package io.liveoak.pgsql.meta;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Reads table definitions with a few bulk queries instead of per table {@link java.sql.DatabaseMetaData} calls.
+ *
+ * <p>Tables, primary keys, unique columns and foreign keys come from <code>pg_catalog</code>, each with
+ * one query covering all the requested tables. Columns come from the driver's metadata queried per schema
+ * (or per table when loading specific tables), so their type names and sizes stay those reported by JDBC.</p>
+ */
+public class CatalogLoader {
+
+    private static final Logger log = Logger.getLogger(CatalogLoader.class);
+
+    private static final String SELECT_TABLES = "SELECT n.nspname, c.relname"
+            + " FROM pg_catalog.pg_class c JOIN pg_catalog.pg_namespace n ON n.oid = c.relnamespace"
+            + " WHERE c.relkind = 'r' AND n.nspname !~ '^pg_' AND n.nspname <> 'information_schema'";
+
+    private static final String SELECT_UNIQUE_COLUMNS = "SELECT n.nspname, c.relname, a.attname, i.indisprimary"
+            + " FROM (SELECT indrelid, indisprimary, information_schema._pg_expandarray(indkey) AS keys"
+            + "       FROM pg_catalog.pg_index WHERE indisunique) i"
+            + " JOIN pg_catalog.pg_class c ON c.oid = i.indrelid"
+            + " JOIN pg_catalog.pg_namespace n ON n.oid = c.relnamespace"
+            + " JOIN pg_catalog.pg_attribute a ON a.attrelid = i.indrelid AND a.attnum = (i.keys).x"
+            + " WHERE c.relkind = 'r'";
+
+    private static final String SELECT_FOREIGN_KEYS = "SELECT n.nspname, c.relname, k.conname, a.attname, rn.nspname, rc.relname"
+            + " FROM (SELECT conname, conrelid, confrelid, information_schema._pg_expandarray(conkey) AS keys"
+            + "       FROM pg_catalog.pg_constraint WHERE contype = 'f') k"
+            + " JOIN pg_catalog.pg_class c ON c.oid = k.conrelid"
+            + " JOIN pg_catalog.pg_namespace n ON n.oid = c.relnamespace"
+            + " JOIN pg_catalog.pg_class rc ON rc.oid = k.confrelid"
+            + " JOIN pg_catalog.pg_namespace rn ON rn.oid = rc.relnamespace"
+            + " JOIN pg_catalog.pg_attribute a ON a.attrelid = k.conrelid AND a.attnum = (k.keys).x"
+            + " WHERE c.relkind = 'r'";
+
+    private final Connection con;
+    private final String catalog;
+
+    public CatalogLoader(Connection con, String catalog) {
+        this.con = con;
+        this.catalog = catalog;
+    }
+
+    /**
+     * @return Definitions of all the tables in the given schemas.
+     */
+    public Map<TableRef, Table> loadSchemas(Set<String> schemas) throws SQLException {
+        return load(schemas, null);
+    }
+
+    /**
+     * @return Definitions of the given tables, tables which do not exist are left out.
+     */
+    public Map<TableRef, Table> loadTables(Collection<TableRef> tables) throws SQLException {
+        return load(null, tables);
+    }
+
+    private Map<TableRef, Table> load(Set<String> schemas, Collection<TableRef> only) throws SQLException {
+        long start = System.currentTimeMillis();
+        Map<TableRef, Table> tables = new HashMap<>();
+        if ((schemas != null && schemas.isEmpty()) || (only != null && only.isEmpty())) {
+            return tables;
+        }
+
+        // table names
+        Set<TableRef> refs = new HashSet<>();
+        query(SELECT_TABLES, null, schemas, only, rs -> refs.add(new TableRef(rs.getString(1), rs.getString(2))));
+
+        // columns - in bulk per schema, unless specific tables were requested
+        Map<TableRef, List<Column>> columns = new HashMap<>();
+        Map<TableRef, Set<String>> uniques = uniqueColumns(schemas, only, false);
+        if (only == null) {
+            for (String schema : schemas) {
+                readColumns(schema, null, refs, uniques, columns);
+            }
+        } else {
+            for (TableRef ref : refs) {
+                readColumns(ref.schema(), ref.name(), refs, uniques, columns);
+            }
+        }
+
+        // primary keys
+        Map<TableRef, Set<String>> pks = uniqueColumns(schemas, only, true);
+
+        // foreign keys
+        Map<TableRef, Map<String, FkSpec>> fks = new HashMap<>();
+        query(SELECT_FOREIGN_KEYS, "n.nspname, c.relname, k.conname, (k.keys).n", schemas, only, rs -> {
+            TableRef ref = new TableRef(rs.getString(1), rs.getString(2));
+            FkSpec spec = fks.computeIfAbsent(ref, r -> new LinkedHashMap<>())
+                    .computeIfAbsent(rs.getString(3), name -> new FkSpec());
+            spec.columns.add(rs.getString(4));
+            spec.refTable = new TableRef(rs.getString(5), rs.getString(6));
+        });
+
+        for (TableRef ref : refs) {
+            List<Column> cols = columns.getOrDefault(ref, new LinkedList<>());
+
+            PrimaryKey pk = null;
+            Set<String> pkNames = pks.get(ref);
+            if (pkNames != null) {
+                List<Column> pkcols = new LinkedList<>();
+                for (String name : pkNames) {
+                    pkcols.add(column(cols, name, ref));
+                }
+                pk = new PrimaryKey(pkcols);
+            }
+
+            List<ForeignKey> fkList = new LinkedList<>();
+            Map<String, FkSpec> specs = fks.get(ref);
+            if (specs != null) {
+                for (FkSpec spec : specs.values()) {
+                    List<Column> fkcols = new LinkedList<>();
+                    for (String name : spec.columns) {
+                        fkcols.add(column(cols, name, ref));
+                    }
+                    fkList.add(new ForeignKey(fkcols, spec.refTable));
+                }
+            }
+
+            tables.put(ref, new Table(ref.schema(), ref.name(), cols, pk, fkList));
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug("Loaded " + tables.size() + " table definitions in " + (System.currentTimeMillis() - start) + " ms");
+        }
+        return tables;
+    }
+
+    private void readColumns(String schema, String table, Set<TableRef> refs, Map<TableRef, Set<String>> uniques, Map<TableRef, List<Column>> columns) throws SQLException {
+        try (ResultSet rs = con.getMetaData().getColumns(catalog, schema, table, null)) {
+            while (rs.next()) {
+                TableRef ref = new TableRef(rs.getString("table_schem"), rs.getString("table_name"));
+                if (!refs.contains(ref)) {
+                    continue;
+                }
+                String name = rs.getString("column_name");
+                String type = rs.getString("type_name");
+                int size = rs.getInt("column_size");
+                boolean isNullable = rs.getBoolean("is_nullable");
+                Set<String> unique = uniques.get(ref);
+
+                columns.computeIfAbsent(ref, r -> new LinkedList<>())
+                        .add(new Column(ref, name, type, size, !isNullable, unique != null && unique.contains(name)));
+            }
+        }
+    }
+
+    private Map<TableRef, Set<String>> uniqueColumns(Set<String> schemas, Collection<TableRef> only, boolean primaryOnly) throws SQLException {
+        Map<TableRef, Set<String>> result = new HashMap<>();
+        String sql = primaryOnly ? SELECT_UNIQUE_COLUMNS + " AND i.indisprimary" : SELECT_UNIQUE_COLUMNS;
+        query(sql, "n.nspname, c.relname, (i.keys).n", schemas, only, rs -> {
+            result.computeIfAbsent(new TableRef(rs.getString(1), rs.getString(2)), r -> new LinkedHashSet<>())
+                    .add(rs.getString(3));
+        });
+        return result;
+    }
+
+    private void query(String select, String orderBy, Set<String> schemas, Collection<TableRef> only, RowHandler handler) throws SQLException {
+        StringBuilder sb = new StringBuilder(select);
+        List<String> params = new ArrayList<>();
+        if (schemas != null) {
+            sb.append(" AND n.nspname IN (");
+            int i = 0;
+            for (String schema : schemas) {
+                sb.append(i++ > 0 ? ",?" : "?");
+                params.add(schema);
+            }
+            sb.append(")");
+        }
+        if (only != null) {
+            sb.append(" AND (n.nspname, c.relname) IN (");
+            int i = 0;
+            for (TableRef ref : only) {
+                sb.append(i++ > 0 ? ",(?,?)" : "(?,?)");
+                params.add(ref.schema());
+                params.add(ref.name());
+            }
+            sb.append(")");
+        }
+        if (orderBy != null) {
+            sb.append(" ORDER BY ").append(orderBy);
+        }
+
+        try (PreparedStatement ps = con.prepareStatement(sb.toString())) {
+            int i = 1;
+            for (String param : params) {
+                ps.setString(i++, param);
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    handler.row(rs);
+                }
+            }
+        }
+    }
+
+    private static Column column(List<Column> cols, String name, TableRef table) {
+        for (Column col : cols) {
+            if (col.name().equals(name)) {
+                return col;
+            }
+        }
+        throw new RuntimeException("Assertion failed - key column not a known table column: " + name + " on " + table.schemaName());
+    }
+
+    private interface RowHandler {
+        void row(ResultSet rs) throws SQLException;
+    }
+
+    private static class FkSpec {
+        final List<String> columns = new LinkedList<>();
+        TableRef refTable;
+    }
+}
@@ -13,6 +13,7 @@ import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
@@ -213,6 +214,74 @@ public class QueryBuilder {
         return ps;
     }
 
+    /**
+     * Prepares <code>SELECT * FROM table WHERE (col1, col2) IN ((?, ?), (?, ?), ...)</code> to fetch the rows
+     * matching any of the given value tuples with a single statement.
+     */
+    public PreparedStatement prepareSelectFromTableWhereIn(Connection con, Table table, List<Column> whereColumns, Collection<? extends List<?>> whereValues) throws SQLException {
+        if (whereValues == null || whereValues.size() == 0) {
+            throw new IllegalArgumentException("values is null or empty");
+        }
+
+        boolean composite = whereColumns.size() > 1;
+
+        StringBuilder sb = new StringBuilder(selectAllFromTable(table));
+        sb.append(" WHERE ");
+        if (composite) {
+            sb.append("(");
+        }
+        int i = 0;
+        for (Column col: whereColumns) {
+            if (i > 0) {
+                sb.append(",");
+            }
+            sb.append(col.quotedName());
+            i++;
+        }
+        if (composite) {
+            sb.append(")");
+        }
+
+        sb.append(" IN (");
+        i = 0;
+        for (List<?> vals: whereValues) {
+            if (vals.size() != whereColumns.size()) {
+                throw new IllegalStateException("Values size doesn't match columns size: (columns: " + whereColumns + ", values: " + vals + ")");
+            }
+            if (i > 0) {
+                sb.append(",");
+            }
+            if (composite) {
+                sb.append("(");
+            }
+            for (int j = 0; j < vals.size(); j++) {
+                if (j > 0) {
+                    sb.append(",");
+                }
+                sb.append("?");
+            }
+            if (composite) {
+                sb.append(")");
+            }
+            i++;
+        }
+        sb.append(")");
+
+        PreparedStatement ps = con.prepareStatement(sb.toString());
+
+        i = 1;
+        for (List<?> vals: whereValues) {
+            int j = 0;
+            for (Object val: vals) {
+                whereColumns.get(j).bindValue(ps, i, val);
+                i++;
+                j++;
+            }
+        }
+
+        return ps;
+    }
+
     public PreparedStatement prepareInsert(Connection con, Table table, ResourceState state) throws SQLException {
         StringBuilder sb = new StringBuilder();
         sb.append("INSERT INTO " + table.quotedSchemaName() + " (");
@@ -465,6 +534,10 @@ public class QueryBuilder {
         return query(prepareSelectFromTableWhere(con, table, resultColumns, whereColumns, whereValues, sorting, pagination), pagination);
     }
 
+    public QueryResults querySelectFromTableWhereIn(Connection con, Table table, List<Column> whereColumns, Collection<? extends List<?>> whereValues) throws SQLException {
+        return query(prepareSelectFromTableWhereIn(con, table, whereColumns, whereValues), (Pagination) null);
+    }
+
     public QueryResults query(PreparedStatement ps, Pagination pagination) throws SQLException {
         try (PreparedStatement s = ps) {
             if (log.isTraceEnabled()) {
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2014 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package io.liveoak.pgsql;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import io.liveoak.pgsql.meta.Catalog;
+import io.liveoak.pgsql.meta.Column;
+import io.liveoak.pgsql.meta.ForeignKey;
+import io.liveoak.pgsql.meta.PrimaryKey;
+import io.liveoak.pgsql.meta.Table;
+import io.liveoak.pgsql.meta.TableRef;
+import org.junit.Test;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+public class CatalogTest {
+
+    @Test
+    public void testIncrementalUpdates() {
+        Table addresses = table("public", "addresses", "address_id", null);
+        Map<TableRef, Table> tables = new HashMap<>();
+        tables.put(addresses.tableRef(), addresses);
+
+        Catalog catalog = new Catalog(new HashSet<>(Arrays.asList("public", "other")), "public", tables);
+        assertThat(catalog.tableIds()).containsExactly("addresses");
+        assertThat(catalog.tableById("addresses").referredKeys()).isEmpty();
+
+        // add a table referring to an existing one
+        Table orders = table("public", "orders", "order_id", new TableRef("public", "addresses"));
+        Catalog withOrders = new Catalog(catalog, Collections.singletonList(orders), Collections.emptyList());
+
+        assertThat(withOrders.tableIds()).containsExactly("addresses", "orders");
+        assertThat(withOrders.tableById("addresses").referredKeys()).hasSize(1);
+        assertThat(withOrders.tableById("orders").foreignKeys().get(0).fieldName()).isEqualTo("address");
+
+        // the original catalog is left untouched
+        assertThat(catalog.tableIds()).containsExactly("addresses");
+        assertThat(catalog.tableById("addresses").referredKeys()).isEmpty();
+
+        // a table with the same name in another schema switches both to schema qualified ids
+        Table otherOrders = table("other", "orders", "order_id", null);
+        Catalog withOtherOrders = new Catalog(withOrders, Collections.singletonList(otherOrders), Collections.emptyList());
+        assertThat(withOtherOrders.tableIds()).containsExactly("addresses", "other.orders", "public.orders");
+
+        // removing tables drops the keys referring to the table as well
+        Catalog withoutOrders = new Catalog(withOtherOrders, Collections.emptyList(),
+                Arrays.asList(new TableRef("public", "orders"), new TableRef("other", "orders")));
+        assertThat(withoutOrders.tableIds()).containsExactly("addresses");
+        assertThat(withoutOrders.tableById("addresses").referredKeys()).isEmpty();
+        assertThat(withOtherOrders.tableIds()).hasSize(3);
+    }
+
+    private static Table table(String schema, String name, String pkName, TableRef refersTo) {
+        TableRef ref = new TableRef(schema, name);
+        Column pk = new Column(ref, pkName, "varchar", 40, true, true);
+        List<Column> columns = new LinkedList<>();
+        columns.add(pk);
+
+        List<ForeignKey> fks = new LinkedList<>();
+        if (refersTo != null) {
+            Column fk = new Column(ref, "address_id", "varchar", 40, true, false);
+            columns.add(fk);
+            fks.add(new ForeignKey(Collections.singletonList(fk), refersTo));
+        }
+        return new Table(schema, name, columns, new PrimaryKey(Collections.singletonList(pk)), fks);
+    }
+}
@@ -0,0 +1,254 @@
+/*
+ * Copyright 2014 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package io.liveoak.pgsql;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+
+import org.junit.Test;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.fest.assertions.Fail.fail;
+
+public class PgSqlConnectionPoolTest {
+
+    private final AtomicInteger open = new AtomicInteger();
+    private final AtomicInteger maxOpen = new AtomicInteger();
+    private final List<String> statements = new ArrayList<>();
+
+    @Test
+    public void testAcquireAndRelease() throws Exception {
+        PgSqlConnectionPool pool = new PgSqlConnectionPool(dataSource());
+        pool.setMaxConnections(2);
+        pool.setAcquireTimeout(50);
+        pool.setStatementTimeout(1000);
+        pool.initialize();
+
+        assertThat(pool.stats().get("idle")).isEqualTo(1);
+        assertThat(statements).containsExactly("SET statement_timeout = 1000");
+
+        Connection c1 = pool.getConnection();
+        Connection c2 = pool.getConnection();
+        assertThat(pool.stats().get("active")).isEqualTo(2);
+        assertThat(pool.stats().get("idle")).isEqualTo(0);
+
+        try {
+            pool.getConnection();
+            fail("Expected a timeout");
+        } catch (SQLTransientConnectionException e) {
+            // expected
+        }
+        assertThat(pool.stats().get("timeouts")).isEqualTo(1L);
+
+        c1.close();
+        assertThat(c1.isClosed()).isTrue();
+        try {
+            c1.createStatement();
+            fail("Expected the connection to be closed");
+        } catch (SQLException e) {
+            // expected
+        }
+        assertThat(pool.stats().get("active")).isEqualTo(1);
+        assertThat(pool.stats().get("idle")).isEqualTo(1);
+
+        // the returned connection is reused
+        Connection c3 = pool.getConnection();
+        assertThat(pool.stats().get("opened")).isEqualTo(2L);
+        c2.close();
+        c3.close();
+
+        Map<String, ?> acquireTime = (Map<String, ?>) pool.stats().get("acquire-time");
+        assertThat(acquireTime.get("count")).isEqualTo(3L);
+
+        pool.close();
+        assertThat(open.get()).isEqualTo(0);
+    }
+
+    @Test
+    public void testMaxLifetime() throws Exception {
+        PgSqlConnectionPool pool = new PgSqlConnectionPool(dataSource());
+        pool.setMaxLifetime(1);
+        pool.setInitialConnections(0);
+        pool.initialize();
+
+        Connection c = pool.getConnection();
+        Thread.sleep(10);
+        c.close();
+
+        // expired connections are closed rather than returned
+        assertThat(pool.stats().get("idle")).isEqualTo(0);
+        assertThat(pool.stats().get("closed")).isEqualTo(1L);
+        assertThat(open.get()).isEqualTo(0);
+        pool.close();
+    }
+
+    @Test
+    public void testContention() throws Exception {
+        PgSqlConnectionPool pool = new PgSqlConnectionPool(dataSource());
+        pool.setMaxConnections(4);
+        pool.initialize();
+
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < 200; j++) {
+                        try (Connection c = pool.getConnection()) {
+                            c.getAutoCommit();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        Map<String, Object> stats = pool.stats();
+        assertThat(stats.get("active")).isEqualTo(0);
+        assertThat(stats.get("waiting")).isEqualTo(0);
+        assertThat(((Map<String, ?>) stats.get("acquire-time")).get("count")).isEqualTo(3200L);
+        assertThat(maxOpen.get()).isLessThanOrEqualTo(4);
+        pool.close();
+    }
+
+    @Test
+    public void testMinIdle() throws Exception {
+        PgSqlConnectionPool pool = new PgSqlConnectionPool(dataSource());
+        pool.setMaxConnections(10);
+        pool.setMinIdle(5);
+        pool.initialize();
+        assertThat(pool.stats().get("idle")).isEqualTo(5);
+
+        List<Connection> leased = new ArrayList<>();
+        for (int i = 0; i < 9; i++) {
+            leased.add(pool.getConnection());
+        }
+        assertThat(pool.stats().get("open")).isEqualTo(9);
+
+        // only tops up to the maximum, the connections in use count too
+        pool.housekeeping();
+        assertThat(pool.stats().get("idle")).isEqualTo(1);
+        assertThat(pool.stats().get("open")).isEqualTo(10);
+        pool.housekeeping();
+        assertThat(pool.stats().get("open")).isEqualTo(10);
+
+        leased.add(pool.getConnection());
+        assertThat(pool.stats().get("opened")).isEqualTo(10L);
+        assertThat(maxOpen.get()).isLessThanOrEqualTo(10);
+
+        for (Connection c : leased) {
+            c.close();
+        }
+        assertThat(pool.stats().get("idle")).isEqualTo(10);
+        pool.close();
+        assertThat(pool.stats().get("open")).isEqualTo(0);
+        assertThat(open.get()).isEqualTo(0);
+    }
+
+    @Test
+    public void testMinIdleUnderContention() throws Exception {
+        PgSqlConnectionPool pool = new PgSqlConnectionPool(dataSource());
+        pool.setMaxConnections(4);
+        pool.setMinIdle(3);
+        pool.initialize();
+
+        ExecutorService executor = Executors.newFixedThreadPool(9);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < 200; j++) {
+                        try (Connection c = pool.getConnection()) {
+                            c.getAutoCommit();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            Future<?> housekeeping = executor.submit(() -> {
+                while (!futures.stream().allMatch(Future::isDone)) {
+                    pool.housekeeping();
+                }
+            });
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            housekeeping.get();
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(maxOpen.get()).isLessThanOrEqualTo(4);
+        assertThat((Integer) pool.stats().get("open")).isLessThanOrEqualTo(4);
+        pool.close();
+        assertThat(open.get()).isEqualTo(0);
+    }
+
+    private DataSource dataSource() {
+        return (DataSource) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{DataSource.class}, (proxy, method, args) -> {
+            if (method.getName().equals("getConnection")) {
+                maxOpen.accumulateAndGet(open.incrementAndGet(), Math::max);
+                return connection();
+            }
+            throw new UnsupportedOperationException(method.getName());
+        });
+    }
+
+    private Connection connection() {
+        boolean[] closed = new boolean[1];
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{Connection.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed[0]) {
+                        closed[0] = true;
+                        open.decrementAndGet();
+                    }
+                    return null;
+                case "isClosed":
+                    return closed[0];
+                case "isValid":
+                case "getAutoCommit":
+                    return true;
+                case "clearWarnings":
+                    return null;
+                case "createStatement":
+                    return statement();
+            }
+            throw new UnsupportedOperationException(method.getName());
+        });
+    }
+
+    private Statement statement() {
+        return (Statement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{Statement.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "execute":
+                    synchronized (statements) {
+                        statements.add((String) args[0]);
+                    }
+                    return false;
+                case "close":
+                    return null;
+            }
+            throw new UnsupportedOperationException(method.getName());
+        });
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2014 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package io.liveoak.pgsql;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import io.liveoak.common.DefaultPagination;
+import io.liveoak.common.DefaultRequestAttributes;
+import io.liveoak.common.DefaultReturnFields;
+import io.liveoak.spi.RequestContext;
+import io.liveoak.spi.state.ResourceState;
+import org.junit.Test;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+/**
+ * Expands the referring rows of a page larger than one IN (...) batch, over a composite key.
+ *
+ * See superclass JavaDoc for how to set up PostgreSQL for this test.
+ */
+public class PgSqlExpandReferringRowsTest extends BasePgSqlTest {
+
+    private static final int SHELVES = 1100;
+
+    @Test
+    public void testExpandReferringRows() throws Exception {
+        if (skipTests()) {
+            return;
+        }
+        String endpoint = "/testApp/" + BASEPATH;
+
+        client.create(ctx("*"), endpoint, resource("shelves", endpoint, new Object[]{
+                "columns", list(
+                        obj("name", "aisle",
+                                "type", "int4"),
+                        obj("name", "position",
+                                "type", "int4"),
+                        obj("name", "label",
+                                "type", "varchar",
+                                "size", 40,
+                                "nullable", false)
+                ),
+                "primary-key", list("aisle", "position")
+        }));
+
+        client.create(ctx("*"), endpoint, resource("boxes", endpoint, new Object[]{
+                "columns", list(
+                        obj("name", "box_id",
+                                "type", "varchar",
+                                "size", 40),
+                        obj("name", "shelf_aisle",
+                                "type", "int4",
+                                "nullable", false),
+                        obj("name", "shelf_position",
+                                "type", "int4",
+                                "nullable", false)
+                ),
+                "primary-key", list("box_id"),
+                "foreign-keys", list(
+                        obj("table", "shelves",
+                                "columns", list("shelf_aisle", "shelf_position"))
+                )
+        }));
+
+        // every third shelf is empty, every third has two boxes
+        try (Connection c = datasource.getConnection()) {
+            try (PreparedStatement ps = c.prepareStatement("insert into " + schema + ".shelves VALUES (?,?,?)")) {
+                for (int i = 0; i < SHELVES; i++) {
+                    ps.setInt(1, i / 100);
+                    ps.setInt(2, i % 100);
+                    ps.setString(3, "shelf " + i);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+            try (PreparedStatement ps = c.prepareStatement("insert into " + schema + ".boxes VALUES (?,?,?)")) {
+                for (int i = 0; i < SHELVES; i++) {
+                    for (String box : boxes(i)) {
+                        ps.setString(1, box);
+                        ps.setInt(2, i / 100);
+                        ps.setInt(3, i % 100);
+                        ps.addBatch();
+                    }
+                }
+                ps.executeBatch();
+            }
+        }
+
+        RequestContext ctx = new RequestContext.Builder()
+                .requestAttributes(new DefaultRequestAttributes())
+                .returnFields(new DefaultReturnFields("*(*)"))
+                .pagination(new DefaultPagination(0, SHELVES))
+                .build();
+        ResourceState result = client.read(ctx, endpoint + "/shelves");
+
+        assertThat(result.members()).hasSize(SHELVES);
+        for (ResourceState shelf : result.members()) {
+            int i = (Integer) shelf.getProperty("aisle") * 100 + (Integer) shelf.getProperty("position");
+            assertThat(shelf.getProperty("label")).isEqualTo("shelf " + i);
+
+            List<String> ids = new ArrayList<>();
+            List boxes = (List) shelf.getProperty("boxes");
+            if (boxes != null) {
+                for (Object box : boxes) {
+                    ids.add(((ResourceState) box).id());
+                }
+            }
+            Collections.sort(ids);
+            assertThat(ids).isEqualTo(boxes(i));
+        }
+    }
+
+    private static List<String> boxes(int shelf) {
+        List<String> boxes = new ArrayList<>();
+        if (shelf % 3 != 0) {
+            boxes.add("box-" + shelf);
+        }
+        if (shelf % 3 == 1) {
+            boxes.add("box-" + shelf + "-2");
+        }
+        return boxes;
+    }
+}
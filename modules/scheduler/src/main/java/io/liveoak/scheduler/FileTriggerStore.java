@@ -0,0 +1,72 @@
+package io.liveoak.scheduler;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.liveoak.spi.util.ObjectMapperFactory;
+
+/**
+ * Stores trigger definitions in a JSON file, <code>{ "&lt;id&gt;": { "cron": "&lt;expression&gt;" } }</code>.
+ */
+public class FileTriggerStore implements TriggerStore {
+
+    public FileTriggerStore(File file) {
+        this.file = file;
+    }
+
+    @Override
+    public synchronized Map<String, String> load() throws Exception {
+        Map<String, String> triggers = new LinkedHashMap<>();
+        ObjectNode tree = read();
+        Iterator<Map.Entry<String, JsonNode>> fields = tree.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            JsonNode cron = field.getValue().get("cron");
+            if (cron != null) {
+                triggers.put(field.getKey(), cron.asText());
+            }
+        }
+        return triggers;
+    }
+
+    @Override
+    public synchronized void save(String id, String cron) throws Exception {
+        ObjectNode tree = read();
+        tree.putObject(id).put("cron", cron);
+        write(tree);
+    }
+
+    @Override
+    public synchronized void remove(String id) throws Exception {
+        ObjectNode tree = read();
+        if (tree.remove(id) != null) {
+            write(tree);
+        }
+    }
+
+    private ObjectNode read() throws Exception {
+        if (!this.file.exists()) {
+            return JsonNodeFactory.instance.objectNode();
+        }
+        return (ObjectNode) MAPPER.readTree(this.file);
+    }
+
+    private void write(ObjectNode tree) throws Exception {
+        this.file.getParentFile().mkdirs();
+        File temp = new File(this.file.getParentFile(), this.file.getName() + ".tmp");
+        MAPPER.writeValue(temp, tree);
+        Files.move(temp.toPath(), this.file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private final File file;
+
+    private static final ObjectMapper MAPPER = ObjectMapperFactory.create();
+}
@@ -0,0 +1,90 @@
+package io.liveoak.scheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fixed capacity ring buffer holding the most recent firings of a trigger.
+ */
+public class FireHistory {
+
+    public FireHistory(int capacity) {
+        this.fires = new FireResource[Math.max(1, capacity)];
+    }
+
+    public synchronized void add(FireResource fire) {
+        this.fires[this.next] = fire;
+        this.next = (this.next + 1) % this.fires.length;
+        if (this.size < this.fires.length) {
+            ++this.size;
+        }
+        ++this.total;
+    }
+
+    /**
+     * Changes the number of firings retained, keeping the most recent ones.
+     */
+    public synchronized void capacity(int capacity) {
+        capacity = Math.max(1, capacity);
+        if (capacity == this.fires.length) {
+            return;
+        }
+        List<FireResource> retained = page(Math.max(0, this.size - capacity), capacity);
+        this.fires = new FireResource[capacity];
+        this.size = 0;
+        this.next = 0;
+        long total = this.total;
+        retained.forEach(this::add);
+        this.total = total;
+    }
+
+    public synchronized int capacity() {
+        return this.fires.length;
+    }
+
+    /**
+     * @return The number of firings currently retained.
+     */
+    public synchronized int size() {
+        return this.size;
+    }
+
+    /**
+     * @return The number of firings since the trigger was created, including those no longer retained.
+     */
+    public synchronized long total() {
+        return this.total;
+    }
+
+    /**
+     * Returns retained firings, oldest first.
+     *
+     * @param offset Index of the first firing to return, 0 being the oldest retained firing.
+     * @param limit  Maximum number of firings to return, less than zero for no limit.
+     */
+    public synchronized List<FireResource> page(int offset, int limit) {
+        int start = Math.max(0, offset);
+        int end = limit < 0 ? this.size : Math.min(this.size, start + limit);
+        List<FireResource> result = new ArrayList<>(Math.max(0, end - start));
+        int oldest = (this.next - this.size + this.fires.length) % this.fires.length;
+        for (int i = start; i < end; ++i) {
+            result.add(this.fires[(oldest + i) % this.fires.length]);
+        }
+        return result;
+    }
+
+    public synchronized FireResource get(String id) {
+        for (int i = 0; i < this.size; ++i) {
+            FireResource fire = this.fires[i];
+            if (fire != null && fire.id().equals(id)) {
+                return fire;
+            }
+        }
+        return null;
+    }
+
+    private FireResource[] fires;
+    private int next;
+    private int size;
+    private long total;
+}
@@ -13,10 +13,14 @@ import org.quartz.JobExecutionContext;
 public class FireResource implements Resource {
 
     public FireResource(TriggerResource parent, JobExecutionContext context) {
+        this(parent, context.getFireInstanceId(), context.getFireTime(), context.getScheduledFireTime());
+    }
+
+    FireResource(TriggerResource parent, String id, Date fireTime, Date scheduledFireTime) {
         this.parent = parent;
-        this.id = context.getFireInstanceId();
-        this.fireTime = context.getFireTime();
-        this.scheduledFireTime = context.getScheduledFireTime();
+        this.id = id;
+        this.fireTime = fireTime;
+        this.scheduledFireTime = scheduledFireTime;
     }
 
     @Override
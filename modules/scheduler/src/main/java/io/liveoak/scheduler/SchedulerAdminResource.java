@@ -1,8 +1,15 @@
 package io.liveoak.scheduler;
 
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+
+import io.liveoak.spi.RequestContext;
 import io.liveoak.spi.resource.RootResource;
 import io.liveoak.spi.resource.SynchronousResource;
 import io.liveoak.spi.resource.async.Resource;
+import io.liveoak.spi.resource.async.Responder;
+import io.liveoak.spi.state.ResourceState;
 import org.quartz.Scheduler;
 
 /**
@@ -11,8 +18,14 @@ import org.quartz.Scheduler;
 public class SchedulerAdminResource implements RootResource, SynchronousResource {
 
     public SchedulerAdminResource(String id, Scheduler scheduler) {
+        this(id, scheduler, new SchedulerConfig(), null);
+    }
+
+    public SchedulerAdminResource(String id, Scheduler scheduler, SchedulerConfig config, File triggerStoreFile) {
         this.id = id;
         this.scheduler = scheduler;
+        this.config = config;
+        this.triggerStoreFile = triggerStoreFile;
     }
 
     @Override
@@ -30,8 +43,59 @@ public class SchedulerAdminResource implements RootResource, SynchronousResource
         return this.id;
     }
 
+    @Override
+    public Map<String, ?> properties(RequestContext ctx) throws Exception {
+        Map<String, Object> result = new HashMap<>();
+        result.put(SchedulerConfig.THREAD_COUNT, this.config.threadCount());
+        result.put(SchedulerConfig.MAX_FIRES, this.config.maxFires());
+        result.put(SchedulerConfig.PERSIST_TRIGGERS, this.config.triggerStore() != null);
+        return result;
+    }
+
+    @Override
+    public void properties(RequestContext ctx, ResourceState props) throws Exception {
+        Object threadCount = props.getProperty(SchedulerConfig.THREAD_COUNT);
+        if (threadCount != null) {
+            if (!(threadCount instanceof Integer) || (Integer) threadCount < 1) {
+                throw new IllegalArgumentException(SchedulerConfig.THREAD_COUNT + " must be a positive integer");
+            }
+            this.config.threadCount((Integer) threadCount);
+        }
+
+        Object maxFires = props.getProperty(SchedulerConfig.MAX_FIRES);
+        if (maxFires != null) {
+            if (!(maxFires instanceof Integer) || (Integer) maxFires < 1) {
+                throw new IllegalArgumentException(SchedulerConfig.MAX_FIRES + " must be a positive integer");
+            }
+            this.config.maxFires((Integer) maxFires);
+        }
+
+        Object persist = props.getProperty(SchedulerConfig.PERSIST_TRIGGERS);
+        if (persist != null) {
+            if (Boolean.TRUE.equals(persist) && this.triggerStoreFile != null) {
+                if (this.config.triggerStore() == null) {
+                    this.config.triggerStore(new FileTriggerStore(this.triggerStoreFile));
+                }
+            } else {
+                this.config.triggerStore(null);
+            }
+        }
+    }
+
+    @Override
+    public void updateProperties(RequestContext ctx, ResourceState state, Responder responder) throws Exception {
+        try {
+            properties(ctx, state);
+            responder.resourceUpdated(this);
+        } catch (IllegalArgumentException e) {
+            responder.invalidRequest(e.getMessage());
+        }
+    }
+
     private Resource parent;
     private final String id;
     private Scheduler scheduler;
+    private final SchedulerConfig config;
+    private final File triggerStoreFile;
 
 }
@@ -0,0 +1,80 @@
+package io.liveoak.scheduler;
+
+import java.util.function.Consumer;
+
+import io.liveoak.scheduler.service.ResizableThreadPool;
+
+/**
+ * Configuration shared by the scheduler service and its resources, updated through the admin resource.
+ */
+public class SchedulerConfig {
+
+    public static final String THREAD_COUNT = "thread-count";
+    public static final String MAX_FIRES = "max-fires";
+    public static final String PERSIST_TRIGGERS = "persist-triggers";
+
+    public static final int DEFAULT_THREAD_COUNT = 10;
+    public static final int DEFAULT_MAX_FIRES = 100;
+
+    public int threadCount() {
+        return this.threadCount;
+    }
+
+    public synchronized void threadCount(int threadCount) {
+        this.threadCount = threadCount;
+        if (this.threadPool != null) {
+            this.threadPool.setPoolSize(threadCount);
+        }
+    }
+
+    public int maxFires() {
+        return this.maxFires;
+    }
+
+    public synchronized void maxFires(int maxFires) {
+        this.maxFires = maxFires;
+        if (this.maxFiresListener != null) {
+            this.maxFiresListener.accept(maxFires);
+        }
+    }
+
+    public TriggerStore triggerStore() {
+        return this.triggerStore;
+    }
+
+    public synchronized void triggerStore(TriggerStore triggerStore) {
+        this.triggerStore = triggerStore;
+        if (triggerStore != null && this.triggerStoreListener != null) {
+            this.triggerStoreListener.accept(triggerStore);
+        }
+    }
+
+    public synchronized void threadPool(ResizableThreadPool threadPool) {
+        this.threadPool = threadPool;
+        if (threadPool != null) {
+            threadPool.setPoolSize(this.threadCount);
+        }
+    }
+
+    synchronized void onMaxFiresChange(Consumer<Integer> listener) {
+        this.maxFiresListener = listener;
+    }
+
+    /**
+     * Registers the listener notified when triggers should be persisted, immediately if they already are.
+     */
+    synchronized void onTriggerStore(Consumer<TriggerStore> listener) {
+        this.triggerStoreListener = listener;
+        if (listener != null && this.triggerStore != null) {
+            listener.accept(this.triggerStore);
+        }
+    }
+
+    private volatile int threadCount = DEFAULT_THREAD_COUNT;
+    private volatile int maxFires = DEFAULT_MAX_FIRES;
+    private volatile TriggerStore triggerStore;
+
+    private ResizableThreadPool threadPool;
+    private Consumer<Integer> maxFiresListener;
+    private Consumer<TriggerStore> triggerStoreListener;
+}
@@ -4,6 +4,7 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 import io.liveoak.spi.RequestContext;
 import io.liveoak.spi.resource.RootResource;
@@ -17,7 +18,9 @@ import org.quartz.CronScheduleBuilder;
 import org.quartz.JobBuilder;
 import org.quartz.JobDataMap;
 import org.quartz.JobDetail;
+import org.quartz.JobKey;
 import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
 import org.quartz.SchedulerMetaData;
 import org.quartz.Trigger;
 import org.quartz.TriggerBuilder;
@@ -28,9 +31,22 @@ import org.quartz.TriggerBuilder;
 public class SchedulerResource implements RootResource, SynchronousResource {
 
     public SchedulerResource(String id, Scheduler scheduler, Notifier notifier) {
+        this(id, scheduler, notifier, new SchedulerConfig());
+    }
+
+    public SchedulerResource(String id, Scheduler scheduler, Notifier notifier, SchedulerConfig config) {
         this.id = id;
         this.scheduler = scheduler;
         this.notifier = notifier;
+        this.config = config;
+
+        config.onMaxFiresChange((maxFires) -> this.children.values().forEach((trigger) -> trigger.fires().capacity(maxFires)));
+        config.onTriggerStore(this::restoreTriggers);
+    }
+
+    public void stop() {
+        this.config.onMaxFiresChange(null);
+        this.config.onTriggerStore(null);
     }
 
     @Override
@@ -87,13 +103,39 @@ public class SchedulerResource implements RootResource, SynchronousResource {
     public void createMember(RequestContext ctx, ResourceState state, Responder responder) throws Exception {
 
         String id = UUID.randomUUID().toString();
+        String cron = (String) state.getProperty("cron");
+
+        TriggerResource resource = scheduleTrigger(id, cron);
+
+        TriggerStore store = this.config.triggerStore();
+        if (store != null) {
+            store.save(id, cron);
+        }
+
+        responder.resourceCreated(resource);
+    }
+
+    void deleteTrigger(TriggerResource trigger) throws Exception {
+        this.scheduler.deleteJob(new JobKey(trigger.id()));
+        this.children.remove(trigger.id());
 
+        TriggerStore store = this.config.triggerStore();
+        if (store != null) {
+            store.remove(trigger.id());
+        }
+    }
+
+    Notifier notifier() {
+        return this.notifier;
+    }
+
+    private TriggerResource scheduleTrigger(String id, String cron) throws SchedulerException {
         TriggerBuilder triggerBuilder = TriggerBuilder.newTrigger();
-        triggerBuilder.withSchedule(CronScheduleBuilder.cronSchedule((String) state.getProperty("cron")));
+        triggerBuilder.withSchedule(CronScheduleBuilder.cronSchedule(cron));
         triggerBuilder.withIdentity(id);
         Trigger trigger = triggerBuilder.build();
 
-        TriggerResource resource = new TriggerResource(this, trigger);
+        TriggerResource resource = new TriggerResource(this, trigger, this.config.maxFires());
 
         JobDataMap dataMap = new JobDataMap();
         dataMap.put("resource", resource);
@@ -107,18 +149,34 @@ public class SchedulerResource implements RootResource, SynchronousResource {
 
         this.scheduler.scheduleJob(jobDetail, trigger);
         this.children.put(id, resource);
-        responder.resourceCreated(resource);
+        return resource;
     }
 
-    Notifier notifier() {
-        return this.notifier;
+    private void restoreTriggers(TriggerStore store) {
+        try {
+            Map<String, String> stored = store.load();
+            for (Map.Entry<String, String> entry : stored.entrySet()) {
+                if (!this.children.containsKey(entry.getKey())) {
+                    scheduleTrigger(entry.getKey(), entry.getValue());
+                }
+            }
+            // triggers created before persistence was enabled
+            for (TriggerResource trigger : this.children.values()) {
+                if (!stored.containsKey(trigger.id())) {
+                    store.save(trigger.id(), trigger.cronExpression());
+                }
+            }
+        } catch (Exception e) {
+            log.error("Unable to restore triggers for " + this.id, e);
+        }
     }
 
     private Resource parent;
     private String id;
     private Scheduler scheduler;
-    private Map<String, TriggerResource> children = new HashMap<>();
+    private Map<String, TriggerResource> children = new ConcurrentHashMap<>();
     private Notifier notifier;
+    private final SchedulerConfig config;
 
     private static final Logger log = Logger.getLogger(SchedulerResource.class);
 
@@ -2,14 +2,16 @@ package io.liveoak.scheduler;
 
 import java.util.Collection;
 import java.util.HashMap;
-import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 
 import io.liveoak.common.DefaultResourceResponse;
+import io.liveoak.common.util.PagingLinksBuilder;
 import io.liveoak.spi.RequestContext;
 import io.liveoak.spi.ResourceResponse;
 import io.liveoak.spi.resource.SynchronousResource;
 import io.liveoak.spi.resource.async.Resource;
+import io.liveoak.spi.resource.async.Responder;
 import org.jboss.logging.Logger;
 import org.quartz.CronTrigger;
 import org.quartz.JobExecutionContext;
@@ -20,9 +22,10 @@ import org.quartz.Trigger;
  */
 public class TriggerResource implements SynchronousResource {
 
-    public TriggerResource(SchedulerResource parent, Trigger trigger) {
+    public TriggerResource(SchedulerResource parent, Trigger trigger, int maxFires) {
         this.parent = parent;
         this.trigger = trigger;
+        this.fires = new FireHistory(maxFires);
     }
 
     @Override
@@ -35,19 +38,49 @@ public class TriggerResource implements SynchronousResource {
         return this.parent;
     }
 
+    public String cronExpression() {
+        return ((CronTrigger) this.trigger).getCronExpression();
+    }
+
+    public FireHistory fires() {
+        return this.fires;
+    }
+
     @Override
     public Map<String, ?> properties(RequestContext ctx) throws Exception {
         Map<String, Object> result = new HashMap<>();
-        result.put("cron", ((CronTrigger) this.trigger).getCronExpression());
+        result.put("cron", cronExpression());
 
         Trigger.TriggerState state = this.parent.scheduler().getTriggerState(this.trigger.getKey());
         result.put("state", state.toString().toLowerCase());
+
+        int limit = ctx.pagination().limit();
+        int count = Math.max(0, this.fires.size() - ctx.pagination().offset());
+        List<? extends Resource> links = new PagingLinksBuilder(ctx)
+                .uri(uri())
+                .count(limit < 0 ? count : Math.min(count, limit))
+                .totalCount(this.fires.size())
+                .build();
+        if (links.size() > 0) {
+            result.put("links", links);
+        }
         return result;
     }
 
     @Override
     public Collection<? extends Resource> members(RequestContext ctx) throws Exception {
-        return this.fires;
+        return this.fires.page(ctx.pagination().offset(), ctx.pagination().limit());
+    }
+
+    @Override
+    public Resource member(RequestContext ctx, String id) throws Exception {
+        return this.fires.get(id);
+    }
+
+    @Override
+    public void delete(RequestContext ctx, Responder responder) throws Exception {
+        this.parent.deleteTrigger(this);
+        responder.resourceDeleted(this);
     }
 
     public void createFire(JobExecutionContext context) {
@@ -63,7 +96,7 @@ public class TriggerResource implements SynchronousResource {
 
     private SchedulerResource parent;
     private Trigger trigger;
-    private LinkedList<FireResource> fires = new LinkedList<>();
+    private final FireHistory fires;
 
     private static final Logger log = Logger.getLogger(TriggerResource.class);
 }
@@ -0,0 +1,19 @@
+package io.liveoak.scheduler;
+
+import java.util.Map;
+
+/**
+ * Persists trigger definitions so they survive restarts.
+ */
+public interface TriggerStore {
+
+    /**
+     * @return The cron expression of each stored trigger, keyed by trigger id.
+     */
+    Map<String, String> load() throws Exception;
+
+    void save(String id, String cron) throws Exception;
+
+    void remove(String id) throws Exception;
+
+}
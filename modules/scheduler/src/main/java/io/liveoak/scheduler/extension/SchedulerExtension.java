@@ -1,5 +1,8 @@
 package io.liveoak.scheduler.extension;
 
+import java.io.File;
+
+import io.liveoak.scheduler.SchedulerConfig;
 import io.liveoak.scheduler.SchedulerServices;
 import io.liveoak.scheduler.service.SchedulerAdminResourceService;
 import io.liveoak.scheduler.service.SchedulerResourceService;
@@ -30,12 +33,13 @@ public class SchedulerExtension implements Extension {
 
         ServiceTarget target = context.target();
         ServiceName name = SchedulerServices.scheduler(appId, context.resourceId());
-        SchedulerService scheduler = new SchedulerService(appId + "/" + context.resourceId());
+        SchedulerConfig config = new SchedulerConfig();
+        SchedulerService scheduler = new SchedulerService(appId + "/" + context.resourceId(), config);
 
         target.addService(name, scheduler)
                 .install();
 
-        SchedulerResourceService publicResource = new SchedulerResourceService(context.resourceId());
+        SchedulerResourceService publicResource = new SchedulerResourceService(context.resourceId(), config);
 
         target.addService(Services.resource(appId, context.resourceId()), publicResource)
                 .addDependency(Services.NOTIFIER, Notifier.class, publicResource.notifierInjector())
@@ -44,7 +48,11 @@ public class SchedulerExtension implements Extension {
 
         context.mountPublic();
 
-        SchedulerAdminResourceService privateResource = new SchedulerAdminResourceService(context.resourceId());
+        File triggerStoreFile = null;
+        if (context.application().directory() != null) {
+            triggerStoreFile = new File(context.application().directory(), "scheduler" + File.separator + context.resourceId() + "-triggers.json");
+        }
+        SchedulerAdminResourceService privateResource = new SchedulerAdminResourceService(context.resourceId(), config, triggerStoreFile);
 
         target.addService(Services.adminResource(appId, context.resourceId()), privateResource)
                 .addDependency(name, Scheduler.class, privateResource.schedulerInjector())
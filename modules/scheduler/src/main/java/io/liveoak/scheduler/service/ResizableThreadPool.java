@@ -0,0 +1,141 @@
+package io.liveoak.scheduler.service;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.logging.Logger;
+import org.quartz.spi.ThreadPool;
+
+/**
+ * Quartz thread pool whose size can be changed while the scheduler is running.
+ */
+public class ResizableThreadPool implements ThreadPool {
+
+    private static final Logger log = Logger.getLogger(ResizableThreadPool.class);
+
+    public ResizableThreadPool(int poolSize) {
+        this.poolSize = poolSize;
+    }
+
+    public void setPoolSize(int poolSize) {
+        synchronized (this.lock) {
+            this.poolSize = poolSize;
+            this.lock.notifyAll();
+        }
+    }
+
+    @Override
+    public int getPoolSize() {
+        return this.poolSize;
+    }
+
+    public int getBusyCount() {
+        return this.busy;
+    }
+
+    @Override
+    public boolean runInThread(Runnable runnable) {
+        if (runnable == null) {
+            return false;
+        }
+
+        synchronized (this.lock) {
+            while (this.busy >= this.poolSize && !this.shutdown) {
+                try {
+                    this.lock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+            if (this.shutdown) {
+                return false;
+            }
+            ++this.busy;
+        }
+
+        try {
+            this.executor.execute(() -> {
+                try {
+                    runnable.run();
+                } finally {
+                    release();
+                }
+            });
+        } catch (RuntimeException e) {
+            release();
+            log.error("Unable to run job", e);
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int blockForAvailableThreads() {
+        synchronized (this.lock) {
+            while (this.busy >= this.poolSize && !this.shutdown) {
+                try {
+                    this.lock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+            return Math.max(0, this.poolSize - this.busy);
+        }
+    }
+
+    @Override
+    public void initialize() {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, this.instanceName + "_Worker-" + counter.incrementAndGet());
+            thread.setContextClassLoader(classLoader);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void shutdown(boolean waitForJobsToComplete) {
+        synchronized (this.lock) {
+            this.shutdown = true;
+            this.lock.notifyAll();
+        }
+
+        this.executor.shutdown();
+        if (waitForJobsToComplete) {
+            try {
+                this.executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public void setInstanceId(String schedInstId) {
+    }
+
+    @Override
+    public void setInstanceName(String schedName) {
+        this.instanceName = schedName;
+    }
+
+    private void release() {
+        synchronized (this.lock) {
+            --this.busy;
+            this.lock.notifyAll();
+        }
+    }
+
+    private final Object lock = new Object();
+    private volatile int poolSize;
+    private volatile int busy;
+    private boolean shutdown;
+    private String instanceName = "scheduler";
+    private ExecutorService executor;
+}
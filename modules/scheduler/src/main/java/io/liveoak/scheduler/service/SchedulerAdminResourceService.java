@@ -1,6 +1,9 @@
 package io.liveoak.scheduler.service;
 
+import java.io.File;
+
 import io.liveoak.scheduler.SchedulerAdminResource;
+import io.liveoak.scheduler.SchedulerConfig;
 import org.jboss.msc.inject.Injector;
 import org.jboss.msc.service.Service;
 import org.jboss.msc.service.StartContext;
@@ -15,14 +18,22 @@ import org.quartz.Scheduler;
 public class SchedulerAdminResourceService implements Service<SchedulerAdminResource> {
 
     public SchedulerAdminResourceService(String id) {
+        this(id, new SchedulerConfig(), null);
+    }
+
+    public SchedulerAdminResourceService(String id, SchedulerConfig config, File triggerStoreFile) {
         this.id = id;
+        this.config = config;
+        this.triggerStoreFile = triggerStoreFile;
     }
 
     @Override
     public void start(StartContext context) throws StartException {
         this.resource = new SchedulerAdminResource(
                 this.id,
-                this.schedulerInjector.getValue());
+                this.schedulerInjector.getValue(),
+                this.config,
+                this.triggerStoreFile);
     }
 
     @Override
@@ -40,6 +51,8 @@ public class SchedulerAdminResourceService implements Service<SchedulerAdminReso
     }
 
     private String id;
+    private SchedulerConfig config;
+    private File triggerStoreFile;
 
     private InjectedValue<Scheduler> schedulerInjector = new InjectedValue<>();
 
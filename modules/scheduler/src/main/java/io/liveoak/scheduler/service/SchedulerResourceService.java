@@ -1,5 +1,6 @@
 package io.liveoak.scheduler.service;
 
+import io.liveoak.scheduler.SchedulerConfig;
 import io.liveoak.scheduler.SchedulerResource;
 import io.liveoak.spi.resource.async.Notifier;
 import org.jboss.msc.inject.Injector;
@@ -16,7 +17,12 @@ import org.quartz.Scheduler;
 public class SchedulerResourceService implements Service<SchedulerResource> {
 
     public SchedulerResourceService(String id) {
+        this(id, new SchedulerConfig());
+    }
+
+    public SchedulerResourceService(String id, SchedulerConfig config) {
         this.id = id;
+        this.config = config;
     }
 
     @Override
@@ -24,11 +30,13 @@ public class SchedulerResourceService implements Service<SchedulerResource> {
         this.resource = new SchedulerResource(
                 this.id,
                 this.schedulerInjector.getValue(),
-                this.notifierInjector.getValue());
+                this.notifierInjector.getValue(),
+                this.config);
     }
 
     @Override
     public void stop(StopContext context) {
+        this.resource.stop();
         this.resource = null;
     }
 
@@ -46,6 +54,7 @@ public class SchedulerResourceService implements Service<SchedulerResource> {
     }
 
     private String id;
+    private SchedulerConfig config;
 
     private InjectedValue<Scheduler> schedulerInjector = new InjectedValue<>();
     private InjectedValue<Notifier> notifierInjector = new InjectedValue<>();
@@ -1,7 +1,6 @@
 package io.liveoak.scheduler.service;
 
-import java.util.Properties;
-
+import io.liveoak.scheduler.SchedulerConfig;
 import org.jboss.logging.Logger;
 import org.jboss.msc.service.Service;
 import org.jboss.msc.service.StartContext;
@@ -9,7 +8,8 @@ import org.jboss.msc.service.StartException;
 import org.jboss.msc.service.StopContext;
 import org.quartz.Scheduler;
 import org.quartz.SchedulerException;
-import org.quartz.impl.StdSchedulerFactory;
+import org.quartz.impl.DirectSchedulerFactory;
+import org.quartz.simpl.RAMJobStore;
 
 /**
  * @author Bob McWhirter
@@ -19,14 +19,27 @@ public class SchedulerService implements Service<Scheduler> {
     private static final Logger log = Logger.getLogger(SchedulerService.class);
 
     public SchedulerService(String name) {
+        this(name, new SchedulerConfig());
+    }
+
+    public SchedulerService(String name, SchedulerConfig config) {
         this.name = name;
+        this.config = config;
     }
 
     @Override
     public void start(StartContext context) throws StartException {
         try {
-            StdSchedulerFactory factory = new StdSchedulerFactory(properties());
-            this.scheduler = factory.getScheduler();
+            // the thread pool is resized when the thread-count is changed through the admin resource
+            ResizableThreadPool threadPool = new ResizableThreadPool(this.config.threadCount());
+
+            RAMJobStore jobStore = new RAMJobStore();
+            jobStore.setMisfireThreshold(60000);
+
+            DirectSchedulerFactory factory = DirectSchedulerFactory.getInstance();
+            factory.createScheduler(this.name, this.name, threadPool, jobStore);
+            this.scheduler = factory.getScheduler(this.name);
+            this.config.threadPool(threadPool);
             this.scheduler.start();
         } catch (SchedulerException e) {
             throw new StartException(e);
@@ -35,6 +48,7 @@ public class SchedulerService implements Service<Scheduler> {
 
     @Override
     public void stop(StopContext context) {
+        this.config.threadPool(null);
         try {
             this.scheduler.shutdown();
         } catch (SchedulerException e) {
@@ -47,29 +61,8 @@ public class SchedulerService implements Service<Scheduler> {
         return this.scheduler;
     }
 
-    private Properties properties() {
-
-        Properties props = new Properties();
-
-        props.setProperty("org.quartz.scheduler.instanceName", this.name);
-        props.setProperty("org.quartz.scheduler.rmi.export", "false");
-        props.setProperty("org.quartz.scheduler.rmi.proxy", "false");
-        props.setProperty("org.quartz.scheduler.wrapJobExecutionInUserTransaction", "false");
-
-        props.setProperty("org.quartz.threadPool.class", "org.quartz.simpl.SimpleThreadPool");
-        props.setProperty("org.quartz.threadPool.threadCount", "10");
-        props.setProperty("org.quartz.threadPool.threadPriority", "5");
-        props.setProperty("org.quartz.threadPool.threadsInheritContextClassLoaderOfInitializingThread", "true");
-
-        props.setProperty("org.quartz.jobStore.misfireThreshold", "60000");
-
-        props.setProperty("org.quartz.jobStore.class", "org.quartz.simpl.RAMJobStore");
-
-        return props;
-
-    }
-
     private String name;
+    private final SchedulerConfig config;
 
     private Scheduler scheduler;
 }
@@ -0,0 +1,63 @@
+package io.liveoak.scheduler;
+
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+public class FireHistoryTest {
+
+    @Test
+    public void testRetainsMostRecent() throws Exception {
+        FireHistory history = new FireHistory(3);
+        for (int i = 0; i < 5; ++i) {
+            history.add(fire("fire-" + i));
+        }
+
+        assertThat(history.size()).isEqualTo(3);
+        assertThat(history.total()).isEqualTo(5);
+        assertThat(ids(history.page(0, -1))).containsExactly("fire-2", "fire-3", "fire-4");
+        assertThat(history.get("fire-1")).isNull();
+        assertThat(history.get("fire-3").id()).isEqualTo("fire-3");
+    }
+
+    @Test
+    public void testPaging() throws Exception {
+        FireHistory history = new FireHistory(10);
+        for (int i = 0; i < 7; ++i) {
+            history.add(fire("fire-" + i));
+        }
+
+        assertThat(ids(history.page(0, 3))).containsExactly("fire-0", "fire-1", "fire-2");
+        assertThat(ids(history.page(5, 3))).containsExactly("fire-5", "fire-6");
+        assertThat(history.page(10, 3)).isEmpty();
+    }
+
+    @Test
+    public void testResize() throws Exception {
+        FireHistory history = new FireHistory(5);
+        for (int i = 0; i < 5; ++i) {
+            history.add(fire("fire-" + i));
+        }
+
+        history.capacity(2);
+        assertThat(history.capacity()).isEqualTo(2);
+        assertThat(history.total()).isEqualTo(5);
+        assertThat(ids(history.page(0, -1))).containsExactly("fire-3", "fire-4");
+
+        history.capacity(4);
+        history.add(fire("fire-5"));
+        assertThat(ids(history.page(0, -1))).containsExactly("fire-3", "fire-4", "fire-5");
+    }
+
+    private static FireResource fire(String id) {
+        return new FireResource(null, id, new Date(), new Date());
+    }
+
+    private static List<String> ids(List<FireResource> fires) {
+        return fires.stream().map(FireResource::id).collect(Collectors.toList());
+    }
+}
@@ -16,6 +16,12 @@ public class ScheduledScript extends Script {
 
     protected Date at, until;
 
+    protected int maxConcurrency = 1;
+
+    protected OverlapPolicy overlapPolicy = OverlapPolicy.SKIP;
+
+    protected MisfirePolicy misfirePolicy = MisfirePolicy.FIRE_ONCE;
+
     public Date getAt() {
         return at;
     }
@@ -40,11 +46,100 @@ public class ScheduledScript extends Script {
         this.cron = cron;
     }
 
-    protected ScheduledScript(String id, String name, String description, boolean enabled, Integer timeout, List<String> libraries, ByteBuf scriptBuffer, Date at, Date until, String cron) {
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public void setMaxConcurrency(int maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    public OverlapPolicy getOverlapPolicy() {
+        return overlapPolicy;
+    }
+
+    public void setOverlapPolicy(OverlapPolicy overlapPolicy) {
+        this.overlapPolicy = overlapPolicy;
+    }
+
+    public MisfirePolicy getMisfirePolicy() {
+        return misfirePolicy;
+    }
+
+    public void setMisfirePolicy(MisfirePolicy misfirePolicy) {
+        this.misfirePolicy = misfirePolicy;
+    }
+
+    protected ScheduledScript(String id, String name, String description, boolean enabled, Integer timeout, List<String> libraries, ByteBuf scriptBuffer, Date at, Date until, String cron,
+                              int maxConcurrency, OverlapPolicy overlapPolicy, MisfirePolicy misfirePolicy) {
         super(id, name, description, enabled, timeout, libraries, scriptBuffer);
         this.at = at;
         this.until = until;
         this.cron = cron;
+        this.maxConcurrency = maxConcurrency;
+        this.overlapPolicy = overlapPolicy;
+        this.misfirePolicy = misfirePolicy;
+    }
+
+    /**
+     * What to do when the script fires while max-concurrency executions are still running.
+     */
+    public static enum OverlapPolicy {
+        SKIP("skip"),
+        QUEUE("queue"),
+        REPLACE("replace");
+
+        String name;
+
+        private OverlapPolicy(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+
+        public static OverlapPolicy fromString(String name) {
+            for (OverlapPolicy policy : values()) {
+                if (policy.name.equals(name)) {
+                    return policy;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * What to do with the firings missed while the scheduler was unable to run the script (eg all threads busy).
+     */
+    public static enum MisfirePolicy {
+        // fire once straight away, then carry on with the schedule
+        FIRE_ONCE("fire-once"),
+        // fire every missed execution straight away
+        FIRE_ALL("fire-all"),
+        // do not fire, wait for the next scheduled time
+        SKIP("skip");
+
+        String name;
+
+        private MisfirePolicy(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+
+        public static MisfirePolicy fromString(String name) {
+            for (MisfirePolicy policy : values()) {
+                if (policy.name.equals(name)) {
+                    return policy;
+                }
+            }
+            return null;
+        }
     }
 
     public static enum FUNCTIONS implements Function {
@@ -72,6 +167,9 @@ public class ScheduledScript extends Script {
     public static class Builder extends Script.Builder {
         private String cron;
         private Date at, until;
+        private int maxConcurrency = 1;
+        private OverlapPolicy overlapPolicy = OverlapPolicy.SKIP;
+        private MisfirePolicy misfirePolicy = MisfirePolicy.FIRE_ONCE;
 
         public Builder(String id) {
             super(id);
@@ -92,8 +190,23 @@ public class ScheduledScript extends Script {
             return this;
         }
 
+        public Builder setMaxConcurrency(int maxConcurrency) {
+            this.maxConcurrency = maxConcurrency;
+            return this;
+        }
+
+        public Builder setOverlapPolicy(OverlapPolicy overlapPolicy) {
+            this.overlapPolicy = overlapPolicy;
+            return this;
+        }
+
+        public Builder setMisfirePolicy(MisfirePolicy misfirePolicy) {
+            this.misfirePolicy = misfirePolicy;
+            return this;
+        }
+
         public ScheduledScript build() {
-            return new ScheduledScript(id, name, description, enabled, timeout, libraries, scriptBuffer, at, until, cron);
+            return new ScheduledScript(id, name, description, enabled, timeout, libraries, scriptBuffer, at, until, cron, maxConcurrency, overlapPolicy, misfirePolicy);
         }
     }
 }
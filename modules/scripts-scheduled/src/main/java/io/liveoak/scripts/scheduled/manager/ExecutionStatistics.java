@@ -0,0 +1,88 @@
+package io.liveoak.scripts.scheduled.manager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Run-duration and lateness statistics of scheduled script executions.
+ *
+ * Lateness is the time between when an execution was scheduled to fire and when it actually started running.
+ */
+public class ExecutionStatistics {
+
+    public static final String EXECUTIONS = "executions";
+    public static final String FAILED = "failed";
+    public static final String SKIPPED = "skipped";
+    public static final String QUEUED = "queued";
+    public static final String REPLACED = "replaced";
+    public static final String MISFIRED = "misfired";
+    public static final String LAST_DURATION = "last-duration";
+    public static final String AVERAGE_DURATION = "average-duration";
+    public static final String MAX_DURATION = "max-duration";
+    public static final String AVERAGE_LATENESS = "average-lateness";
+    public static final String MAX_LATENESS = "max-lateness";
+
+    private long executions;
+    private long failed;
+    private long skipped;
+    private long queued;
+    private long replaced;
+    private long misfired;
+
+    private long lastDuration;
+    private long totalDuration;
+    private long maxDuration;
+
+    private long started;
+    private long totalLateness;
+    private long maxLateness;
+
+    synchronized void started(long lateness) {
+        started++;
+        lateness = Math.max(0, lateness);
+        totalLateness += lateness;
+        maxLateness = Math.max(maxLateness, lateness);
+    }
+
+    synchronized void completed(long duration, boolean success) {
+        executions++;
+        if (!success) {
+            failed++;
+        }
+        lastDuration = duration;
+        totalDuration += duration;
+        maxDuration = Math.max(maxDuration, duration);
+    }
+
+    synchronized void skipped() {
+        skipped++;
+    }
+
+    synchronized void queued() {
+        queued++;
+    }
+
+    synchronized void replaced() {
+        replaced++;
+    }
+
+    synchronized void misfired() {
+        misfired++;
+    }
+
+    public synchronized Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put(EXECUTIONS, executions);
+        map.put(FAILED, failed);
+        map.put(SKIPPED, skipped);
+        map.put(QUEUED, queued);
+        map.put(REPLACED, replaced);
+        map.put(MISFIRED, misfired);
+        map.put(LAST_DURATION, lastDuration);
+        map.put(AVERAGE_DURATION, executions == 0 ? 0 : totalDuration / executions);
+        map.put(MAX_DURATION, maxDuration);
+        map.put(AVERAGE_LATENESS, started == 0 ? 0 : totalLateness / started);
+        map.put(MAX_LATENESS, maxLateness);
+        return map;
+    }
+}
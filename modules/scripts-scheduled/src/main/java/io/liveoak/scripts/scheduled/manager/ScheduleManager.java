@@ -8,8 +8,11 @@ import org.quartz.JobBuilder;
 import org.quartz.JobDataMap;
 import org.quartz.JobKey;
 import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+import org.quartz.SimpleScheduleBuilder;
 import org.quartz.Trigger;
 import org.quartz.TriggerBuilder;
+import org.quartz.listeners.TriggerListenerSupport;
 
 /**
  * @author <a href="mailto:mwringe@redhat.com">Matt Wringe</a>
@@ -22,15 +25,32 @@ public class ScheduleManager {
     public static final String SCRIPT_DATAMAP_KEY = "scheduledScript";
     public static final String SCRIPT_MANAGER_DATAMAP_KEY = "scriptManager";
 
-    public ScheduleManager(Scheduler scheduler,ScheduledScriptManager scriptManager ) {
+    public ScheduleManager(Scheduler scheduler,ScheduledScriptManager scriptManager ) throws SchedulerException {
         this.scheduler = scheduler;
         this.scriptManager = scriptManager;
+
+        // keep track of the firings missed because the scheduler could not run them in time
+        scheduler.getListenerManager().addTriggerListener(new TriggerListenerSupport() {
+            @Override
+            public String getName() {
+                return "scheduled-script-misfires";
+            }
+
+            @Override
+            public void triggerMisfired(Trigger trigger) {
+                scriptManager.misfired(trigger.getKey().getName());
+            }
+        });
     }
 
     public Scheduler getScheduler() {
         return scheduler;
     }
 
+    public ScheduledScriptManager getScriptManager() {
+        return scriptManager;
+    }
+
     public void handleScript(ScheduledScript script) throws Exception {
         if (checkScript(script)) {
             addScript(script);
@@ -40,11 +60,38 @@ public class ScheduleManager {
     }
 
     private void addScript(ScheduledScript script) throws Exception {
+        // replace any previous version of the script
+        removeJob(script);
+
         TriggerBuilder triggerBuilder = TriggerBuilder.newTrigger();
         triggerBuilder.withIdentity(script.getId());
 
         if (script.getCron() != null) {
-            triggerBuilder.withSchedule(CronScheduleBuilder.cronSchedule(script.getCron()));
+            CronScheduleBuilder scheduleBuilder = CronScheduleBuilder.cronSchedule(script.getCron());
+            switch (script.getMisfirePolicy()) {
+                case FIRE_ALL:
+                    scheduleBuilder.withMisfireHandlingInstructionIgnoreMisfires();
+                    break;
+                case SKIP:
+                    scheduleBuilder.withMisfireHandlingInstructionDoNothing();
+                    break;
+                default:
+                    scheduleBuilder.withMisfireHandlingInstructionFireAndProceed();
+            }
+            triggerBuilder.withSchedule(scheduleBuilder);
+        } else {
+            SimpleScheduleBuilder scheduleBuilder = SimpleScheduleBuilder.simpleSchedule();
+            switch (script.getMisfirePolicy()) {
+                case FIRE_ALL:
+                    scheduleBuilder.withMisfireHandlingInstructionIgnoreMisfires();
+                    break;
+                case SKIP:
+                    scheduleBuilder.withMisfireHandlingInstructionNextWithRemainingCount();
+                    break;
+                default:
+                    scheduleBuilder.withMisfireHandlingInstructionFireNow();
+            }
+            triggerBuilder.withSchedule(scheduleBuilder);
         }
 
         if (script.getAt() != null) {
@@ -70,6 +117,11 @@ public class ScheduleManager {
     }
 
     private void removeScript(ScheduledScript script) throws Exception {
+        removeJob(script);
+        scriptManager.remove(script.getId());
+    }
+
+    private void removeJob(ScheduledScript script) throws Exception {
         JobKey key = new JobKey(script.getId());
         if (scheduler.checkExists(key)) {
             scheduler.deleteJob(new JobKey(script.getId()));
@@ -6,6 +6,7 @@ import org.jboss.msc.service.StartException;
 import org.jboss.msc.service.StopContext;
 import org.jboss.msc.value.InjectedValue;
 import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
 
 /**
  * @author <a href="mailto:mwringe@redhat.com">Matt Wringe</a>
@@ -16,7 +17,11 @@ public class ScheduleManagerService implements Service<ScheduleManager> {
 
     @Override
     public void start(StartContext startContext) throws StartException {
-        this.manager = new ScheduleManager(schedulerInjector.getValue(), scheduledScriptManagerInjector.getValue());
+        try {
+            this.manager = new ScheduleManager(schedulerInjector.getValue(), scheduledScriptManagerInjector.getValue());
+        } catch (SchedulerException e) {
+            throw new StartException(e);
+        }
     }
 
     @Override
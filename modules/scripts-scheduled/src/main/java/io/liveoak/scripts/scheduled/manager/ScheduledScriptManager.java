@@ -1,5 +1,18 @@
 package io.liveoak.scripts.scheduled.manager;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import io.liveoak.scripts.common.ScriptManager;
 import io.liveoak.scripts.libraries.manager.LibraryManager;
 import io.liveoak.scripts.objects.ScheduledContext;
@@ -9,18 +22,48 @@ import io.liveoak.scripts.scheduled.ScheduledScript;
 import org.quartz.JobExecutionContext;
 
 /**
+ * Runs scheduled scripts on a bounded pool of script threads, separate from the Quartz worker threads.
+ *
+ * Each script runs at most max-concurrency executions at a time. When it fires while that many are still
+ * running, the firing is skipped, queued (up to max-concurrency pending firings) or replaces the oldest
+ * running execution, depending on the script's overlap policy. A replaced execution is interrupted and
+ * keeps its slot until it has actually returned, the replacing one starts then.
+ *
+ * A script ignoring the interrupt is stopped once over its timeout, the script thread running it then dies
+ * and the pool starts a new one in its place.
+ *
  * @author <a href="mailto:mwringe@redhat.com">Matt Wringe</a>
  */
 public class ScheduledScriptManager extends ScriptManager {
 
     public static final String EXECUTIONS = "executions";
 
+    public static final int DEFAULT_MAX_THREADS = 10;
+
+    private final ThreadPoolExecutor executor;
+    private final Map<String, ScriptState> states = new ConcurrentHashMap<>();
+    private final ExecutionStatistics statistics = new ExecutionStatistics();
+
     public ScheduledScriptManager(ScriptConfig scriptConfig, LibraryManager libraryManager) {
-        super(scriptConfig, libraryManager);
+        this(scriptConfig, libraryManager, DEFAULT_MAX_THREADS);
     }
 
-    public void execute(ScheduledScript script, JobExecutionContext context) throws Exception {
+    public ScheduledScriptManager(ScriptConfig scriptConfig, LibraryManager libraryManager, int maxThreads) {
+        super(scriptConfig, libraryManager);
+
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(maxThreads, maxThreads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+            Thread thread = new Thread(r, "scheduled-script-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
 
+    /**
+     * Called on the Quartz worker thread when a script fires, hands the execution over to the script threads.
+     */
+    public void fire(ScheduledScript script, JobExecutionContext context) {
         Long executions = (Long)context.getJobDetail().getJobDataMap().get(EXECUTIONS);
         if (executions == null) {
             executions = 0L;
@@ -29,22 +72,232 @@ public class ScheduledScriptManager extends ScriptManager {
         }
         context.getJobDetail().getJobDataMap().put(EXECUTIONS, executions);
 
+        ScriptState state = states.computeIfAbsent(script.getId(), (id) -> new ScriptState());
+        Execution execution = new Execution(script, context, state);
+
+        synchronized (state) {
+            if (state.running.size() < script.getMaxConcurrency()) {
+                start(execution);
+                return;
+            }
+
+            switch (script.getOverlapPolicy()) {
+                case QUEUE:
+                    if (state.queued.size() < script.getMaxConcurrency()) {
+                        state.queued.add(execution);
+                        state.statistics.queued();
+                        statistics.queued();
+                        return;
+                    }
+                    break;
+                case REPLACE:
+                    Execution oldest = null;
+                    for (Execution running : state.running) {
+                        if (!running.isCancelled()) {
+                            oldest = running;
+                            break;
+                        }
+                    }
+                    if (oldest != null) {
+                        oldest.cancel();
+                    } else {
+                        // every running execution is already being replaced, the newest firing wins
+                        state.queued.poll();
+                    }
+                    state.queued.add(execution);
+                    state.statistics.replaced();
+                    statistics.replaced();
+                    return;
+                default:
+                    break;
+            }
+        }
+
+        log.debug("Scheduled script " + script.getId() + " is still running, skipping execution.");
+        state.statistics.skipped();
+        statistics.skipped();
+    }
+
+    public void misfired(String scriptId) {
+        states.computeIfAbsent(scriptId, (id) -> new ScriptState()).statistics.misfired();
+        statistics.misfired();
+    }
+
+    public void remove(String scriptId) {
+        ScriptState state = states.remove(scriptId);
+        if (state != null) {
+            synchronized (state) {
+                state.queued.clear();
+            }
+        }
+    }
+
+    public ExecutionStatistics getStatistics() {
+        return statistics;
+    }
+
+    public ExecutionStatistics getStatistics(String scriptId) {
+        ScriptState state = states.get(scriptId);
+        return state != null ? state.statistics : null;
+    }
+
+    public Map<String, Object> getExecutorState() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("max-threads", executor.getMaximumPoolSize());
+        map.put("active", executor.getActiveCount());
+        map.put("pending", executor.getQueue().size());
+        return map;
+    }
+
+    public int getMaxThreads() {
+        return executor.getMaximumPoolSize();
+    }
+
+    public void setMaxThreads(int maxThreads) {
+        if (maxThreads == executor.getMaximumPoolSize()) {
+            return;
+        }
+        if (maxThreads > executor.getMaximumPoolSize()) {
+            executor.setMaximumPoolSize(maxThreads);
+            executor.setCorePoolSize(maxThreads);
+        } else {
+            executor.setCorePoolSize(maxThreads);
+            executor.setMaximumPoolSize(maxThreads);
+        }
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // must hold the state lock
+    private void start(Execution execution) {
+        execution.state.running.add(execution);
+        try {
+            executor.execute(execution);
+        } catch (RejectedExecutionException e) {
+            // only happens when shutting down
+            execution.state.running.remove(execution);
+        }
+    }
+
+    private void completed(Execution execution) {
+        ScriptState state = execution.state;
+        synchronized (state) {
+            state.running.remove(execution);
+            Execution next = state.queued.poll();
+            if (next != null) {
+                start(next);
+            }
+        }
+    }
+
+    /**
+     * Runs the script functions on the current thread.
+     *
+     * @return true if all the functions completed without error
+     */
+    protected boolean execute(ScheduledScript script, JobExecutionContext context) throws Exception {
         ScheduledContext scheduleContext = new ScheduledContextBuilder(script.getId(), context).build();
 
         Object library = getLibrary(script);
 
+        boolean success = true;
         if (context.getPreviousFireTime() == null && script.getProvides().contains(ScheduledScript.FUNCTIONS.ONSTART)) {
-            runScript(ScheduledScript.FUNCTIONS.ONSTART.getFunctionName(), script, scheduleContext, library);
+            success &= !(runScriptOnCurrentThread(ScheduledScript.FUNCTIONS.ONSTART.getFunctionName(), script, scheduleContext, library) instanceof Exception);
         }
 
         if (script.getProvides().contains(ScheduledScript.FUNCTIONS.EXECUTE)) {
-            runScript(ScheduledScript.FUNCTIONS.EXECUTE.getFunctionName(), script, scheduleContext, library);
+            success &= !(runScriptOnCurrentThread(ScheduledScript.FUNCTIONS.EXECUTE.getFunctionName(), script, scheduleContext, library) instanceof Exception);
         }
 
         if (context.getNextFireTime() == null && script.getProvides().contains(ScheduledScript.FUNCTIONS.ONEND)) {
-            runScript(ScheduledScript.FUNCTIONS.ONEND.getFunctionName(), script, scheduleContext, library);
+            success &= !(runScriptOnCurrentThread(ScheduledScript.FUNCTIONS.ONEND.getFunctionName(), script, scheduleContext, library) instanceof Exception);
         }
 
+        return success;
+    }
+
+    private static class ScriptState {
+        final List<Execution> running = new ArrayList<>();
+        final Deque<Execution> queued = new ArrayDeque<>();
+        final ExecutionStatistics statistics = new ExecutionStatistics();
+    }
+
+    private class Execution implements Runnable {
+
+        final ScheduledScript script;
+        final JobExecutionContext context;
+        final ScriptState state;
+
+        private Thread thread;
+        private boolean cancelled;
 
+        Execution(ScheduledScript script, JobExecutionContext context, ScriptState state) {
+            this.script = script;
+            this.context = context;
+            this.state = state;
+        }
+
+        synchronized boolean isCancelled() {
+            return cancelled;
+        }
+
+        synchronized void cancel() {
+            cancelled = true;
+            if (thread != null) {
+                thread.interrupt();
+            }
+        }
+
+        private synchronized boolean begin() {
+            if (cancelled) {
+                return false;
+            }
+            thread = Thread.currentThread();
+            return true;
+        }
+
+        private synchronized void end() {
+            thread = null;
+            // clear an interrupt from a replacing execution
+            Thread.interrupted();
+        }
+
+        @Override
+        public void run() {
+            if (!begin()) {
+                // replaced before it started, frees its slot
+                completed(this);
+                return;
+            }
+
+            long start = System.currentTimeMillis();
+            long lateness = start - context.getScheduledFireTime().getTime();
+            state.statistics.started(lateness);
+            statistics.started(lateness);
+
+            boolean success = false;
+            ThreadDeath stopped = null;
+            try {
+                success = execute(script, context);
+            } catch (ThreadDeath t) {
+                log.error("Scheduled script " + script.getId() + " was stopped after its timeout");
+                stopped = t;
+            } catch (Throwable t) {
+                log.error("Error running scheduled script " + script.getId(), t);
+            } finally {
+                end();
+                long duration = System.currentTimeMillis() - start;
+                state.statistics.completed(duration, success);
+                statistics.completed(duration, success);
+                completed(this);
+            }
+
+            if (stopped != null) {
+                // the thread may have been stopped anywhere in the script engine, the pool replaces it
+                throw stopped;
+            }
+        }
     }
 }
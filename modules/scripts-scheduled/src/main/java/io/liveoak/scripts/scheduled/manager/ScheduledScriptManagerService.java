@@ -21,6 +21,7 @@ public class ScheduledScriptManagerService implements Service<ScheduledScriptMan
 
     @Override
     public void stop(StopContext stopContext) {
+        manager.shutdown();
         manager = null;
     }
 
@@ -10,7 +10,8 @@ import org.quartz.PersistJobDataAfterExecution;
 /**
  * @author <a href="mailto:mwringe@redhat.com">Matt Wringe</a>
  */
-// The following annotations allow for us to store an execution count for the job
+// The following annotations allow for us to store an execution count for the job.
+// The job only hands the script over to the ScheduledScriptManager, which applies the script's own concurrency limits.
 @PersistJobDataAfterExecution
 @DisallowConcurrentExecution
 public class ScriptJob implements Job {
@@ -20,7 +21,7 @@ public class ScriptJob implements Job {
         ScheduledScript script = (ScheduledScript) context.getMergedJobDataMap().get(ScheduleManager.SCRIPT_DATAMAP_KEY);
         ScheduledScriptManager scriptManager = (ScheduledScriptManager) context.getMergedJobDataMap().get(ScheduleManager.SCRIPT_MANAGER_DATAMAP_KEY);
         try {
-            scriptManager.execute(script, context);
+            scriptManager.fire(script, context);
         } catch (Exception e) {
             throw new JobExecutionException(e);
         }
@@ -27,6 +27,9 @@ public class ScheduledScriptResource extends ScriptResource {
     protected static final String AT = "at";
     protected static final String UNTIL = "until";
     protected static final String CRON = "cron";
+    protected static final String MAX_CONCURRENCY = "max-concurrency";
+    protected static final String ON_OVERLAP = "on-overlap";
+    protected static final String MISFIRE = "misfire";
 
     ScheduledScriptsResource parent;
 
@@ -108,6 +111,32 @@ public class ScheduledScriptResource extends ScriptResource {
             builder.setCron(cron);
         }
 
+        Integer maxConcurrency = (Integer) getProperty(MAX_CONCURRENCY, state, false, Integer.class);
+        if (maxConcurrency != null) {
+            if (maxConcurrency < 1) {
+                throw new PropertyException("'" + MAX_CONCURRENCY + "' must be greater than zero.");
+            }
+            builder.setMaxConcurrency(maxConcurrency);
+        }
+
+        String onOverlap = (String) getProperty(ON_OVERLAP, state, false, String.class);
+        if (onOverlap != null) {
+            ScheduledScript.OverlapPolicy overlapPolicy = ScheduledScript.OverlapPolicy.fromString(onOverlap);
+            if (overlapPolicy == null) {
+                throw new PropertyException("'" + ON_OVERLAP + "' must be one of 'skip', 'queue' or 'replace'.");
+            }
+            builder.setOverlapPolicy(overlapPolicy);
+        }
+
+        String misfire = (String) getProperty(MISFIRE, state, false, String.class);
+        if (misfire != null) {
+            ScheduledScript.MisfirePolicy misfirePolicy = ScheduledScript.MisfirePolicy.fromString(misfire);
+            if (misfirePolicy == null) {
+                throw new PropertyException("'" + MISFIRE + "' must be one of 'fire-once', 'fire-all' or 'skip'.");
+            }
+            builder.setMisfirePolicy(misfirePolicy);
+        }
+
         return builder.build();
     }
 
@@ -160,6 +189,9 @@ public class ScheduledScriptResource extends ScriptResource {
         }
 
         sink.accept(CRON, script.getCron());
+        sink.accept(MAX_CONCURRENCY, script.getMaxConcurrency());
+        sink.accept(ON_OVERLAP, script.getOverlapPolicy().toString());
+        sink.accept(MISFIRE, script.getMisfirePolicy().toString());
         sink.complete();
     }
 
@@ -168,7 +200,7 @@ public class ScheduledScriptResource extends ScriptResource {
         // call the parent readMembers but don't close the stream since we have an extra ContextResource to add.
         try {
             super.readMembers(ctx, sink, false);
-            sink.accept(new ScriptContextResource(this, parent.getScheduleManager().getScheduler()));
+            sink.accept(new ScriptContextResource(this, parent.getScheduleManager().getScheduler(), parent.getScheduleManager().getScriptManager()));
         } catch (Throwable t) {
             sink.error(t);
         } finally {
@@ -181,7 +213,7 @@ public class ScheduledScriptResource extends ScriptResource {
         if (id.equals(ScriptFileResource.ID) && getScriptBuffer()!= null) {
             responder.resourceRead(new ScriptFileResource(this));
         } else if (id.equals(ScriptContextResource.ID)) {
-            responder.resourceRead(new ScriptContextResource(this, parent.getScheduleManager().getScheduler()));
+            responder.resourceRead(new ScriptContextResource(this, parent.getScheduleManager().getScheduler(), parent.getScheduleManager().getScriptManager()));
         } else {
             responder.noSuchResource(id);
         }
@@ -41,6 +41,7 @@ public class ScheduledScriptsResource extends ScriptsResource implements RootRes
     // Configuration Keys
     private static final String DIRECTORY = "script-directory";
     private static final String TIMEOUT = "default-timeout";
+    private static final String MAX_THREADS = "max-threads";
 
     private Map<String, ScheduledScript> scripts = new ConcurrentHashMap<>();
     private ScriptConfig scriptConfig;
@@ -137,6 +138,10 @@ public class ScheduledScriptsResource extends ScriptsResource implements RootRes
                 return;
             }
 
+            if (!updateMaxThreads(state, responder)) {
+                return;
+            }
+
             this.scriptConfig = configBuilder.build();
 
             responder.resourceUpdated(this);
@@ -167,9 +172,27 @@ public class ScheduledScriptsResource extends ScriptsResource implements RootRes
             return;
         }
 
+        if (!updateMaxThreads(state, responder)) {
+            return;
+        }
+
         responder.resourceUpdated(this);
     }
 
+    // Sets the number of threads available to run the scheduled scripts
+    private boolean updateMaxThreads(ResourceState state, Responder responder) {
+        Object maxThreads = state.getProperty(MAX_THREADS);
+        if (maxThreads != null && maxThreads instanceof Integer && (Integer)maxThreads > 0) {
+            if (scheduleManager != null && scheduleManager.getScriptManager() != null) {
+                scheduleManager.getScriptManager().setMaxThreads((Integer) maxThreads);
+            }
+        } else if (maxThreads != null) {
+            responder.invalidRequest("A '" + MAX_THREADS + "' property must be an integer greater than zero.");
+            return false;
+        }
+        return true;
+    }
+
     //TODO: move to common class
     public ScriptConfig getScriptConfig() {
         return scriptConfig;
@@ -1,5 +1,6 @@
 package io.liveoak.scripts.scheduled.resource;
 
+import io.liveoak.scripts.scheduled.manager.ScheduledScriptManager;
 import io.liveoak.spi.RequestContext;
 import io.liveoak.spi.resource.async.PropertySink;
 import io.liveoak.spi.resource.async.Resource;
@@ -18,6 +19,8 @@ public class SchedulerStateResource implements Resource {
     public static final String INSTANCE_ID = "instance-id";
     public static final String STATUS = "status";
     public static final String RUNNING_SINCE = "running-since";
+    public static final String EXECUTOR = "executor";
+    public static final String STATISTICS = "statistics";
 
 
     // The different status values a scheduler state can be in
@@ -44,6 +47,12 @@ public class SchedulerStateResource implements Resource {
             sink.accept(STATUS, STOPPED);
         }
 
+        ScheduledScriptManager scriptManager = parent.getScheduleManager().getScriptManager();
+        if (scriptManager != null) {
+            sink.accept(EXECUTOR, scriptManager.getExecutorState());
+            sink.accept(STATISTICS, scriptManager.getStatistics().toMap());
+        }
+
         sink.complete();
     }
 
@@ -2,6 +2,7 @@ package io.liveoak.scripts.scheduled.resource;
 
 import java.util.Date;
 
+import io.liveoak.scripts.scheduled.manager.ExecutionStatistics;
 import io.liveoak.scripts.scheduled.manager.ScheduledScriptManager;
 import io.liveoak.spi.RequestContext;
 import io.liveoak.spi.resource.async.PropertySink;
@@ -29,10 +30,18 @@ public class ScriptContextResource implements Resource {
     private static String FINAL_FIRE_TIME = "final-fire-time";
     private static String PREVIOUS_FIRE = "previous-fire-time";
     private static String NEXT_FIRE = "next-fire-time";
+    private static String STATISTICS = "statistics";
+
+    ScheduledScriptManager scriptManager;
 
     public ScriptContextResource(ScheduledScriptResource parent, Scheduler scheduler) {
+        this(parent, scheduler, null);
+    }
+
+    public ScriptContextResource(ScheduledScriptResource parent, Scheduler scheduler, ScheduledScriptManager scriptManager) {
         this.parent = parent;
         this.scheduler = scheduler;
+        this.scriptManager = scriptManager;
     }
 
     @Override
@@ -101,6 +110,13 @@ public class ScriptContextResource implements Resource {
                 sink.accept(TRIGGER_STATE, null);
             }
         }
+
+        if (scriptManager != null) {
+            ExecutionStatistics statistics = scriptManager.getStatistics(parent.id());
+            if (statistics != null) {
+                sink.accept(STATISTICS, statistics.toMap());
+            }
+        }
         sink.complete();
     }
 
@@ -0,0 +1,299 @@
+package io.liveoak.scripts.scheduled.manager;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import io.liveoak.scripts.scheduled.ScheduledScript;
+import io.netty.buffer.Unpooled;
+import io.netty.util.CharsetUtil;
+import org.dynjs.runtime.GlobalObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.quartz.JobBuilder;
+import org.quartz.JobDetail;
+import org.quartz.JobExecutionContext;
+import org.quartz.Scheduler;
+import org.quartz.impl.StdSchedulerFactory;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+public class ScheduledScriptManagerTest {
+
+    private TestScriptManager manager;
+    private JobDetail jobDetail;
+
+    @Before
+    public void setUp() {
+        this.manager = new TestScriptManager();
+        this.jobDetail = JobBuilder.newJob(ScriptJob.class).withIdentity("test").build();
+    }
+
+    @After
+    public void tearDown() {
+        this.manager.shutdown();
+    }
+
+    @Test
+    public void skip() throws Exception {
+        ScheduledScript script = script(ScheduledScript.OverlapPolicy.SKIP, 1);
+
+        manager.fire(script, context());
+        await(() -> manager.running.get() == 1);
+        manager.fire(script, context());
+        manager.fire(script, context());
+
+        manager.release.countDown();
+        await(() -> executions(script) == 1);
+
+        Map<String, Object> stats = manager.getStatistics(script.getId()).toMap();
+        assertThat(stats.get(ExecutionStatistics.SKIPPED)).isEqualTo(2L);
+        assertThat(manager.started.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void queue() throws Exception {
+        ScheduledScript script = script(ScheduledScript.OverlapPolicy.QUEUE, 2);
+
+        for (int i = 0; i < 5; i++) {
+            manager.fire(script, context());
+        }
+        await(() -> manager.running.get() == 2);
+
+        // two running, two queued, one over the queue bound
+        Map<String, Object> stats = manager.getStatistics(script.getId()).toMap();
+        assertThat(stats.get(ExecutionStatistics.QUEUED)).isEqualTo(2L);
+        assertThat(stats.get(ExecutionStatistics.SKIPPED)).isEqualTo(1L);
+
+        manager.release.countDown();
+        await(() -> executions(script) == 4);
+        assertThat(manager.started.get()).isEqualTo(4);
+        assertThat(manager.maxRunning.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void replace() throws Exception {
+        ScheduledScript script = script(ScheduledScript.OverlapPolicy.REPLACE, 1);
+
+        manager.fire(script, context());
+        await(() -> manager.running.get() == 1);
+
+        // interrupts the running execution, which keeps its slot until it returns
+        manager.fire(script, context());
+        await(() -> manager.interrupted.get() == 1);
+        await(() -> manager.started.get() == 2);
+        assertThat(manager.maxRunning.get()).isEqualTo(1);
+
+        Map<String, Object> stats = manager.getStatistics(script.getId()).toMap();
+        assertThat(stats.get(ExecutionStatistics.REPLACED)).isEqualTo(1L);
+
+        manager.release.countDown();
+        await(() -> executions(script) == 2);
+        stats = manager.getStatistics(script.getId()).toMap();
+        assertThat(stats.get(ExecutionStatistics.FAILED)).isEqualTo(1L);
+    }
+
+    @Test
+    public void timeout() throws Exception {
+        // the script engine does not check for interrupts, so the script has to be stopped
+        ScheduledScript.Builder builder = new ScheduledScript.Builder("looping");
+        builder.setScriptBuffer(Unpooled.copiedBuffer("function execute() { while (true) {} }", CharsetUtil.UTF_8));
+        builder.setTimeout(100);
+        ScheduledScript script = builder.build();
+        manager.runScripts = true;
+
+        manager.fire(script, context());
+        await(() -> executions(script) == 1, 15000);
+        Map<String, Object> stats = manager.getStatistics(script.getId()).toMap();
+        assertThat(stats.get(ExecutionStatistics.FAILED)).isEqualTo(1L);
+
+        // the slot was freed
+        manager.runScripts = false;
+        manager.release.countDown();
+        manager.fire(script, context());
+        await(() -> executions(script) == 2);
+    }
+
+    @Test
+    public void stoppedThreadIsReplaced() throws Exception {
+        ScheduledScript script = script(ScheduledScript.OverlapPolicy.SKIP, 1);
+        manager.stop = true;
+
+        manager.fire(script, context());
+        await(() -> executions(script) == 1);
+        Thread stopped = manager.threads.get(0);
+        stopped.join(5000);
+        assertThat(stopped.isAlive()).isFalse();
+
+        manager.stop = false;
+        manager.release.countDown();
+        manager.fire(script, context());
+        await(() -> executions(script) == 2);
+        assertThat(manager.threads.get(1)).isNotSameAs(stopped);
+        assertThat(manager.getStatistics(script.getId()).toMap().get(ExecutionStatistics.FAILED)).isEqualTo(1L);
+    }
+
+    @Test
+    public void misfireFireOnce() throws Exception {
+        misfire(ScheduledScript.MisfirePolicy.FIRE_ONCE, 1, 1);
+    }
+
+    @Test
+    public void misfireFireAll() throws Exception {
+        // the ten hourly firings missed are all fired, without being reported as misfires
+        misfire(ScheduledScript.MisfirePolicy.FIRE_ALL, 10, 0);
+    }
+
+    @Test
+    public void misfireSkip() throws Exception {
+        misfire(ScheduledScript.MisfirePolicy.SKIP, 0, 1);
+    }
+
+    private void misfire(ScheduledScript.MisfirePolicy policy, int fired, long misfired) throws Exception {
+        Properties props = new Properties();
+        props.setProperty("org.quartz.scheduler.instanceName", "misfire-" + policy);
+        props.setProperty("org.quartz.scheduler.skipUpdateCheck", "true");
+        props.setProperty("org.quartz.threadPool.class", "org.quartz.simpl.SimpleThreadPool");
+        props.setProperty("org.quartz.threadPool.threadCount", "2");
+        props.setProperty("org.quartz.jobStore.misfireThreshold", "1000");
+        props.setProperty("org.quartz.jobStore.class", "org.quartz.simpl.RAMJobStore");
+        Scheduler scheduler = new StdSchedulerFactory(props).getScheduler();
+
+        try {
+            ScheduleManager scheduleManager = new ScheduleManager(scheduler, manager);
+            ScheduledScript script = new ScheduledScript.Builder("misfiring")
+                    .setCron("0 0 * * * ?")
+                    .setAt(new Date(System.currentTimeMillis() - TimeUnit.HOURS.toMillis(10)))
+                    .setMisfirePolicy(policy)
+                    .setOverlapPolicy(ScheduledScript.OverlapPolicy.QUEUE)
+                    .setMaxConcurrency(10)
+                    .build();
+            manager.release.countDown();
+            scheduleManager.handleScript(script);
+            scheduler.start();
+
+            if (fired > 0) {
+                await(() -> manager.fired.get() >= fired);
+            }
+            if (misfired > 0) {
+                await(() -> manager.getStatistics().toMap().get(ExecutionStatistics.MISFIRED).equals(misfired));
+            }
+            // nothing else fires before the next hour
+            Thread.sleep(500);
+            assertThat(manager.fired.get()).isEqualTo(fired);
+            assertThat(manager.getStatistics().toMap().get(ExecutionStatistics.MISFIRED)).isEqualTo(misfired);
+        } finally {
+            scheduler.shutdown(true);
+        }
+    }
+
+    private static ScheduledScript script(ScheduledScript.OverlapPolicy policy, int maxConcurrency) throws Exception {
+        ScheduledScript.Builder builder = new ScheduledScript.Builder("test-" + policy)
+                .setOverlapPolicy(policy)
+                .setMaxConcurrency(maxConcurrency);
+        builder.setTimeout(60000);
+        return builder.build();
+    }
+
+    private long executions(ScheduledScript script) {
+        ExecutionStatistics statistics = manager.getStatistics(script.getId());
+        return statistics != null ? (Long) statistics.toMap().get(ExecutionStatistics.EXECUTIONS) : 0;
+    }
+
+    private JobExecutionContext context() {
+        Date now = new Date();
+        return (JobExecutionContext) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{JobExecutionContext.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getJobDetail":
+                    return jobDetail;
+                case "getFireTime":
+                case "getScheduledFireTime":
+                case "getPreviousFireTime":
+                    return now;
+                case "getNextFireTime":
+                    return new Date(now.getTime() + 60000);
+                case "getFireInstanceId":
+                    return "instance";
+            }
+            throw new UnsupportedOperationException(method.getName());
+        });
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        await(condition, 5000);
+    }
+
+    private static void await(BooleanSupplier condition, long timeout) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeout;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("Timed out waiting for the executions");
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Blocks the executions until released, unless running the actual script functions.
+     */
+    private static class TestScriptManager extends ScheduledScriptManager {
+
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger fired = new AtomicInteger();
+        final AtomicInteger started = new AtomicInteger();
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+        final AtomicInteger interrupted = new AtomicInteger();
+        final List<Thread> threads = new ArrayList<>();
+        volatile boolean runScripts;
+        volatile boolean stop;
+
+        TestScriptManager() {
+            super(null, null, 4);
+        }
+
+        @Override
+        public void fire(ScheduledScript script, JobExecutionContext context) {
+            fired.incrementAndGet();
+            super.fire(script, context);
+        }
+
+        @Override
+        protected boolean execute(ScheduledScript script, JobExecutionContext context) throws Exception {
+            synchronized (threads) {
+                threads.add(Thread.currentThread());
+            }
+            if (runScripts) {
+                return super.execute(script, context);
+            }
+            if (stop) {
+                throw new ThreadDeath();
+            }
+
+            started.incrementAndGet();
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                release.await();
+                return true;
+            } catch (InterruptedException e) {
+                interrupted.incrementAndGet();
+                return false;
+            } finally {
+                running.decrementAndGet();
+            }
+        }
+
+        @Override
+        protected void configureGlobalObject(GlobalObject globalObject) {
+            // no client library to expose
+        }
+    }
+}
@@ -5,6 +5,9 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
@@ -40,6 +43,16 @@ public class ScriptManager {
 
     protected static final Logger log = Logger.getLogger("io.liveoak.scripts");
 
+    // How long a script gets to return once interrupted, before its thread is stopped
+    private static final long STOP_GRACE_PERIOD = 5000;
+
+    // Enforces the timeout of scripts run on the calling thread
+    private static final ScheduledExecutorService WATCHDOG = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "script-watchdog");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     public ScriptManager(ScriptConfig scriptConfig, LibraryManager libraryManager) {
         this.libraryManager = libraryManager;
         this.scriptConfig = scriptConfig;
@@ -73,16 +86,7 @@ public class ScriptManager {
         myThread.start();
 
         try {
-            Integer timeout = script.timeout;
-            if (timeout == null) {
-                //TODO: remove this once the script config is a separate service and not part of the main root resource
-                if (scriptConfig != null) {
-                    timeout = scriptConfig.getTimeout();
-                } else {
-                    timeout = ScriptConfig.DEFAULT_TIMEOUT;
-                }
-            }
-            return future.get(timeout, TimeUnit.MILLISECONDS);
+            return future.get(getTimeout(script), TimeUnit.MILLISECONDS);
         } catch (InterruptedException e) {
             return e;
         } catch (ExecutionException e) {
@@ -105,7 +109,7 @@ public class ScriptManager {
             log.error("A script went over the timeout. Interrupting the thread.");
             Long startTime = System.currentTimeMillis();
             while (myThread.isAlive()) {
-                if (System.currentTimeMillis() - startTime >= 5000 ) {
+                if (System.currentTimeMillis() - startTime >= STOP_GRACE_PERIOD) {
                     log.error("A resource based script did not terminate after the timeout. Killing the thread.");
                     myThread.stop();
                     break;
@@ -118,6 +122,89 @@ public class ScriptManager {
         }
     }
 
+    /**
+     * Runs the function on the calling thread instead of a new one, for callers already running on a
+     * dedicated worker. A script going over its timeout is handled like in {@link #runScript}: the thread
+     * is interrupted, then stopped if the script still has not returned after a grace period. The caller
+     * gets a {@link TimeoutException} if the script returned once interrupted, or the {@link ThreadDeath}
+     * once stopped, and must then let the thread die rather than reuse it.
+     */
+    protected Object runScriptOnCurrentThread(String functionName, Script script, Object... functionArguments) {
+        Watchdog watchdog = new Watchdog(Thread.currentThread());
+        watchdog.schedule(getTimeout(script));
+        Object result;
+        boolean timedOut;
+        try {
+            result = executeScript(functionName, script, functionArguments);
+        } catch (Exception e) {
+            result = e;
+        } finally {
+            timedOut = watchdog.done();
+        }
+
+        if (timedOut) {
+            // clear the interrupt before handing the thread back
+            Thread.interrupted();
+            return new TimeoutException();
+        }
+        return result;
+    }
+
+    protected int getTimeout(Script script) {
+        Integer timeout = script.timeout;
+        if (timeout == null) {
+            //TODO: remove this once the script config is a separate service and not part of the main root resource
+            if (scriptConfig != null) {
+                timeout = scriptConfig.getTimeout();
+            } else {
+                timeout = ScriptConfig.DEFAULT_TIMEOUT;
+            }
+        }
+        return timeout;
+    }
+
+    private static class Watchdog implements Runnable {
+
+        private final Thread thread;
+        private ScheduledFuture<?> future;
+        private boolean done;
+        private boolean timedOut;
+
+        Watchdog(Thread thread) {
+            this.thread = thread;
+        }
+
+        synchronized void schedule(long timeout) {
+            this.future = WATCHDOG.schedule(this, timeout, TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public synchronized void run() {
+            if (done) {
+                return;
+            }
+            if (!timedOut) {
+                timedOut = true;
+                log.error("A script went over the timeout. Interrupting the thread.");
+                thread.interrupt();
+                future = WATCHDOG.schedule(this, STOP_GRACE_PERIOD, TimeUnit.MILLISECONDS);
+            } else {
+                // done() cannot return before this, so the thread is still running the script
+                log.error("A script did not terminate after the timeout. Killing the thread.");
+                thread.stop();
+            }
+        }
+
+        /**
+         * Marks the script as finished and returns whether it went over its timeout.
+         */
+        synchronized boolean done() {
+            done = true;
+            future.cancel(false);
+            return timedOut;
+        }
+    }
+
     protected Object executeScript(String functionName, Script script, Object... functionArguments) {
         Config config = new Config();
         config.setCompileMode(Config.CompileMode.OFF); //TODO: probably shouldn't be needed, check with a newer version of DynJS
@@ -149,7 +149,7 @@ public class LiveOakClient implements LocalClient {
 
         Object fields = parameters.get("fields");
         if (fields != null || fields instanceof String) {
-            builder.returnFields(new DefaultReturnFields((String)fields));
+            builder.returnFields(DefaultReturnFields.forSpec((String)fields));
             parameters.remove("fields");
         }
 
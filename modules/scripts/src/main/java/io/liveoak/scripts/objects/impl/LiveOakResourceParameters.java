@@ -67,7 +67,7 @@ public class LiveOakResourceParameters extends LiveOakMap<String, Object> {
             resourceParams.setValue(key, sort);
         } else if (key.equals("fields") && value != null) {
             String fields = value.toString();
-            context.returnFields(new DefaultReturnFields(fields));
+            context.returnFields(DefaultReturnFields.forSpec(fields));
             resourceParams.setValue(key, fields);
         } else {
             resourceParams.setValue(key, String.valueOf(value));
@@ -1,10 +1,14 @@
 package io.liveoak.scripts.resourcetriggered.manager;
 
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 import io.liveoak.common.DefaultResourceResponse;
 import io.liveoak.scripts.common.ScriptManager;
 import io.liveoak.scripts.libraries.manager.LibraryManager;
+import io.liveoak.scripts.objects.impl.LiveOakResource;
 import io.liveoak.scripts.objects.impl.LiveOakResourceRequest;
 import io.liveoak.scripts.objects.impl.LiveOakResourceResponse;
 import io.liveoak.scripts.objects.scripting.ScriptingResourceRequest;
@@ -13,6 +17,7 @@ import io.liveoak.scripts.resourcetriggered.resource.ResourceTriggeredScript;
 import io.liveoak.scripts.resourcetriggered.resource.ScriptRegistry;
 import io.liveoak.spi.LiveOak;
 import io.liveoak.spi.RequestType;
+import io.liveoak.spi.ResourcePath;
 import io.liveoak.spi.ResourceRequest;
 import io.liveoak.spi.ResourceResponse;
 import io.liveoak.spi.ReturnFields;
@@ -33,9 +38,7 @@ public class ResourceScriptManager extends ScriptManager {
 
     public Object executeScripts(ResourceRequest request) throws Exception {
 
-        ScriptingResourceRequest scriptingRequest = new ScriptingResourceRequest(request);
-        String resourcePath = scriptingRequest.resourcePath().toString();
-        RequestType type = scriptingRequest.requestType();
+        RequestType type = request.requestType();
 
         ResourceTriggeredScript.FUNCTIONS resourceFunction = ResourceTriggeredScript.FUNCTIONS.PREREAD;
         switch (type) {
@@ -50,13 +53,14 @@ public class ResourceScriptManager extends ScriptManager {
                 break;
         }
 
-        Set<ResourceTriggeredScript> scripts = scriptRegistry.getByTarget(resourcePath, resourceFunction, true);
-
         // CREATE is special since we apply the create to /foo/bar to create /foo/bar/baz so we should also check /foo/bar/*
-        if (resourceFunction == ResourceTriggeredScript.FUNCTIONS.PRECREATE) {
-            scripts.addAll(scriptRegistry.getByPath(resourcePath + "/*", resourceFunction, true)) ;
+        List<ResourceTriggeredScript> scripts = scriptRegistry.getByTarget(request.resourcePath(), resourceFunction,
+                resourceFunction == ResourceTriggeredScript.FUNCTIONS.PRECREATE);
+        if (scripts.isEmpty()) {
+            return null;
         }
 
+        ScriptingResourceRequest scriptingRequest = new ScriptingResourceRequest(request);
         for (ResourceTriggeredScript script : scripts) {
             Object reply = runScript(resourceFunction.getFunctionName(), script, scriptingRequest);
             if (reply != null) {
@@ -69,7 +73,6 @@ public class ResourceScriptManager extends ScriptManager {
 
     public Object executeScripts(ResourceResponse response) throws Exception {
 
-        String resourcePath = response.inReplyTo().resourcePath().toString();
         ResourceResponse.ResponseType type = response.responseType();
 
         ResourceTriggeredScript.FUNCTIONS resourceFunction = ResourceTriggeredScript.FUNCTIONS.POSTREAD;
@@ -91,12 +94,9 @@ public class ResourceScriptManager extends ScriptManager {
                 break;
         }
 
-        Set<ResourceTriggeredScript> scripts = scriptRegistry.getByTarget(resourcePath, resourceFunction, true);
-
         // CREATE is special since we apply the create to /foo/bar to create /foo/bar/baz so we should also check /foo/bar/*
-        if (resourceFunction == ResourceTriggeredScript.FUNCTIONS.POSTCREATE) {
-            scripts.addAll(scriptRegistry.getByPath(resourcePath + "/*", resourceFunction, true)) ;
-        }
+        List<ResourceTriggeredScript> scripts = scriptRegistry.getByTarget(response.inReplyTo().resourcePath(), resourceFunction,
+                resourceFunction == ResourceTriggeredScript.FUNCTIONS.POSTCREATE);
 
         for (ResourceTriggeredScript script : scripts) {
             Object reply = runScript(resourceFunction.getFunctionName(), script, response);
@@ -118,9 +118,27 @@ public class ResourceScriptManager extends ScriptManager {
         return null;
     }
 
+    /**
+     * Runs the postRead scripts on the expanded members of a read. Scripts providing <code>postReadMembers</code>
+     * are run once for the members they target, with an array of those members, rather than once per member.
+     */
     protected Object handleMembers(ResourceResponse response, ResourceState state, ReturnFields returnFields) throws Exception{
         if (!returnFields.child(LiveOak.MEMBERS).isEmpty()) {
+            // the members each batch script targets, in order
+            Map<ResourceTriggeredScript, List<LiveOakResource>> batches = new LinkedHashMap<>();
+
             for (ResourceState memberState: state.members()) {
+                ResourcePath memberPath = new ResourcePath(memberState.uri().toString());
+
+                for (ResourceTriggeredScript memberScript : scriptRegistry.getByTarget(memberPath, ResourceTriggeredScript.FUNCTIONS.POSTREADMEMBERS, false)) {
+                    batches.computeIfAbsent(memberScript, script -> new ArrayList<>()).add(new LiveOakResource(memberState));
+                }
+
+                List<ResourceTriggeredScript> memberScripts = scriptRegistry.getByTarget(memberPath, ResourceTriggeredScript.FUNCTIONS.POSTREAD, false);
+                if (memberScripts.isEmpty()) {
+                    continue;
+                }
+
                 DefaultResourceResponse memberResponse = new DefaultResourceResponse(response.inReplyTo(),
                         ResourceResponse.ResponseType.READ, new Resource() {
                     @Override
@@ -135,15 +153,32 @@ public class ResourceScriptManager extends ScriptManager {
                 });
                 memberResponse.setState(memberState);
 
-                Set<ResourceTriggeredScript> memberScripts = scriptRegistry.getByTarget(memberState.uri().toString(), ResourceTriggeredScript.FUNCTIONS.POSTREAD, true);
                 for (ResourceTriggeredScript memberScript: memberScripts) {
+                    if (memberScript.getProvides().contains(ResourceTriggeredScript.FUNCTIONS.POSTREADMEMBERS)) {
+                        continue;
+                    }
                     Object reply = runScript(ResourceTriggeredScript.FUNCTIONS.POSTREAD.getFunctionName(),memberScript , memberResponse);
                     if (reply != null) {
                         return reply;
                     }
                 }
+            }
 
-                handleMembers(response, memberState, returnFields.child(LiveOak.MEMBERS));
+            for (Map.Entry<ResourceTriggeredScript, List<LiveOakResource>> batch : batches.entrySet()) {
+                LiveOakResource[] members = batch.getValue().toArray(new LiveOakResource[batch.getValue().size()]);
+                ScriptingResourceRequest request = new ScriptingResourceRequest(response.inReplyTo());
+                Object reply = handleResponse(runScript(ResourceTriggeredScript.FUNCTIONS.POSTREADMEMBERS.getFunctionName(), batch.getKey(),
+                        members, new LiveOakResourceRequest(request), getLibrary(batch.getKey())), request);
+                if (reply != null) {
+                    return reply;
+                }
+            }
+
+            for (ResourceState memberState: state.members()) {
+                Object reply = handleMembers(response, memberState, returnFields.child(LiveOak.MEMBERS));
+                if (reply != null) {
+                    return reply;
+                }
             }
         }
         return null;
@@ -133,6 +133,8 @@ public class ResourceScript implements Resource {
 
     public void updateScript(ByteBuf content) throws Exception {
         script.setScriptBuffer(content);
+        // the functions the script provides may have changed
+        parent.updateChild(this);
         parent.writeSourceFile(this.id(), script.getScriptBuffer());
     }
 
@@ -24,6 +24,7 @@ public class ResourceTriggeredScript extends Script {
         POSTCREATE("postCreate"),
         PREREAD("preRead"),
         POSTREAD("postRead"),
+        POSTREADMEMBERS("postReadMembers"),
         PREUPDATE("preUpdate"),
         POSTUPDATE("postUpdate"),
         PREDELETE("preDelete"),
@@ -4,11 +4,8 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
-import java.util.TreeSet;
 
 import io.liveoak.spi.exceptions.ResourceAlreadyExistsException;
 import io.liveoak.spi.ResourcePath;
@@ -18,25 +15,31 @@ import io.liveoak.spi.state.ResourceState;
  * Changes in registered scripts don't need to be super fast,
  * but they need to be reliable.
  *
- * This class provides proper synchronization.
+ * This class provides proper synchronization. Lookups by target are not synchronized,
+ * they go through the {@link ScriptTriggers} compiled on each change.
  *
  * @author <a href="mailto:marko.strukelj@gmail.com">Marko Strukelj</a>
  */
 public class ScriptRegistry {
 
-    private ScriptMap scripts;
+    private Map<String, ResourceTriggeredScript> scripts;
+    private volatile ScriptTriggers triggers = ScriptTriggers.EMPTY;
 
     public ScriptRegistry() {
-        this.scripts = new ScriptMap();
+        this.scripts = new HashMap<>();
     }
 
 
     public synchronized void add(ResourceTriggeredScript script) {
-        scripts.add(script);
+        scripts.put(script.getId(), script);
+        compile();
     }
 
-    public synchronized Set<ResourceTriggeredScript> getByTarget(String target) {
-        return scripts.getByTarget(target);
+    /**
+     * @return Every script, enabled or not, whose target matches the target, sorted by priority.
+     */
+    public List<ResourceTriggeredScript> getByTarget(String target) {
+        return triggers.get(new ResourcePath(target));
     }
 
     public synchronized int size() {
@@ -59,15 +62,14 @@ public class ScriptRegistry {
         }
 
         ResourceScript resourceScript = new ResourceScript(parent, state);
-        scripts.add(resourceScript.getScript());
+        add(resourceScript.getScript());
 
         return resourceScript;
     }
 
     public synchronized void updateScript(ResourceScript script) {
         if (scripts.get(script.id()) != null) {
-            scripts.remove(script.id());
-            scripts.add(script.getScript());
+            add(script.getScript());
         }
     }
 
@@ -80,146 +82,22 @@ public class ScriptRegistry {
     }
 
     public synchronized void remove(String id) {
-        scripts.remove(id);
-    }
-
-    public synchronized Set<ResourceTriggeredScript> getByTarget(String target, ResourceTriggeredScript.FUNCTIONS function, Boolean enabled) {
-        return scripts.getByTarget(target, function, enabled);
-    }
-
-    public synchronized Set<ResourceTriggeredScript> getByPath(String path, ResourceTriggeredScript.FUNCTIONS function, boolean enabled) {
-        return scripts.getByPath(path, function, enabled);
+        if (scripts.remove(id) != null) {
+            compile();
+        }
     }
 
     /**
-     * @author <a href="mailto:mwringe@redhat.com">Matt Wringe</a>
+     * @param includeChildren Also return the scripts targeting the children of the path
+     *
+     * @return The enabled scripts providing the function whose target matches the path, sorted by priority.
+     *         The list must not be modified.
      */
-    //TODO: move this over to ObjectTree.java?
-    private class ScriptMap {
-
-        private Map<String, ResourceTriggeredScript> idMap = new HashMap<String, ResourceTriggeredScript>();
-        private PathMap pathMap = new PathMap();
-
-        public void add(ResourceTriggeredScript script) {
-            String id = script.getId();
-            idMap.put(id, script);
-            pathMap.add(script.getTarget(), id);
-        }
-
-        public void remove(String id) {
-            ResourceTriggeredScript script = idMap.get(id);
-            if (script != null) {
-                idMap.remove(id);
-                pathMap.remove(script.getTarget(), id);
-            }
-        }
-
-        public int size() {
-            return idMap.size();
-        }
-
-        public Collection<ResourceTriggeredScript> values() {
-            return idMap.values();
-        }
-
-        public ResourceTriggeredScript get(String id) {
-            return idMap.get(id);
-        }
-
-        public Set<ResourceTriggeredScript> getByPath(String path) {
-
-            Set<ResourceTriggeredScript> scripts = new TreeSet<>(new ResourceTriggeredScript.PriorityComparator());
-
-            Set<String> ids = pathMap.get(path);
-            if (ids != null) {
-                for (String id: ids) {
-                    scripts.add(idMap.get(id));
-                }
-            }
-
-            return scripts;
-        }
-
-        public Set<ResourceTriggeredScript> getByPath(String path, ResourceTriggeredScript.FUNCTIONS function, Boolean enabled ) {
-            Set<ResourceTriggeredScript> scripts = new TreeSet<>(new ResourceTriggeredScript.PriorityComparator());
-
-            Set<String> ids = pathMap.get(path);
-
-            if (ids != null) {
-                for (String id: ids) {
-                    ResourceTriggeredScript script = idMap.get(id);
-                    if ((script.isEnabled() == enabled) && script.getProvides().contains(function)) {
-                        scripts.add(idMap.get(id));
-                    }
-                }
-            }
-
-            return scripts;
-        }
-
-        public Set<ResourceTriggeredScript> getByTarget(String target) {
-            Set<ResourceTriggeredScript> scripts = new TreeSet<>(new ResourceTriggeredScript.PriorityComparator());
-            for (String path: generatePaths(target)) {
-                scripts.addAll(getByPath(path));
-            }
-            return scripts;
-        }
-
-        public Set<ResourceTriggeredScript> getByTarget(String target, ResourceTriggeredScript.FUNCTIONS function, Boolean enabled) {
-            Set<ResourceTriggeredScript> scripts = new TreeSet<>(new ResourceTriggeredScript.PriorityComparator());
-            for (String path: generatePaths(target)) {
-                scripts.addAll(getByPath(path, function, enabled));
-            }
-            return scripts;
-        }
-
-        protected List<String> generatePaths(String uri) {
-            List<String> paths = new ArrayList<>();
-
-            ResourcePath resourcePath = new ResourcePath(uri);
-            paths.add(resourcePath.toString());
-            paths.add(resourcePath.toString() + "*");
-            paths.add(resourcePath.toString() + "**");
-
-            if (!resourcePath.segments().isEmpty()) {
-                resourcePath = resourcePath.parent();
-                if (!uri.endsWith("/*")) {
-                    paths.add(resourcePath.toString() + "/*");
-                    paths.add(resourcePath.toString() + "/**");
-
-                    if (!resourcePath.segments().isEmpty()) {
-                        paths.add(resourcePath.toString() + "*");
-                        paths.add(resourcePath.toString() + "**");
-                    }
-                }
-            }
-            while (!resourcePath.segments().isEmpty()) {
-                resourcePath = resourcePath.parent();
-                paths.add(resourcePath.toString() + "/**");
-                if (resourcePath.toString() != null && !resourcePath.toString().isEmpty()) {
-                    paths.add(resourcePath.toString() + "**");
-                }
-            }
-            return paths;
-        }
+    public List<ResourceTriggeredScript> getByTarget(ResourcePath path, ResourceTriggeredScript.FUNCTIONS function, boolean includeChildren) {
+        return triggers.get(path, function, includeChildren);
+    }
 
-        private class PathMap extends HashMap<String, Set<String>> {
-
-            public void add(String path, String id) {
-                Set<String> ids = super.get(path);
-                if (ids == null) {
-                    ids = new HashSet<String>();
-                    this.put(path, ids);
-                }
-                ids.add(id);
-            }
-
-            public void remove(String path, String id) {
-                Set<String> ids = super.get(path);
-                if (ids != null) {
-                    ids.remove(id);
-                }
-            }
-        }
+    private void compile() {
+        triggers = new ScriptTriggers(scripts.values());
     }
 }
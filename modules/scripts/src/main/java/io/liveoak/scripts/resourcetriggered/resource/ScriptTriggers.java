@@ -0,0 +1,207 @@
+package io.liveoak.scripts.resourcetriggered.resource;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.liveoak.scripts.common.Function;
+import io.liveoak.spi.ResourcePath;
+
+/**
+ * The targets of the registered scripts, compiled into a tree of path segments.
+ *
+ * <p>There is a tree per function, holding only the enabled scripts providing that function, and one holding
+ * every script. Each node keeps the scripts targeting it, by kind of target, already sorted by priority.
+ * Instances are never modified once built, {@link ScriptRegistry} builds a new one when its scripts change.</p>
+ */
+final class ScriptTriggers {
+
+    static final ScriptTriggers EMPTY = new ScriptTriggers(Collections.emptyList());
+
+    private static final Comparator<ResourceTriggeredScript> PRIORITY = Comparator
+            .comparingInt(ResourceTriggeredScript::getPriority).reversed()
+            .thenComparing(ResourceTriggeredScript::getId);
+
+    /**
+     * The kinds of target, for a path <code>/app/foo</code>.
+     */
+    private enum Kind {
+        /** <code>/app/foo</code>: the resource itself */
+        EXACT,
+        /** <code>/app/foo*</code>: the resource and its children */
+        SELF_AND_CHILDREN,
+        /** <code>/app/foo**</code>: the resource and everything below it */
+        SELF_AND_DESCENDANTS,
+        /** <code>/app/foo/*</code>: the children of the resource */
+        CHILDREN,
+        /** <code>/app/foo/**</code>: everything below the resource */
+        DESCENDANTS
+    }
+
+    private final Node all = new Node();
+    private final Map<ResourceTriggeredScript.FUNCTIONS, Node> functions = new EnumMap<>(ResourceTriggeredScript.FUNCTIONS.class);
+
+    ScriptTriggers(Collection<ResourceTriggeredScript> scripts) {
+        for (ResourceTriggeredScript script : scripts) {
+            String target = script.getTarget();
+            Kind kind = Kind.EXACT;
+            if (target.endsWith("/**")) {
+                kind = Kind.DESCENDANTS;
+                target = target.substring(0, target.length() - 3);
+            } else if (target.endsWith("/*")) {
+                kind = Kind.CHILDREN;
+                target = target.substring(0, target.length() - 2);
+            } else if (target.endsWith("**")) {
+                kind = Kind.SELF_AND_DESCENDANTS;
+                target = target.substring(0, target.length() - 2);
+            } else if (target.endsWith("*")) {
+                kind = Kind.SELF_AND_CHILDREN;
+                target = target.substring(0, target.length() - 1);
+            }
+            List<ResourcePath.Segment> segments = new ResourcePath(target).segments();
+
+            this.all.node(segments).add(kind, script);
+            if (script.isEnabled()) {
+                for (Function function : script.getProvides()) {
+                    if (function instanceof ResourceTriggeredScript.FUNCTIONS) {
+                        this.functions.computeIfAbsent((ResourceTriggeredScript.FUNCTIONS) function, f -> new Node()).node(segments).add(kind, script);
+                    }
+                }
+            }
+        }
+
+        this.all.sort();
+        for (Node root : this.functions.values()) {
+            root.sort();
+        }
+    }
+
+    /**
+     * @return Every script whose target matches the path, enabled or not, sorted by priority.
+     */
+    List<ResourceTriggeredScript> get(ResourcePath path) {
+        return get(this.all, path, false);
+    }
+
+    /**
+     * @param includeChildren Also return the scripts targeting the children of the path,
+     *                        as a create on <code>/foo/bar</code> creates <code>/foo/bar/baz</code>.
+     * @return The enabled scripts providing the function whose target matches the path, sorted by priority.
+     *         The list must not be modified.
+     */
+    List<ResourceTriggeredScript> get(ResourcePath path, ResourceTriggeredScript.FUNCTIONS function, boolean includeChildren) {
+        Node root = this.functions.get(function);
+        if (root == null) {
+            return Collections.emptyList();
+        }
+        return get(root, path, includeChildren);
+    }
+
+    private static List<ResourceTriggeredScript> get(Node node, ResourcePath path, boolean includeChildren) {
+        List<ResourcePath.Segment> segments = path.segments();
+        int size = segments.size();
+        // a path ending in '*' is not a child of its parent
+        boolean child = size == 0 || !segments.get(size - 1).name().equals("*");
+
+        List<ResourceTriggeredScript> result = null;
+        for (int depth = 0; node != null; ++depth) {
+            if (depth == size) {
+                result = merge(result, node.get(Kind.EXACT));
+                result = merge(result, node.get(Kind.SELF_AND_CHILDREN));
+                result = merge(result, node.get(Kind.SELF_AND_DESCENDANTS));
+                if (includeChildren) {
+                    result = merge(result, node.get(Kind.CHILDREN));
+                }
+                break;
+            }
+
+            if (depth == size - 1) {
+                if (child) {
+                    result = merge(result, node.get(Kind.CHILDREN));
+                    result = merge(result, node.get(Kind.DESCENDANTS));
+                    if (depth > 0) {
+                        result = merge(result, node.get(Kind.SELF_AND_CHILDREN));
+                        result = merge(result, node.get(Kind.SELF_AND_DESCENDANTS));
+                    }
+                }
+            } else {
+                result = merge(result, node.get(Kind.DESCENDANTS));
+                if (depth > 0) {
+                    result = merge(result, node.get(Kind.SELF_AND_DESCENDANTS));
+                }
+            }
+
+            node = node.child(segments.get(depth).name());
+        }
+
+        return result == null ? Collections.emptyList() : result;
+    }
+
+    private static List<ResourceTriggeredScript> merge(List<ResourceTriggeredScript> result, List<ResourceTriggeredScript> scripts) {
+        if (scripts == null) {
+            return result;
+        }
+        if (result == null) {
+            // most paths are matched by a single target, its list is returned as is
+            return scripts;
+        }
+        List<ResourceTriggeredScript> merged = new ArrayList<>(result.size() + scripts.size());
+        merged.addAll(result);
+        merged.addAll(scripts);
+        merged.sort(PRIORITY);
+        return merged;
+    }
+
+    private static class Node {
+
+        Node node(List<ResourcePath.Segment> segments) {
+            Node node = this;
+            for (ResourcePath.Segment segment : segments) {
+                if (node.children == null) {
+                    node.children = new HashMap<>();
+                }
+                node = node.children.computeIfAbsent(segment.name(), name -> new Node());
+            }
+            return node;
+        }
+
+        Node child(String name) {
+            return this.children == null ? null : this.children.get(name);
+        }
+
+        void add(Kind kind, ResourceTriggeredScript script) {
+            if (this.scripts[kind.ordinal()] == null) {
+                this.scripts[kind.ordinal()] = new ArrayList<>();
+            }
+            this.scripts[kind.ordinal()].add(script);
+        }
+
+        List<ResourceTriggeredScript> get(Kind kind) {
+            return this.scripts[kind.ordinal()];
+        }
+
+        void sort() {
+            for (int i = 0; i < this.scripts.length; ++i) {
+                if (this.scripts[i] != null) {
+                    this.scripts[i].sort(PRIORITY);
+                    this.scripts[i] = Collections.unmodifiableList(this.scripts[i]);
+                }
+            }
+            if (this.children != null) {
+                for (Node child : this.children.values()) {
+                    child.sort();
+                }
+            }
+        }
+
+        private Map<String, Node> children;
+
+        @SuppressWarnings("unchecked")
+        private final List<ResourceTriggeredScript>[] scripts = new List[Kind.values().length];
+    }
+}
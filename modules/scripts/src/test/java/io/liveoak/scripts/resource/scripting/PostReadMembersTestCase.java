@@ -0,0 +1,50 @@
+package io.liveoak.scripts.resource.scripting;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.liveoak.common.codec.DefaultResourceState;
+import io.liveoak.scripts.JavaScriptResourceState;
+import io.liveoak.spi.RequestContext;
+import io.liveoak.spi.state.ResourceState;
+import org.junit.Before;
+import org.junit.Test;
+
+import static io.liveoak.testtools.assertions.Assertions.assertThat;
+
+public class PostReadMembersTestCase extends BaseScriptingTestCase {
+
+    @Before
+    public void setupTests() throws Exception {
+        //check that there are no other scripts configured
+        ResourceState initialState = client.read(new RequestContext.Builder().build(), RESOURCE_SCRIPT_PATH);
+        assertThat(initialState.members()).isEmpty();
+
+        client.create(new RequestContext.Builder().build(), "/testApp/mock/", new DefaultResourceState("foo"));
+        client.create(new RequestContext.Builder().build(), "/testApp/mock/", new DefaultResourceState("bar"));
+
+        //create the metadata for the script
+        ResourceState resourceState = client.create(new RequestContext.Builder().build(), RESOURCE_SCRIPT_PATH, new MetadataState("postReadMembersTest", "/testApp/mock/*").libraries("client").build());
+        assertThat(resourceState).isNotNull();
+
+        //upload the javascript file
+        ResourceState binaryResourceState = new JavaScriptResourceState(readFile(PostReadMembersTestCase.class, "testPostReadMembers.js"));
+        ResourceState javascriptState = client.create(new RequestContext.Builder().build(), resourceState.uri().toString(), binaryResourceState);
+        assertThat(javascriptState).isNotNull();
+    }
+
+    @Test
+    public void postReadMembersTests() throws Exception {
+        // Test #1 - a member read on its own goes through postRead
+        JsonNode result = getJSON("/testApp/mock/foo");
+        assertThat(result.get("single").booleanValue()).isTrue();
+        assertThat(result.get("batch")).isNull();
+
+        // Test #2 - expanded members go through postReadMembers, once for all of them
+        result = getJSON("/testApp/mock?fields=*(*)");
+        JsonNode members = result.get("members");
+        assertThat(members.size()).isEqualTo(2);
+        for (JsonNode member : members) {
+            assertThat(member.get("batch").asInt()).isEqualTo(2);
+            assertThat(member.get("single")).isNull();
+        }
+    }
+}
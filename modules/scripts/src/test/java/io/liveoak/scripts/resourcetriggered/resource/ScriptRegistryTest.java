@@ -0,0 +1,77 @@
+package io.liveoak.scripts.resourcetriggered.resource;
+
+import java.util.List;
+
+import io.liveoak.spi.ResourcePath;
+import io.netty.buffer.Unpooled;
+import io.netty.util.CharsetUtil;
+import org.junit.Before;
+import org.junit.Test;
+
+import static io.liveoak.scripts.resourcetriggered.resource.ResourceTriggeredScript.FUNCTIONS.POSTCREATE;
+import static io.liveoak.scripts.resourcetriggered.resource.ResourceTriggeredScript.FUNCTIONS.POSTREAD;
+import static io.liveoak.scripts.resourcetriggered.resource.ResourceTriggeredScript.FUNCTIONS.PREREAD;
+import static org.fest.assertions.Assertions.assertThat;
+
+public class ScriptRegistryTest {
+
+    private ScriptRegistry registry;
+
+    @Before
+    public void setUp() {
+        this.registry = new ScriptRegistry();
+    }
+
+    @Test
+    public void testTargets() throws Exception {
+        registry.add(script("exact", "/testApp/mock", 5, true));
+        registry.add(script("selfAndChildren", "/testApp/mock*", 5, true));
+        registry.add(script("selfAndDescendants", "/testApp**", 5, true));
+        registry.add(script("children", "/testApp/mock/*", 5, true));
+        registry.add(script("descendants", "/testApp/mock/**", 5, true));
+
+        assertThat(ids("/testApp")).containsOnly("selfAndDescendants");
+        assertThat(ids("/testApp/mock")).containsOnly("exact", "selfAndChildren", "selfAndDescendants");
+        assertThat(ids("/testApp/mock/foo")).containsOnly("selfAndChildren", "selfAndDescendants", "children", "descendants");
+        assertThat(ids("/testApp/mock/foo/bar")).containsOnly("selfAndDescendants", "descendants");
+        assertThat(ids("/otherApp/mock")).isEmpty();
+    }
+
+    @Test
+    public void testFunctionsAndPriority() throws Exception {
+        registry.add(script("low", "/testApp/mock", 2, true));
+        registry.add(script("high", "/testApp**", 9, true));
+        registry.add(script("disabled", "/testApp/mock", 5, false));
+
+        List<ResourceTriggeredScript> scripts = registry.getByTarget(new ResourcePath("/testApp/mock"), POSTREAD, false);
+        assertThat(scripts).hasSize(2);
+        assertThat(scripts.get(0).getId()).isEqualTo("high");
+        assertThat(scripts.get(1).getId()).isEqualTo("low");
+
+        assertThat(registry.getByTarget(new ResourcePath("/testApp/mock"), PREREAD, false)).isEmpty();
+        assertThat(registry.getByTarget("/testApp/mock")).hasSize(3);
+
+        registry.remove("high");
+        assertThat(registry.getByTarget(new ResourcePath("/testApp/mock"), POSTREAD, false)).hasSize(1);
+    }
+
+    @Test
+    public void testCreateChildren() throws Exception {
+        registry.add(script("children", "/testApp/mock/*", 5, true));
+
+        assertThat(registry.getByTarget(new ResourcePath("/testApp/mock"), POSTCREATE, false)).isEmpty();
+        assertThat(registry.getByTarget(new ResourcePath("/testApp/mock"), POSTCREATE, true)).hasSize(1);
+    }
+
+    private Object[] ids(String path) {
+        return registry.getByTarget(new ResourcePath(path), POSTREAD, false).stream().map(ResourceTriggeredScript::getId).toArray();
+    }
+
+    private static ResourceTriggeredScript script(String id, String target, int priority, boolean enabled) throws Exception {
+        ResourceTriggeredScript.Builder builder = new ResourceTriggeredScript.Builder(id, target);
+        builder.setPriority(priority);
+        builder.setEnabled(enabled);
+        builder.setScriptBuffer(Unpooled.copiedBuffer("function postRead(response) {} function postCreate(response) {}", CharsetUtil.UTF_8));
+        return builder.build();
+    }
+}
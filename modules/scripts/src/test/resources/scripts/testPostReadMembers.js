@@ -0,0 +1,9 @@
+function postRead(response, libraries) {
+  response.resource.properties.single = true;
+}
+
+function postReadMembers(members, request, libraries) {
+  for (var i = 0; i < members.length; i++) {
+    members[i].properties.batch = members.length;
+  }
+}
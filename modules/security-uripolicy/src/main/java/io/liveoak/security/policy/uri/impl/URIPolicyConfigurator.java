@@ -40,11 +40,9 @@ public class URIPolicyConfigurator {
         String tailName = resourcePath.tail().name();
         if (tailName.endsWith("*") && !tailName.equals("*")) {
             String lastSegment = tailName.substring(0, tailName.length() - 1);
-            resourcePath = resourcePath.parent();
-            resourcePath.appendSegment(lastSegment);
+            resourcePath = resourcePath.parent().append(lastSegment);
 
-            ResourcePath wildcardPath = new ResourcePath(resourcePath);
-            wildcardPath.appendSegment("*");
+            ResourcePath wildcardPath = resourcePath.append("*");
 
             this.rulesTree.addObject(rule, resourcePath);
             this.rulesTree.addObject(rule, wildcardPath);
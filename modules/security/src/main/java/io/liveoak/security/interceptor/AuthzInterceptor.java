@@ -134,8 +134,7 @@ public class AuthzInterceptor extends DefaultInterceptor {
         for (ResourceState childState : childResourcesCopy) {
             if (!childState.getPropertyNames().isEmpty() || !childState.members().isEmpty()) {
                 // Send authz request now
-                ResourcePath childResourcePath = new ResourcePath(currentResourcePath);
-                childResourcePath.appendSegment(childState.id());
+                ResourcePath childResourcePath = currentResourcePath.append(childState.id());
                 RequestContext reqToAuthorize = new RequestContext.Builder()
                         .resourcePath(childResourcePath)
                         .requestType(RequestType.READ)
@@ -24,6 +24,7 @@ public class MediaType {
 
     public static final MediaType JSON = new MediaType("application/json");
     public static final MediaType XML = new MediaType("text/xml");
+    public static final MediaType SMILE = new MediaType("application/x-jackson-smile");
 
     // Custom JSON media types
     public static final MediaType LOCAL_APP_JSON = new MediaType("application/vnd.liveoak.local-app+json");
@@ -64,6 +65,7 @@ public class MediaType {
 
     static {
         registerExtensions(JSON, "json");
+        registerExtensions(SMILE, "smile");
         registerExtensions(XML, "xml");
 
         registerExtensions(HTML, "htm", "html", "xhtml");
@@ -5,84 +5,159 @@
  */
 package io.liveoak.spi;
 
-import java.util.ArrayList;
+import java.util.AbstractList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.RandomAccess;
 import java.util.StringTokenizer;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
+ * A path of segments.
+ *
+ * <p>Paths share their segments: {@link #parent()} and {@link #subPath()} are views over the same segments,
+ * and segments without matrix parameters are interned, so parsing a path mostly reuses existing segments.
+ * The segments of a path are never modified in place, the deprecated mutators replace them instead.</p>
+ *
  * @author Bob McWhirter
  */
 public class ResourcePath {
 
+    public static final String SEGMENT_CACHE_SIZE_PROPERTY = "io.liveoak.resource-path.segment-cache-size";
+    private static final int SEGMENT_CACHE_SIZE = Integer.getInteger(SEGMENT_CACHE_SIZE_PROPERTY, 10000);
+
+    private static final Map<String, Segment> SEGMENTS = new ConcurrentHashMap<>();
+
+    private static final Segment[] NO_SEGMENTS = new Segment[0];
+
     public ResourcePath() {
-        this.segments = new ArrayList<>();
+        this(NO_SEGMENTS, 0, 0);
     }
 
     public ResourcePath(String... segments) {
-        this();
+        this(new Segment[segments.length], 0, segments.length);
         for (int i = 0; i < segments.length; ++i) {
-            //this.segments.add(segments[i]);
-            this.segments.add( new Segment( segments[i]) );
+            this.segments[i] = segment(segments[i]);
         }
     }
 
     public ResourcePath(String uri) {
-        this();
-        StringTokenizer tokens = new StringTokenizer(uri, "/");
+        int count = 0;
+        boolean canonical = uri.length() > 1 && uri.charAt(0) == '/';
+        for (int i = 0; i < uri.length(); ++i) {
+            char c = uri.charAt(i);
+            if (c == '/') {
+                if (i + 1 == uri.length() || uri.charAt(i + 1) == '/') {
+                    canonical = false;
+                }
+            } else {
+                if (i == 0 || uri.charAt(i - 1) == '/') {
+                    ++count;
+                }
+                if (c == ';') {
+                    canonical = false;
+                }
+            }
+        }
+
+        this.segments = count == 0 ? NO_SEGMENTS : new Segment[count];
+        this.from = 0;
+        this.to = count;
+
+        int start = -1;
+        int index = 0;
+        for (int i = 0; i <= uri.length(); ++i) {
+            if (i == uri.length() || uri.charAt(i) == '/') {
+                if (start >= 0) {
+                    this.segments[index++] = segment(uri.substring(start, i));
+                    start = -1;
+                }
+            } else if (start < 0) {
+                start = i;
+            }
+        }
 
-        while (tokens.hasMoreTokens()) {
-            this.segments.add( new Segment( tokens.nextToken()) );
+        if (canonical) {
+            // same as what toString() would build
+            this.string = uri;
         }
     }
 
     public ResourcePath(ResourcePath path) {
-        this.segments = new ArrayList(path.segments);
+        this(path.segments, path.from, path.to);
     }
 
     public ResourcePath(List<Segment> segments) {
+        this(segments == null ? NO_SEGMENTS : segments.toArray(new Segment[segments.size()]), 0, segments == null ? 0 : segments.size());
+    }
+
+    private ResourcePath(Segment[] segments, int from, int to) {
         this.segments = segments;
+        this.from = from;
+        this.to = to;
     }
 
+    /**
+     * @return A new path, this one with the segment added at the end.
+     */
+    public ResourcePath append(String segment) {
+        return new ResourcePath(copy(0, 1, segment), 0, size() + 1);
+    }
+
+    /**
+     * @return A new path, this one with the segment added at the start.
+     */
+    public ResourcePath prepend(String segment) {
+        return new ResourcePath(copy(1, 0, segment), 0, size() + 1);
+    }
+
+    /**
+     * @deprecated Use {@link #append(String)}, paths are meant to be shared.
+     */
+    @Deprecated
     public void appendSegment(String segment) {
-        this.segments.add( new Segment( segment) );
+        replaceSegments(copy(0, 1, segment));
     }
 
+    /**
+     * @deprecated Use {@link #prepend(String)}, paths are meant to be shared.
+     */
+    @Deprecated
     public void prependSegment(String segment) {
-        this.segments.add(0, new Segment( segment) );
+        replaceSegments(copy(1, 0, segment));
     }
 
     public Segment head() {
-        if (this.segments.size() > 0) {
-            return this.segments.get(0);
+        if (size() > 0) {
+            return this.segments[this.from];
         }
         return null;
     }
 
     public Segment tail() {
-        if (segments.size() > 0) {
-            return segments.get(segments.size()-1);
+        if (size() > 0) {
+            return this.segments[this.to - 1];
         }
         return null;
     }
 
     public ResourcePath parent() {
-        if (this.segments.isEmpty()) {
+        if (isEmpty()) {
             return new ResourcePath();
         }
-        return new ResourcePath(segments.subList(0, segments.size() - 1));
+        return new ResourcePath(this.segments, this.from, this.to - 1);
     }
 
     public ResourcePath subPath() {
-        if (this.segments.isEmpty()) {
+        if (isEmpty()) {
             return new ResourcePath();
         }
-        return new ResourcePath(segments.subList(1, segments.size()));
+        return new ResourcePath(this.segments, this.from + 1, this.to);
     }
 
     public boolean isEmpty() {
-        return this.segments.isEmpty();
+        return this.from == this.to;
     }
 
     /**
@@ -90,12 +165,13 @@ public class ResourcePath {
      * @return true if this resourcePath is equal to or is parent of argument
      */
     public boolean isParentOf(ResourcePath children) {
-        if (this.segments.size() > children.segments.size()) {
+        int size = size();
+        if (size > children.size()) {
             return false;
         }
 
-        for (int i=0 ; i<this.segments.size() ; i++) {
-            if (!this.segments.get(i).equals(children.segments.get(i))) {
+        for (int i = 0; i < size; i++) {
+            if (!this.segments[this.from + i].equals(children.segments[children.from + i])) {
                 return false;
             }
         }
@@ -103,31 +179,112 @@ public class ResourcePath {
         return true;
     }
 
+    /**
+     * @return The segments, as a read-only list.
+     */
     public List<Segment> segments() {
-        return this.segments;
+        List<Segment> list = this.list;
+        if (list == null) {
+            this.list = list = new SegmentList();
+        }
+        return list;
     }
 
     public String toString() {
-        StringBuilder builder = new StringBuilder();
-        this.segments.forEach((s) -> {
-            builder.append("/").append(s);
-        });
-        return builder.toString();
+        String string = this.string;
+        if (string == null) {
+            StringBuilder builder = new StringBuilder();
+            for (int i = this.from; i < this.to; ++i) {
+                builder.append("/").append(this.segments[i]);
+            }
+            this.string = string = builder.toString();
+        }
+        return string;
     }
 
     @Override
     public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
         if (obj == null || !(this.getClass().equals(obj.getClass()))) {
             return false;
         }
 
         ResourcePath that = (ResourcePath) obj;
-        return segments.equals(that.segments);
+        if (size() != that.size() || (this.hash != 0 && that.hash != 0 && this.hash != that.hash)) {
+            return false;
+        }
+        return isParentOf(that);
     }
 
     @Override
     public int hashCode() {
-        return segments.hashCode();
+        int hash = this.hash;
+        if (hash == 0) {
+            // same as List.hashCode() of the segments
+            hash = 1;
+            for (int i = this.from; i < this.to; ++i) {
+                hash = 31 * hash + this.segments[i].hashCode();
+            }
+            this.hash = hash;
+        }
+        return hash;
+    }
+
+    private int size() {
+        return this.to - this.from;
+    }
+
+    private Segment[] copy(int before, int after, String segment) {
+        int size = size();
+        Segment[] copy = new Segment[size + 1];
+        System.arraycopy(this.segments, this.from, copy, before, size);
+        copy[before == 0 ? size : 0] = segment(segment);
+        return copy;
+    }
+
+    private void replaceSegments(Segment[] segments) {
+        this.segments = segments;
+        this.from = 0;
+        this.to = segments.length;
+        this.list = null;
+        this.string = null;
+        this.hash = 0;
+    }
+
+    private static Segment segment(String value) {
+        Segment segment = SEGMENTS.get(value);
+        if (segment == null) {
+            segment = new Segment(value);
+            if (segment.matrixParameters == null && SEGMENTS.size() < SEGMENT_CACHE_SIZE) {
+                Segment existing = SEGMENTS.putIfAbsent(value, segment);
+                if (existing != null) {
+                    segment = existing;
+                }
+            }
+        }
+        return segment;
+    }
+
+    private class SegmentList extends AbstractList<Segment> implements RandomAccess {
+
+        private final Segment[] segments = ResourcePath.this.segments;
+        private final int from = ResourcePath.this.from;
+        private final int to = ResourcePath.this.to;
+
+        @Override
+        public Segment get(int index) {
+            if (index < 0 || index >= this.to - this.from) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + (this.to - this.from));
+            }
+            return this.segments[this.from + index];
+        }
+
+        @Override
+        public int size() {
+            return this.to - this.from;
+        }
     }
 
     public static class Segment {
@@ -136,7 +293,6 @@ public class ResourcePath {
             int semiLoc = value.indexOf(';');
             if ( semiLoc < 0 ) {
                 this.name = value;
-                this.matrixParameters = new MatrixParameters();
             } else {
                 this.name = value.substring(0, semiLoc );
                 this.matrixParameters = new MatrixParameters( value.substring( semiLoc+1 ) );
@@ -148,23 +304,35 @@ public class ResourcePath {
         }
 
         public MatrixParameters matrixParameters() {
+            if (this.matrixParameters == null) {
+                // segments without parameters are shared, so they don't hand out a map of their own
+                return new MatrixParameters();
+            }
             return this.matrixParameters;
         }
 
         @Override
         public boolean equals(Object obj) {
+            if ( obj == this ) {
+                return true;
+            }
             if ( obj instanceof Segment ) {
                 return this.name.equals( ((Segment) obj).name() );
             }
             return false;
         }
 
+        @Override
+        public int hashCode() {
+            return this.name.hashCode();
+        }
+
         public String toString() {
             return this.name;
         }
 
-        private String name;
-        private MatrixParameters matrixParameters = new MatrixParameters();
+        private final String name;
+        private MatrixParameters matrixParameters;
     }
 
     public static class MatrixParameters extends HashMap<String,String> {
@@ -190,6 +358,13 @@ public class ResourcePath {
         }
     }
 
-    private List<Segment> segments;
+    private Segment[] segments;
+    private int from;
+    private int to;
+
+    // cached, derived from the segments
+    private List<Segment> list;
+    private String string;
+    private int hash;
 
 }
@@ -142,6 +142,18 @@ public interface ReturnFields extends Iterable<String> {
      */
     boolean included(String... pathSegments);
 
+    /**
+     * Check to see if a field at the current nesting level should be included in JSON response.
+     *
+     * <p>Same as included() with a single path segment, without creating the varargs array.</p>
+     *
+     * @param field The field name to check
+     * @return true if the field should be part of JSON response or not
+     */
+    default boolean included(String field) {
+        return included(new String[] { field });
+    }
+
     /**
      * Check to see if the field specified is set to be explicitly excluded.
      * @param field The field name to check
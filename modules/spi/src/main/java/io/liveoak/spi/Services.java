@@ -43,6 +43,7 @@ public final class Services {
 
     private static final ServiceName GLOBAL = LIVEOAK.append("global");
     public static final ServiceName GLOBAL_CONTEXT = GLOBAL.append("context");
+    public static final ServiceName BATCH = GLOBAL.append("batch");
 
     private static final ServiceName APPLICATION = LIVEOAK.append("application");
     public static final ServiceName APPLICATION_REGISTRY = GLOBAL.append("application-registry");
@@ -25,7 +25,7 @@ public interface BinaryResource extends Resource {
     /**
      * Retreive the content length produced by readContent()
      *
-     * @return Content length in bytes
+     * @return Content length in bytes, or a negative value if the length is not known before the content is read
      */
     long contentLength();
 
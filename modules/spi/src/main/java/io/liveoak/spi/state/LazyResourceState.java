@@ -18,6 +18,11 @@ public interface LazyResourceState extends ResourceState {
 
     boolean hasBigContent();
 
+    /**
+     * @return true if the body has already been decoded into properties, false if only the raw content was read so far
+     */
+    boolean isDecoded();
+
     File contentAsFile();
 
     InputStream contentAsStream();
@@ -5,22 +5,81 @@
  */
 package io.liveoak.stomp.server;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.UUID;
 
 import io.liveoak.spi.security.SecurityContext;
 import io.liveoak.stomp.StompMessage;
 import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import org.jboss.logging.Logger;
 
 /**
+ * A connected STOMP client.
+ *
+ * <p>Messages are not written straight to the channel but go through a bounded outbound queue, which is
+ * drained on the channel's event loop with a single flush per batch. Draining pauses while the channel is not
+ * writable, so a slow client accumulates messages in the queue instead of the Netty outbound buffer.</p>
+ *
+ * <p>Once the queue reaches its high watermark the client is considered slow and the {@link SlowConsumerPolicy}
+ * applies to new messages, until the queue drains below the low watermark. With the CONFLATE policy, updates
+ * of a resource still queued are replaced by newer ones as soon as the low watermark is reached, unless a
+ * message that can't be conflated, like a delete, was queued for the resource in between.</p>
+ *
  * @author Bob McWhirter
  */
 public class StompConnection {
 
+    public static final String HIGH_WATERMARK_PROPERTY = "io.liveoak.stomp.outbound.high-watermark";
+    public static final String LOW_WATERMARK_PROPERTY = "io.liveoak.stomp.outbound.low-watermark";
+    public static final String SLOW_CONSUMER_POLICY_PROPERTY = "io.liveoak.stomp.outbound.slow-consumer-policy";
+
+    private static final Logger log = Logger.getLogger(StompConnection.class);
+
+    /**
+     * What to do with a new message when the outbound queue is full.
+     */
+    public enum SlowConsumerPolicy {
+        // discard the oldest queued message
+        DROP_OLDEST,
+        // replace the queued update of the same resource, dropping the oldest message if there is none
+        CONFLATE,
+        // close the connection
+        DISCONNECT;
+
+        public static SlowConsumerPolicy fromString(String value) {
+            return valueOf(value.trim().toUpperCase().replace('-', '_'));
+        }
+    }
+
     public StompConnection(Channel channel, String login, String passcode) {
+        this(channel, login, passcode,
+                Integer.getInteger(HIGH_WATERMARK_PROPERTY, 1000),
+                Integer.getInteger(LOW_WATERMARK_PROPERTY, 500),
+                SlowConsumerPolicy.fromString(System.getProperty(SLOW_CONSUMER_POLICY_PROPERTY, "drop-oldest")));
+    }
+
+    public StompConnection(Channel channel, String login, String passcode, int highWatermark, int lowWatermark, SlowConsumerPolicy policy) {
         this.channel = channel;
         this.login = login;
         this.passcode = passcode;
         this.connectionId = UUID.randomUUID().toString();
+        this.highWatermark = Math.max(1, highWatermark);
+        this.lowWatermark = Math.max(0, Math.min(lowWatermark, this.highWatermark));
+        this.policy = policy;
+
+        this.channel.pipeline().addLast(new ChannelInboundHandlerAdapter() {
+            @Override
+            public void channelWritabilityChanged(ChannelHandlerContext ctx) throws Exception {
+                StompConnection.this.channelWritabilityChanged();
+                super.channelWritabilityChanged(ctx);
+            }
+        });
     }
 
     public String getConnectionId() {
@@ -43,8 +102,185 @@ public class StompConnection {
         return this.securityContext;
     }
 
+    public SlowConsumerPolicy getSlowConsumerPolicy() {
+        return this.policy;
+    }
+
     public void send(StompMessage message) {
-        this.channel.writeAndFlush(message);
+        send(message, null);
+    }
+
+    /**
+     * Queues a message for the client.
+     *
+     * @param message        The message to send.
+     * @param conflationKey  Identifies messages superseding each other (eg updates of the same resource),
+     *                       or null if the message must not be conflated.
+     */
+    public void send(StompMessage message, String conflationKey) {
+        send(message, conflationKey, true);
+    }
+
+    /**
+     * Queues a message for the client.
+     *
+     * @param message        The message to send.
+     * @param conflationKey  Identifies the messages concerning the same resource, or null.
+     * @param conflatable    Whether the message may be replaced by a later one with the same key. A message that
+     *                       may not (eg a delete) is never reordered with the messages of its key: later ones are
+     *                       queued after it.
+     */
+    public void send(StompMessage message, String conflationKey, boolean conflatable) {
+        boolean disconnect = false;
+        synchronized (this) {
+            if (this.disconnected) {
+                ++this.dropped;
+                return;
+            }
+            ++this.enqueued;
+
+            if (conflationKey != null && !conflatable) {
+                this.conflatable.remove(conflationKey);
+                conflationKey = null;
+            }
+
+            Outbound queued = conflationKey != null ? this.conflatable.get(conflationKey) : null;
+            if (queued != null && this.policy == SlowConsumerPolicy.CONFLATE && this.pending.size() >= this.lowWatermark) {
+                // only the latest state of the resource is of interest to the client
+                queued.message = message;
+                ++this.conflated;
+                return;
+            }
+
+            if (this.pending.size() >= this.highWatermark) {
+                if (!this.slow) {
+                    this.slow = true;
+                    log.debug("STOMP connection " + this.connectionId + " is not keeping up with its messages, applying " + this.policy);
+                }
+                if (this.policy == SlowConsumerPolicy.DISCONNECT) {
+                    this.disconnected = true;
+                    ++this.dropped;
+                    disconnect = true;
+                } else {
+                    Outbound oldest = this.pending.poll();
+                    if (oldest.conflationKey != null) {
+                        this.conflatable.remove(oldest.conflationKey, oldest);
+                    }
+                    ++this.dropped;
+                }
+            }
+
+            if (!disconnect) {
+                Outbound outbound = new Outbound(message, conflationKey);
+                this.pending.add(outbound);
+                if (conflationKey != null) {
+                    this.conflatable.put(conflationKey, outbound);
+                }
+                this.maxPending = Math.max(this.maxPending, this.pending.size());
+            }
+        }
+
+        if (disconnect) {
+            log.warn("STOMP connection " + this.connectionId + " is not keeping up with its messages (" + this.highWatermark + " pending), disconnecting");
+            disconnect();
+            return;
+        }
+
+        scheduleDrain();
+    }
+
+    /**
+     * @return Outbound queue statistics of the connection.
+     */
+    public synchronized Map<String, Object> statistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("pending", this.pending.size());
+        statistics.put("max-pending", this.maxPending);
+        statistics.put("lag", lag());
+        statistics.put("enqueued", this.enqueued);
+        statistics.put("sent", this.sent);
+        statistics.put("conflated", this.conflated);
+        statistics.put("dropped", this.dropped);
+        statistics.put("slow", this.slow);
+        statistics.put("slow-consumer-policy", this.policy.toString().toLowerCase().replace('_', '-'));
+        return statistics;
+    }
+
+    /**
+     * @return Milliseconds the oldest queued message has been waiting, 0 if the queue is empty.
+     */
+    public synchronized long lag() {
+        Outbound oldest = this.pending.peek();
+        return oldest != null ? System.currentTimeMillis() - oldest.enqueuedAt : 0;
+    }
+
+    private void scheduleDrain() {
+        synchronized (this) {
+            if (this.drainScheduled || this.awaitingWritability) {
+                return;
+            }
+            this.drainScheduled = true;
+        }
+        this.channel.eventLoop().execute(this::drain);
+    }
+
+    // runs on the event loop, writes as much as the channel accepts and flushes once
+    private void drain() {
+        boolean written = false;
+        synchronized (this) {
+            this.drainScheduled = false;
+            while (this.channel.isWritable() && !this.pending.isEmpty()) {
+                Outbound outbound = this.pending.poll();
+                if (outbound.conflationKey != null) {
+                    this.conflatable.remove(outbound.conflationKey, outbound);
+                }
+                this.channel.write(outbound.message);
+                ++this.sent;
+                written = true;
+            }
+            // resumed by channelWritabilityChanged() once the client caught up
+            this.awaitingWritability = !this.pending.isEmpty();
+            if (this.slow && this.pending.size() <= this.lowWatermark) {
+                this.slow = false;
+                log.debug("STOMP connection " + this.connectionId + " caught up with its messages");
+            }
+        }
+
+        if (written) {
+            this.channel.flush();
+        }
+    }
+
+    private void channelWritabilityChanged() {
+        if (!this.channel.isWritable()) {
+            return;
+        }
+        synchronized (this) {
+            if (!this.awaitingWritability) {
+                return;
+            }
+            this.awaitingWritability = false;
+        }
+        scheduleDrain();
+    }
+
+    private void disconnect() {
+        synchronized (this) {
+            this.pending.clear();
+            this.conflatable.clear();
+        }
+        this.channel.close();
+    }
+
+    private static class Outbound {
+        StompMessage message;
+        final String conflationKey;
+        final long enqueuedAt = System.currentTimeMillis();
+
+        Outbound(StompMessage message, String conflationKey) {
+            this.message = message;
+            this.conflationKey = conflationKey;
+        }
     }
 
     private final String connectionId;
@@ -52,4 +288,21 @@ public class StompConnection {
     private final String login;
     private final String passcode;
     private SecurityContext securityContext;
+
+    private final int highWatermark;
+    private final int lowWatermark;
+    private final SlowConsumerPolicy policy;
+
+    private final Deque<Outbound> pending = new ArrayDeque<>();
+    private final Map<String, Outbound> conflatable = new HashMap<>();
+    private boolean drainScheduled;
+    private boolean awaitingWritability;
+    private boolean disconnected;
+    private boolean slow;
+
+    private long enqueued;
+    private long sent;
+    private long conflated;
+    private long dropped;
+    private int maxPending;
 }
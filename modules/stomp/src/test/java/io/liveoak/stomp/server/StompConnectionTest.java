@@ -0,0 +1,122 @@
+/*
+ * Copyright 2014 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package io.liveoak.stomp.server;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.liveoak.stomp.StompMessage;
+import io.liveoak.stomp.common.DefaultStompMessage;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class StompConnectionTest {
+
+    @Test
+    public void testFlushCoalescing() throws Exception {
+        EmbeddedChannel channel = new EmbeddedChannel(new ChannelInboundHandlerAdapter());
+        StompConnection connection = new StompConnection(channel, null, null, 100, 50, StompConnection.SlowConsumerPolicy.DROP_OLDEST);
+
+        for (int i = 0; i < 5; ++i) {
+            connection.send(message(i));
+        }
+        assertEquals(5, connection.statistics().get("pending"));
+
+        channel.runPendingTasks();
+        assertEquals(list(0, 1, 2, 3, 4), received(channel));
+        assertEquals(0, connection.statistics().get("pending"));
+        assertEquals(5L, connection.statistics().get("sent"));
+    }
+
+    @Test
+    public void testDropOldest() throws Exception {
+        EmbeddedChannel channel = new EmbeddedChannel(new ChannelInboundHandlerAdapter());
+        StompConnection connection = new StompConnection(channel, null, null, 3, 1, StompConnection.SlowConsumerPolicy.DROP_OLDEST);
+
+        for (int i = 0; i < 10; ++i) {
+            connection.send(message(i));
+        }
+        assertEquals(true, connection.statistics().get("slow"));
+
+        channel.runPendingTasks();
+        assertEquals(list(7, 8, 9), received(channel));
+        assertEquals(7L, connection.statistics().get("dropped"));
+        assertEquals(false, connection.statistics().get("slow"));
+    }
+
+    @Test
+    public void testConflate() throws Exception {
+        EmbeddedChannel channel = new EmbeddedChannel(new ChannelInboundHandlerAdapter());
+        StompConnection connection = new StompConnection(channel, null, null, 10, 0, StompConnection.SlowConsumerPolicy.CONFLATE);
+
+        connection.send(message(0));
+        for (int i = 1; i < 5; ++i) {
+            connection.send(message(i), "/people/bob");
+        }
+        connection.send(message(5));
+
+        channel.runPendingTasks();
+        assertEquals(list(0, 4, 5), received(channel));
+        assertEquals(3L, connection.statistics().get("conflated"));
+    }
+
+    @Test
+    public void testConflateAcrossDelete() throws Exception {
+        EmbeddedChannel channel = new EmbeddedChannel(new ChannelInboundHandlerAdapter());
+        StompConnection connection = new StompConnection(channel, null, null, 10, 0, StompConnection.SlowConsumerPolicy.CONFLATE);
+
+        // update, delete, create, update: the last update must not move ahead of the delete and create
+        connection.send(message(0), "/people/bob", true);
+        connection.send(message(1), "/people/bob", false);
+        connection.send(message(2), "/people/bob", false);
+        connection.send(message(3), "/people/bob", true);
+        connection.send(message(4), "/people/bob", true);
+
+        channel.runPendingTasks();
+        assertEquals(list(0, 1, 2, 4), received(channel));
+        assertEquals(1L, connection.statistics().get("conflated"));
+    }
+
+    @Test
+    public void testDisconnect() throws Exception {
+        EmbeddedChannel channel = new EmbeddedChannel(new ChannelInboundHandlerAdapter());
+        StompConnection connection = new StompConnection(channel, null, null, 2, 1, StompConnection.SlowConsumerPolicy.DISCONNECT);
+
+        for (int i = 0; i < 3; ++i) {
+            connection.send(message(i));
+        }
+
+        channel.runPendingTasks();
+        assertFalse(channel.isOpen());
+    }
+
+    private static StompMessage message(int index) {
+        StompMessage message = new DefaultStompMessage();
+        message.headers().put("index", "" + index);
+        return message;
+    }
+
+    private static List<Integer> received(EmbeddedChannel channel) {
+        List<Integer> received = new ArrayList<>();
+        Object message;
+        while ((message = channel.readOutbound()) != null) {
+            received.add(Integer.parseInt(((StompMessage) message).headers().get("index")));
+        }
+        return received;
+    }
+
+    private static List<Integer> list(Integer... values) {
+        List<Integer> list = new ArrayList<>();
+        for (Integer value : values) {
+            list.add(value);
+        }
+        return list;
+    }
+}
@@ -0,0 +1,101 @@
+package io.liveoak.ups;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.liveoak.spi.ResourcePath;
+
+/**
+ * In-memory path trie of the enabled UPS subscriptions.
+ *
+ * A subscription registered on <code>/foo/bar</code> only matches that resource, while one registered on
+ * <code>/foo/*</code> matches every resource below <code>/foo</code>. Lookups are lock-free, writes are
+ * serialized and only happen when subscriptions are created, updated or deleted.
+ */
+public class SubscriptionIndex {
+
+    private static final String WILDCARD = "*";
+
+    private final Node root = new Node();
+    private final Map<String, Node> nodesById = new ConcurrentHashMap<>();
+
+    /**
+     * Adds or replaces a subscription. Disabled subscriptions are removed from the index.
+     */
+    public synchronized void add(UPSSubscription subscription) {
+        remove(subscription.id());
+        if (Boolean.FALSE.equals(subscription.enabled())) {
+            return;
+        }
+
+        List<ResourcePath.Segment> segments = subscription.resourcePath().segments();
+        boolean wildcard = !segments.isEmpty() && WILDCARD.equals(segments.get(segments.size() - 1).name());
+        int depth = wildcard ? segments.size() - 1 : segments.size();
+
+        Node node = this.root;
+        for (int i = 0; i < depth; ++i) {
+            node = node.children.computeIfAbsent(segments.get(i).name(), (name) -> new Node());
+        }
+
+        if (wildcard) {
+            node.wildcard.put(subscription.id(), subscription);
+        } else {
+            node.exact.put(subscription.id(), subscription);
+        }
+        this.nodesById.put(subscription.id(), node);
+    }
+
+    public synchronized void remove(String id) {
+        Node node = this.nodesById.remove(id);
+        if (node != null) {
+            node.exact.remove(id);
+            node.wildcard.remove(id);
+        }
+    }
+
+    public void removeAll(List<UPSSubscription> subscriptions) {
+        subscriptions.forEach((subscription) -> remove(subscription.id()));
+    }
+
+    public boolean isEmpty() {
+        return this.nodesById.isEmpty();
+    }
+
+    public int size() {
+        return this.nodesById.size();
+    }
+
+    /**
+     * Returns the subscriptions listening on the resource, ie registered on <code>/foo/bar/baz</code>,
+     * <code>/foo/bar/*</code>, <code>/foo/*</code> or <code>/*</code> for the resource <code>/foo/bar/baz</code>.
+     */
+    public List<UPSSubscription> match(ResourcePath resourcePath) {
+        if (isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<UPSSubscription> subscriptions = new ArrayList<>();
+        List<ResourcePath.Segment> segments = resourcePath.segments();
+
+        Node node = this.root;
+        for (ResourcePath.Segment segment : segments) {
+            subscriptions.addAll(node.wildcard.values());
+            node = node.children.get(segment.name());
+            if (node == null) {
+                return subscriptions;
+            }
+        }
+        subscriptions.addAll(node.exact.values());
+
+        return subscriptions;
+    }
+
+    private static class Node {
+        final Map<String, Node> children = new ConcurrentHashMap<>();
+        final Map<String, UPSSubscription> exact = new ConcurrentHashMap<>();
+        final Map<String, UPSSubscription> wildcard = new ConcurrentHashMap<>();
+    }
+}
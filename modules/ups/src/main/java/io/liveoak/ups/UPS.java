@@ -1,6 +1,17 @@
 package io.liveoak.ups;
 
 import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 import io.liveoak.ups.resource.config.UPSRootConfigResource;
 import org.jboss.aerogear.unifiedpush.JavaSender;
@@ -12,6 +23,10 @@ import org.jboss.logging.Logger;
 /**
  * Handles the communication between the LiveOak instances and a UPS instance.
  *
+ * Notifications are queued and dispatched in batches: identical notifications (same subscription, resource
+ * and event) queued within the same batch window are coalesced into a single message. Messages are sent through
+ * a reused sender by a bounded pool of workers, and failed sends are retried with an exponential backoff.
+ *
  * @author <a href="mailto:mwringe@redhat.com">Matt Wringe</a>
  */
 public class UPS {
@@ -45,60 +60,213 @@ public class UPS {
 
     UPSRootConfigResource upsRootConfigResource;
 
+    private final Queue<Notification> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    private final ScheduledExecutorService scheduler;
+    private final ThreadPoolExecutor workers;
+
+    private volatile JavaSender sender;
+    private volatile String senderURL;
+
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong retried = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
     public UPS(UPSRootConfigResource upsRootConfigResource) {
         this.upsRootConfigResource = upsRootConfigResource;
-    }
 
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "ups-dispatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        int concurrency = upsRootConfigResource.getMaxConcurrency();
+        this.workers = new ThreadPoolExecutor(concurrency, concurrency, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+            Thread thread = new Thread(r, "ups-sender");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.workers.allowCoreThreadTimeOut(true);
+    }
 
     /**
-     * Sends a message to the UPS instance to send out push notifications to registered applications
+     * Queues a message for the UPS instance to send out push notifications to registered applications
      *
      * @param URI          The URI of the updated resource
      * @param eventType    The type of event which occurred
      * @param subscription The object containing the message and specified recipients
      */
     public void send(URI URI, EventType eventType, UPSSubscription subscription) {
-        SenderClient sender = SenderClient.withRootServerURL(upsRootConfigResource.getUPSServerURL()).build();
+        this.queue.add(new Notification(URI, eventType, subscription));
+        if (this.drainScheduled.compareAndSet(false, true)) {
+            this.scheduler.schedule(this::drain, upsRootConfigResource.getBatchDelay(), TimeUnit.MILLISECONDS);
+        }
+    }
 
-        // setup the application specifics
-        UnifiedMessage.Builder builder = new UnifiedMessage.Builder()
-                .pushApplicationId(upsRootConfigResource.getApplicationId())
-                .masterSecret(upsRootConfigResource.getMasterSecret());
+    public void shutdown() {
+        this.scheduler.shutdownNow();
+        this.workers.shutdownNow();
+    }
 
-        // setup who is to receive the message
-        builder.variants(subscription.variants());
-        builder.aliases(subscription.aliases());
-        builder.categories(subscription.categories());
-        builder.deviceType(subscription.deviceTypes());
+    public long sent() {
+        return this.sent.get();
+    }
 
-        if (subscription.simplePush() != null) {
-            builder.simplePush(subscription.simplePush().toString());
+    public long coalesced() {
+        return this.coalesced.get();
+    }
 
-            //increment the simplePush value, otherwise next time the simple-push server will ignore the notification
-            subscription.simplePush(subscription.simplePush() + 1);
-        }
+    public long retried() {
+        return this.retried.get();
+    }
 
-        //setup the message itself
+    public long failed() {
+        return this.failed.get();
+    }
 
-        builder.attributes(subscription.message());
-        // specify the liveoak specifics of the message, overwrite if needed.
-        builder.attribute(LIVEOAK_RESOURCE_URL, URI.toString());
-        builder.attribute(LIVEOAK_RESOURCE_EVENT, eventType.toString());
+    public int pending() {
+        return this.queue.size() + this.workers.getQueue().size();
+    }
 
+    private void drain() {
+        // anything queued from now on schedules another drain
+        this.drainScheduled.set(false);
 
-        sender.send(builder.build(), new MessageResponseCallback() {
-            @Override
-            public void onComplete(int i) {
-                //do nothing for now
+        Map<String, Notification> batch = new LinkedHashMap<>();
+        Notification notification;
+        while ((notification = this.queue.poll()) != null) {
+            if (batch.putIfAbsent(notification.key(), notification) != null) {
+                this.coalesced.incrementAndGet();
             }
+        }
+
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        resizeWorkers(upsRootConfigResource.getMaxConcurrency());
+        JavaSender sender = sender();
+        for (Notification each : batch.values()) {
+            dispatch(sender, each, 0);
+        }
+    }
+
+    private void dispatch(JavaSender sender, Notification notification, int attempt) {
+        try {
+            this.workers.execute(() -> {
+                sender.send(notification.message(upsRootConfigResource), new MessageResponseCallback() {
+                    @Override
+                    public void onComplete(int statusCode) {
+                        if (statusCode >= 500) {
+                            retry(notification, attempt, new IllegalStateException("UPS server responded with status " + statusCode));
+                        } else {
+                            sent.incrementAndGet();
+                        }
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                        retry(notification, attempt, throwable);
+                    }
+                });
+            });
+        } catch (Throwable t) {
+            // only happens when we are shutting down
+            log.debug("Unable to dispatch notification to UPS server", t);
+        }
+    }
+
+    private void retry(Notification notification, int attempt, Throwable cause) {
+        int maxRetries = upsRootConfigResource.getMaxRetries();
+        if (attempt >= maxRetries || this.scheduler.isShutdown()) {
+            this.failed.incrementAndGet();
+            log.error("Error trying to send notification to UPS server, giving up after " + (attempt + 1) + " attempt(s)", cause);
+            return;
+        }
+
+        this.retried.incrementAndGet();
+        long delay = upsRootConfigResource.getRetryDelay() << attempt;
+        log.debug("Error trying to send notification to UPS server, retrying in " + delay + "ms", cause);
+        try {
+            this.scheduler.schedule(() -> dispatch(sender(), notification, attempt + 1), delay, TimeUnit.MILLISECONDS);
+        } catch (Throwable t) {
+            this.failed.incrementAndGet();
+        }
+    }
+
+    // the sender is reused for as long as the UPS server url is not changed
+    private JavaSender sender() {
+        String url = upsRootConfigResource.getUPSServerURL();
+        JavaSender current = this.sender;
+        if (current == null || url == null || !url.equals(this.senderURL)) {
+            current = SenderClient.withRootServerURL(url).build();
+            this.sender = current;
+            this.senderURL = url;
+        }
+        return current;
+    }
+
+    private void resizeWorkers(int concurrency) {
+        if (concurrency == this.workers.getMaximumPoolSize()) {
+            return;
+        }
+        if (concurrency > this.workers.getMaximumPoolSize()) {
+            this.workers.setMaximumPoolSize(concurrency);
+            this.workers.setCorePoolSize(concurrency);
+        } else {
+            this.workers.setCorePoolSize(concurrency);
+            this.workers.setMaximumPoolSize(concurrency);
+        }
+    }
+
+    private static class Notification {
 
-            @Override
-            public void onError(Throwable throwable) {
-                //TODO: how to handle when there is an error between LiveOak and UPS?
-                // should we just log the error, try again after x many seconds and y many retries?
-                log.error("Error trying to send notification to UPS server", throwable);
+        final URI uri;
+        final EventType eventType;
+        final UPSSubscription subscription;
+
+        Notification(URI uri, EventType eventType, UPSSubscription subscription) {
+            this.uri = uri;
+            this.eventType = eventType;
+            this.subscription = subscription;
+        }
+
+        String key() {
+            return subscription.id() + " " + eventType + " " + uri;
+        }
+
+        UnifiedMessage message(UPSRootConfigResource config) {
+            // setup the application specifics
+            UnifiedMessage.Builder builder = new UnifiedMessage.Builder()
+                    .pushApplicationId(config.getApplicationId())
+                    .masterSecret(config.getMasterSecret());
+
+            // setup who is to receive the message
+            builder.variants(subscription.variants());
+            builder.aliases(subscription.aliases());
+            builder.categories(subscription.categories());
+            builder.deviceType(subscription.deviceTypes());
+
+            synchronized (subscription) {
+                if (subscription.simplePush() != null) {
+                    builder.simplePush(subscription.simplePush().toString());
+
+                    //increment the simplePush value, otherwise next time the simple-push server will ignore the notification
+                    subscription.simplePush(subscription.simplePush() + 1);
+                }
             }
-        });
+
+            //setup the message itself
+
+            builder.attributes(subscription.message());
+            // specify the liveoak specifics of the message, overwrite if needed.
+            builder.attribute(LIVEOAK_RESOURCE_URL, uri.toString());
+            builder.attribute(LIVEOAK_RESOURCE_EVENT, eventType.toString());
+
+            return builder.build();
+        }
     }
 
 }
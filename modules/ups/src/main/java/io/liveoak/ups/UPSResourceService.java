@@ -29,6 +29,7 @@ public class UPSResourceService implements Service<UPSRootResource> {
 
     @Override
     public void stop(StopContext context) {
+        this.upsRootResource.stop();
         this.upsRootResource = null;
     }
 
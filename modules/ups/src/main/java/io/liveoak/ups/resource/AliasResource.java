@@ -72,6 +72,7 @@ public class AliasResource implements SubscriptionResourceParent {
             upsSubscriptions.add(subscription);
             alias.setSubscriptions(upsSubscriptions);
             parent.saveAlias(alias);
+            parent.subscriptionIndex().add(subscription);
             responder.resourceCreated(new SubscriptionResource(this, subscription));
         } else {
             responder.invalidRequest("Cannot create a UPS Subscription without a resource-path specified");
@@ -88,11 +89,13 @@ public class AliasResource implements SubscriptionResourceParent {
     public void updateSubscription(UPSSubscription upsSubscription) {
         alias.updateSubscription(upsSubscription);
         parent.saveAlias(alias);
+        parent.subscriptionIndex().add(upsSubscription);
     }
 
     @Override
     public void deleteSubscription(String id) {
         alias.removeSubscription(id);
         parent.saveAlias(alias);
+        parent.subscriptionIndex().remove(id);
     }
 }
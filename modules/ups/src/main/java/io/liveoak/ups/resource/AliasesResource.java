@@ -15,6 +15,7 @@ import io.liveoak.spi.resource.async.Resource;
 import io.liveoak.spi.resource.async.Responder;
 import io.liveoak.spi.state.ResourceState;
 import io.liveoak.ups.Alias;
+import io.liveoak.ups.SubscriptionIndex;
 
 /**
  * @author <a href="mailto:mwringe@redhat.com">Matt Wringe</a>
@@ -23,12 +24,14 @@ public class AliasesResource implements SynchronousResource {
 
     private UPSRootResource parent;
     private DBCollection collection;
+    private SubscriptionIndex index;
 
     public static final String ID = "aliases";
 
-    public AliasesResource(UPSRootResource parent, DBCollection collection) {
+    public AliasesResource(UPSRootResource parent, DBCollection collection, SubscriptionIndex index) {
         this.parent = parent;
         this.collection = collection;
+        this.index = index;
     }
 
     @Override
@@ -108,6 +111,11 @@ public class AliasesResource implements SynchronousResource {
         DBObject dbObject = collection.findOne(new BasicDBObject("_id", id));
         if (dbObject != null) {
             collection.remove(dbObject);
+            index.removeAll(Alias.create(dbObject).getSubscriptions());
         }
     }
+
+    SubscriptionIndex subscriptionIndex() {
+        return this.index;
+    }
 }
@@ -12,6 +12,7 @@ import io.liveoak.spi.RequestContext;
 import io.liveoak.spi.resource.async.Resource;
 import io.liveoak.spi.resource.async.Responder;
 import io.liveoak.spi.state.ResourceState;
+import io.liveoak.ups.SubscriptionIndex;
 import io.liveoak.ups.UPSSubscription;
 
 /**
@@ -23,10 +24,12 @@ public class SubscriptionsResource implements SubscriptionResourceParent {
 
     private UPSRootResource parent;
     private DBCollection collection;
+    private SubscriptionIndex index;
 
-    public SubscriptionsResource(UPSRootResource parent, DBCollection collection) {
+    public SubscriptionsResource(UPSRootResource parent, DBCollection collection, SubscriptionIndex index) {
         this.parent = parent;
         this.collection = collection;
+        this.index = index;
     }
 
     @Override
@@ -71,6 +74,7 @@ public class SubscriptionsResource implements SubscriptionResourceParent {
         UPSSubscription subscription = UPSSubscription.create(state);
         if (subscription != null) {
             this.collection.insert(subscription.dbObject());
+            this.index.add(subscription);
             responder.resourceCreated(new SubscriptionResource(this, subscription));
         } else {
             responder.invalidRequest("Cannot create a UPS Subscription without a resource-path specified");
@@ -80,9 +84,11 @@ public class SubscriptionsResource implements SubscriptionResourceParent {
     public void updateSubscription(UPSSubscription subscription) {
         String id = subscription.id();
         WriteResult wr = this.collection.save(subscription.dbObject());
+        this.index.add(subscription);
     }
 
     public void deleteSubscription(String id) {
         collection.remove(new BasicDBObject("_id", id));
+        this.index.remove(id);
     }
 }
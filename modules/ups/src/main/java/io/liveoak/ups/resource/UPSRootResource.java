@@ -5,15 +5,18 @@ import java.util.LinkedList;
 
 import com.mongodb.BasicDBObject;
 import com.mongodb.DBCollection;
+import com.mongodb.DBCursor;
 import io.liveoak.mongo.internal.InternalStorage;
 import io.liveoak.spi.RequestContext;
 import io.liveoak.spi.container.SubscriptionManager;
 import io.liveoak.spi.resource.RootResource;
 import io.liveoak.spi.resource.SynchronousResource;
 import io.liveoak.spi.resource.async.Resource;
-import io.liveoak.ups.AliasUPSSubscription;
+import io.liveoak.ups.Alias;
 import io.liveoak.ups.BaseUPSSubscription;
+import io.liveoak.ups.SubscriptionIndex;
 import io.liveoak.ups.UPS;
+import io.liveoak.ups.UPSSubscription;
 import io.liveoak.ups.resource.config.UPSRootConfigResource;
 
 /**
@@ -30,6 +33,8 @@ public class UPSRootResource implements RootResource, SynchronousResource {
     private InternalStorage internalStorage;
 
     private UPS upsService;
+    private SubscriptionIndex subscriptionIndex;
+    private BaseUPSSubscription upsSubscription;
 
     public UPSRootResource(String id, UPSRootConfigResource configResource, SubscriptionManager subscriptionManager, InternalStorage internalStorage) {
         this.id = id;
@@ -40,20 +45,38 @@ public class UPSRootResource implements RootResource, SynchronousResource {
         //setup the service to handle communication with a UPS instance
         upsService = new UPS(configResource);
 
+        // subscriptions are kept in an in-memory index so writes which nobody listens on don't hit the datastore
+        this.subscriptionIndex = new SubscriptionIndex();
+
         DBCollection subscriptionsCollections = internalStorage.getCollection("subscriptions");
         subscriptionsCollections.ensureIndex(new BasicDBObject("resource-path", 1));
-        subscriptionManager.addSubscription(new BaseUPSSubscription(subscriptionsCollections, upsService));
+        DBCursor cursor = subscriptionsCollections.find();
+        while (cursor.hasNext()) {
+            UPSSubscription subscription = UPSSubscription.create(cursor.next());
+            if (subscription != null) {
+                this.subscriptionIndex.add(subscription);
+            }
+        }
 
-        this.subscriptionsResource = new SubscriptionsResource(this, subscriptionsCollections);
+        this.subscriptionsResource = new SubscriptionsResource(this, subscriptionsCollections, this.subscriptionIndex);
 
         DBCollection aliasesCollection = internalStorage.getCollection("aliases");
         // adds the index if it doesn't already exist
         aliasesCollection.ensureIndex(new BasicDBObject("subscriptions.resource-path", 1));
+        cursor = aliasesCollection.find();
+        while (cursor.hasNext()) {
+            Alias.create(cursor.next()).getSubscriptions().forEach(this.subscriptionIndex::add);
+        }
 
-        subscriptionManager.addSubscription(new AliasUPSSubscription(aliasesCollection, upsService));
+        this.aliasesResource = new AliasesResource(this, aliasesCollection, this.subscriptionIndex);
 
-        this.aliasesResource = new AliasesResource(this, aliasesCollection);
+        this.upsSubscription = new BaseUPSSubscription(this.subscriptionIndex, upsService);
+        subscriptionManager.addSubscription(this.upsSubscription);
+    }
 
+    public void stop() {
+        this.subscriptionManager.removeSubscription(this.upsSubscription);
+        this.upsService.shutdown();
     }
 
     @Override
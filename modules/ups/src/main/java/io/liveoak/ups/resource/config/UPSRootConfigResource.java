@@ -21,10 +21,23 @@ public class UPSRootConfigResource implements RootResource {
     public static final String UPS_SERVER_URL = "upsURL";
     public static final String APPLICATION_ID = "applicationId";
     public static final String MASTER_SECRET = "masterSecret";
+    public static final String BATCH_DELAY = "batchDelay";
+    public static final String MAX_CONCURRENCY = "maxConcurrency";
+    public static final String MAX_RETRIES = "maxRetries";
+    public static final String RETRY_DELAY = "retryDelay";
+
+    static final int DEFAULT_BATCH_DELAY = 50;
+    static final int DEFAULT_MAX_CONCURRENCY = 4;
+    static final int DEFAULT_MAX_RETRIES = 3;
+    static final int DEFAULT_RETRY_DELAY = 1000;
 
     private String upsServerURL;
     private String applicationId;
     private String masterSecret;
+    private int batchDelay = DEFAULT_BATCH_DELAY;
+    private int maxConcurrency = DEFAULT_MAX_CONCURRENCY;
+    private int maxRetries = DEFAULT_MAX_RETRIES;
+    private int retryDelay = DEFAULT_RETRY_DELAY;
 
     public UPSRootConfigResource(String id) {
         this.id = id;
@@ -51,6 +64,10 @@ public class UPSRootConfigResource implements RootResource {
         sink.accept(UPS_SERVER_URL, upsServerURL);
         sink.accept(APPLICATION_ID, applicationId);
         sink.accept(MASTER_SECRET, masterSecret);
+        sink.accept(BATCH_DELAY, batchDelay);
+        sink.accept(MAX_CONCURRENCY, maxConcurrency);
+        sink.accept(MAX_RETRIES, maxRetries);
+        sink.accept(RETRY_DELAY, retryDelay);
         sink.complete();
     }
 
@@ -77,9 +94,25 @@ public class UPSRootConfigResource implements RootResource {
         } else if (masterKeyProperty != null) { // if it is null, it wasn't specified in the json, so keep old value
             responder.invalidRequest("The " + MASTER_SECRET + " property must be a String.");
         }
+
+        this.batchDelay = intProperty(state, BATCH_DELAY, 0, this.batchDelay, responder);
+        this.maxConcurrency = intProperty(state, MAX_CONCURRENCY, 1, this.maxConcurrency, responder);
+        this.maxRetries = intProperty(state, MAX_RETRIES, 0, this.maxRetries, responder);
+        this.retryDelay = intProperty(state, RETRY_DELAY, 0, this.retryDelay, responder);
+
         responder.resourceUpdated(this);
     }
 
+    private int intProperty(ResourceState state, String name, int min, int current, Responder responder) {
+        Object property = state.getProperty(name);
+        if (property instanceof Integer && (Integer) property >= min) {
+            return (Integer) property;
+        } else if (property != null) { // if it is null, it wasn't specified in the json, so keep old value
+            responder.invalidRequest("The " + name + " property must be an integer of at least " + min + ".");
+        }
+        return current;
+    }
+
     @Override
     public void readMembers(RequestContext ctx, ResourceSink sink) throws Exception {
         sink.accept(this.pingResource);
@@ -97,4 +130,20 @@ public class UPSRootConfigResource implements RootResource {
     public String getMasterSecret() {
         return masterSecret;
     }
+
+    public int getBatchDelay() {
+        return batchDelay;
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    public int getRetryDelay() {
+        return retryDelay;
+    }
 }
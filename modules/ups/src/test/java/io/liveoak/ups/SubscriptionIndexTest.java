@@ -0,0 +1,59 @@
+package io.liveoak.ups;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import io.liveoak.common.codec.DefaultResourceState;
+import io.liveoak.spi.ResourcePath;
+import io.liveoak.spi.state.ResourceState;
+import org.junit.Test;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+public class SubscriptionIndexTest {
+
+    @Test
+    public void testMatching() throws Exception {
+        SubscriptionIndex index = new SubscriptionIndex();
+        assertThat(index.match(new ResourcePath("/testApp/storage/foo"))).isEmpty();
+
+        index.add(subscription("exact", "/testApp/storage/foo"));
+        index.add(subscription("collection", "/testApp/storage/*"));
+        index.add(subscription("app", "/testApp/*"));
+        index.add(subscription("everything", "/*"));
+        index.add(subscription("other", "/otherApp/storage/*"));
+
+        assertThat(ids(index.match(new ResourcePath("/testApp/storage/foo")))).containsOnly("exact", "collection", "app", "everything");
+        assertThat(ids(index.match(new ResourcePath("/testApp/storage/bar")))).containsOnly("collection", "app", "everything");
+        assertThat(ids(index.match(new ResourcePath("/testApp/storage")))).containsOnly("app", "everything");
+        assertThat(ids(index.match(new ResourcePath("/testApp/storage/foo/baz")))).containsOnly("collection", "app", "everything");
+        assertThat(ids(index.match(new ResourcePath("/otherApp/storage/foo")))).containsOnly("other", "everything");
+    }
+
+    @Test
+    public void testUpdateAndRemove() throws Exception {
+        SubscriptionIndex index = new SubscriptionIndex();
+        index.add(subscription("sub", "/testApp/storage/foo"));
+        assertThat(index.size()).isEqualTo(1);
+
+        // moving the subscription to another path replaces the previous entry
+        index.add(subscription("sub", "/testApp/storage/bar"));
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.match(new ResourcePath("/testApp/storage/foo"))).isEmpty();
+        assertThat(ids(index.match(new ResourcePath("/testApp/storage/bar")))).containsOnly("sub");
+
+        index.remove("sub");
+        assertThat(index.isEmpty()).isTrue();
+        assertThat(index.match(new ResourcePath("/testApp/storage/bar"))).isEmpty();
+    }
+
+    private static UPSSubscription subscription(String id, String resourcePath) {
+        ResourceState state = new DefaultResourceState(id);
+        state.putProperty("resource-path", resourcePath);
+        return UPSSubscription.create(state);
+    }
+
+    private static List<String> ids(List<UPSSubscription> subscriptions) {
+        return subscriptions.stream().map(UPSSubscription::id).collect(Collectors.toList());
+    }
+}
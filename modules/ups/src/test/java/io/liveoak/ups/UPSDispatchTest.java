@@ -0,0 +1,113 @@
+package io.liveoak.ups;
+
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sun.net.httpserver.HttpServer;
+import io.liveoak.common.codec.DefaultResourceState;
+import io.liveoak.spi.state.ResourceState;
+import io.liveoak.ups.resource.config.UPSRootConfigResource;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+/**
+ * Sends notifications to a local stand-in for the UPS server.
+ */
+public class UPSDispatchTest {
+
+    private HttpServer server;
+    private AtomicInteger requests = new AtomicInteger();
+    private AtomicInteger failuresToSend = new AtomicInteger();
+    private UPS ups;
+
+    @Before
+    public void setUp() throws Exception {
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        this.server.createContext("/ups", exchange -> {
+            try (InputStream in = exchange.getRequestBody()) {
+                while (in.read() >= 0) {
+                    // drain the request
+                }
+            }
+            this.requests.incrementAndGet();
+            int status = this.failuresToSend.getAndDecrement() > 0 ? 500 : 200;
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+        });
+        this.server.start();
+
+        String url = "http://localhost:" + this.server.getAddress().getPort() + "/ups/";
+        this.ups = new UPS(new UPSRootConfigResource("push") {
+            @Override
+            public String getUPSServerURL() {
+                return url;
+            }
+
+            @Override
+            public String getApplicationId() {
+                return "my-application-id";
+            }
+
+            @Override
+            public String getMasterSecret() {
+                return "shhhh-its-a-secret";
+            }
+
+            @Override
+            public int getRetryDelay() {
+                return 10;
+            }
+        });
+    }
+
+    @After
+    public void tearDown() {
+        this.ups.shutdown();
+        this.server.stop(0);
+    }
+
+    @Test
+    public void testIdenticalNotificationsAreCoalesced() throws Exception {
+        UPSSubscription subscription = subscription("sub", "/testApp/storage/*");
+        URI uri = URI.create("/testApp/storage/foo");
+        for (int i = 0; i < 10; ++i) {
+            this.ups.send(uri, UPS.EventType.UPDATED, subscription);
+        }
+        this.ups.send(URI.create("/testApp/storage/bar"), UPS.EventType.UPDATED, subscription);
+
+        awaitSent(2);
+        assertThat(this.requests.get()).isEqualTo(2);
+        assertThat(this.ups.coalesced()).isEqualTo(9);
+    }
+
+    @Test
+    public void testFailedSendIsRetried() throws Exception {
+        this.failuresToSend.set(2);
+        this.ups.send(URI.create("/testApp/storage/foo"), UPS.EventType.CREATED, subscription("sub", "/testApp/storage/*"));
+
+        awaitSent(1);
+        assertThat(this.requests.get()).isEqualTo(3);
+        assertThat(this.ups.retried()).isEqualTo(2);
+        assertThat(this.ups.failed()).isEqualTo(0);
+    }
+
+    private void awaitSent(long expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+        while (this.ups.sent() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(this.ups.sent()).isEqualTo(expected);
+    }
+
+    private static UPSSubscription subscription(String id, String resourcePath) {
+        ResourceState state = new DefaultResourceState(id);
+        state.putProperty("resource-path", resourcePath);
+        return UPSSubscription.create(state);
+    }
+}